@@ -2,6 +2,7 @@ plugins {
     java
     id("io.github.goooler.shadow") version "8.1.8"
     id("io.papermc.paperweight.userdev") version "1.7.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "vn.casino"
@@ -62,6 +63,23 @@ dependencies {
     testImplementation("com.github.seeseemelk:MockBukkit-v1.21:3.94.0")
     testImplementation("org.awaitility:awaitility:4.2.1")
     testImplementation("com.h2database:h2:2.2.224")
+
+    // Benchmarks (src/jmh)
+    jmh("org.openjdk.jmh:jmh-core:1.37")
+    jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+// Run with ./gradlew jmh (optionally -Pjmh.includes=RngBenchmark -Pjmh.profilers=gc)
+// Results are written as JSON so runs can be diffed across releases
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+    (project.findProperty("jmh.profilers") as String?)?.let { profilers.set(it.split(",")) }
 }
 
 tasks {
@@ -0,0 +1,78 @@
+package vn.casino.bench;
+
+import org.openjdk.jmh.annotations.*;
+import vn.casino.core.cache.CaffeineFallback;
+import vn.casino.core.config.MainConfig;
+import vn.casino.core.database.SQLiteProvider;
+import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.TransactionRepository;
+import vn.casino.economy.TransactionType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Write-through balance operations against a real SQLite database
+ * with the in-process cache, measured end to end.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CurrencyBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1000");
+
+    private Path databaseFile;
+    private SQLiteProvider database;
+    private CaffeineFallback cache;
+    private CurrencyManager currencyManager;
+    private UUID player;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger logger = Logger.getLogger("bench");
+        logger.setLevel(java.util.logging.Level.WARNING);
+
+        databaseFile = Files.createTempFile("casino-bench", ".db");
+        MainConfig config = new MainConfig();
+        config.setDatabaseType("sqlite");
+        config.setSqliteFile(databaseFile.toString());
+
+        database = new SQLiteProvider(config, logger);
+        database.initialize().join();
+        cache = new CaffeineFallback(config, logger);
+        cache.initialize().join();
+        currencyManager = new CurrencyManager(database, cache, new TransactionRepository(database, logger), logger);
+
+        player = UUID.randomUUID();
+        currencyManager.deposit(player, new BigDecimal("1000000000"), TransactionType.ADMIN_GIVE, null, null).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        cache.shutdown().join();
+        database.shutdown().join();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public BigDecimal getBalanceCached() {
+        return currencyManager.getBalance(player).join();
+    }
+
+    @Benchmark
+    public BigDecimal deposit() {
+        return currencyManager.deposit(player, AMOUNT, TransactionType.WIN, "taixiu", 1L).join();
+    }
+
+    @Benchmark
+    public BigDecimal depositThenWithdraw() {
+        currencyManager.deposit(player, AMOUNT, TransactionType.WIN, "taixiu", 1L).join();
+        return currencyManager.withdraw(player, AMOUNT, TransactionType.BET, "taixiu", 1L).join();
+    }
+}
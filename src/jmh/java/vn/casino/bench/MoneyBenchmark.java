@@ -0,0 +1,68 @@
+package vn.casino.bench;
+
+import org.openjdk.jmh.annotations.*;
+import vn.casino.economy.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-bet money arithmetic: limit checks, jackpot contribution, payout and
+ * running total, as BigDecimal versus {@link Money}.
+ * Run with {@code -Pjmh.profilers=gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final BigDecimal MIN_BET = new BigDecimal("1000");
+    private static final BigDecimal MAX_BET = new BigDecimal("10000000");
+    private static final BigDecimal CONTRIBUTION_RATE = new BigDecimal("0.002");
+    private static final BigDecimal PAYOUT_MULTIPLIER = new BigDecimal("1.98");
+
+    private static final Money MIN_BET_MONEY = Money.ofMajor(1000);
+    private static final Money MAX_BET_MONEY = Money.ofMajor(10_000_000);
+    private static final long CONTRIBUTION_PPM = 2_000;
+    private static final long PAYOUT_BASIS_POINTS = 19_800;
+
+    private final BigDecimal[] amounts = new BigDecimal[1024];
+    private final Money[] monies = new Money[1024];
+    private int index;
+
+    private BigDecimal total = BigDecimal.ZERO;
+    private Money totalMoney = Money.ZERO;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(1000 + i * 37L).setScale(2);
+            monies[i] = Money.of(amounts[i]);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal amount = amounts[index++ & 1023];
+        if (amount.compareTo(MIN_BET) < 0 || amount.compareTo(MAX_BET) > 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal contribution = amount.multiply(CONTRIBUTION_RATE).setScale(2, RoundingMode.DOWN);
+        BigDecimal payout = amount.multiply(PAYOUT_MULTIPLIER).setScale(2, RoundingMode.DOWN);
+        total = total.add(amount);
+        return payout.subtract(contribution);
+    }
+
+    @Benchmark
+    public Money money() {
+        Money amount = monies[index++ & 1023];
+        if (amount.isLessThan(MIN_BET_MONEY) || amount.isGreaterThan(MAX_BET_MONEY)) {
+            return Money.ZERO;
+        }
+        Money contribution = amount.times(CONTRIBUTION_PPM, 1_000_000);
+        Money payout = amount.times(PAYOUT_BASIS_POINTS, 10_000);
+        totalMoney = totalMoney.plus(amount);
+        return payout.minus(contribution);
+    }
+}
@@ -0,0 +1,44 @@
+package vn.casino.bench;
+
+import org.openjdk.jmh.annotations.*;
+import vn.casino.game.engine.ProvablyFairRNG;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provably fair RNG: one dice per call and a full three-dice round
+ * under each algorithm version.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RngBenchmark {
+
+    private String serverSeed;
+    private long nonce;
+
+    @Setup
+    public void setUp() {
+        serverSeed = ProvablyFairRNG.generateServerSeed();
+    }
+
+    @Benchmark
+    public int rollDice() {
+        return ProvablyFairRNG.rollDice(serverSeed, "dice1", nonce++);
+    }
+
+    @Benchmark
+    public int[] rollRoundLegacy() {
+        return ProvablyFairRNG.rollMultipleDice(ProvablyFairRNG.ALGORITHM_LEGACY, serverSeed, "baucua", nonce++, 3);
+    }
+
+    @Benchmark
+    public int[] rollRoundRejection() {
+        return ProvablyFairRNG.rollMultipleDice(ProvablyFairRNG.ALGORITHM_REJECTION, serverSeed, "baucua", nonce++, 3);
+    }
+
+    @Benchmark
+    public String commitment() {
+        return ProvablyFairRNG.commitment(serverSeed);
+    }
+}
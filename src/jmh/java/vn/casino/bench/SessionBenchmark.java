@@ -0,0 +1,84 @@
+package vn.casino.bench;
+
+import org.openjdk.jmh.annotations.*;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.economy.Money;
+import vn.casino.game.engine.Bet;
+import vn.casino.game.engine.GameResult;
+import vn.casino.game.engine.GameSession;
+import vn.casino.game.engine.GameSessionState;
+import vn.casino.game.engine.ProvablyFairRNG;
+import vn.casino.game.taixiu.TaiXiuBetType;
+import vn.casino.game.taixiu.TaiXiuConfig;
+import vn.casino.game.taixiu.TaiXiuGame;
+import vn.casino.game.taixiu.TaiXiuResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Per-round session work: payout calculation and bet aggregation
+ * over sessions of increasing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SessionBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int bets;
+
+    private TaiXiuGame game;
+    private GameSession session;
+    private GameResult result;
+    private UUID samplePlayer;
+
+    @Setup
+    public void setUp() {
+        // Payout calculation does not touch the economy, jackpot or session manager
+        game = new TaiXiuGame(new TaiXiuConfig(), null, null, null,
+            new MetricsRegistry(false), Logger.getLogger("bench"));
+
+        String serverSeed = ProvablyFairRNG.generateServerSeed();
+        session = new GameSession(1L, "taixiu", null, serverSeed, ProvablyFairRNG.commitment(serverSeed));
+        session.setState(GameSessionState.BETTING);
+
+        // Roughly 4 bets per player, split between Tai and Xiu
+        int players = Math.max(1, bets / 4);
+        UUID[] playerIds = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = UUID.randomUUID();
+        }
+        for (int i = 0; i < bets; i++) {
+            TaiXiuBetType type = (i & 1) == 0 ? TaiXiuBetType.TAI : TaiXiuBetType.XIU;
+            session.addBet(Bet.create(1L, playerIds[i % players], type, Money.ofMajor(1000 + i % 50)));
+        }
+        samplePlayer = playerIds[0];
+
+        session.setState(GameSessionState.CALCULATING);
+        result = new TaiXiuResult(serverSeed, session.getServerSeedHash(), 4, 4, 5).toGameResult();
+    }
+
+    @Benchmark
+    public Map<UUID, Money> calculatePayouts() {
+        return game.calculatePayouts(session, result);
+    }
+
+    @Benchmark
+    public List<Bet> getAllBets() {
+        return session.getAllBets();
+    }
+
+    @Benchmark
+    public Money getTotalBetAmount() {
+        return session.getTotalBetAmount();
+    }
+
+    @Benchmark
+    public Money getPlayerTotalBetAmount() {
+        return session.getTotalBetAmount(samplePlayer);
+    }
+}
@@ -0,0 +1,60 @@
+package vn.casino.bench;
+
+import org.openjdk.jmh.annotations.*;
+import vn.casino.game.engine.ProvablyFairRNG;
+import vn.casino.game.taixiu.TaiXiuResult;
+import vn.casino.game.taixiu.TaiXiuSoiCau;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soi cau statistics over a full history window,
+ * as requested on every GUI refresh.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SoiCauBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int historySize;
+
+    private TaiXiuSoiCau soiCau;
+    private TaiXiuResult nextResult;
+
+    @Setup
+    public void setUp() {
+        soiCau = new TaiXiuSoiCau(historySize);
+        String serverSeed = ProvablyFairRNG.generateServerSeed();
+        String hash = ProvablyFairRNG.commitment(serverSeed);
+
+        for (int i = 0; i < historySize; i++) {
+            int[] dice = ProvablyFairRNG.rollMultipleDice(ProvablyFairRNG.CURRENT_ALGORITHM, serverSeed, "dice", i, 3);
+            soiCau.addResult(new TaiXiuResult(serverSeed, hash, dice[0], dice[1], dice[2]));
+        }
+        nextResult = new TaiXiuResult(serverSeed, hash, 6, 5, 4);
+    }
+
+    @Benchmark
+    public TaiXiuSoiCau.Statistics getStatistics() {
+        return soiCau.getStatistics();
+    }
+
+    @Benchmark
+    public int readHistoryWindow() {
+        // What the Soi Cau GUI walks on every open
+        TaiXiuSoiCau.Snapshot snapshot = soiCau.getSnapshot();
+        int sum = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            sum += snapshot.getTotal(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public TaiXiuSoiCau.Statistics addResultThenStatistics() {
+        // History is full, so each add evicts the oldest result
+        soiCau.addResult(nextResult);
+        return soiCau.getStatistics();
+    }
+}
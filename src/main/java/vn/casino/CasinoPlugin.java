@@ -5,6 +5,7 @@ import lombok.Getter;
 import org.bukkit.plugin.java.JavaPlugin;
 import vn.casino.core.cache.CacheProvider;
 import vn.casino.core.cache.CaffeineFallback;
+import vn.casino.core.cache.NearCacheProvider;
 import vn.casino.core.cache.RedisCacheProvider;
 import vn.casino.core.config.ConfigManager;
 import vn.casino.core.config.GameConfigLoader;
@@ -12,14 +13,24 @@ import vn.casino.core.config.MainConfig;
 import vn.casino.core.database.DatabaseProvider;
 import vn.casino.core.database.MySQLProvider;
 import vn.casino.core.database.SQLiteProvider;
+import vn.casino.core.metrics.MetricsRegistry;
 import vn.casino.core.scheduler.FoliaScheduler;
 import vn.casino.commands.*;
+import vn.casino.economy.BalanceLedger;
 import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.TransactionLogWriter;
 import vn.casino.economy.TransactionRepository;
+import vn.casino.economy.TransactionRetentionJob;
+import vn.casino.economy.archive.GzipTransactionArchiver;
+import vn.casino.economy.archive.SegmentTransactionArchiver;
+import vn.casino.economy.archive.TransactionArchiveReader;
+import vn.casino.economy.archive.TransactionArchiver;
 import vn.casino.economy.VaultBridge;
 import vn.casino.game.baucua.BauCuaConfig;
 import vn.casino.game.baucua.BauCuaGame;
 import vn.casino.game.engine.GameSessionManager;
+import vn.casino.game.engine.SessionPersister;
+import vn.casino.game.engine.SettlementEngine;
 import vn.casino.game.jackpot.JackpotManager;
 import vn.casino.game.taixiu.TaiXiuConfig;
 import vn.casino.game.taixiu.TaiXiuGame;
@@ -32,7 +43,10 @@ import vn.casino.listener.PlayerCleanupListener;
 import vn.casino.placeholder.CasinoPlaceholders;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 
 @Getter
@@ -46,10 +60,14 @@ public final class CasinoPlugin extends JavaPlugin {
     private MainConfig mainConfig;
     private GameConfigLoader gameConfigLoader;
     private MessageManager messageManager;
+    private MetricsRegistry metrics;
     private FoliaLib foliaLib;
     private DatabaseProvider databaseProvider;
     private CacheProvider cacheProvider;
     private TransactionRepository transactionRepository;
+    private BalanceLedger balanceLedger;
+    private TransactionLogWriter transactionLogWriter;
+    private TransactionRetentionJob retentionJob;
     private CurrencyManager currencyManager;
     private VaultBridge vaultBridge;
 
@@ -156,6 +174,26 @@ public final class CasinoPlugin extends JavaPlugin {
             sessionManager.shutdown();
         }
 
+        // Stop retention purge after its current chunk
+        if (retentionJob != null) {
+            retentionJob.stop();
+        }
+
+        // Write out pending jackpot contributions
+        if (jackpotManager != null) {
+            jackpotManager.shutdown();
+        }
+
+        // Drain write-behind ledger before the database goes away
+        if (balanceLedger != null) {
+            balanceLedger.shutdown();
+        }
+
+        // Drain queued transaction rows before the database goes away
+        if (transactionLogWriter != null) {
+            transactionLogWriter.shutdown();
+        }
+
         // Shutdown cache
         if (cacheProvider != null) {
             try {
@@ -201,6 +239,7 @@ public final class CasinoPlugin extends JavaPlugin {
             saveDefaultConfig();
             configManager = new ConfigManager(this);
             mainConfig = configManager.loadMainConfig();
+            metrics = new MetricsRegistry(mainConfig.isMetricsEnabled());
             gameConfigLoader = new GameConfigLoader(this);
 
             getLogger().info("Loaded configuration (Language: " + mainConfig.getLanguage() + ")");
@@ -239,7 +278,7 @@ public final class CasinoPlugin extends JavaPlugin {
 
     private boolean initializeManagers() {
         try {
-            messageManager = new MessageManager(this, mainConfig.getLanguage());
+            messageManager = new MessageManager(this, mainConfig.getLanguage(), metrics);
 
             getLogger().info("Initialized message manager");
             return true;
@@ -251,14 +290,44 @@ public final class CasinoPlugin extends JavaPlugin {
 
     private boolean initializeEconomy() {
         try {
-            // Initialize transaction repository
-            transactionRepository = new TransactionRepository(databaseProvider, getLogger());
+            // Initialize transaction repository (serves archived history past the live table)
+            TransactionArchiveReader archiveReader = isSegmentArchive()
+                ? new TransactionArchiveReader(getArchiveFolder())
+                : null;
+            transactionRepository = new TransactionRepository(databaseProvider, archiveReader, getLogger());
+
+            // Initialize write-behind ledger (optional, replays journal on start)
+            if (mainConfig.isLedgerEnabled()) {
+                balanceLedger = new BalanceLedger(
+                    databaseProvider,
+                    getDataFolder().toPath().resolve(mainConfig.getLedgerJournalFile()),
+                    mainConfig.getLedgerFlushIntervalMs(),
+                    mainConfig.getLedgerFlushBatchSize(),
+                    getLogger()
+                );
+                balanceLedger.start();
+            }
+
+            // Initialize group-commit transaction log writer (optional)
+            if (mainConfig.isTransactionLogEnabled()) {
+                transactionLogWriter = new TransactionLogWriter(
+                    databaseProvider,
+                    mainConfig.getTransactionLogQueueCapacity(),
+                    mainConfig.getTransactionLogMaxLatencyMs(),
+                    mainConfig.getTransactionLogBatchSize(),
+                    metrics,
+                    getLogger()
+                );
+                transactionLogWriter.start();
+            }
 
             // Initialize currency manager
             currencyManager = new CurrencyManager(
                 databaseProvider,
                 cacheProvider,
                 transactionRepository,
+                balanceLedger,
+                transactionLogWriter,
                 getLogger()
             );
 
@@ -278,10 +347,44 @@ public final class CasinoPlugin extends JavaPlugin {
     private boolean initializeGames() {
         try {
             // Initialize game session manager
-            sessionManager = new GameSessionManager(databaseProvider, scheduler, getLogger());
+            SettlementEngine settlementEngine = new SettlementEngine(
+                databaseProvider,
+                currencyManager,
+                metrics,
+                getLogger()
+            );
+            SessionPersister sessionPersister = new SessionPersister(
+                databaseProvider,
+                settlementEngine,
+                getDataFolder().toPath().resolve(mainConfig.getSessionSpoolFile()),
+                mainConfig.getPersistenceThreads(),
+                mainConfig.getPersistenceMaxAttempts(),
+                mainConfig.getPersistenceRetryBackoffMs(),
+                mainConfig.getSessionSpoolRetryIntervalMs(),
+                metrics,
+                getLogger()
+            );
+            sessionManager = new GameSessionManager(sessionPersister, scheduler, getLogger());
+
+            // Finish rounds that were interrupted between result persistence and payout
+            settlementEngine.resumePending().exceptionally(ex -> {
+                getLogger().log(Level.SEVERE, "Failed to resume pending settlements", ex);
+                return 0;
+            });
+
+            // Replay rounds spooled while the database was unreachable
+            sessionPersister.start();
 
             // Initialize jackpot manager
-            jackpotManager = new JackpotManager(databaseProvider, cacheProvider, currencyManager, getLogger());
+            jackpotManager = new JackpotManager(
+                databaseProvider, cacheProvider, currencyManager, mainConfig.getJackpotFlushIntervalMs(), getLogger());
+            jackpotManager.start();
+
+            // Pay jackpots that were claimed but not credited before a crash
+            jackpotManager.resumeUnpaid().exceptionally(ex -> {
+                getLogger().log(Level.SEVERE, "Failed to resume unpaid jackpot wins", ex);
+                return 0;
+            });
 
             // Load game configurations
             gameConfigLoader.loadGameConfigs();
@@ -298,6 +401,7 @@ public final class CasinoPlugin extends JavaPlugin {
                 currencyManager,
                 jackpotManager,
                 sessionManager,
+                metrics,
                 getLogger()
             );
 
@@ -305,6 +409,7 @@ public final class CasinoPlugin extends JavaPlugin {
                 currencyManager,
                 jackpotManager,
                 sessionManager,
+                metrics,
                 getLogger(),
                 xocDiaConfig,
                 roomManager
@@ -315,12 +420,27 @@ public final class CasinoPlugin extends JavaPlugin {
                 currencyManager,
                 jackpotManager,
                 sessionManager,
+                metrics,
                 getLogger()
             );
 
+            taiXiuGame.setParallelPayoutThreshold(mainConfig.getParallelPayoutThreshold());
+            xocDiaGame.setParallelPayoutThreshold(mainConfig.getParallelPayoutThreshold());
+            bauCuaGame.setParallelPayoutThreshold(mainConfig.getParallelPayoutThreshold());
+
+            // Refill Soi Cau windows from stored rounds before the first result
+            taiXiuGame.getHistory().warmUp(databaseProvider, taiXiuGame.getId())
+                .thenAccept(loaded -> getLogger().info("Loaded " + loaded + " Tai Xiu results into Soi Cau"))
+                .exceptionally(ex -> {
+                    getLogger().log(Level.WARNING, "Failed to load Tai Xiu history", ex);
+                    return null;
+                });
+
             // Initialize GUI manager
-            guiManager = new GuiManager(this, scheduler, messageManager, transactionRepository);
+            guiManager = new GuiManager(this, scheduler, messageManager, transactionRepository, metrics);
             guiManager.setGames(taiXiuGame, xocDiaGame, bauCuaGame);
+            sessionManager.addResultListener((game, session, result) ->
+                guiManager.broadcastResult(game, session.getRoom(), result));
 
             // Start game sessions
             startGameSessions();
@@ -334,21 +454,20 @@ public final class CasinoPlugin extends JavaPlugin {
     }
 
     private void startGameSessions() {
-        // Use scheduleRound() which properly handles state transitions:
+        // Rounds run on the session manager's round clock:
         // WAITING -> BETTING -> CALCULATING -> RESULT -> ENDED -> (next round)
+        // Start times are staggered so games do not change phase on the same tick
 
         // Start Tai Xiu session loop (1 second delay)
-        scheduler.runLater(() -> sessionManager.scheduleRound(taiXiuGame, null), 20);
+        sessionManager.scheduleRound(taiXiuGame, null, Duration.ofSeconds(1));
 
         // Start Bau Cua session loop (2 second delay)
-        scheduler.runLater(() -> sessionManager.scheduleRound(bauCuaGame, null), 40);
+        sessionManager.scheduleRound(bauCuaGame, null, Duration.ofSeconds(2));
 
         // Start Xoc Dia sessions for each room (3 second delay)
-        scheduler.runLater(() -> {
-            for (var room : roomManager.getAllRooms()) {
-                sessionManager.scheduleRound(xocDiaGame, room.getId());
-            }
-        }, 60);
+        for (var room : roomManager.getAllRooms()) {
+            sessionManager.scheduleRound(xocDiaGame, room.getId(), Duration.ofSeconds(3));
+        }
 
         getLogger().info("Game sessions scheduled (auto-start enabled)");
     }
@@ -368,7 +487,7 @@ public final class CasinoPlugin extends JavaPlugin {
 
             // Register admin commands
             CasinoCommand casinoCommand = new CasinoCommand(
-                configManager, messageManager, sessionManager, roomManager, jackpotManager
+                configManager, messageManager, sessionManager, roomManager, jackpotManager, metrics
             );
             getCommand("casino").setExecutor(casinoCommand);
             getCommand("casino").setTabCompleter(casinoCommand);
@@ -392,7 +511,7 @@ public final class CasinoPlugin extends JavaPlugin {
     private void registerListeners() {
         // Register player cleanup listener for disconnect handling
         getServer().getPluginManager().registerEvents(
-            new PlayerCleanupListener(guiManager, taiXiuGame, xocDiaGame, bauCuaGame),
+            new PlayerCleanupListener(guiManager, currencyManager, taiXiuGame, xocDiaGame, bauCuaGame),
             this
         );
         getLogger().info("Event listeners registered");
@@ -413,16 +532,38 @@ public final class CasinoPlugin extends JavaPlugin {
     }
 
     private void startBackgroundTasks() {
-        // Daily transaction cleanup task (30-day retention)
-        scheduler.runTimer(() -> {
-            transactionRepository.deleteOlderThan(Duration.ofDays(30))
-                .exceptionally(ex -> {
-                    getLogger().log(Level.WARNING, "Transaction cleanup failed", ex);
-                    return 0;
-                });
-        }, 0, 24 * 60 * 60 * 20); // Run daily (20 ticks/second * 60 * 60 * 24)
+        // Daily transaction cleanup task, chunked so it never holds long locks
+        retentionJob = new TransactionRetentionJob(
+            databaseProvider,
+            Duration.ofDays(mainConfig.getRetentionDays()),
+            mainConfig.getRetentionBatchSize(),
+            mainConfig.getRetentionPauseMs(),
+            createTransactionArchiver(),
+            metrics,
+            getLogger()
+        );
+        scheduler.runAsyncTimer(retentionJob::run, 0, 24 * 60 * 60 * 20); // Run daily (20 ticks/second * 60 * 60 * 24)
 
-        getLogger().info("Background tasks started (transaction cleanup: daily)");
+        getLogger().info("Background tasks started (transaction cleanup: daily, "
+            + mainConfig.getRetentionDays() + "-day retention)");
+    }
+
+    private TransactionArchiver createTransactionArchiver() {
+        if (!mainConfig.isRetentionArchiveEnabled()) {
+            return null;
+        }
+        return isSegmentArchive()
+            ? new SegmentTransactionArchiver(getArchiveFolder())
+            : new GzipTransactionArchiver(getArchiveFolder());
+    }
+
+    private boolean isSegmentArchive() {
+        return mainConfig.isRetentionArchiveEnabled()
+            && !"tsv".equalsIgnoreCase(mainConfig.getRetentionArchiveFormat());
+    }
+
+    private Path getArchiveFolder() {
+        return getDataFolder().toPath().resolve(mainConfig.getRetentionArchiveFolder());
     }
 
     private DatabaseProvider createDatabaseProvider() {
@@ -439,11 +580,11 @@ public final class CasinoPlugin extends JavaPlugin {
     private CacheProvider createCacheProvider() {
         if (mainConfig.isRedisEnabled()) {
             try {
-                RedisCacheProvider redis = new RedisCacheProvider(mainConfig, getLogger());
+                RedisCacheProvider redis = new RedisCacheProvider(mainConfig, metrics, getLogger());
                 // Test Redis connection before returning
                 redis.initialize().join();
                 if (redis.isHealthy()) {
-                    return redis;
+                    return mainConfig.isNearCacheEnabled() ? createNearCache(redis) : redis;
                 }
                 getLogger().warning("Redis connection failed, falling back to Caffeine");
             } catch (Exception e) {
@@ -453,6 +594,13 @@ public final class CasinoPlugin extends JavaPlugin {
         return new CaffeineFallback(mainConfig, getLogger());
     }
 
+    private CacheProvider createNearCache(RedisCacheProvider redis) {
+        Map<String, Duration> prefixTtls = new HashMap<>();
+        mainConfig.getNearCacheTtlSeconds().forEach((prefix, seconds) ->
+            prefixTtls.put(prefix, Duration.ofSeconds(seconds)));
+        return new NearCacheProvider(redis, mainConfig.getNearCacheMaxSize(), prefixTtls, metrics, getLogger());
+    }
+
     public void reload() {
         getLogger().info("Reloading configuration...");
 
@@ -7,6 +7,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import vn.casino.core.config.ConfigManager;
+import vn.casino.core.metrics.MetricsRegistry;
 import vn.casino.game.engine.GameSessionManager;
 import vn.casino.game.jackpot.JackpotManager;
 import vn.casino.game.xocdia.XocDiaRoomManager;
@@ -38,19 +39,22 @@ public class CasinoCommand implements CommandExecutor, TabCompleter {
     private final GameSessionManager sessionManager;
     private final XocDiaRoomManager roomManager;
     private final JackpotManager jackpotManager;
+    private final MetricsRegistry metrics;
 
     public CasinoCommand(
         ConfigManager configManager,
         MessageManager messageManager,
         GameSessionManager sessionManager,
         XocDiaRoomManager roomManager,
-        JackpotManager jackpotManager
+        JackpotManager jackpotManager,
+        MetricsRegistry metrics
     ) {
         this.configManager = configManager;
         this.messageManager = messageManager;
         this.sessionManager = sessionManager;
         this.roomManager = roomManager;
         this.jackpotManager = jackpotManager;
+        this.metrics = metrics;
     }
 
     @Override
@@ -101,6 +105,22 @@ public class CasinoCommand implements CommandExecutor, TabCompleter {
         // Room stats
         sender.sendMessage("§eXoc Dia Rooms: §f" + roomManager.getAllRooms().size());
 
+        // Performance metrics
+        if (metrics.isEnabled()) {
+            sender.sendMessage("§6Performance:");
+            metrics.timerSnapshots().forEach((name, snapshot) ->
+                sender.sendMessage(String.format("§e%s: §f%d §7(avg %.2fms, max %.2fms)",
+                    name, snapshot.count(), snapshot.meanMillis(), snapshot.maxMillis()))
+            );
+            metrics.histogramSnapshots().forEach((name, snapshot) ->
+                sender.sendMessage(String.format("§e%s: §f%d §7(avg %.1f, p50 %d, p99 %d, max %d)",
+                    name, snapshot.count(), snapshot.mean(), snapshot.p50(), snapshot.p99(), snapshot.max()))
+            );
+            metrics.counterSnapshots().forEach((name, value) ->
+                sender.sendMessage("§e" + name + ": §f" + value)
+            );
+        }
+
         sender.sendMessage("§6" + "=".repeat(30));
     }
 
@@ -113,9 +133,18 @@ public class CasinoCommand implements CommandExecutor, TabCompleter {
         String gameId = args[1].toLowerCase();
         String action = args[2].toLowerCase();
 
+        if (!List.of("taixiu", "xocdia", "baucua").contains(gameId)) {
+            sender.sendMessage("§cUnknown game: " + gameId);
+            return;
+        }
+
         switch (action) {
-            case "start" -> sender.sendMessage("§aGame " + gameId + " started (sessions are auto-scheduled)");
-            case "stop" -> sender.sendMessage("§cGame " + gameId + " stopped");
+            case "start" -> sender.sendMessage(sessionManager.resumeGame(gameId)
+                ? "§aGame " + gameId + " started"
+                : "§eGame " + gameId + " is already running");
+            case "stop" -> sender.sendMessage(sessionManager.pauseGame(gameId)
+                ? "§cGame " + gameId + " stopped (the current round will finish)"
+                : "§eGame " + gameId + " is already stopped");
             default -> sender.sendMessage("§cInvalid action. Use start or stop");
         }
     }
@@ -164,7 +193,7 @@ public class CasinoCommand implements CommandExecutor, TabCompleter {
                 sender.sendMessage("§6§lXoc Dia Rooms:");
                 roomManager.getAllRooms().forEach(room ->
                     sender.sendMessage(String.format("§e%s §7- §f%s §8[§a%s §7- §c%s§8]",
-                        room.getId(), room.getDisplayName(), room.getMinBet(), room.getMaxBet()))
+                        room.getId(), room.getDisplayName(), room.getMinBet().toBigDecimal(), room.getMaxBet().toBigDecimal()))
                 );
             }
             default -> sender.sendMessage("§cUsage: /casino room <create|delete|list>");
@@ -187,7 +216,7 @@ public class CasinoCommand implements CommandExecutor, TabCompleter {
 
         switch (action) {
             case "view" -> jackpotManager.getPool(gameId).thenAccept(pool ->
-                sender.sendMessage("§6Jackpot for " + gameId + ": §e" + pool + " VND")
+                sender.sendMessage("§6Jackpot for " + gameId + ": §e" + pool.toBigDecimal() + " VND")
             );
             case "set", "add" -> {
                 if (args.length < 4) {
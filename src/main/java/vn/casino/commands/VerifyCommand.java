@@ -78,6 +78,7 @@ public class VerifyCommand implements CommandExecutor {
             sender.sendMessage("");
             sender.sendMessage("§eServer Seed: §7" + sessionData.serverSeed);
             sender.sendMessage("§eHash (SHA-256): §7" + sessionData.serverSeedHash);
+            sender.sendMessage("§eRNG Algorithm: §7v" + sessionData.rngAlgorithm);
             sender.sendMessage("");
             sender.sendMessage("§eResult: §f" + sessionData.resultDisplay);
             sender.sendMessage("§eRaw Values: §7" + sessionData.resultRawValues);
@@ -118,7 +119,7 @@ public class VerifyCommand implements CommandExecutor {
      */
     private CompletableFuture<SessionData> loadSession(long sessionId) {
         String sql = """
-            SELECT game_id, room, server_seed, server_seed_hash,
+            SELECT game_id, room, server_seed, server_seed_hash, rng_algorithm,
                    result_raw_values, result_display, state
             FROM casino_game_sessions
             WHERE id = ?
@@ -132,6 +133,7 @@ public class VerifyCommand implements CommandExecutor {
                         rs.getString("room"),
                         rs.getString("server_seed"),
                         rs.getString("server_seed_hash"),
+                        rs.getInt("rng_algorithm"),
                         rs.getString("result_raw_values"),
                         rs.getString("result_display"),
                         rs.getString("state")
@@ -152,6 +154,7 @@ public class VerifyCommand implements CommandExecutor {
         String room,
         String serverSeed,
         String serverSeedHash,
+        int rngAlgorithm,
         String resultRawValues,
         String resultDisplay,
         String state
@@ -127,8 +127,8 @@ public class XocDiaCommand implements CommandExecutor, TabCompleter {
                 room.getId(),
                 room.getDisplayName(),
                 playerCount,
-                room.getMinBet(),
-                room.getMaxBet()
+                room.getMinBet().toBigDecimal(),
+                room.getMaxBet().toBigDecimal()
             ));
         });
     }
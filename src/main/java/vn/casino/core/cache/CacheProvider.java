@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * Cache provider interface for high-performance data caching.
@@ -68,6 +69,32 @@ public interface CacheProvider {
      */
     CompletableFuture<Long> decrement(String key);
 
+    /**
+     * Atomically add to a numeric value, only if the key exists.
+     * A missing key is left missing so a later read reloads the full value.
+     *
+     * @param key Cache key
+     * @param delta Amount to add (may be negative)
+     * @return CompletableFuture with new value, empty if the key was missing
+     */
+    CompletableFuture<Optional<Long>> incrementByIfPresent(String key, long delta);
+
+    /**
+     * Atomically advance a generation counter that still holds the expected value
+     * and, in the same step, add to a numeric value if it exists.
+     * A missing counter is treated as holding the expected value. Only one caller
+     * can advance a given generation, which makes this a cross-server claim.
+     *
+     * @param generationKey Generation counter key
+     * @param expected Generation the caller observed
+     * @param ttl TTL of the advanced counter
+     * @param valueKey Numeric key adjusted together with the counter
+     * @param delta Amount to add to valueKey (may be negative)
+     * @return CompletableFuture with true if this caller advanced the generation
+     */
+    CompletableFuture<Boolean> compareAndAdvance(String generationKey, long expected, Duration ttl,
+                                                 String valueKey, long delta);
+
     /**
      * Add member to sorted set with score.
      *
@@ -134,6 +161,18 @@ public interface CacheProvider {
      */
     CompletableFuture<Void> hdel(String key, String field);
 
+    /**
+     * Issue several commands as one batch.
+     * Commands called on the given provider inside the function are sent together
+     * (one pipeline round trip on Redis). The function must not wait on their results.
+     *
+     * @param commands Issues commands and combines their futures
+     * @return The function's future
+     */
+    default <T> CompletableFuture<T> batch(Function<CacheProvider, CompletableFuture<T>> commands) {
+        return commands.apply(this);
+    }
+
     /**
      * Check if cache is healthy and reachable.
      *
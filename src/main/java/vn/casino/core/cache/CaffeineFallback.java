@@ -152,6 +152,33 @@ public class CaffeineFallback implements CacheProvider {
         }, executor);
     }
 
+    @Override
+    public CompletableFuture<Optional<Long>> incrementByIfPresent(String key, long delta) {
+        return CompletableFuture.supplyAsync(() -> addIfPresent(key, delta), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> compareAndAdvance(String generationKey, long expected, Duration ttl,
+                                                        String valueKey, long delta) {
+        return CompletableFuture.supplyAsync(() -> {
+            // CAS on the counter entry; a missing or expired counter counts as the expected generation
+            long now = System.currentTimeMillis();
+            CacheEntry observed = cache.getIfPresent(generationKey);
+            boolean live = observed != null && (observed.expiresAt == 0 || now <= observed.expiresAt);
+            if (live && !observed.value.equals(String.valueOf(expected))) {
+                return false;
+            }
+            CacheEntry advanced = new CacheEntry(String.valueOf(expected + 1), now + ttl.toMillis());
+            boolean claimed = observed == null
+                ? cache.asMap().putIfAbsent(generationKey, advanced) == null
+                : cache.asMap().replace(generationKey, observed, advanced);
+            if (claimed) {
+                addIfPresent(valueKey, delta);
+            }
+            return claimed;
+        }, executor);
+    }
+
     @Override
     public CompletableFuture<Void> zadd(String key, double score, String member) {
         return CompletableFuture.runAsync(() -> {
@@ -263,6 +290,17 @@ public class CaffeineFallback implements CacheProvider {
         return "caffeine";
     }
 
+    private Optional<Long> addIfPresent(String key, long delta) {
+        CacheEntry updated = cache.asMap().computeIfPresent(key, (k, entry) -> {
+            try {
+                return new CacheEntry(String.valueOf(Long.parseLong(entry.value) + delta), entry.expiresAt);
+            } catch (NumberFormatException e) {
+                return null; // Not numeric - drop it so it is reloaded
+            }
+        });
+        return Optional.ofNullable(updated).map(entry -> Long.parseLong(entry.value));
+    }
+
     /**
      * Cache entry with expiration support.
      */
@@ -0,0 +1,263 @@
+package vn.casino.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import vn.casino.core.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Two-tier cache: a bounded in-process Caffeine cache in front of Redis.
+ *
+ * Only plain string keys whose prefix has a configured TTL are kept locally;
+ * hashes, sorted sets and other keys go straight to Redis. Every write or
+ * delete through this provider publishes the key on an invalidation channel,
+ * and other servers drop their local copy when they receive it. The local
+ * TTL bounds staleness if an invalidation is missed; the whole near cache is
+ * cleared whenever the subscription is (re-)established.
+ */
+public class NearCacheProvider implements CacheProvider {
+
+    static final String INVALIDATION_CHANNEL = "casino:cache:invalidate";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final RedisCacheProvider remote;
+    private final Map<String, Duration> prefixTtls;
+    private final MetricsRegistry metrics;
+    private final Logger logger;
+
+    private final Cache<String, NearEntry> near;
+    private final String serverId = UUID.randomUUID().toString();
+
+    // Bumped on every invalidation so an in-flight miss cannot cache a value older than the invalidation
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * @param remote Redis provider (initialized by this decorator)
+     * @param maxSize Maximum locally cached keys
+     * @param prefixTtls Local TTL per key prefix; keys without a matching prefix are not cached locally
+     */
+    public NearCacheProvider(
+        RedisCacheProvider remote,
+        long maxSize,
+        Map<String, Duration> prefixTtls,
+        MetricsRegistry metrics,
+        Logger logger
+    ) {
+        this.remote = remote;
+        this.prefixTtls = Map.copyOf(prefixTtls);
+        this.metrics = metrics;
+        this.logger = logger;
+        this.near = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<String, NearEntry>() {
+                @Override
+                public long expireAfterCreate(String key, NearEntry entry, long currentTime) {
+                    return entry.ttl().toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, NearEntry entry, long currentTime, long currentDuration) {
+                    return entry.ttl().toNanos();
+                }
+
+                @Override
+                public long expireAfterRead(String key, NearEntry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    @Override
+    public CompletableFuture<Void> initialize() {
+        return remote.initialize().thenRun(() -> {
+            remote.subscribe(INVALIDATION_CHANNEL, this::onInvalidation, () -> {
+                near.invalidateAll();
+                logger.info("Near cache subscribed to " + INVALIDATION_CHANNEL);
+            });
+            logger.info("Near cache enabled for prefixes " + prefixTtls.keySet());
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        near.invalidateAll();
+        return remote.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> get(String key) {
+        Duration ttl = ttlFor(key);
+        if (ttl == null) {
+            return remote.get(key);
+        }
+
+        NearEntry cached = near.getIfPresent(key);
+        if (cached != null) {
+            metrics.increment("cache.near.hits");
+            return CompletableFuture.completedFuture(cached.value());
+        }
+
+        metrics.increment("cache.near.misses");
+        int stripe = stripe(key);
+        long generation = generations.get(stripe);
+        return remote.get(key).thenApply(value -> {
+            if (generations.get(stripe) == generation) {
+                near.put(key, new NearEntry(value, ttl));
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> set(String key, String value, Duration ttl) {
+        long generation = invalidateLocal(key);
+        return remote.set(key, value, ttl).thenCompose(v -> {
+            Duration nearTtl = ttlFor(key);
+            if (nearTtl != null && generations.get(stripe(key)) == generation) {
+                near.put(key, new NearEntry(Optional.of(value), nearTtl));
+            }
+            return publishInvalidation(key);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        invalidateLocal(key);
+        return remote.delete(key).thenCompose(v -> publishInvalidation(key));
+    }
+
+    @Override
+    public CompletableFuture<Long> increment(String key) {
+        invalidateLocal(key);
+        return remote.increment(key).thenCompose(value -> publishInvalidation(key).thenApply(v -> value));
+    }
+
+    @Override
+    public CompletableFuture<Long> decrement(String key) {
+        invalidateLocal(key);
+        return remote.decrement(key).thenCompose(value -> publishInvalidation(key).thenApply(v -> value));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Long>> incrementByIfPresent(String key, long delta) {
+        invalidateLocal(key);
+        return remote.incrementByIfPresent(key, delta)
+            .thenCompose(value -> publishInvalidation(key).thenApply(v -> value));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> compareAndAdvance(String generationKey, long expected, Duration ttl,
+                                                        String valueKey, long delta) {
+        invalidateLocal(generationKey);
+        invalidateLocal(valueKey);
+        return remote.compareAndAdvance(generationKey, expected, ttl, valueKey, delta)
+            .thenCompose(claimed -> publishInvalidation(generationKey)
+                .thenCompose(v -> publishInvalidation(valueKey))
+                .thenApply(v -> claimed));
+    }
+
+    @Override
+    public CompletableFuture<Void> zadd(String key, double score, String member) {
+        return remote.zadd(key, score, member);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> zrevrange(String key, long start, long stop) {
+        return remote.zrevrange(key, start, stop);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> zrevrangeWithScores(String key, long start, long stop) {
+        return remote.zrevrangeWithScores(key, start, stop);
+    }
+
+    @Override
+    public CompletableFuture<Void> hset(String key, String field, String value) {
+        return remote.hset(key, field, value);
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> hget(String key, String field) {
+        return remote.hget(key, field);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> hgetAll(String key) {
+        return remote.hgetAll(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> hdel(String key, String field) {
+        return remote.hdel(key, field);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> batch(Function<CacheProvider, CompletableFuture<T>> commands) {
+        // Remote commands issued through this provider join the Redis pipeline
+        return remote.batch(batch -> commands.apply(this));
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return remote.isHealthy();
+    }
+
+    @Override
+    public String getCacheType() {
+        return "redis+near";
+    }
+
+    private void onInvalidation(String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || message.substring(0, separator).equals(serverId)) {
+            return; // Malformed, or our own write which is already applied locally
+        }
+        invalidateLocal(message.substring(separator + 1));
+        metrics.increment("cache.near.invalidations");
+    }
+
+    private CompletableFuture<Void> publishInvalidation(String key) {
+        if (ttlFor(key) == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return remote.publish(INVALIDATION_CHANNEL, serverId + "|" + key);
+    }
+
+    /**
+     * Drop the local copy of a key.
+     *
+     * @return New generation of the key's stripe
+     */
+    private long invalidateLocal(String key) {
+        long generation = generations.incrementAndGet(stripe(key));
+        near.invalidate(key);
+        return generation;
+    }
+
+    private Duration ttlFor(String key) {
+        for (Map.Entry<String, Duration> entry : prefixTtls.entrySet()) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    private record NearEntry(Optional<String> value, Duration ttl) {
+    }
+}
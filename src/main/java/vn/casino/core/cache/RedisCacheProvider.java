@@ -3,15 +3,24 @@ package vn.casino.core.cache;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.resps.Tuple;
 import vn.casino.core.config.MainConfig;
+import vn.casino.core.metrics.Histogram;
+import vn.casino.core.metrics.MetricsRegistry;
 
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -19,17 +28,50 @@ import java.util.stream.Collectors;
 /**
  * Redis cache provider implementation using Jedis.
  * High-performance caching for sessions, leaderboards, and jackpots.
+ *
+ * With a pipeline window configured, commands issued within the window are
+ * sent together as one Jedis pipeline; {@link #batch} always pipelines the
+ * commands issued in its scope.
  */
 public class RedisCacheProvider implements CacheProvider {
 
+    // INCRBY only when the key exists; a nil reply leaves a missing key missing
+    private static final String INCRBY_IF_PRESENT_SCRIPT =
+        "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCRBY', KEYS[1], ARGV[1]) end return false";
+
+    // Advance KEYS[1] from ARGV[1] to ARGV[2] (missing counts as ARGV[1]) and INCRBY KEYS[2] if present
+    private static final String COMPARE_AND_ADVANCE_SCRIPT = """
+        local current = redis.call('GET', KEYS[1])
+        if current and current ~= ARGV[1] then return 0 end
+        redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+        if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('INCRBY', KEYS[2], ARGV[4]) end
+        return 1
+        """;
+
     private final MainConfig config;
     private final Logger logger;
+    private final Histogram pipelineSize;
     private JedisPool jedisPool;
     private ExecutorService executor;
+    private ScheduledExecutorService pipelineFlusher;
+    private final List<JedisPubSub> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+
+    // Batch of the enclosing batch() call on this thread
+    private final ThreadLocal<RedisCommandBatch> scopedBatch = new ThreadLocal<>();
+
+    // Commands waiting for the current pipeline window to close
+    private final Object windowLock = new Object();
+    private RedisCommandBatch windowBatch;
 
     public RedisCacheProvider(MainConfig config, Logger logger) {
+        this(config, new MetricsRegistry(false), logger);
+    }
+
+    public RedisCacheProvider(MainConfig config, MetricsRegistry metrics, Logger logger) {
         this.config = config;
         this.logger = logger;
+        this.pipelineSize = metrics.histogram("cache.pipeline.size");
     }
 
     @Override
@@ -73,6 +115,14 @@ public class RedisCacheProvider implements CacheProvider {
                         }
                 );
 
+                if (config.getRedisPipelineWindowMs() > 0) {
+                    this.pipelineFlusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread thread = new Thread(r, "CasinoCache-Pipeline");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+
                 // Test connection
                 try (Jedis jedis = jedisPool.getResource()) {
                     String pong = jedis.ping();
@@ -93,6 +143,18 @@ public class RedisCacheProvider implements CacheProvider {
         return CompletableFuture.runAsync(() -> {
             logger.info("Shutting down Redis cache connection...");
 
+            running = false;
+            for (JedisPubSub subscription : subscriptions) {
+                if (subscription.isSubscribed()) {
+                    subscription.unsubscribe();
+                }
+            }
+
+            if (pipelineFlusher != null) {
+                pipelineFlusher.shutdownNow();
+                flushWindow();
+            }
+
             if (executor != null && !executor.isShutdown()) {
                 executor.shutdown();
                 try {
@@ -115,6 +177,9 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Void> set(String key, String value, Duration ttl) {
+        if (isPipelining()) {
+            return pipelined("SET", key, p -> p.setex(key, ttl.toSeconds(), value)).thenApply(reply -> null);
+        }
         return CompletableFuture.runAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 jedis.setex(key, ttl.toSeconds(), value);
@@ -127,6 +192,10 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Optional<String>> get(String key) {
+        if (isPipelining()) {
+            return pipelined("GET", key, p -> p.get(key))
+                .handle((value, ex) -> ex == null ? Optional.ofNullable(value) : Optional.empty());
+        }
         return CompletableFuture.supplyAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 return Optional.ofNullable(jedis.get(key));
@@ -139,6 +208,9 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Void> delete(String key) {
+        if (isPipelining()) {
+            return pipelined("DEL", key, p -> p.del(key)).handle((reply, ex) -> null);
+        }
         return CompletableFuture.runAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 jedis.del(key);
@@ -150,6 +222,9 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Long> increment(String key) {
+        if (isPipelining()) {
+            return pipelined("INCR", key, p -> p.incr(key));
+        }
         return CompletableFuture.supplyAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 return jedis.incr(key);
@@ -162,6 +237,9 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Long> decrement(String key) {
+        if (isPipelining()) {
+            return pipelined("DECR", key, p -> p.decr(key));
+        }
         return CompletableFuture.supplyAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 return jedis.decr(key);
@@ -172,8 +250,49 @@ public class RedisCacheProvider implements CacheProvider {
         }, executor);
     }
 
+    @Override
+    public CompletableFuture<Optional<Long>> incrementByIfPresent(String key, long delta) {
+        List<String> keys = List.of(key);
+        List<String> args = List.of(String.valueOf(delta));
+        if (isPipelining()) {
+            return pipelined("INCRBY", key, p -> p.eval(INCRBY_IF_PRESENT_SCRIPT, keys, args))
+                .thenApply(reply -> Optional.ofNullable((Long) reply));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try (Jedis jedis = jedisPool.getResource()) {
+                return Optional.ofNullable((Long) jedis.eval(INCRBY_IF_PRESENT_SCRIPT, keys, args));
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Redis INCRBY failed: " + key, e);
+                throw new RuntimeException("Redis operation failed", e);
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> compareAndAdvance(String generationKey, long expected, Duration ttl,
+                                                        String valueKey, long delta) {
+        List<String> keys = List.of(generationKey, valueKey);
+        List<String> args = List.of(
+            String.valueOf(expected), String.valueOf(expected + 1), String.valueOf(ttl.toMillis()), String.valueOf(delta));
+        if (isPipelining()) {
+            return pipelined("EVAL", generationKey, p -> p.eval(COMPARE_AND_ADVANCE_SCRIPT, keys, args))
+                .thenApply(reply -> Long.valueOf(1).equals(reply));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try (Jedis jedis = jedisPool.getResource()) {
+                return Long.valueOf(1).equals(jedis.eval(COMPARE_AND_ADVANCE_SCRIPT, keys, args));
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Redis compare-and-advance failed: " + generationKey, e);
+                throw new RuntimeException("Redis operation failed", e);
+            }
+        }, executor);
+    }
+
     @Override
     public CompletableFuture<Void> zadd(String key, double score, String member) {
+        if (isPipelining()) {
+            return pipelined("ZADD", key, p -> p.zadd(key, score, member)).thenApply(reply -> null);
+        }
         return CompletableFuture.runAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 jedis.zadd(key, score, member);
@@ -186,6 +305,10 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<List<String>> zrevrange(String key, long start, long stop) {
+        if (isPipelining()) {
+            return pipelined("ZREVRANGE", key, p -> p.zrevrange(key, start, stop))
+                .handle((members, ex) -> ex == null ? new ArrayList<>(members) : Collections.emptyList());
+        }
         return CompletableFuture.supplyAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 return new ArrayList<>(jedis.zrevrange(key, start, stop));
@@ -198,16 +321,13 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Map<String, Double>> zrevrangeWithScores(String key, long start, long stop) {
+        if (isPipelining()) {
+            return pipelined("ZREVRANGE_WITHSCORES", key, p -> p.zrevrangeWithScores(key, start, stop))
+                .handle((tuples, ex) -> ex == null ? toScoreMap(tuples) : Collections.emptyMap());
+        }
         return CompletableFuture.supplyAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
-                Map<String, Double> result = jedis.zrevrangeWithScores(key, start, stop).stream()
-                        .collect(Collectors.toMap(
-                                Tuple::getElement,
-                                Tuple::getScore,
-                                (a, b) -> a,
-                                LinkedHashMap::new
-                        ));
-                return result;
+                return toScoreMap(jedis.zrevrangeWithScores(key, start, stop));
             } catch (Exception e) {
                 logger.log(Level.WARNING, "Redis ZREVRANGE_WITHSCORES failed: " + key, e);
                 return Collections.emptyMap();
@@ -217,6 +337,9 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Void> hset(String key, String field, String value) {
+        if (isPipelining()) {
+            return pipelined("HSET", key, p -> p.hset(key, field, value)).thenApply(reply -> null);
+        }
         return CompletableFuture.runAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 jedis.hset(key, field, value);
@@ -229,6 +352,10 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Optional<String>> hget(String key, String field) {
+        if (isPipelining()) {
+            return pipelined("HGET", key, p -> p.hget(key, field))
+                .handle((value, ex) -> ex == null ? Optional.ofNullable(value) : Optional.empty());
+        }
         return CompletableFuture.supplyAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 return Optional.ofNullable(jedis.hget(key, field));
@@ -241,6 +368,10 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Map<String, String>> hgetAll(String key) {
+        if (isPipelining()) {
+            return pipelined("HGETALL", key, p -> p.hgetAll(key))
+                .handle((fields, ex) -> ex == null ? new HashMap<>(fields) : Collections.emptyMap());
+        }
         return CompletableFuture.supplyAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 return new HashMap<>(jedis.hgetAll(key));
@@ -253,6 +384,9 @@ public class RedisCacheProvider implements CacheProvider {
 
     @Override
     public CompletableFuture<Void> hdel(String key, String field) {
+        if (isPipelining()) {
+            return pipelined("HDEL", key, p -> p.hdel(key, field)).handle((reply, ex) -> null);
+        }
         return CompletableFuture.runAsync(() -> {
             try (Jedis jedis = jedisPool.getResource()) {
                 jedis.hdel(key, field);
@@ -262,6 +396,162 @@ public class RedisCacheProvider implements CacheProvider {
         }, executor);
     }
 
+    @Override
+    public <T> CompletableFuture<T> batch(Function<CacheProvider, CompletableFuture<T>> commands) {
+        if (scopedBatch.get() != null) {
+            return commands.apply(this); // Nested scope joins the outer batch
+        }
+
+        RedisCommandBatch batch = new RedisCommandBatch();
+        scopedBatch.set(batch);
+        CompletableFuture<T> result;
+        try {
+            result = commands.apply(this);
+        } finally {
+            scopedBatch.remove();
+        }
+
+        if (batch.size() > 0) {
+            executor.execute(() -> send(batch));
+        }
+        return result;
+    }
+
+    /**
+     * Publish a message on a channel (pipelined like other commands).
+     *
+     * @param channel Channel name
+     * @param message Message body
+     * @return CompletableFuture that completes when the message was sent
+     */
+    public CompletableFuture<Void> publish(String channel, String message) {
+        if (isPipelining()) {
+            return pipelined("PUBLISH", channel, p -> p.publish(channel, message)).thenApply(reply -> null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try (Jedis jedis = jedisPool.getResource()) {
+                jedis.publish(channel, message);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Redis PUBLISH failed: " + channel, e);
+                throw new RuntimeException("Redis operation failed", e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Subscribe to a channel on a dedicated connection and thread.
+     * The subscription is re-established after connection loss until shutdown.
+     *
+     * @param channel Channel name
+     * @param onMessage Called for every message, on the subscriber thread
+     * @param onSubscribed Called each time the subscription is (re-)established;
+     *                     messages published while disconnected are lost
+     */
+    public void subscribe(String channel, Consumer<String> onMessage, Runnable onSubscribed) {
+        JedisPubSub subscription = new JedisPubSub() {
+            @Override
+            public void onMessage(String ch, String message) {
+                onMessage.accept(message);
+            }
+
+            @Override
+            public void onSubscribe(String ch, int subscribedChannels) {
+                onSubscribed.run();
+            }
+        };
+        subscriptions.add(subscription);
+
+        Thread thread = new Thread(() -> {
+            while (running) {
+                try (Jedis jedis = jedisPool.getResource()) {
+                    jedis.subscribe(subscription, channel);
+                } catch (Exception e) {
+                    if (running) {
+                        logger.log(Level.WARNING, "Redis subscription to " + channel + " lost, retrying", e);
+                    }
+                }
+                if (running) {
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "CasinoCache-Subscriber");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private boolean isPipelining() {
+        return scopedBatch.get() != null || pipelineFlusher != null;
+    }
+
+    /**
+     * Queue a command on the enclosing batch() scope or the current pipeline window.
+     */
+    private <T> CompletableFuture<T> pipelined(String operation, String key, Function<Pipeline, Response<T>> command) {
+        CompletableFuture<T> future;
+        RedisCommandBatch scoped = scopedBatch.get();
+
+        if (scoped != null) {
+            future = scoped.add(command);
+        } else {
+            RedisCommandBatch full = null;
+            synchronized (windowLock) {
+                if (windowBatch == null) {
+                    windowBatch = new RedisCommandBatch();
+                    pipelineFlusher.schedule(this::flushWindow, config.getRedisPipelineWindowMs(), TimeUnit.MILLISECONDS);
+                }
+                future = windowBatch.add(command);
+                if (windowBatch.size() >= config.getRedisPipelineMaxBatchSize()) {
+                    full = windowBatch;
+                    windowBatch = null;
+                }
+            }
+            if (full != null) {
+                RedisCommandBatch batch = full;
+                executor.execute(() -> send(batch));
+            }
+        }
+
+        return future.whenComplete((reply, ex) -> {
+            if (ex != null) {
+                logger.log(Level.WARNING, "Redis " + operation + " failed: " + key, ex);
+            }
+        });
+    }
+
+    private void flushWindow() {
+        RedisCommandBatch batch;
+        synchronized (windowLock) {
+            batch = windowBatch;
+            windowBatch = null;
+        }
+        if (batch != null) {
+            executor.execute(() -> send(batch));
+        }
+    }
+
+    private void send(RedisCommandBatch batch) {
+        pipelineSize.record(batch.size());
+        try (Jedis jedis = jedisPool.getResource()) {
+            batch.execute(jedis);
+        } catch (Exception e) {
+            batch.fail(e);
+        }
+    }
+
+    private Map<String, Double> toScoreMap(List<Tuple> tuples) {
+        return tuples.stream()
+                .collect(Collectors.toMap(
+                        Tuple::getElement,
+                        Tuple::getScore,
+                        (a, b) -> a,
+                        LinkedHashMap::new
+                ));
+    }
+
     @Override
     public boolean isHealthy() {
         try (Jedis jedis = jedisPool.getResource()) {
@@ -0,0 +1,74 @@
+package vn.casino.core.cache;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Commands collected for a single Redis pipeline round trip.
+ * Each command's future is completed from its own pipeline response.
+ * Not thread-safe; callers synchronize while adding.
+ */
+class RedisCommandBatch {
+
+    private final List<QueuedCommand<?>> commands = new ArrayList<>();
+
+    /**
+     * Queue a command.
+     *
+     * @param command Issues the command on the pipeline
+     * @return Future completed with the command's reply
+     */
+    <T> CompletableFuture<T> add(Function<Pipeline, Response<T>> command) {
+        QueuedCommand<T> queued = new QueuedCommand<>(command, new CompletableFuture<>());
+        commands.add(queued);
+        return queued.future();
+    }
+
+    int size() {
+        return commands.size();
+    }
+
+    /**
+     * Send all commands in one pipeline and complete their futures.
+     * A failing command only fails its own future.
+     */
+    void execute(Jedis jedis) {
+        Pipeline pipeline = jedis.pipelined();
+        List<Response<?>> responses = new ArrayList<>(commands.size());
+        for (QueuedCommand<?> command : commands) {
+            responses.add(command.command().apply(pipeline));
+        }
+        pipeline.sync();
+
+        for (int i = 0; i < commands.size(); i++) {
+            complete(commands.get(i), responses.get(i));
+        }
+    }
+
+    /**
+     * Fail every command (e.g. the connection could not be obtained).
+     */
+    void fail(Throwable cause) {
+        for (QueuedCommand<?> command : commands) {
+            command.future().completeExceptionally(cause);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void complete(QueuedCommand<T> command, Response<?> response) {
+        try {
+            command.future().complete(((Response<T>) response).get());
+        } catch (Exception e) {
+            command.future().completeExceptionally(e);
+        }
+    }
+
+    private record QueuedCommand<T>(Function<Pipeline, Response<T>> command, CompletableFuture<T> future) {
+    }
+}
@@ -41,6 +41,23 @@ public class ConfigManager {
             mainConfig.setMaxLifetime(poolSection.getLong("max-lifetime", 1800000));
         }
 
+        mainConfig.setLedgerEnabled(config.getBoolean("economy.write-behind.enabled", false));
+        mainConfig.setLedgerJournalFile(config.getString("economy.write-behind.journal-file", "ledger.journal"));
+        mainConfig.setLedgerFlushIntervalMs(config.getLong("economy.write-behind.flush-interval-ms", 250));
+        mainConfig.setLedgerFlushBatchSize(config.getInt("economy.write-behind.flush-batch-size", 500));
+
+        mainConfig.setTransactionLogEnabled(config.getBoolean("economy.transaction-log.group-commit", true));
+        mainConfig.setTransactionLogQueueCapacity(config.getInt("economy.transaction-log.queue-capacity", 10000));
+        mainConfig.setTransactionLogMaxLatencyMs(config.getLong("economy.transaction-log.max-latency-ms", 50));
+        mainConfig.setTransactionLogBatchSize(config.getInt("economy.transaction-log.batch-size", 500));
+
+        mainConfig.setRetentionDays(config.getInt("economy.retention.days", 30));
+        mainConfig.setRetentionBatchSize(config.getInt("economy.retention.batch-size", 1000));
+        mainConfig.setRetentionPauseMs(config.getLong("economy.retention.pause-ms", 200));
+        mainConfig.setRetentionArchiveEnabled(config.getBoolean("economy.retention.archive", false));
+        mainConfig.setRetentionArchiveFolder(config.getString("economy.retention.archive-folder", "archive"));
+        mainConfig.setRetentionArchiveFormat(config.getString("economy.retention.archive-format", "segment"));
+
         mainConfig.setRedisEnabled(config.getBoolean("redis.enabled", false));
         mainConfig.setRedisHost(config.getString("redis.host", "localhost"));
         mainConfig.setRedisPort(config.getInt("redis.port", 6379));
@@ -48,6 +65,18 @@ public class ConfigManager {
         mainConfig.setRedisDatabase(config.getInt("redis.database", 0));
         mainConfig.setRedisPoolSize(config.getInt("redis.pool-size", 8));
         mainConfig.setRedisTimeout(config.getInt("redis.timeout", 2000));
+        mainConfig.setRedisPipelineWindowMs(config.getLong("redis.pipeline.window-ms", 2));
+        mainConfig.setRedisPipelineMaxBatchSize(config.getInt("redis.pipeline.max-batch-size", 256));
+        mainConfig.setNearCacheEnabled(config.getBoolean("redis.near-cache.enabled", true));
+        mainConfig.setNearCacheMaxSize(config.getLong("redis.near-cache.max-size", 10000));
+
+        ConfigurationSection nearTtlSection = config.getConfigurationSection("redis.near-cache.ttl-seconds");
+        if (nearTtlSection != null) {
+            mainConfig.getNearCacheTtlSeconds().clear();
+            for (String prefix : nearTtlSection.getKeys(false)) {
+                mainConfig.getNearCacheTtlSeconds().put(prefix, nearTtlSection.getInt(prefix));
+            }
+        }
 
         mainConfig.setPlayerCacheDuration(config.getInt("cache.player-cache-duration", 300));
         mainConfig.setMaxCachedPlayers(config.getInt("cache.max-cached-players", 1000));
@@ -58,10 +87,17 @@ public class ConfigManager {
         mainConfig.setHouseEdge(config.getDouble("games.house-edge", 2.5));
         mainConfig.setAnimationSpeed(config.getDouble("games.animation-speed", 1.0));
         mainConfig.setSoundsEnabled(config.getBoolean("games.sounds-enabled", true));
+        mainConfig.setJackpotFlushIntervalMs(config.getLong("games.jackpot-flush-interval-ms", 1000));
 
         mainConfig.setAnimationTickRate(config.getInt("performance.animation-tick-rate", 2));
         mainConfig.setAsyncPoolSize(config.getInt("performance.async-pool-size", 4));
         mainConfig.setMetricsEnabled(config.getBoolean("performance.metrics-enabled", true));
+        mainConfig.setParallelPayoutThreshold(config.getInt("performance.parallel-payout-threshold", 10000));
+        mainConfig.setPersistenceThreads(config.getInt("performance.session-persistence.threads", 2));
+        mainConfig.setPersistenceMaxAttempts(config.getInt("performance.session-persistence.max-attempts", 4));
+        mainConfig.setPersistenceRetryBackoffMs(config.getLong("performance.session-persistence.retry-backoff-ms", 250));
+        mainConfig.setSessionSpoolFile(config.getString("performance.session-persistence.spool-file", "sessions.spool"));
+        mainConfig.setSessionSpoolRetryIntervalMs(config.getLong("performance.session-persistence.spool-retry-interval-ms", 30000));
 
         mainConfig.setMaxConcurrentGames(config.getInt("security.max-concurrent-games", 1));
         mainConfig.setGameTimeout(config.getInt("security.game-timeout", 300));
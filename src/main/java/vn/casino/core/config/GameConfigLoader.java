@@ -82,6 +82,7 @@ public class GameConfigLoader {
         config.set("payout.tai", 1.95);
         config.set("payout.xiu", 1.95);
         config.set("payout.triple", 30.0);
+        config.set("history.display-count", 20);
 
         try {
             config.save(taiXiuFile);
@@ -143,6 +144,7 @@ public class GameConfigLoader {
         taiXiuConfig.setMinBet(BigDecimal.valueOf(config.getDouble("min-bet", 100)));
         taiXiuConfig.setMaxBet(BigDecimal.valueOf(config.getDouble("max-bet", 100000)));
         taiXiuConfig.setPayoutMultiplier(config.getDouble("payout.tai", 1.95));
+        taiXiuConfig.setHistoryDisplayCount(config.getInt("history.display-count", 20));
 
         return taiXiuConfig;
     }
@@ -32,6 +32,23 @@ public class MainConfig {
     private long idleTimeout = 600000;
     private long maxLifetime = 1800000;
 
+    private boolean ledgerEnabled = false;
+    private String ledgerJournalFile = "ledger.journal";
+    private long ledgerFlushIntervalMs = 250;
+    private int ledgerFlushBatchSize = 500;
+
+    private boolean transactionLogEnabled = true;
+    private int transactionLogQueueCapacity = 10000;
+    private long transactionLogMaxLatencyMs = 50;
+    private int transactionLogBatchSize = 500;
+
+    private int retentionDays = 30;
+    private int retentionBatchSize = 1000;
+    private long retentionPauseMs = 200;
+    private boolean retentionArchiveEnabled = false;
+    private String retentionArchiveFolder = "archive";
+    private String retentionArchiveFormat = "segment";
+
     private boolean redisEnabled = false;
     private String redisHost = "localhost";
     private int redisPort = 6379;
@@ -39,6 +56,11 @@ public class MainConfig {
     private int redisDatabase = 0;
     private int redisPoolSize = 8;
     private int redisTimeout = 2000;
+    private long redisPipelineWindowMs = 2;
+    private int redisPipelineMaxBatchSize = 256;
+    private boolean nearCacheEnabled = true;
+    private long nearCacheMaxSize = 10000;
+    private Map<String, Integer> nearCacheTtlSeconds = new HashMap<>();
 
     private int playerCacheDuration = 300;
     private int maxCachedPlayers = 1000;
@@ -49,10 +71,17 @@ public class MainConfig {
     private double houseEdge = 2.5;
     private double animationSpeed = 1.0;
     private boolean soundsEnabled = true;
+    private long jackpotFlushIntervalMs = 1000;
 
     private int animationTickRate = 2;
     private int asyncPoolSize = 4;
     private boolean metricsEnabled = true;
+    private int parallelPayoutThreshold = 10000;
+    private int persistenceThreads = 2;
+    private int persistenceMaxAttempts = 4;
+    private long persistenceRetryBackoffMs = 250;
+    private String sessionSpoolFile = "sessions.spool";
+    private long sessionSpoolRetryIntervalMs = 30000;
 
     private int maxConcurrentGames = 1;
     private int gameTimeout = 300;
@@ -78,6 +107,9 @@ public class MainConfig {
         vipTiers.put("tier2", 1.25);
         vipTiers.put("tier3", 1.5);
         vipTiers.put("tier4", 2.0);
+
+        nearCacheTtlSeconds.put("casino:player:", 30);
+        nearCacheTtlSeconds.put("casino:jackpot:", 5);
     }
 
     public double getVipMultiplier(String tier) {
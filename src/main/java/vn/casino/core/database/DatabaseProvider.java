@@ -83,6 +83,16 @@ public interface DatabaseProvider {
      */
     boolean isHealthy();
 
+    /**
+     * Check if the dialect supports UPDATE ... RETURNING.
+     * Lets a conditional update hand back the new row without a follow-up SELECT.
+     *
+     * @return true if RETURNING can be used on UPDATE
+     */
+    default boolean supportsReturning() {
+        return false;
+    }
+
     /**
      * Get the database type (mysql, postgresql, sqlite).
      *
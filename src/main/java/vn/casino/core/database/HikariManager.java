@@ -175,6 +175,30 @@ public abstract class HikariManager implements DatabaseProvider {
      */
     protected abstract void runMigrations() throws SQLException;
 
+    /**
+     * Check whether a migration version has been recorded.
+     */
+    protected boolean isMigrationApplied(Connection conn, String version) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT version FROM casino_migrations WHERE version = ?")) {
+            stmt.setString(1, version);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Record a migration version as applied.
+     */
+    protected void recordMigration(Connection conn, String version) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO casino_migrations (version) VALUES (?)")) {
+            stmt.setString(1, version);
+            stmt.executeUpdate();
+        }
+    }
+
     /**
      * Set prepared statement parameters.
      */
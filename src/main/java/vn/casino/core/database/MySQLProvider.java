@@ -3,6 +3,13 @@ package vn.casino.core.database;
 import com.zaxxer.hikari.HikariConfig;
 import vn.casino.core.config.MainConfig;
 import vn.casino.core.database.migrations.V1_InitialSchema;
+import vn.casino.core.database.migrations.V2_WriteBehindLedger;
+import vn.casino.core.database.migrations.V3_PayoutSettlement;
+import vn.casino.core.database.migrations.V4_TransactionKeysetIndex;
+import vn.casino.core.database.migrations.V5_JackpotGeneration;
+import vn.casino.core.database.migrations.V6_SessionRngAlgorithm;
+import vn.casino.core.database.migrations.V7_SessionHistoryIndex;
+import vn.casino.core.database.migrations.V8_JackpotWinPayout;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -70,18 +77,53 @@ public class MySQLProvider extends HikariManager {
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
             """);
 
-            // Check if V1 already applied
-            var rs = stmt.executeQuery("SELECT version FROM casino_migrations WHERE version = 'V1_InitialSchema'");
-            if (rs.next()) {
-                logger.info("Migration V1_InitialSchema already applied, skipping...");
-                return;
+            if (!isMigrationApplied(conn, "V1_InitialSchema")) {
+                V1_InitialSchema.applyMySQL(conn);
+                recordMigration(conn, "V1_InitialSchema");
+                logger.info("Applied migration V1_InitialSchema");
             }
 
-            // Run V1 migration
-            V1_InitialSchema.applyMySQL(conn);
+            if (!isMigrationApplied(conn, "V2_WriteBehindLedger")) {
+                V2_WriteBehindLedger.applyMySQL(conn);
+                recordMigration(conn, "V2_WriteBehindLedger");
+                logger.info("Applied migration V2_WriteBehindLedger");
+            }
+
+            if (!isMigrationApplied(conn, "V3_PayoutSettlement")) {
+                V3_PayoutSettlement.applyMySQL(conn);
+                recordMigration(conn, "V3_PayoutSettlement");
+                logger.info("Applied migration V3_PayoutSettlement");
+            }
+
+            if (!isMigrationApplied(conn, "V4_TransactionKeysetIndex")) {
+                V4_TransactionKeysetIndex.applyMySQL(conn);
+                recordMigration(conn, "V4_TransactionKeysetIndex");
+                logger.info("Applied migration V4_TransactionKeysetIndex");
+            }
+
+            if (!isMigrationApplied(conn, "V5_JackpotGeneration")) {
+                V5_JackpotGeneration.applyMySQL(conn);
+                recordMigration(conn, "V5_JackpotGeneration");
+                logger.info("Applied migration V5_JackpotGeneration");
+            }
+
+            if (!isMigrationApplied(conn, "V6_SessionRngAlgorithm")) {
+                V6_SessionRngAlgorithm.applyMySQL(conn);
+                recordMigration(conn, "V6_SessionRngAlgorithm");
+                logger.info("Applied migration V6_SessionRngAlgorithm");
+            }
 
-            // Record migration
-            stmt.execute("INSERT INTO casino_migrations (version) VALUES ('V1_InitialSchema')");
+            if (!isMigrationApplied(conn, "V7_SessionHistoryIndex")) {
+                V7_SessionHistoryIndex.applyMySQL(conn);
+                recordMigration(conn, "V7_SessionHistoryIndex");
+                logger.info("Applied migration V7_SessionHistoryIndex");
+            }
+
+            if (!isMigrationApplied(conn, "V8_JackpotWinPayout")) {
+                V8_JackpotWinPayout.applyMySQL(conn);
+                recordMigration(conn, "V8_JackpotWinPayout");
+                logger.info("Applied migration V8_JackpotWinPayout");
+            }
 
             logger.info("MySQL migrations completed successfully!");
         }
@@ -3,6 +3,13 @@ package vn.casino.core.database;
 import com.zaxxer.hikari.HikariConfig;
 import vn.casino.core.config.MainConfig;
 import vn.casino.core.database.migrations.V1_InitialSchema;
+import vn.casino.core.database.migrations.V2_WriteBehindLedger;
+import vn.casino.core.database.migrations.V3_PayoutSettlement;
+import vn.casino.core.database.migrations.V4_TransactionKeysetIndex;
+import vn.casino.core.database.migrations.V5_JackpotGeneration;
+import vn.casino.core.database.migrations.V6_SessionRngAlgorithm;
+import vn.casino.core.database.migrations.V7_SessionHistoryIndex;
+import vn.casino.core.database.migrations.V8_JackpotWinPayout;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -68,21 +75,52 @@ public class SQLiteProvider extends HikariManager {
                 )
             """);
 
-            // Check if V1 already applied
-            var rs = stmt.executeQuery("SELECT version FROM casino_migrations WHERE version = 'V1_InitialSchema'");
-            if (rs.next()) {
-                logger.info("Migration V1_InitialSchema already applied, skipping...");
-                return;
-            }
+            // Each migration commits together with its version row, so a crash
+            // part way through (e.g. a table rebuild) leaves nothing half applied
+            applyMigration(conn, "V1_InitialSchema", V1_InitialSchema::applySQLite);
+            applyMigration(conn, "V2_WriteBehindLedger", V2_WriteBehindLedger::applySQLite);
+            applyMigration(conn, "V3_PayoutSettlement", V3_PayoutSettlement::applySQLite);
+            applyMigration(conn, "V4_TransactionKeysetIndex", V4_TransactionKeysetIndex::applySQLite);
+            applyMigration(conn, "V5_JackpotGeneration", V5_JackpotGeneration::applySQLite);
+            applyMigration(conn, "V6_SessionRngAlgorithm", V6_SessionRngAlgorithm::applySQLite);
+            applyMigration(conn, "V7_SessionHistoryIndex", V7_SessionHistoryIndex::applySQLite);
+            applyMigration(conn, "V8_JackpotWinPayout", V8_JackpotWinPayout::applySQLite);
 
-            // Run V1 migration
-            V1_InitialSchema.applySQLite(conn);
+            logger.info("SQLite migrations completed successfully!");
+        }
+    }
 
-            // Record migration
-            stmt.execute("INSERT INTO casino_migrations (version) VALUES ('V1_InitialSchema')");
+    /**
+     * Apply a migration and record it in one transaction (SQLite DDL is transactional).
+     */
+    private void applyMigration(Connection conn, String version, Migration migration) throws SQLException {
+        if (isMigrationApplied(conn, version)) {
+            return;
+        }
 
-            logger.info("SQLite migrations completed successfully!");
+        conn.setAutoCommit(false);
+        try {
+            migration.apply(conn);
+            recordMigration(conn, version);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
         }
+        logger.info("Applied migration " + version);
+    }
+
+    @FunctionalInterface
+    private interface Migration {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    @Override
+    public boolean supportsReturning() {
+        // RETURNING is available since SQLite 3.35
+        return true;
     }
 
     @Override
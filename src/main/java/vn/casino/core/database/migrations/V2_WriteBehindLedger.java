@@ -0,0 +1,86 @@
+package vn.casino.core.database.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Write-behind ledger support.
+ * Adds the journal checkpoint table and widens the transaction type list
+ * to every TransactionType, so admin transactions cannot poison a flush batch.
+ */
+public class V2_WriteBehindLedger {
+
+    /**
+     * Apply migration for MySQL/MariaDB.
+     */
+    public static void applyMySQL(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS casino_ledger_checkpoint (
+                    id INT PRIMARY KEY,
+                    last_seq BIGINT NOT NULL DEFAULT 0,
+                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """);
+            stmt.execute("INSERT IGNORE INTO casino_ledger_checkpoint (id, last_seq) VALUES (1, 0)");
+
+            stmt.execute("""
+                ALTER TABLE casino_transactions MODIFY type ENUM(
+                    'DEPOSIT', 'WITHDRAW', 'BET', 'WIN', 'REFUND', 'JACKPOT',
+                    'ADMIN_GIVE', 'ADMIN_TAKE', 'GIVE', 'TAKE'
+                ) NOT NULL
+            """);
+        }
+    }
+
+    /**
+     * Apply migration for SQLite.
+     * SQLite cannot alter CHECK constraints, so the transactions table is rebuilt.
+     * Must run inside the caller's transaction, so a crash cannot leave the
+     * copy table behind or the live table dropped.
+     */
+    public static void applySQLite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS casino_ledger_checkpoint (
+                    id INTEGER PRIMARY KEY,
+                    last_seq INTEGER NOT NULL DEFAULT 0,
+                    updated_at INTEGER DEFAULT (strftime('%s', 'now'))
+                )
+            """);
+            stmt.execute("INSERT OR IGNORE INTO casino_ledger_checkpoint (id, last_seq) VALUES (1, 0)");
+
+            stmt.execute("""
+                CREATE TABLE casino_transactions_v2 (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    uuid TEXT NOT NULL,
+                    type TEXT NOT NULL CHECK(type IN ('DEPOSIT', 'WITHDRAW', 'BET', 'WIN', 'REFUND', 'JACKPOT',
+                                                      'ADMIN_GIVE', 'ADMIN_TAKE', 'GIVE', 'TAKE')),
+                    amount REAL NOT NULL,
+                    balance_before REAL NOT NULL,
+                    balance_after REAL NOT NULL,
+                    game TEXT DEFAULT NULL,
+                    session_id INTEGER DEFAULT NULL,
+                    description TEXT,
+                    created_at INTEGER DEFAULT (strftime('%s', 'now')),
+                    FOREIGN KEY (uuid) REFERENCES casino_players(uuid) ON DELETE CASCADE
+                )
+            """);
+            stmt.execute("""
+                INSERT INTO casino_transactions_v2
+                (id, uuid, type, amount, balance_before, balance_after, game, session_id, description, created_at)
+                SELECT id, uuid, type, amount, balance_before, balance_after, game, session_id, description, created_at
+                FROM casino_transactions
+            """);
+            stmt.execute("DROP TABLE casino_transactions");
+            stmt.execute("ALTER TABLE casino_transactions_v2 RENAME TO casino_transactions");
+
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_uuid ON casino_transactions(uuid)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_type ON casino_transactions(type)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_game ON casino_transactions(game)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_session_id ON casino_transactions(session_id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_created_at ON casino_transactions(created_at)");
+        }
+    }
+}
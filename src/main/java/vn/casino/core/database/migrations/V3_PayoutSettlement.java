@@ -0,0 +1,74 @@
+package vn.casino.core.database.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Batched payout settlement.
+ * A settlement row is written PENDING together with the session result and
+ * flipped to SETTLED in the same transaction that credits the winners,
+ * so an interrupted settlement can be resumed without paying twice.
+ */
+public class V3_PayoutSettlement {
+
+    /**
+     * Apply migration for MySQL/MariaDB.
+     */
+    public static void applyMySQL(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS casino_settlements (
+                    session_id BIGINT PRIMARY KEY,
+                    game_id VARCHAR(50) NOT NULL,
+                    state ENUM('PENDING', 'SETTLED') NOT NULL DEFAULT 'PENDING',
+                    winners INT NOT NULL DEFAULT 0,
+                    total_payout DECIMAL(20, 2) NOT NULL DEFAULT 0.00,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    settled_at TIMESTAMP NULL DEFAULT NULL,
+                    INDEX idx_state (state)
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """);
+
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS casino_settlement_payouts (
+                    session_id BIGINT NOT NULL,
+                    player_uuid CHAR(36) NOT NULL,
+                    amount DECIMAL(20, 2) NOT NULL,
+                    PRIMARY KEY (session_id, player_uuid),
+                    FOREIGN KEY (session_id) REFERENCES casino_settlements(session_id) ON DELETE CASCADE
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """);
+        }
+    }
+
+    /**
+     * Apply migration for SQLite.
+     */
+    public static void applySQLite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS casino_settlements (
+                    session_id INTEGER PRIMARY KEY,
+                    game_id TEXT NOT NULL,
+                    state TEXT NOT NULL DEFAULT 'PENDING' CHECK(state IN ('PENDING', 'SETTLED')),
+                    winners INTEGER NOT NULL DEFAULT 0,
+                    total_payout REAL NOT NULL DEFAULT 0.00,
+                    created_at INTEGER DEFAULT (strftime('%s', 'now')),
+                    settled_at INTEGER DEFAULT NULL
+                )
+            """);
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_settlements_state ON casino_settlements(state)");
+
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS casino_settlement_payouts (
+                    session_id INTEGER NOT NULL,
+                    player_uuid TEXT NOT NULL,
+                    amount REAL NOT NULL,
+                    PRIMARY KEY (session_id, player_uuid),
+                    FOREIGN KEY (session_id) REFERENCES casino_settlements(session_id) ON DELETE CASCADE
+                )
+            """);
+        }
+    }
+}
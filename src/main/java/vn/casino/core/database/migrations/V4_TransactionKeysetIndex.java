@@ -0,0 +1,36 @@
+package vn.casino.core.database.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Composite (uuid, id) index for keyset-paginated transaction history.
+ * Replaces the single-column uuid index, which the composite index covers.
+ */
+public class V4_TransactionKeysetIndex {
+
+    /**
+     * Apply migration for MySQL/MariaDB.
+     * The foreign key on uuid is served by the new index's leading column.
+     */
+    public static void applyMySQL(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                ALTER TABLE casino_transactions
+                ADD INDEX idx_uuid_id (uuid, id),
+                DROP INDEX idx_uuid
+            """);
+        }
+    }
+
+    /**
+     * Apply migration for SQLite.
+     */
+    public static void applySQLite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_uuid_id ON casino_transactions(uuid, id)");
+            stmt.execute("DROP INDEX IF EXISTS idx_transactions_uuid");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package vn.casino.core.database.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Pool generation counter for jackpots.
+ * Each payout advances the generation, so a pool can only be paid once.
+ */
+public class V5_JackpotGeneration {
+
+    /**
+     * Apply migration for MySQL/MariaDB.
+     */
+    public static void applyMySQL(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE casino_jackpots ADD COLUMN generation BIGINT NOT NULL DEFAULT 0");
+        }
+    }
+
+    /**
+     * Apply migration for SQLite.
+     */
+    public static void applySQLite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE casino_jackpots ADD COLUMN generation INTEGER NOT NULL DEFAULT 0");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package vn.casino.core.database.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * RNG algorithm version per game session.
+ * Existing sessions were rolled with the legacy algorithm (version 1).
+ */
+public class V6_SessionRngAlgorithm {
+
+    /**
+     * Apply migration for MySQL/MariaDB.
+     */
+    public static void applyMySQL(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE casino_game_sessions ADD COLUMN rng_algorithm SMALLINT NOT NULL DEFAULT 1");
+        }
+    }
+
+    /**
+     * Apply migration for SQLite.
+     */
+    public static void applySQLite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE casino_game_sessions ADD COLUMN rng_algorithm INTEGER NOT NULL DEFAULT 1");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package vn.casino.core.database.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Composite (game_id, started_at) index for loading a game's newest results.
+ * Replaces the single-column game_id index, which the composite index covers.
+ */
+public class V7_SessionHistoryIndex {
+
+    /**
+     * Apply migration for MySQL/MariaDB.
+     */
+    public static void applyMySQL(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                ALTER TABLE casino_game_sessions
+                ADD INDEX idx_game_started (game_id, started_at),
+                DROP INDEX idx_game_id
+            """);
+        }
+    }
+
+    /**
+     * Apply migration for SQLite.
+     */
+    public static void applySQLite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_game_sessions_game_started ON casino_game_sessions(game_id, started_at)");
+            stmt.execute("DROP INDEX IF EXISTS idx_game_sessions_game_id");
+        }
+    }
+}
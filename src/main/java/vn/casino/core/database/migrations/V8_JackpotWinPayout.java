@@ -0,0 +1,40 @@
+package vn.casino.core.database.migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Jackpot wins become the payout record: each row is written together with
+ * the generation advance it paid, and flagged once the winner is credited.
+ * Earlier rows were only logged after paying, so they default to paid.
+ */
+public class V8_JackpotWinPayout {
+
+    /**
+     * Apply migration for MySQL/MariaDB.
+     */
+    public static void applyMySQL(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                ALTER TABLE casino_jackpot_wins
+                ADD COLUMN generation BIGINT NULL,
+                ADD COLUMN paid BOOLEAN NOT NULL DEFAULT TRUE,
+                ADD UNIQUE INDEX uk_game_generation (game_id, generation),
+                ADD INDEX idx_paid (paid)
+            """);
+        }
+    }
+
+    /**
+     * Apply migration for SQLite.
+     */
+    public static void applySQLite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE casino_jackpot_wins ADD COLUMN generation INTEGER NULL");
+            stmt.execute("ALTER TABLE casino_jackpot_wins ADD COLUMN paid INTEGER NOT NULL DEFAULT 1");
+            stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_jackpot_wins_game_generation ON casino_jackpot_wins(game_id, generation)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_jackpot_wins_paid ON casino_jackpot_wins(paid)");
+        }
+    }
+}
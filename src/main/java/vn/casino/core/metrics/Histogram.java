@@ -0,0 +1,91 @@
+package vn.casino.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free distribution of non-negative values (e.g. batch sizes).
+ * Values are counted in power-of-two buckets, so percentiles are upper bounds.
+ */
+public class Histogram {
+
+    private static final int BUCKETS = 64;
+
+    private final boolean enabled;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    Histogram(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param value Non-negative value
+     */
+    public void record(long value) {
+        if (!enabled) {
+            return;
+        }
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+        buckets.incrementAndGet(bucket(value));
+    }
+
+    /**
+     * Take a point-in-time snapshot.
+     */
+    public Snapshot snapshot() {
+        long n = count.sum();
+        return new Snapshot(
+            n,
+            n == 0 ? 0.0 : (double) total.sum() / n,
+            percentile(0.5),
+            percentile(0.99),
+            max.get()
+        );
+    }
+
+    private long percentile(double quantile) {
+        long n = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            n += counts[i];
+        }
+        long rank = (long) Math.ceil(quantile * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return 0;
+    }
+
+    private static int bucket(long value) {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * Histogram snapshot.
+     *
+     * @param count Number of recorded values
+     * @param mean Mean value
+     * @param p50 Median (bucket upper bound)
+     * @param p99 99th percentile (bucket upper bound)
+     * @param max Largest recorded value
+     */
+    public record Snapshot(long count, double mean, long p50, long p99, long max) {
+    }
+}
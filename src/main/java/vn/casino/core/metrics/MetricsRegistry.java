@@ -0,0 +1,105 @@
+package vn.casino.core.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plugin-wide registry of named timers, histograms and counters.
+ * Recording is a no-op when metrics are disabled in config.
+ */
+public class MetricsRegistry {
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get or create a timer.
+     *
+     * @param name Metric name (e.g. "bet.latency")
+     * @return Timer instance (cache it in a field on hot paths)
+     */
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, k -> new Timer(enabled));
+    }
+
+    /**
+     * Get or create a histogram.
+     *
+     * @param name Metric name (e.g. "cache.pipeline.size")
+     * @return Histogram instance (cache it in a field on hot paths)
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram(enabled));
+    }
+
+    /**
+     * Increment a counter by one.
+     *
+     * @param name Counter name
+     */
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Add to a counter.
+     *
+     * @param name Counter name
+     * @param delta Amount to add
+     */
+    public void add(String name, long delta) {
+        if (enabled) {
+            counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    /**
+     * Get current counter value.
+     *
+     * @param name Counter name
+     * @return Counter value (0 if never incremented)
+     */
+    public long count(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    /**
+     * Snapshot of all timers, sorted by name.
+     */
+    public Map<String, Timer.Snapshot> timerSnapshots() {
+        Map<String, Timer.Snapshot> snapshots = new TreeMap<>();
+        timers.forEach((name, timer) -> snapshots.put(name, timer.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Snapshot of all histograms, sorted by name.
+     */
+    public Map<String, Histogram.Snapshot> histogramSnapshots() {
+        Map<String, Histogram.Snapshot> snapshots = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Snapshot of all counters, sorted by name.
+     */
+    public Map<String, Long> counterSnapshots() {
+        Map<String, Long> snapshots = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshots.put(name, counter.sum()));
+        return snapshots;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
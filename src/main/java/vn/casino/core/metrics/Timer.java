@@ -0,0 +1,67 @@
+package vn.casino.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency timer.
+ * Tracks count, total and max duration in nanoseconds.
+ */
+public class Timer {
+
+    private final boolean enabled;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    Timer(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (!enabled) {
+            return;
+        }
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Record the time elapsed since a {@link System#nanoTime()} reading.
+     *
+     * @param startNanos Start time from System.nanoTime()
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Take a point-in-time snapshot.
+     */
+    public Snapshot snapshot() {
+        long n = count.sum();
+        long total = totalNanos.sum();
+        return new Snapshot(
+            n,
+            n == 0 ? 0.0 : (double) total / n / TimeUnit.MILLISECONDS.toNanos(1),
+            (double) maxNanos.get() / TimeUnit.MILLISECONDS.toNanos(1)
+        );
+    }
+
+    /**
+     * Timer snapshot.
+     *
+     * @param count Number of recorded durations
+     * @param meanMillis Mean duration in milliseconds
+     * @param maxMillis Max duration in milliseconds
+     */
+    public record Snapshot(long count, double meanMillis, double maxMillis) {
+    }
+}
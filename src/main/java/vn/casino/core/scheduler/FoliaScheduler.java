@@ -7,6 +7,7 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 @RequiredArgsConstructor
@@ -38,6 +39,21 @@ public class FoliaScheduler {
         foliaLib.getImpl().runTimer(t -> runnable.run(), delayTicks, periodTicks);
     }
 
+    /**
+     * Repeating global task that cancels itself once {@code task} returns false.
+     *
+     * @param task Task to run; return false to stop repeating
+     * @param delayTicks Initial delay in ticks
+     * @param periodTicks Period in ticks
+     */
+    public void runTimerWhile(BooleanSupplier task, long delayTicks, long periodTicks) {
+        foliaLib.getImpl().runTimer(t -> {
+            if (!task.getAsBoolean()) {
+                t.cancel();
+            }
+        }, delayTicks, periodTicks);
+    }
+
     public void runLater(Runnable runnable, long delayTicks) {
         runSyncLater(runnable, delayTicks);
     }
@@ -94,8 +110,7 @@ public class FoliaScheduler {
     }
 
     public void cancelAllTasks() {
-        // FoliaLib handles task lifecycle automatically
-        // No manual cancellation needed
+        foliaLib.getImpl().cancelAllTasks();
     }
 
     public boolean isFolia() {
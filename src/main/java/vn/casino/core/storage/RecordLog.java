@@ -0,0 +1,254 @@
+package vn.casino.core.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of length-prefixed, CRC-checked records.
+ * Appends go straight to the OS page cache (survive a process crash);
+ * {@link #force()} makes them durable against power loss.
+ * A torn or corrupted tail is ignored on read.
+ *
+ * Frame layout: [int length][int crc32][payload bytes]
+ */
+public class RecordLog implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 8;
+
+    private final Path path;
+    private FileChannel channel;
+
+    public RecordLog(Path path) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = open(path);
+    }
+
+    /**
+     * Append a record to the end of the log.
+     *
+     * @param payload Record bytes
+     */
+    public synchronized void append(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        frame.putInt(payload.length);
+        frame.putInt((int) crc.getValue());
+        frame.put(payload);
+        frame.flip();
+
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    /**
+     * Flush appended records to the storage device.
+     */
+    public synchronized void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Read every intact record from the start of the log.
+     * Stops at the first truncated or corrupted frame.
+     *
+     * @return Record payloads in append order
+     */
+    public synchronized List<byte[]> readAll() throws IOException {
+        return readFrames(channel);
+    }
+
+    /**
+     * Read every intact record of a log file without opening it for writing.
+     *
+     * @param path Log file
+     * @return Record payloads in append order
+     */
+    public static List<byte[]> readAll(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readFrames(channel);
+        }
+    }
+
+    /**
+     * Locate complete records from an offset on, reading only frame headers.
+     * Payload CRCs are not checked here; {@link #readFrame} checks them.
+     *
+     * @param channel Open log file
+     * @param from Offset of the first frame to scan (0 or the end of a previous scan)
+     * @return Frame positions in append order
+     */
+    public static List<Frame> scan(FileChannel channel, long from) throws IOException {
+        List<Frame> frames = new ArrayList<>();
+        long size = channel.size();
+        long position = from;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+
+            int length = header.getInt();
+            if (length < 0 || position + HEADER_SIZE + length > size) {
+                break;
+            }
+
+            frames.add(new Frame(position, length));
+            position += HEADER_SIZE + length;
+        }
+
+        return frames;
+    }
+
+    /**
+     * Read the first bytes of a record's payload without checking its CRC.
+     *
+     * @param channel Open log file
+     * @param frame Frame from {@link #scan}
+     * @param maxBytes Maximum bytes to read
+     * @return Up to {@code maxBytes} leading payload bytes
+     */
+    public static byte[] readPrefix(FileChannel channel, Frame frame, int maxBytes) throws IOException {
+        ByteBuffer prefix = ByteBuffer.allocate(Math.min(maxBytes, frame.length()));
+        readFully(channel, prefix, frame.offset() + HEADER_SIZE);
+        return prefix.array();
+    }
+
+    /**
+     * Read one record's payload.
+     *
+     * @param channel Open log file
+     * @param frame Frame from {@link #scan}
+     * @return Payload, or null if the frame no longer holds an intact record
+     */
+    public static byte[] readFrame(FileChannel channel, Frame frame) throws IOException {
+        if (frame.offset() + HEADER_SIZE + frame.length() > channel.size()) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, frame.offset());
+        header.flip();
+        if (header.getInt() != frame.length()) {
+            return null;
+        }
+        int expectedCrc = header.getInt();
+
+        ByteBuffer payload = ByteBuffer.allocate(frame.length());
+        readFully(channel, payload, frame.offset() + HEADER_SIZE);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        return (int) crc.getValue() == expectedCrc ? payload.array() : null;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + channel);
+            }
+        }
+    }
+
+    private static List<byte[]> readFrames(FileChannel channel) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            channel.read(header, position);
+            header.flip();
+
+            int length = header.getInt();
+            int expectedCrc = header.getInt();
+            if (length < 0 || position + HEADER_SIZE + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, position + HEADER_SIZE);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+
+            records.add(payload.array());
+            position += HEADER_SIZE + length;
+        }
+
+        return records;
+    }
+
+    /**
+     * Discard all records.
+     */
+    public synchronized void truncate() throws IOException {
+        channel.truncate(0);
+        channel.force(true);
+    }
+
+    /**
+     * Current size of the log file in bytes.
+     */
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Position of a record within a log file.
+     *
+     * @param offset Offset of the frame header
+     * @param length Payload length
+     */
+    public record Frame(long offset, int length) {
+
+        /**
+         * @return Offset just past this frame
+         */
+        public long end() {
+            return offset + HEADER_SIZE + length;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+        channel.position(channel.size());
+        return channel;
+    }
+}
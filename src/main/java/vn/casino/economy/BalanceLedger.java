@@ -0,0 +1,320 @@
+package vn.casino.economy;
+
+import vn.casino.core.database.DatabaseProvider;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory authoritative balance ledger (write-behind mode).
+ * Balances of loaded players live in memory as long minor units and are
+ * guarded by striped locks. Every mutation is journaled before it is
+ * acknowledged and flushed to the database every N ms or M entries.
+ *
+ * Only safe when a single server owns the database rows of its players.
+ */
+public class BalanceLedger {
+
+    private static final int STRIPES = 64;
+
+    private final DatabaseProvider database;
+    private final LedgerJournal journal;
+    private final long flushIntervalMs;
+    private final int flushBatchSize;
+    private final Logger logger;
+
+    private final ConcurrentHashMap<UUID, Account> accounts = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final AtomicBoolean flushQueued = new AtomicBoolean(false);
+
+    private ScheduledExecutorService flusher;
+
+    public BalanceLedger(
+        DatabaseProvider database,
+        Path journalFile,
+        long flushIntervalMs,
+        int flushBatchSize,
+        Logger logger
+    ) throws IOException {
+        this.database = database;
+        this.journal = new LedgerJournal(database, journalFile, logger);
+        this.flushIntervalMs = flushIntervalMs;
+        this.flushBatchSize = flushBatchSize;
+        this.logger = logger;
+
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Replay the journal and start the background flusher.
+     */
+    public void start() throws IOException, SQLException {
+        journal.recover();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "CasinoLedger-Flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        logger.info("Write-behind ledger started (flush every " + flushIntervalMs + "ms or "
+            + flushBatchSize + " entries)");
+    }
+
+    /**
+     * Stop the flusher and drain every pending entry to the database.
+     */
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        flushAll();
+        if (journal.getPendingCount() > 0) {
+            logger.warning("Ledger shutdown with " + journal.getPendingCount()
+                + " unflushed entries; they will be replayed on next start");
+        }
+        journal.close();
+    }
+
+    /**
+     * Check if a player's balance is resident in memory.
+     */
+    public boolean isLoaded(UUID playerUuid) {
+        return accounts.containsKey(playerUuid);
+    }
+
+    /**
+     * Get a resident balance without touching the database.
+     *
+     * @return Balance in minor units, or empty if the player is not loaded
+     */
+    public OptionalLong peek(UUID playerUuid) {
+        Account account = accounts.get(playerUuid);
+        if (account == null) {
+            return OptionalLong.empty();
+        }
+        ReentrantLock lock = stripeFor(playerUuid);
+        lock.lock();
+        try {
+            return OptionalLong.of(account.balance);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add to a player's balance, loading it from the database if needed.
+     *
+     * @return New balance in minor units
+     */
+    public long credit(
+        UUID playerUuid,
+        long amount,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description
+    ) throws SQLException, IOException {
+        return apply(playerUuid, amount, type, game, sessionId, description);
+    }
+
+    /**
+     * Subtract from a player's balance, loading it from the database if needed.
+     *
+     * @return New balance in minor units
+     * @throws InsufficientBalanceException if the balance is insufficient
+     */
+    public long debit(
+        UUID playerUuid,
+        long amount,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description
+    ) throws SQLException, IOException {
+        return apply(playerUuid, -amount, type, game, sessionId, description);
+    }
+
+    /**
+     * Mark a player for eviction (e.g. on logout).
+     * The account is dropped once all of its entries have been flushed.
+     */
+    public void release(UUID playerUuid) {
+        Account account = accounts.get(playerUuid);
+        if (account != null) {
+            account.released = true;
+        }
+    }
+
+    /**
+     * Find which players were already credited or debited for a session,
+     * so a retried batch can skip them.
+     *
+     * @param sessionId Session ID
+     * @param type Transaction type
+     * @param players Players to check
+     * @return Subset of players with a journaled or flushed entry
+     */
+    public Set<UUID> findApplied(long sessionId, TransactionType type, Collection<UUID> players) throws SQLException {
+        return journal.findApplied(sessionId, type, players);
+    }
+
+    /**
+     * Force journaled entries to disk before a dependent database commit.
+     */
+    public void force() throws IOException {
+        journal.force();
+    }
+
+    /**
+     * Number of journaled entries not yet in the database.
+     */
+    public int getPendingCount() {
+        return journal.getPendingCount();
+    }
+
+    private long apply(
+        UUID playerUuid,
+        long delta,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description
+    ) throws SQLException, IOException {
+        long after;
+        ReentrantLock lock = stripeFor(playerUuid);
+        lock.lock();
+        try {
+            Account account = accounts.get(playerUuid);
+            if (account == null) {
+                account = new Account(loadOrCreate(playerUuid));
+                accounts.put(playerUuid, account);
+            }
+            account.released = false;
+
+            long before = account.balance;
+            after = Math.addExact(before, delta);
+            if (after < 0) {
+                throw new InsufficientBalanceException();
+            }
+
+            // Journal first: the mutation only becomes visible once it is recoverable
+            LedgerEntry entry = journal.append(playerUuid, type, delta, before, after, game, sessionId, description);
+            account.balance = after;
+            account.lastSeq = entry.seq();
+        } finally {
+            lock.unlock();
+        }
+
+        if (journal.getPendingCount() >= flushBatchSize && flusher != null
+            && !flusher.isShutdown() && flushQueued.compareAndSet(false, true)) {
+            flusher.execute(this::flushAll);
+        }
+
+        return after;
+    }
+
+    /**
+     * Flush all pending entries in batches, then evict released accounts.
+     */
+    private void flushAll() {
+        flushQueued.set(false);
+        try {
+            int flushed;
+            do {
+                flushed = journal.flush(flushBatchSize);
+            } while (flushed > 0 && journal.getPendingCount() > 0);
+
+            evictReleased();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Ledger flush task failed", e);
+        }
+    }
+
+    private void evictReleased() {
+        long flushedSeq = journal.getFlushedSeq();
+        for (var entry : accounts.entrySet()) {
+            Account account = entry.getValue();
+            if (!account.released || account.lastSeq > flushedSeq) {
+                continue;
+            }
+            ReentrantLock lock = stripeFor(entry.getKey());
+            lock.lock();
+            try {
+                if (account.released && account.lastSeq <= flushedSeq) {
+                    accounts.remove(entry.getKey(), account);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Load a balance from the database, creating the player row if missing
+     * so later flushes always have a row to update.
+     */
+    private long loadOrCreate(UUID playerUuid) throws SQLException {
+        try (Connection conn = database.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT balance FROM casino_players WHERE uuid = ?")) {
+                stmt.setString(1, playerUuid.toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return MinorUnits.roundToMinor(rs.getBigDecimal("balance"));
+                    }
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO casino_players (uuid, balance) VALUES (?, 0.00)")) {
+                stmt.setString(1, playerUuid.toString());
+                stmt.executeUpdate();
+            }
+            return 0L;
+        }
+    }
+
+    private ReentrantLock stripeFor(UUID playerUuid) {
+        int hash = playerUuid.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Resident account state, guarded by its stripe lock.
+     */
+    private static final class Account {
+        long balance;
+        long lastSeq;
+        volatile boolean released;
+
+        Account(long balance) {
+            this.balance = balance;
+        }
+    }
+}
@@ -3,13 +3,22 @@ package vn.casino.economy;
 import vn.casino.core.cache.CacheProvider;
 import vn.casino.core.database.DatabaseProvider;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,30 +31,58 @@ import java.util.logging.Logger;
  * Currency manager for VND casino economy.
  * Handles balance operations with Redis caching and transaction logging.
  * Thread-safe with optimistic locking for concurrent operations.
+ *
+ * Game code works in {@link Money}; the BigDecimal overloads are for commands
+ * and Vault and convert once on the way in and out.
  */
 public class CurrencyManager {
 
     private static final String BALANCE_CACHE_KEY = "casino:player:%s:balance";
     private static final Duration CACHE_TTL = Duration.ofMinutes(5);
     private static final BigDecimal ZERO = BigDecimal.ZERO;
+    private static final int BATCH_LOOKUP_SIZE = 500;
 
     private final DatabaseProvider database;
     private final CacheProvider cache;
     private final TransactionRepository transactionRepository;
+    private final BalanceLedger ledger;
+    private final TransactionLogWriter transactionLog;
     private final Logger logger;
 
     // Per-player locks for thread-safe balance operations
     private final ConcurrentHashMap<UUID, Lock> playerLocks = new ConcurrentHashMap<>();
 
+    // Serializes ledger batches, which check and credit outside a database transaction
+    private final Lock ledgerBatchLock = new ReentrantLock();
+
+    public CurrencyManager(
+        DatabaseProvider database,
+        CacheProvider cache,
+        TransactionRepository transactionRepository,
+        Logger logger
+    ) {
+        this(database, cache, transactionRepository, null, null, logger);
+    }
+
+    /**
+     * Create a currency manager with optional write-behind ledger and group-commit audit log.
+     *
+     * @param ledger In-memory ledger, or null to write every operation through to the database
+     * @param transactionLog Audit row writer, or null to insert rows inside each balance transaction
+     */
     public CurrencyManager(
         DatabaseProvider database,
         CacheProvider cache,
         TransactionRepository transactionRepository,
+        BalanceLedger ledger,
+        TransactionLogWriter transactionLog,
         Logger logger
     ) {
         this.database = database;
         this.cache = cache;
         this.transactionRepository = transactionRepository;
+        this.ledger = ledger;
+        this.transactionLog = transactionLog;
         this.logger = logger;
     }
 
@@ -56,6 +93,14 @@ public class CurrencyManager {
      * @return CompletableFuture with current balance
      */
     public CompletableFuture<BigDecimal> getBalance(UUID playerUuid) {
+        // Resident ledger balance is authoritative
+        if (ledger != null) {
+            OptionalLong resident = ledger.peek(playerUuid);
+            if (resident.isPresent()) {
+                return CompletableFuture.completedFuture(MinorUnits.toBigDecimal(resident.getAsLong()));
+            }
+        }
+
         String cacheKey = String.format(BALANCE_CACHE_KEY, playerUuid);
 
         // Try cache first
@@ -136,7 +181,31 @@ public class CurrencyManager {
         Long sessionId,
         String description
     ) {
-        if (amount.compareTo(ZERO) <= 0) {
+        return toMoney(amount)
+            .thenCompose(money -> deposit(playerUuid, money, type, game, sessionId, description))
+            .thenApply(Money::toBigDecimal);
+    }
+
+    /**
+     * Deposit amount to player balance with description.
+     *
+     * @param playerUuid Player UUID
+     * @param amount Amount to deposit (must be positive)
+     * @param type Transaction type
+     * @param game Game identifier (nullable)
+     * @param sessionId Session ID (nullable)
+     * @param description Transaction description (nullable)
+     * @return CompletableFuture with new balance after deposit
+     */
+    public CompletableFuture<Money> deposit(
+        UUID playerUuid,
+        Money amount,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description
+    ) {
+        if (!amount.isPositive()) {
             return CompletableFuture.failedFuture(
                 new IllegalArgumentException("Deposit amount must be positive")
             );
@@ -185,7 +254,31 @@ public class CurrencyManager {
         Long sessionId,
         String description
     ) {
-        if (amount.compareTo(ZERO) <= 0) {
+        return toMoney(amount)
+            .thenCompose(money -> withdraw(playerUuid, money, type, game, sessionId, description))
+            .thenApply(Money::toBigDecimal);
+    }
+
+    /**
+     * Withdraw amount from player balance with description.
+     *
+     * @param playerUuid Player UUID
+     * @param amount Amount to withdraw (must be positive)
+     * @param type Transaction type
+     * @param game Game identifier (nullable)
+     * @param sessionId Session ID (nullable)
+     * @param description Transaction description (nullable)
+     * @return CompletableFuture with new balance after withdrawal, or failed future if insufficient
+     */
+    public CompletableFuture<Money> withdraw(
+        UUID playerUuid,
+        Money amount,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description
+    ) {
+        if (!amount.isPositive()) {
             return CompletableFuture.failedFuture(
                 new IllegalArgumentException("Withdraw amount must be positive")
             );
@@ -194,19 +287,162 @@ public class CurrencyManager {
         return executeBalanceOperation(playerUuid, amount, type, game, sessionId, description, false);
     }
 
+    /**
+     * Debit a player only if the balance covers the amount.
+     * Check and debit happen in one conditional UPDATE, so concurrent debits
+     * (including from other servers) can never drive the balance negative.
+     *
+     * @param playerUuid Player UUID
+     * @param amount Amount to debit (must be positive)
+     * @param type Transaction type
+     * @param game Game identifier (nullable)
+     * @param sessionId Session ID (nullable)
+     * @param description Transaction description (nullable)
+     * @return CompletableFuture with new balance, or failed with InsufficientBalanceException if insufficient
+     */
+    public CompletableFuture<BigDecimal> tryDebit(
+        UUID playerUuid,
+        BigDecimal amount,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description
+    ) {
+        return toMoney(amount)
+            .thenCompose(money -> tryDebit(playerUuid, money, type, game, sessionId, description))
+            .thenApply(Money::toBigDecimal);
+    }
+
+    /**
+     * Debit a player only if the balance covers the amount.
+     * Used by the bet pipeline; see {@link #tryDebit(UUID, BigDecimal, TransactionType, String, Long, String)}.
+     *
+     * @param playerUuid Player UUID
+     * @param amount Amount to debit (must be positive)
+     * @param type Transaction type
+     * @param game Game identifier (nullable)
+     * @param sessionId Session ID (nullable)
+     * @param description Transaction description (nullable)
+     * @return CompletableFuture with new balance, or failed with InsufficientBalanceException if insufficient
+     */
+    public CompletableFuture<Money> tryDebit(
+        UUID playerUuid,
+        Money amount,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description
+    ) {
+        if (!amount.isPositive()) {
+            return CompletableFuture.failedFuture(
+                new IllegalArgumentException("Debit amount must be positive")
+            );
+        }
+
+        if (ledger != null) {
+            // Ledger debits are already a single in-memory check-and-set
+            return executeLedgerOperation(playerUuid, amount, type, game, sessionId, description, false);
+        }
+
+        Lock lock = playerLocks.computeIfAbsent(playerUuid, k -> new ReentrantLock());
+
+        return CompletableFuture.supplyAsync(() -> {
+            lock.lock();
+            try {
+                return executeConditionalDebit(playerUuid, amount, type, game, sessionId, description);
+            } catch (InsufficientBalanceException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Debit failed for " + playerUuid, e);
+                throw new RuntimeException("Balance operation failed", e);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Deposit to many players in a single database transaction.
+     * Used for round settlement, where one commit replaces one per winner,
+     * and for jackpot payouts.
+     * The claim runs first inside the same transaction; if it returns false the
+     * batch is treated as already applied and nothing is written.
+     *
+     * With the write-behind ledger the credits cannot join that transaction.
+     * Players already credited for the session are skipped instead, and the
+     * claim commits only after every credit is journaled, so a batch that
+     * failed partway can be called again to pay the rest.
+     *
+     * @param amounts Amount per player (must be positive)
+     * @param type Transaction type
+     * @param game Game identifier (nullable)
+     * @param sessionId Session ID (required with the write-behind ledger)
+     * @param description Transaction description (nullable)
+     * @param claim Idempotency claim executed in the batch transaction
+     * @return CompletableFuture with true if applied, false if already claimed
+     */
+    public CompletableFuture<Boolean> depositBatch(
+        Map<UUID, Money> amounts,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description,
+        BatchClaim claim
+    ) {
+        for (Money amount : amounts.values()) {
+            if (!amount.isPositive()) {
+                return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Deposit amount must be positive")
+                );
+            }
+        }
+        if (ledger != null && sessionId == null) {
+            return CompletableFuture.failedFuture(
+                new IllegalArgumentException("Ledger batch requires a session ID")
+            );
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ledger != null
+                    ? executeLedgerBatch(amounts, type, game, sessionId, description, claim)
+                    : executeLockedBatch(amounts, type, game, sessionId, description, claim);
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Batch deposit failed for " + amounts.size() + " players", e);
+                throw new RuntimeException("Batch deposit failed", e);
+            }
+        });
+    }
+
+    /**
+     * Convert an amount passed in at the API boundary.
+     * Amounts that do not fit in minor units fail the future instead of throwing.
+     */
+    private static CompletableFuture<Money> toMoney(BigDecimal amount) {
+        try {
+            return CompletableFuture.completedFuture(Money.of(amount));
+        } catch (ArithmeticException e) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Amount out of range: " + amount, e));
+        }
+    }
+
     /**
      * Execute balance operation (deposit or withdraw) with transaction logging.
      * Uses database transaction for atomicity.
      */
-    private CompletableFuture<BigDecimal> executeBalanceOperation(
+    private CompletableFuture<Money> executeBalanceOperation(
         UUID playerUuid,
-        BigDecimal amount,
+        Money amount,
         TransactionType type,
         String game,
         Long sessionId,
         String description,
         boolean isDeposit
     ) {
+        if (ledger != null) {
+            return executeLedgerOperation(playerUuid, amount, type, game, sessionId, description, isDeposit);
+        }
+
         Lock lock = playerLocks.computeIfAbsent(playerUuid, k -> new ReentrantLock());
 
         return CompletableFuture.supplyAsync(() -> {
@@ -224,12 +460,65 @@ public class CurrencyManager {
         });
     }
 
+    /**
+     * Execute balance operation against the write-behind ledger.
+     * Runs inline when the player is resident; the first access loads the balance asynchronously.
+     */
+    private CompletableFuture<Money> executeLedgerOperation(
+        UUID playerUuid,
+        Money amount,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description,
+        boolean isDeposit
+    ) {
+        if (ledger.isLoaded(playerUuid)) {
+            try {
+                return CompletableFuture.completedFuture(
+                    applyToLedger(playerUuid, amount, type, game, sessionId, description, isDeposit)
+                );
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Money balance = applyToLedger(playerUuid, amount, type, game, sessionId, description, isDeposit);
+                // Cached value predates the ledger; drop it so nothing reads a stale copy
+                invalidateCache(playerUuid);
+                return balance;
+            } catch (InsufficientBalanceException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Ledger operation failed for " + playerUuid, e);
+                throw new RuntimeException("Balance operation failed", e);
+            }
+        });
+    }
+
+    private Money applyToLedger(
+        UUID playerUuid,
+        Money amount,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description,
+        boolean isDeposit
+    ) throws SQLException, IOException {
+        long balance = isDeposit
+            ? ledger.credit(playerUuid, amount.minor(), type, game, sessionId, description)
+            : ledger.debit(playerUuid, amount.minor(), type, game, sessionId, description);
+        return Money.ofMinor(balance);
+    }
+
     /**
      * Execute atomic balance update within database transaction.
      */
-    private BigDecimal executeAtomicBalanceUpdate(
+    private Money executeAtomicBalanceUpdate(
         UUID playerUuid,
-        BigDecimal amount,
+        Money amount,
         TransactionType type,
         String game,
         Long sessionId,
@@ -241,28 +530,29 @@ public class CurrencyManager {
 
             try {
                 // Get or create player balance
-                BigDecimal balanceBefore = getOrCreatePlayerBalance(conn, playerUuid);
+                Money balanceBefore = getOrCreatePlayerBalance(conn, playerUuid);
 
                 // Calculate new balance
-                BigDecimal balanceAfter = isDeposit
-                    ? balanceBefore.add(amount)
-                    : balanceBefore.subtract(amount);
+                Money balanceAfter = isDeposit
+                    ? balanceBefore.plus(amount)
+                    : balanceBefore.minus(amount);
 
                 // Check for negative balance on withdrawal
-                if (!isDeposit && balanceAfter.compareTo(ZERO) < 0) {
+                if (!isDeposit && balanceAfter.isNegative()) {
                     conn.rollback();
-                    throw new IllegalStateException("Insufficient balance");
+                    throw new InsufficientBalanceException();
                 }
 
                 // Update player balance
                 updatePlayerBalance(conn, playerUuid, balanceAfter);
 
-                // Log transaction
-                logTransaction(conn, playerUuid, type, isDeposit ? amount : amount.negate(),
+                // Log transaction (inline, or queued for group commit after this commit)
+                Transaction audit = logTransaction(conn, playerUuid, type, isDeposit ? amount : amount.negate(),
                     balanceBefore, balanceAfter, game, sessionId, description);
 
                 // Commit transaction
                 conn.commit();
+                submitDeferred(audit);
 
                 // Invalidate cache
                 invalidateCache(playerUuid);
@@ -281,17 +571,277 @@ public class CurrencyManager {
         }
     }
 
+    /**
+     * Conditional debit and transaction log in one database transaction.
+     * Uses UPDATE ... RETURNING where supported, otherwise reads the new balance
+     * back from the row the UPDATE just locked.
+     */
+    private Money executeConditionalDebit(
+        UUID playerUuid,
+        Money amount,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description
+    ) throws SQLException {
+        String updateSql = """
+            UPDATE casino_players SET balance = balance - ?, updated_at = CURRENT_TIMESTAMP
+            WHERE uuid = ? AND balance >= ?
+        """;
+
+        try (Connection conn = database.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                BigDecimal debit = amount.toBigDecimal();
+                BigDecimal balance;
+
+                if (database.supportsReturning()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(updateSql + " RETURNING balance")) {
+                        stmt.setBigDecimal(1, debit);
+                        stmt.setString(2, playerUuid.toString());
+                        stmt.setBigDecimal(3, debit);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            balance = rs.next() ? rs.getBigDecimal(1) : null;
+                        }
+                    }
+                } else {
+                    try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+                        stmt.setBigDecimal(1, debit);
+                        stmt.setString(2, playerUuid.toString());
+                        stmt.setBigDecimal(3, debit);
+                        balance = stmt.executeUpdate() == 1 ? selectBalance(conn, playerUuid) : null;
+                    }
+                }
+
+                // No row matched: balance too low (or player has never held funds)
+                if (balance == null) {
+                    conn.rollback();
+                    throw new InsufficientBalanceException();
+                }
+
+                Money balanceAfter = Money.ofRounded(balance);
+                Transaction audit = logTransaction(conn, playerUuid, type, amount.negate(),
+                    balanceAfter.plus(amount), balanceAfter, game, sessionId, description);
+
+                conn.commit();
+                submitDeferred(audit);
+
+                invalidateCache(playerUuid);
+
+                logger.fine("Debit successful: " + playerUuid + " " + type + " " + amount +
+                    " (new balance: " + balanceAfter + ")");
+
+                return balanceAfter;
+
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private BigDecimal selectBalance(Connection conn, UUID playerUuid) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT balance FROM casino_players WHERE uuid = ?")) {
+            stmt.setString(1, playerUuid.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getBigDecimal("balance") : null;
+            }
+        }
+    }
+
+    /**
+     * Apply a batch against the write-behind ledger.
+     * Ledger credits cannot join a JDBC transaction, so each credit is keyed by
+     * (session, player, type): players that already have one are skipped, and
+     * the claim commits on its own once the rest are journaled and forced.
+     * A crash anywhere before the claim leaves the batch to be retried in full.
+     */
+    private boolean executeLedgerBatch(
+        Map<UUID, Money> amounts,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description,
+        BatchClaim claim
+    ) throws SQLException, IOException {
+        // One batch at a time, so two retries of a session cannot both miss each other's credits
+        ledgerBatchLock.lock();
+        try {
+            Set<UUID> applied = ledger.findApplied(sessionId, type, amounts.keySet());
+            for (Map.Entry<UUID, Money> entry : amounts.entrySet()) {
+                if (!applied.contains(entry.getKey())) {
+                    applyToLedger(entry.getKey(), entry.getValue(), type, game, sessionId, description, true);
+                }
+            }
+            ledger.force();
+
+            try (Connection conn = database.getConnection()) {
+                return claim.claim(conn);
+            }
+        } finally {
+            ledgerBatchLock.unlock();
+        }
+    }
+
+    /**
+     * Apply a batch under every affected player lock.
+     * Locks are taken in UUID order so concurrent batches cannot deadlock.
+     */
+    private boolean executeLockedBatch(
+        Map<UUID, Money> amounts,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description,
+        BatchClaim claim
+    ) throws SQLException {
+        List<UUID> players = new ArrayList<>(amounts.keySet());
+        Collections.sort(players);
+
+        List<Lock> held = new ArrayList<>(players.size());
+        try {
+            for (UUID playerUuid : players) {
+                Lock lock = playerLocks.computeIfAbsent(playerUuid, k -> new ReentrantLock());
+                lock.lock();
+                held.add(lock);
+            }
+            return executeAtomicBatchUpdate(players, amounts, type, game, sessionId, description, claim);
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * Credit all players, log their transactions and run the claim in one database transaction.
+     */
+    private boolean executeAtomicBatchUpdate(
+        List<UUID> players,
+        Map<UUID, Money> amounts,
+        TransactionType type,
+        String game,
+        Long sessionId,
+        String description,
+        BatchClaim claim
+    ) throws SQLException {
+        try (Connection conn = database.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                if (!claim.claim(conn)) {
+                    conn.rollback();
+                    return false;
+                }
+
+                Map<UUID, Money> balancesBefore = getOrCreatePlayerBalances(conn, players);
+
+                String balanceSql = "UPDATE casino_players SET balance = ?, updated_at = CURRENT_TIMESTAMP WHERE uuid = ?";
+                String transactionSql = """
+                    INSERT INTO casino_transactions
+                    (uuid, type, amount, balance_before, balance_after, game, session_id, description)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """;
+
+                try (PreparedStatement balanceStmt = conn.prepareStatement(balanceSql);
+                     PreparedStatement transactionStmt = conn.prepareStatement(transactionSql)) {
+                    for (UUID playerUuid : players) {
+                        Money amount = amounts.get(playerUuid);
+                        Money balanceBefore = balancesBefore.get(playerUuid);
+                        Money balanceAfter = balanceBefore.plus(amount);
+
+                        balanceStmt.setBigDecimal(1, balanceAfter.toBigDecimal());
+                        balanceStmt.setString(2, playerUuid.toString());
+                        balanceStmt.addBatch();
+
+                        transactionStmt.setString(1, playerUuid.toString());
+                        transactionStmt.setString(2, type.name());
+                        transactionStmt.setBigDecimal(3, amount.toBigDecimal());
+                        transactionStmt.setBigDecimal(4, balanceBefore.toBigDecimal());
+                        transactionStmt.setBigDecimal(5, balanceAfter.toBigDecimal());
+                        transactionStmt.setString(6, game);
+                        if (sessionId != null) {
+                            transactionStmt.setLong(7, sessionId);
+                        } else {
+                            transactionStmt.setNull(7, java.sql.Types.BIGINT);
+                        }
+                        transactionStmt.setString(8, description);
+                        transactionStmt.addBatch();
+                    }
+                    balanceStmt.executeBatch();
+                    transactionStmt.executeBatch();
+                }
+
+                conn.commit();
+
+                invalidateCaches(players);
+
+                logger.fine("Batch " + type + " committed for " + players.size() + " players");
+                return true;
+
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Load balances for many players, creating missing rows with 0 balance.
+     */
+    private Map<UUID, Money> getOrCreatePlayerBalances(Connection conn, List<UUID> players) throws SQLException {
+        Map<UUID, Money> balances = new HashMap<>(players.size() * 2);
+
+        for (int from = 0; from < players.size(); from += BATCH_LOOKUP_SIZE) {
+            List<UUID> chunk = players.subList(from, Math.min(from + BATCH_LOOKUP_SIZE, players.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            String selectSql = "SELECT uuid, balance FROM casino_players WHERE uuid IN (" + placeholders + ")";
+
+            try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(i + 1, chunk.get(i).toString());
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        balances.put(UUID.fromString(rs.getString("uuid")), Money.ofRounded(rs.getBigDecimal("balance")));
+                    }
+                }
+            }
+        }
+
+        if (balances.size() < players.size()) {
+            String insertSql = "INSERT INTO casino_players (uuid, balance) VALUES (?, 0.00)";
+            try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                for (UUID playerUuid : players) {
+                    if (!balances.containsKey(playerUuid)) {
+                        stmt.setString(1, playerUuid.toString());
+                        stmt.addBatch();
+                        balances.put(playerUuid, Money.ZERO);
+                    }
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        return balances;
+    }
+
     /**
      * Get player balance from database, or create new player with 0 balance.
      */
-    private BigDecimal getOrCreatePlayerBalance(Connection conn, UUID playerUuid) throws SQLException {
+    private Money getOrCreatePlayerBalance(Connection conn, UUID playerUuid) throws SQLException {
         String selectSql = "SELECT balance FROM casino_players WHERE uuid = ?";
 
         try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
             stmt.setString(1, playerUuid.toString());
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getBigDecimal("balance");
+                    return Money.ofRounded(rs.getBigDecimal("balance"));
                 }
             }
         }
@@ -303,17 +853,17 @@ public class CurrencyManager {
             stmt.executeUpdate();
         }
 
-        return ZERO;
+        return Money.ZERO;
     }
 
     /**
      * Update player balance in database.
      */
-    private void updatePlayerBalance(Connection conn, UUID playerUuid, BigDecimal newBalance) throws SQLException {
+    private void updatePlayerBalance(Connection conn, UUID playerUuid, Money newBalance) throws SQLException {
         String sql = "UPDATE casino_players SET balance = ?, updated_at = CURRENT_TIMESTAMP WHERE uuid = ?";
 
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setBigDecimal(1, newBalance);
+            stmt.setBigDecimal(1, newBalance.toBigDecimal());
             stmt.setString(2, playerUuid.toString());
             stmt.executeUpdate();
         }
@@ -321,18 +871,27 @@ public class CurrencyManager {
 
     /**
      * Log transaction to database.
+     * With a transaction log writer the row is not written here; it is returned
+     * so the caller can hand it to the writer once the balance update has committed.
+     *
+     * @return Deferred audit row, or null if it was written inline
      */
-    private void logTransaction(
+    private Transaction logTransaction(
         Connection conn,
         UUID playerUuid,
         TransactionType type,
-        BigDecimal amount,
-        BigDecimal balanceBefore,
-        BigDecimal balanceAfter,
+        Money amount,
+        Money balanceBefore,
+        Money balanceAfter,
         String game,
         Long sessionId,
         String description
     ) throws SQLException {
+        if (transactionLog != null) {
+            return Transaction.create(playerUuid, type, amount.toBigDecimal(), balanceBefore.toBigDecimal(),
+                balanceAfter.toBigDecimal(), game, sessionId, description);
+        }
+
         String sql = """
             INSERT INTO casino_transactions
             (uuid, type, amount, balance_before, balance_after, game, session_id, description)
@@ -342,9 +901,9 @@ public class CurrencyManager {
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, playerUuid.toString());
             stmt.setString(2, type.name());
-            stmt.setBigDecimal(3, amount);
-            stmt.setBigDecimal(4, balanceBefore);
-            stmt.setBigDecimal(5, balanceAfter);
+            stmt.setBigDecimal(3, amount.toBigDecimal());
+            stmt.setBigDecimal(4, balanceBefore.toBigDecimal());
+            stmt.setBigDecimal(5, balanceAfter.toBigDecimal());
             stmt.setString(6, game);
             if (sessionId != null) {
                 stmt.setLong(7, sessionId);
@@ -354,6 +913,16 @@ public class CurrencyManager {
             stmt.setString(8, description);
             stmt.executeUpdate();
         }
+        return null;
+    }
+
+    /**
+     * Hand a deferred audit row to the transaction log writer.
+     */
+    private void submitDeferred(Transaction audit) {
+        if (audit != null) {
+            transactionLog.submit(audit);
+        }
     }
 
     /**
@@ -367,7 +936,7 @@ public class CurrencyManager {
             rs -> {
                 try {
                     if (rs.next()) {
-                        return rs.getBigDecimal("balance");
+                        return MinorUnits.toBigDecimal(MinorUnits.roundToMinor(rs.getBigDecimal("balance")));
                     }
                     return ZERO;
                 } catch (SQLException e) {
@@ -408,6 +977,21 @@ public class CurrencyManager {
             });
     }
 
+    /**
+     * Invalidate cached balances for many players in one cache batch.
+     *
+     * @param players Player UUIDs
+     */
+    private void invalidateCaches(Collection<UUID> players) {
+        cache.batch(batch -> CompletableFuture.allOf(players.stream()
+                .map(playerUuid -> batch.delete(String.format(BALANCE_CACHE_KEY, playerUuid)))
+                .toArray(CompletableFuture[]::new)))
+            .exceptionally(ex -> {
+                logger.log(Level.WARNING, "Failed to invalidate cache for " + players.size() + " players", ex);
+                return null;
+            });
+    }
+
     /**
      * Set player balance directly (admin command).
      * Creates transaction log with ADMIN_GIVE or ADMIN_TAKE type.
@@ -442,11 +1026,30 @@ public class CurrencyManager {
 
     /**
      * Clean up player lock to prevent memory leak.
+     * Also releases the player's ledger account once it has been flushed.
      * Call this when player logs out.
      *
      * @param playerUuid Player UUID
      */
     public void cleanupPlayerLock(UUID playerUuid) {
         playerLocks.remove(playerUuid);
+        if (ledger != null) {
+            ledger.release(playerUuid);
+        }
+    }
+
+    /**
+     * Idempotency claim executed inside a batch transaction.
+     */
+    @FunctionalInterface
+    public interface BatchClaim {
+
+        /**
+         * Claim the batch.
+         *
+         * @param conn Connection of the batch transaction
+         * @return true to apply the batch, false if it was already applied
+         */
+        boolean claim(Connection conn) throws SQLException;
     }
 }
@@ -0,0 +1,16 @@
+package vn.casino.economy;
+
+/**
+ * Thrown when a debit would take a balance below zero.
+ * The balance is left unchanged.
+ *
+ * Extends IllegalStateException so existing callers that catch that type
+ * keep working; code that reports the reason to players must match this
+ * type, since other failures can also surface as IllegalStateException.
+ */
+public class InsufficientBalanceException extends IllegalStateException {
+
+    public InsufficientBalanceException() {
+        super("Insufficient balance");
+    }
+}
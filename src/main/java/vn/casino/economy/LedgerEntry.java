@@ -0,0 +1,98 @@
+package vn.casino.economy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Single balance mutation recorded by the write-behind ledger.
+ * Amounts are in minor units (see {@link MinorUnits}).
+ *
+ * @param seq Monotonic journal sequence number
+ * @param uuid Player UUID
+ * @param type Transaction type
+ * @param amount Signed amount (negative for debits)
+ * @param balanceBefore Balance before the mutation
+ * @param balanceAfter Balance after the mutation
+ * @param game Game identifier (nullable)
+ * @param sessionId Session ID (nullable)
+ * @param description Description (nullable)
+ * @param createdAt Mutation timestamp
+ */
+public record LedgerEntry(
+    long seq,
+    UUID uuid,
+    TransactionType type,
+    long amount,
+    long balanceBefore,
+    long balanceAfter,
+    String game,
+    Long sessionId,
+    String description,
+    Instant createdAt
+) {
+
+    /**
+     * Serialize entry for the journal file.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(seq);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+            out.writeUTF(type.name());
+            out.writeLong(amount);
+            out.writeLong(balanceBefore);
+            out.writeLong(balanceAfter);
+            writeNullableString(out, game);
+            out.writeBoolean(sessionId != null);
+            if (sessionId != null) {
+                out.writeLong(sessionId);
+            }
+            writeNullableString(out, description);
+            out.writeLong(createdAt.toEpochMilli());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserialize entry from journal bytes.
+     */
+    public static LedgerEntry decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            long seq = in.readLong();
+            UUID uuid = new UUID(in.readLong(), in.readLong());
+            TransactionType type = TransactionType.valueOf(in.readUTF());
+            long amount = in.readLong();
+            long balanceBefore = in.readLong();
+            long balanceAfter = in.readLong();
+            String game = readNullableString(in);
+            Long sessionId = in.readBoolean() ? in.readLong() : null;
+            String description = readNullableString(in);
+            Instant createdAt = Instant.ofEpochMilli(in.readLong());
+            return new LedgerEntry(seq, uuid, type, amount, balanceBefore, balanceAfter,
+                game, sessionId, description, createdAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,316 @@
+package vn.casino.economy;
+
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.core.storage.RecordLog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind journal for the balance ledger.
+ * Every mutation is appended to a local record log before it is acknowledged,
+ * then flushed to the database in batches. The highest flushed sequence number
+ * is stored in casino_ledger_checkpoint within the same database transaction,
+ * so entries left in the log after a crash are replayed exactly once.
+ */
+public class LedgerJournal {
+
+    private final DatabaseProvider database;
+    private final RecordLog log;
+    private final Logger logger;
+
+    private final ConcurrentLinkedDeque<LedgerEntry> pending = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Object appendLock = new Object();
+    private final Object flushLock = new Object();
+
+    private long lastSeq;
+    private volatile long flushedSeq;
+
+    public LedgerJournal(DatabaseProvider database, Path file, Logger logger) throws IOException {
+        this.database = database;
+        this.log = new RecordLog(file);
+        this.logger = logger;
+    }
+
+    /**
+     * Replay entries that were journaled but never reached the database.
+     * Must be called once before the first append.
+     *
+     * @return Number of replayed entries
+     */
+    public int recover() throws IOException, SQLException {
+        synchronized (flushLock) {
+            long checkpoint = readCheckpoint();
+            List<LedgerEntry> unflushed = new ArrayList<>();
+            long maxSeq = checkpoint;
+
+            for (byte[] record : log.readAll()) {
+                LedgerEntry entry = LedgerEntry.decode(record);
+                maxSeq = Math.max(maxSeq, entry.seq());
+                if (entry.seq() > checkpoint) {
+                    unflushed.add(entry);
+                }
+            }
+
+            if (!unflushed.isEmpty()) {
+                writeBatch(unflushed);
+                logger.info("Replayed " + unflushed.size() + " unflushed ledger entries from journal");
+            }
+
+            synchronized (appendLock) {
+                lastSeq = maxSeq;
+                flushedSeq = maxSeq;
+                log.truncate();
+            }
+
+            return unflushed.size();
+        }
+    }
+
+    /**
+     * Append a mutation to the journal.
+     * The entry is durable against a process crash once this returns.
+     *
+     * @return Appended entry with its sequence number assigned
+     */
+    public LedgerEntry append(
+        UUID uuid,
+        TransactionType type,
+        long amount,
+        long balanceBefore,
+        long balanceAfter,
+        String game,
+        Long sessionId,
+        String description
+    ) throws IOException {
+        synchronized (appendLock) {
+            LedgerEntry entry = new LedgerEntry(
+                lastSeq + 1, uuid, type, amount, balanceBefore, balanceAfter,
+                game, sessionId, description, Instant.now()
+            );
+            log.append(entry.encode());
+            lastSeq = entry.seq();
+            pending.addLast(entry);
+            pendingCount.incrementAndGet();
+            return entry;
+        }
+    }
+
+    /**
+     * Flush up to {@code maxEntries} pending entries to the database in one transaction.
+     * On failure the entries stay queued and are retried on the next flush.
+     *
+     * @param maxEntries Maximum number of entries per database transaction
+     * @return Number of flushed entries
+     */
+    public int flush(int maxEntries) {
+        synchronized (flushLock) {
+            List<LedgerEntry> batch = new ArrayList<>(Math.min(maxEntries, pendingCount.get()));
+            LedgerEntry entry;
+            while (batch.size() < maxEntries && (entry = pending.pollFirst()) != null) {
+                batch.add(entry);
+            }
+
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            pendingCount.addAndGet(-batch.size());
+
+            try {
+                log.force();
+                writeBatch(batch);
+            } catch (Exception e) {
+                for (int i = batch.size() - 1; i >= 0; i--) {
+                    pending.addFirst(batch.get(i));
+                }
+                pendingCount.addAndGet(batch.size());
+                logger.log(Level.WARNING, "Ledger flush failed, " + batch.size() + " entries will be retried", e);
+                return 0;
+            }
+
+            flushedSeq = batch.get(batch.size() - 1).seq();
+            compactIfDrained();
+            return batch.size();
+        }
+    }
+
+    /**
+     * Find which players already have an entry of the given type for a session,
+     * whether it is still pending or already in the database.
+     * Holds the flush lock so no entry is in flight between the two.
+     *
+     * @param sessionId Session ID
+     * @param type Transaction type
+     * @param players Players to check
+     * @return Subset of players with a matching entry
+     */
+    public Set<UUID> findApplied(long sessionId, TransactionType type, Collection<UUID> players) throws SQLException {
+        Set<UUID> applied = new HashSet<>();
+        synchronized (flushLock) {
+            for (LedgerEntry entry : pending) {
+                if (entry.type() == type && entry.sessionId() != null && entry.sessionId() == sessionId
+                    && players.contains(entry.uuid())) {
+                    applied.add(entry.uuid());
+                }
+            }
+
+            try (Connection conn = database.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT uuid FROM casino_transactions WHERE session_id = ? AND type = ?")) {
+                stmt.setLong(1, sessionId);
+                stmt.setString(2, type.name());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        UUID uuid = UUID.fromString(rs.getString("uuid"));
+                        if (players.contains(uuid)) {
+                            applied.add(uuid);
+                        }
+                    }
+                }
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Force appended entries to disk, making them durable against power loss.
+     */
+    public void force() throws IOException {
+        log.force();
+    }
+
+    /**
+     * Number of entries appended but not yet flushed.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Highest sequence number known to be in the database.
+     */
+    public long getFlushedSeq() {
+        return flushedSeq;
+    }
+
+    /**
+     * Close the journal file. Pending entries remain on disk for replay.
+     */
+    public void close() {
+        try {
+            log.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close ledger journal", e);
+        }
+    }
+
+    /**
+     * Truncate the journal once every appended entry is in the database.
+     */
+    private void compactIfDrained() {
+        synchronized (appendLock) {
+            if (lastSeq != flushedSeq) {
+                return;
+            }
+            try {
+                log.truncate();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to truncate ledger journal", e);
+            }
+        }
+    }
+
+    /**
+     * Write balances, transaction rows and the checkpoint in a single transaction.
+     */
+    private void writeBatch(List<LedgerEntry> batch) throws SQLException {
+        // Last entry per player carries the authoritative balance
+        Map<UUID, Long> finalBalances = new LinkedHashMap<>();
+        for (LedgerEntry entry : batch) {
+            finalBalances.put(entry.uuid(), entry.balanceAfter());
+        }
+
+        try (Connection conn = database.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                String balanceSql = "UPDATE casino_players SET balance = ?, updated_at = CURRENT_TIMESTAMP WHERE uuid = ?";
+                try (PreparedStatement stmt = conn.prepareStatement(balanceSql)) {
+                    for (Map.Entry<UUID, Long> balance : finalBalances.entrySet()) {
+                        stmt.setBigDecimal(1, MinorUnits.toBigDecimal(balance.getValue()));
+                        stmt.setString(2, balance.getKey().toString());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+
+                String transactionSql = """
+                    INSERT INTO casino_transactions
+                    (uuid, type, amount, balance_before, balance_after, game, session_id, description, created_at)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """;
+                try (PreparedStatement stmt = conn.prepareStatement(transactionSql)) {
+                    for (LedgerEntry entry : batch) {
+                        stmt.setString(1, entry.uuid().toString());
+                        stmt.setString(2, entry.type().name());
+                        stmt.setBigDecimal(3, MinorUnits.toBigDecimal(entry.amount()));
+                        stmt.setBigDecimal(4, MinorUnits.toBigDecimal(entry.balanceBefore()));
+                        stmt.setBigDecimal(5, MinorUnits.toBigDecimal(entry.balanceAfter()));
+                        stmt.setString(6, entry.game());
+                        if (entry.sessionId() != null) {
+                            stmt.setLong(7, entry.sessionId());
+                        } else {
+                            stmt.setNull(7, Types.BIGINT);
+                        }
+                        stmt.setString(8, entry.description());
+                        stmt.setTimestamp(9, Timestamp.from(entry.createdAt()));
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+
+                String checkpointSql = "UPDATE casino_ledger_checkpoint SET last_seq = ? WHERE id = 1";
+                try (PreparedStatement stmt = conn.prepareStatement(checkpointSql)) {
+                    stmt.setLong(1, batch.get(batch.size() - 1).seq());
+                    stmt.executeUpdate();
+                }
+
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private long readCheckpoint() throws SQLException {
+        try (Connection conn = database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT last_seq FROM casino_ledger_checkpoint WHERE id = 1");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong("last_seq") : 0L;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package vn.casino.economy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversion between BigDecimal amounts and long minor units (cents).
+ * The scale matches the DECIMAL(20, 2) columns used for balances.
+ */
+public final class MinorUnits {
+
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Convert an amount to minor units, truncating sub-cent fractions.
+     * Use for amounts entered by players or passed in through the API.
+     *
+     * @param amount Amount in major units
+     * @return Amount in minor units
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public static long toMinor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.DOWN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convert an amount read from the database or derived from a double to
+     * minor units, rounding to the nearest cent. SQLite stores balances as REAL,
+     * so 1.15 may come back as 1.1499999999999999 and must not lose a cent.
+     *
+     * @param amount Amount in major units
+     * @return Amount in minor units
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public static long roundToMinor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convert minor units back to a BigDecimal amount.
+     *
+     * @param minor Amount in minor units
+     * @return Amount in major units with scale {@link #SCALE}
+     */
+    public static BigDecimal toBigDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
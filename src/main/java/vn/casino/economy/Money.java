@@ -0,0 +1,125 @@
+package vn.casino.economy;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount of money held as a long of minor units (scale {@link MinorUnits#SCALE}).
+ *
+ * Used for bets, payouts, balances and jackpot pools inside the engine, so
+ * adding, comparing and scaling amounts is plain long arithmetic instead of
+ * BigDecimal allocation. Every operation is overflow-checked and throws
+ * {@link ArithmeticException} rather than wrapping. BigDecimal is only used
+ * at the edges: JDBC columns, config values, commands and display.
+ *
+ * @param minor Amount in minor units
+ */
+public record Money(long minor) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * @param minor Amount in minor units
+     * @return Money
+     */
+    public static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    /**
+     * Convert a BigDecimal amount, truncating sub-cent fractions.
+     *
+     * @param amount Amount in major units
+     * @return Money
+     * @throws ArithmeticException if the amount does not fit in a long of minor units
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(MinorUnits.toMinor(amount));
+    }
+
+    /**
+     * Convert a database or double-derived amount, rounding to the nearest cent.
+     *
+     * @param amount Amount in major units
+     * @return Money
+     * @throws ArithmeticException if the amount does not fit in a long of minor units
+     * @see MinorUnits#roundToMinor(BigDecimal)
+     */
+    public static Money ofRounded(BigDecimal amount) {
+        return ofMinor(MinorUnits.roundToMinor(amount));
+    }
+
+    /**
+     * @param major Whole amount in major units (e.g. VND)
+     * @return Money
+     * @throws ArithmeticException on overflow
+     */
+    public static Money ofMajor(long major) {
+        return ofMinor(Math.multiplyExact(major, 100L));
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minor, other.minor));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minor));
+    }
+
+    public Money times(long factor) {
+        return ofMinor(Math.multiplyExact(minor, factor));
+    }
+
+    /**
+     * Multiply by a fraction, truncating toward zero (e.g. a payout of
+     * 19,800 basis points is {@code times(19_800, 10_000)}).
+     *
+     * @param numerator Fraction numerator
+     * @param denominator Fraction denominator (positive)
+     * @return Scaled amount
+     * @throws ArithmeticException on overflow
+     */
+    public Money times(long numerator, long denominator) {
+        return ofMinor(Math.multiplyExact(minor, numerator) / denominator);
+    }
+
+    public boolean isPositive() {
+        return minor > 0;
+    }
+
+    public boolean isNegative() {
+        return minor < 0;
+    }
+
+    public boolean isZero() {
+        return minor == 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minor < other.minor;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return minor > other.minor;
+    }
+
+    /**
+     * @return Amount in major units with scale {@link MinorUnits#SCALE}
+     */
+    public BigDecimal toBigDecimal() {
+        return MinorUnits.toBigDecimal(minor);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
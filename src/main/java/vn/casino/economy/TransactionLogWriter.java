@@ -0,0 +1,246 @@
+package vn.casino.economy;
+
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.core.metrics.Timer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Group-commit writer for casino_transactions.
+ * Balance operations hand their audit rows to a bounded queue once the balance
+ * update has committed; a single writer thread coalesces them into JDBC batches,
+ * committing at most every max-latency ms or once a batch is full.
+ *
+ * Producers block when the queue is full (back-pressure), so audit rows are never
+ * dropped while running. Rows still queued at a hard crash are lost; a clean
+ * shutdown drains the queue.
+ */
+public class TransactionLogWriter {
+
+    private static final long RETRY_BACKOFF_MS = 1000;
+
+    private final DatabaseProvider database;
+    private final BlockingQueue<Transaction> queue;
+    private final long maxLatencyMs;
+    private final int maxBatchSize;
+    private final MetricsRegistry metrics;
+    private final Logger logger;
+
+    private final Timer flushTime;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TransactionLogWriter(
+        DatabaseProvider database,
+        int queueCapacity,
+        long maxLatencyMs,
+        int maxBatchSize,
+        MetricsRegistry metrics,
+        Logger logger
+    ) {
+        this.database = database;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxLatencyMs = maxLatencyMs;
+        this.maxBatchSize = maxBatchSize;
+        this.metrics = metrics;
+        this.logger = logger;
+        this.flushTime = metrics.timer("txlog.flush");
+    }
+
+    /**
+     * Start the writer thread.
+     */
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "CasinoTxLog-Writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        logger.info("Transaction log writer started (max latency " + maxLatencyMs + "ms, batch "
+            + maxBatchSize + ")");
+    }
+
+    /**
+     * Queue a transaction row for writing.
+     * Blocks while the queue is full. After shutdown the row is written directly.
+     *
+     * @param transaction Committed balance mutation
+     */
+    public void submit(Transaction transaction) {
+        if (queue.offer(transaction)) {
+            return;
+        }
+
+        metrics.increment("txlog.backpressure");
+        try {
+            while (running) {
+                if (queue.offer(transaction, maxLatencyMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Writer is gone; do not lose the audit row
+        writeDirect(List.of(transaction));
+    }
+
+    /**
+     * Stop the writer and drain every queued row to the database.
+     */
+    public void shutdown() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Transaction> remaining = new ArrayList<>(queue.size());
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeDirect(remaining);
+            logger.info("Drained " + remaining.size() + " queued transaction rows on shutdown");
+        }
+    }
+
+    /**
+     * Number of rows waiting to be written.
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<Transaction> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Transaction first = queue.poll(maxLatencyMs, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+
+                    // Group commit: gather more rows until the batch fills or the latency budget is spent
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLatencyMs);
+                    while (batch.size() < maxBatchSize) {
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                        long remainingNanos = deadline - System.nanoTime();
+                        if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+                            break;
+                        }
+                        Transaction next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+
+                writeBatch(batch);
+                batch.clear();
+
+            } catch (InterruptedException e) {
+                // Shutdown requested; remaining rows are drained by shutdown()
+                requeue(batch);
+                return;
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Transaction log batch of " + batch.size() + " rows failed, retrying", e);
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MS);
+                } catch (InterruptedException ie) {
+                    requeue(batch);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void writeDirect(List<Transaction> rows) {
+        try {
+            for (int from = 0; from < rows.size(); from += maxBatchSize) {
+                writeBatch(rows.subList(from, Math.min(from + maxBatchSize, rows.size())));
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to write " + rows.size() + " transaction rows", e);
+        }
+    }
+
+    /**
+     * Put a failed batch back so shutdown() can drain it; rows that do not fit are written directly.
+     */
+    private void requeue(List<Transaction> batch) {
+        List<Transaction> overflow = new ArrayList<>();
+        for (Transaction transaction : batch) {
+            if (!queue.offer(transaction)) {
+                overflow.add(transaction);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            writeDirect(overflow);
+        }
+    }
+
+    private void writeBatch(List<Transaction> batch) throws SQLException {
+        long startNanos = System.nanoTime();
+
+        String sql = """
+            INSERT INTO casino_transactions
+            (uuid, type, amount, balance_before, balance_after, game, session_id, description, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+        try (Connection conn = database.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Transaction transaction : batch) {
+                    stmt.setString(1, transaction.uuid().toString());
+                    stmt.setString(2, transaction.type().name());
+                    stmt.setBigDecimal(3, transaction.amount());
+                    stmt.setBigDecimal(4, transaction.balanceBefore());
+                    stmt.setBigDecimal(5, transaction.balanceAfter());
+                    stmt.setString(6, transaction.game());
+                    if (transaction.sessionId() != null) {
+                        stmt.setLong(7, transaction.sessionId());
+                    } else {
+                        stmt.setNull(7, Types.BIGINT);
+                    }
+                    stmt.setString(8, transaction.description());
+                    stmt.setTimestamp(9, Timestamp.from(transaction.createdAt()));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+
+        flushTime.recordSince(startNanos);
+        metrics.add("txlog.rows", batch.size());
+        metrics.increment("txlog.batches");
+    }
+}
@@ -1,7 +1,9 @@
 package vn.casino.economy;
 
 import vn.casino.core.database.DatabaseProvider;
+import vn.casino.economy.archive.TransactionArchiveReader;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -12,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,10 +25,19 @@ import java.util.logging.Logger;
 public class TransactionRepository {
 
     private final DatabaseProvider database;
+    private final TransactionArchiveReader archive;
     private final Logger logger;
 
     public TransactionRepository(DatabaseProvider database, Logger logger) {
+        this(database, null, logger);
+    }
+
+    /**
+     * @param archive Archived history served once a player's live rows run out, or null
+     */
+    public TransactionRepository(DatabaseProvider database, TransactionArchiveReader archive, Logger logger) {
         this.database = database;
+        this.archive = archive;
         this.logger = logger;
     }
 
@@ -110,6 +122,70 @@ public class TransactionRepository {
         });
     }
 
+    /**
+     * Find a page of a player's transactions older than a cursor (keyset pagination).
+     * Seeks on the (uuid, id) index, so the cost depends on the page size, not on account age.
+     * Pages reaching past the live table are completed from the archive.
+     *
+     * @param playerUuid Player UUID
+     * @param lastId Smallest ID on the previous page, or null for the newest page
+     * @param limit Page size
+     * @return CompletableFuture with list of transactions (newest first); fails if the page
+     *         could not be read, so an empty or short page always means there is nothing older
+     */
+    public CompletableFuture<List<Transaction>> findByPlayerBefore(UUID playerUuid, Long lastId, int limit) {
+        String sql = """
+            SELECT id, uuid, type, amount, balance_before, balance_after,
+                   game, session_id, description, created_at
+            FROM casino_transactions
+            WHERE uuid = ? AND id < ?
+            ORDER BY id DESC
+            LIMIT ?
+        """;
+
+        return database.queryAsync(
+            sql,
+            this::mapResultSetToList,
+            playerUuid.toString(),
+            lastId != null ? lastId : Long.MAX_VALUE,
+            limit
+        ).thenCompose(live -> fillFromArchive(playerUuid, lastId, limit, live))
+        .whenComplete((page, ex) -> {
+            if (ex != null) {
+                logger.log(Level.SEVERE, "Failed to query transaction page for player " + playerUuid, ex);
+            }
+        });
+    }
+
+    /**
+     * Append archived rows when the live table returned a short page.
+     */
+    private CompletableFuture<List<Transaction>> fillFromArchive(
+        UUID playerUuid,
+        Long lastId,
+        int limit,
+        List<Transaction> live
+    ) {
+        if (archive == null || live.size() >= limit) {
+            return CompletableFuture.completedFuture(live);
+        }
+
+        long cursor = live.isEmpty()
+            ? (lastId != null ? lastId : Long.MAX_VALUE)
+            : live.get(live.size() - 1).id();
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<Transaction> page = new ArrayList<>(live);
+                page.addAll(archive.findByPlayerBefore(playerUuid, cursor, limit - live.size()));
+                return page;
+            } catch (IOException e) {
+                // A short page would read as end of history, so fail the page instead
+                throw new CompletionException(e);
+            }
+        });
+    }
+
     /**
      * Find transactions by game with limit.
      *
@@ -140,7 +216,8 @@ public class TransactionRepository {
 
     /**
      * Delete transactions older than the specified duration.
-     * Used for automatic cleanup of old transaction history.
+     * Issues a single unbounded DELETE; the scheduled cleanup uses
+     * {@link TransactionRetentionJob}, which deletes in small chunks.
      *
      * @param duration Duration threshold (e.g., 30 days)
      * @return CompletableFuture with number of deleted transactions
@@ -209,18 +286,25 @@ public class TransactionRepository {
     /**
      * Map single ResultSet row to Transaction.
      */
-    private Transaction mapResultSetToTransaction(ResultSet rs) throws SQLException {
+    static Transaction mapResultSetToTransaction(ResultSet rs) throws SQLException {
         return new Transaction(
             rs.getLong("id"),
             UUID.fromString(rs.getString("uuid")),
             TransactionType.valueOf(rs.getString("type")),
-            rs.getBigDecimal("amount"),
-            rs.getBigDecimal("balance_before"),
-            rs.getBigDecimal("balance_after"),
+            stored(rs.getBigDecimal("amount")),
+            stored(rs.getBigDecimal("balance_before")),
+            stored(rs.getBigDecimal("balance_after")),
             rs.getString("game"),
             rs.getObject("session_id", Long.class),
             rs.getString("description"),
             rs.getTimestamp("created_at").toInstant()
         );
     }
+
+    /**
+     * Round a stored amount to whole cents (SQLite columns are REAL).
+     */
+    private static BigDecimal stored(BigDecimal amount) {
+        return MinorUnits.toBigDecimal(MinorUnits.roundToMinor(amount));
+    }
 }
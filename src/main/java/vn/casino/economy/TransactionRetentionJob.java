@@ -0,0 +1,225 @@
+package vn.casino.economy;
+
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.core.metrics.Timer;
+import vn.casino.economy.archive.TransactionArchiver;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Purges casino_transactions rows past the retention period.
+ *
+ * Rows are removed in primary-key ranges of at most batch-size rows, each in its own
+ * short transaction, with a pause between chunks so bet traffic is never stuck
+ * behind one long range lock. When an archiver is configured each chunk is archived
+ * before it is deleted; a crash between the two archives that chunk again on the next run.
+ *
+ * {@link #run()} blocks and must be called off the main thread.
+ */
+public class TransactionRetentionJob {
+
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+
+    private final DatabaseProvider database;
+    private final Duration retention;
+    private final int batchSize;
+    private final long pauseMs;
+    private final TransactionArchiver archiver;
+    private final MetricsRegistry metrics;
+    private final Logger logger;
+
+    private final Timer batchTime;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean stopped;
+
+    /**
+     * @param archiver Archive destination, or null to delete without archiving
+     */
+    public TransactionRetentionJob(
+        DatabaseProvider database,
+        Duration retention,
+        int batchSize,
+        long pauseMs,
+        TransactionArchiver archiver,
+        MetricsRegistry metrics,
+        Logger logger
+    ) {
+        this.database = database;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.archiver = archiver;
+        this.metrics = metrics;
+        this.logger = logger;
+        this.batchTime = metrics.timer("retention.batch");
+    }
+
+    /**
+     * Purge all rows older than the retention period.
+     * Returns immediately if a purge is already running.
+     *
+     * @return Number of deleted rows
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.fine("Transaction retention already running, skipping");
+            return 0;
+        }
+
+        long startNanos = System.nanoTime();
+        Timestamp threshold = Timestamp.from(Instant.now().minus(retention));
+        int deleted = 0;
+        int batches = 0;
+
+        try {
+            long upperId = findUpperId(threshold);
+            long afterId = 0;
+
+            while (afterId < upperId && !stopped) {
+                long batchStart = System.nanoTime();
+                Chunk chunk = purgeChunk(afterId, upperId, threshold);
+                batchTime.recordSince(batchStart);
+
+                afterId = chunk.endId();
+                deleted += chunk.deleted();
+                batches++;
+                metrics.add("retention.rows", chunk.deleted());
+                metrics.increment("retention.batches");
+
+                if (batches % PROGRESS_LOG_INTERVAL == 0) {
+                    logger.info("Transaction retention: " + deleted + " rows deleted so far (up to id "
+                        + afterId + " of " + upperId + ")");
+                }
+
+                if (afterId < upperId && pauseMs > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            }
+
+            if (deleted > 0) {
+                long elapsedMs = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+                logger.info("Deleted " + deleted + " old transactions (older than " + retention.toDays()
+                    + " days) in " + batches + " batches, " + elapsedMs + "ms (" + deleted * 1000L / elapsedMs
+                    + " rows/s)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (SQLException | IOException e) {
+            logger.log(Level.SEVERE, "Transaction retention stopped after " + deleted + " rows", e);
+        } finally {
+            running.set(false);
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Stop a running purge after its current chunk.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Check whether a purge is in progress.
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Highest ID that is past retention; IDs above it are never touched.
+     */
+    private long findUpperId(Timestamp threshold) throws SQLException {
+        String sql = "SELECT MAX(id) FROM casino_transactions WHERE created_at < ?";
+        try (Connection conn = database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, threshold);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        }
+    }
+
+    /**
+     * Archive and delete one ID range (afterId, chunkEnd].
+     *
+     * @return Range end and number of deleted rows
+     */
+    private Chunk purgeChunk(long afterId, long upperId, Timestamp threshold) throws SQLException, IOException {
+        try (Connection conn = database.getConnection()) {
+            long chunkEnd = findChunkEnd(conn, afterId, upperId);
+
+            if (archiver != null) {
+                List<Transaction> rows = loadRange(conn, afterId, chunkEnd, threshold);
+                if (!rows.isEmpty()) {
+                    archiver.archive(rows);
+                    metrics.add("retention.archived", rows.size());
+                }
+            }
+
+            String sql = "DELETE FROM casino_transactions WHERE id > ? AND id <= ? AND created_at < ?";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, afterId);
+                stmt.setLong(2, chunkEnd);
+                stmt.setTimestamp(3, threshold);
+                return new Chunk(chunkEnd, stmt.executeUpdate());
+            }
+        }
+    }
+
+    /**
+     * ID of the batch-size'th row after afterId, capped at upperId.
+     */
+    private long findChunkEnd(Connection conn, long afterId, long upperId) throws SQLException {
+        String sql = "SELECT id FROM casino_transactions WHERE id > ? AND id <= ? ORDER BY id LIMIT 1 OFFSET ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, afterId);
+            stmt.setLong(2, upperId);
+            stmt.setInt(3, batchSize - 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : upperId;
+            }
+        }
+    }
+
+    private List<Transaction> loadRange(Connection conn, long afterId, long chunkEnd, Timestamp threshold)
+            throws SQLException {
+        String sql = """
+            SELECT id, uuid, type, amount, balance_before, balance_after,
+                   game, session_id, description, created_at
+            FROM casino_transactions
+            WHERE id > ? AND id <= ? AND created_at < ?
+            ORDER BY id
+        """;
+
+        List<Transaction> rows = new ArrayList<>(batchSize);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, afterId);
+            stmt.setLong(2, chunkEnd);
+            stmt.setTimestamp(3, threshold);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(TransactionRepository.mapResultSetToTransaction(rs));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private record Chunk(long endId, int deleted) {
+    }
+}
@@ -0,0 +1,83 @@
+package vn.casino.economy.archive;
+
+import vn.casino.economy.Transaction;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archives transactions as gzip-compressed, tab-separated text, one file per UTC day
+ * (transactions-YYYY-MM-DD.tsv.gz).
+ * Each chunk is appended as its own gzip member and fsynced; concatenated members
+ * read back as one stream with standard tools (zcat).
+ */
+public class GzipTransactionArchiver implements TransactionArchiver {
+
+    private final Path folder;
+
+    public GzipTransactionArchiver(Path folder) {
+        this.folder = folder;
+    }
+
+    @Override
+    public void archive(List<Transaction> transactions) throws IOException {
+        Files.createDirectories(folder);
+
+        Map<LocalDate, StringBuilder> byDay = new TreeMap<>();
+        for (Transaction tx : transactions) {
+            LocalDate day = LocalDate.ofInstant(tx.createdAt(), ZoneOffset.UTC);
+            appendRow(byDay.computeIfAbsent(day, d -> new StringBuilder()), tx);
+        }
+
+        for (Map.Entry<LocalDate, StringBuilder> entry : byDay.entrySet()) {
+            appendMember(folder.resolve("transactions-" + entry.getKey() + ".tsv.gz"), entry.getValue());
+        }
+    }
+
+    private void appendMember(Path file, CharSequence rows) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+            writer.append(rows);
+            writer.flush();
+            gzip.finish();
+            channel.force(true);
+        }
+    }
+
+    private void appendRow(StringBuilder sb, Transaction tx) {
+        sb.append(tx.id()).append('\t')
+            .append(tx.uuid()).append('\t')
+            .append(tx.type().name()).append('\t')
+            .append(tx.amount().toPlainString()).append('\t')
+            .append(tx.balanceBefore().toPlainString()).append('\t')
+            .append(tx.balanceAfter().toPlainString()).append('\t')
+            .append(escape(tx.game())).append('\t')
+            .append(tx.sessionId() != null ? tx.sessionId() : "").append('\t')
+            .append(escape(tx.description())).append('\t')
+            .append(tx.createdAt()).append('\n');
+    }
+
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,51 @@
+package vn.casino.economy.archive;
+
+import vn.casino.core.storage.RecordLog;
+import vn.casino.economy.Transaction;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Archives transactions into per-day segment files (transactions-YYYY-MM-DD.seg, UTC).
+ * Each chunk becomes one {@link TransactionSegmentCodec} block, appended as a
+ * CRC-framed {@link RecordLog} record and fsynced before returning.
+ * Segments are read back by {@link TransactionArchiveReader}.
+ */
+public class SegmentTransactionArchiver implements TransactionArchiver {
+
+    private final Path folder;
+
+    public SegmentTransactionArchiver(Path folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Segment file for a day.
+     */
+    public static Path segmentPath(Path folder, LocalDate day) {
+        return folder.resolve("transactions-" + day + ".seg");
+    }
+
+    @Override
+    public void archive(List<Transaction> transactions) throws IOException {
+        Map<LocalDate, List<Transaction>> byDay = new TreeMap<>();
+        for (Transaction tx : transactions) {
+            LocalDate day = LocalDate.ofInstant(tx.createdAt(), ZoneOffset.UTC);
+            byDay.computeIfAbsent(day, d -> new ArrayList<>()).add(tx);
+        }
+
+        for (Map.Entry<LocalDate, List<Transaction>> entry : byDay.entrySet()) {
+            try (RecordLog segment = new RecordLog(segmentPath(folder, entry.getKey()))) {
+                segment.append(TransactionSegmentCodec.encode(entry.getValue()));
+                segment.force();
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package vn.casino.economy.archive;
+
+import vn.casino.core.storage.RecordLog;
+import vn.casino.economy.Transaction;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves transaction history from archived segment files.
+ *
+ * The index of each segment (frame positions and block headers, built from
+ * header bytes only) is cached and extended as blocks are appended. A query
+ * stops once the page is full, skips cached segments that are entirely newer
+ * than its cursor or never list the player without opening them, and seeks
+ * to and inflates only the blocks whose header contains the player.
+ * Rows archived twice after an interrupted purge are returned once.
+ */
+public class TransactionArchiveReader {
+
+    private static final String SEGMENT_GLOB = "transactions-*.seg";
+    private static final int HEADER_PREFIX_BYTES = 512;
+
+    private final Path folder;
+    private final Map<Path, SegmentIndex> indexCache = new ConcurrentHashMap<>();
+
+    public TransactionArchiveReader(Path folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Find a player's archived transactions older than a cursor.
+     *
+     * @param playerUuid Player UUID
+     * @param beforeId Exclusive upper bound on transaction ID
+     * @param limit Maximum rows to return
+     * @return Transactions, newest first
+     */
+    public List<Transaction> findByPlayerBefore(UUID playerUuid, long beforeId, int limit) throws IOException {
+        // Newest rows first, deduplicated by ID
+        TreeMap<Long, Transaction> found = new TreeMap<>(Comparator.reverseOrder());
+
+        for (Path segment : listSegments()) {
+            // Segments are per day, newest first, and IDs grow with time, so once
+            // the page is full every remaining segment only holds older rows
+            if (found.size() >= limit) {
+                break;
+            }
+            SegmentIndex index = index(segment);
+            if (index.minId() >= beforeId || !index.mayContain(playerUuid, beforeId)) {
+                continue;
+            }
+
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                for (int i = 0; i < index.headers().size(); i++) {
+                    TransactionSegmentCodec.BlockHeader header = index.headers().get(i);
+                    boolean full = found.size() >= limit;
+                    if (header.minId() >= beforeId
+                            || (full && header.maxId() <= found.lastKey())
+                            || !header.containsPlayer(playerUuid)) {
+                        continue;
+                    }
+
+                    // Only the matching block is read and inflated
+                    byte[] block = RecordLog.readFrame(channel, index.frames().get(i));
+                    if (block == null) {
+                        continue;
+                    }
+                    for (Transaction tx : TransactionSegmentCodec.decode(block, header)) {
+                        if (tx.id() < beforeId && tx.uuid().equals(playerUuid)) {
+                            found.put(tx.id(), tx);
+                        }
+                    }
+                    while (found.size() > limit) {
+                        found.pollLastEntry();
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<>(found.values());
+    }
+
+    private List<Path> listSegments() throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return List.of();
+        }
+        List<Path> segments = new ArrayList<>();
+        try (var stream = Files.newDirectoryStream(folder, SEGMENT_GLOB)) {
+            stream.forEach(segments::add);
+        }
+        // Newest day first (ISO dates sort lexicographically)
+        segments.sort(Comparator.comparing(Path::getFileName).reversed());
+        return segments;
+    }
+
+    /**
+     * Block headers and frame positions of a segment.
+     * An unchanged segment is served from the cache without opening it. Otherwise
+     * only frame headers and block headers are read; blocks appended since the
+     * last call are indexed incrementally.
+     */
+    private SegmentIndex index(Path segment) throws IOException {
+        SegmentIndex cached = indexCache.get(segment);
+        if (cached != null && cached.size() == Files.size(segment)) {
+            return cached;
+        }
+
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return scanIndex(segment, channel, cached);
+        }
+    }
+
+    private SegmentIndex scanIndex(Path segment, FileChannel channel, SegmentIndex cached) throws IOException {
+        long size = channel.size();
+        if (cached != null && cached.size() == size) {
+            return cached;
+        }
+
+        List<RecordLog.Frame> frames = new ArrayList<>();
+        List<TransactionSegmentCodec.BlockHeader> headers = new ArrayList<>();
+        long from = 0;
+        if (cached != null && cached.size() < size) {
+            frames.addAll(cached.frames());
+            headers.addAll(cached.headers());
+            from = cached.scannedTo();
+        }
+
+        for (RecordLog.Frame frame : RecordLog.scan(channel, from)) {
+            TransactionSegmentCodec.BlockHeader header;
+            try {
+                header = readHeader(channel, frame);
+            } catch (IOException e) {
+                // Damaged frame: stop here, as a full read would, and rescan it next time
+                break;
+            }
+            frames.add(frame);
+            headers.add(header);
+            from = frame.end();
+        }
+
+        SegmentIndex index = new SegmentIndex(size, from, List.copyOf(frames), List.copyOf(headers));
+        indexCache.put(segment, index);
+        return index;
+    }
+
+    /**
+     * Decode a block header from the smallest leading slice of the frame that holds it.
+     */
+    private static TransactionSegmentCodec.BlockHeader readHeader(FileChannel channel, RecordLog.Frame frame) throws IOException {
+        int prefix = HEADER_PREFIX_BYTES;
+        while (true) {
+            byte[] bytes = RecordLog.readPrefix(channel, frame, prefix);
+            try {
+                return TransactionSegmentCodec.decodeHeader(bytes);
+            } catch (EOFException e) {
+                if (bytes.length >= frame.length()) {
+                    throw e;
+                }
+                // Player table did not fit; it is 16 bytes per player
+                prefix *= 4;
+            }
+        }
+    }
+
+    private record SegmentIndex(
+        long size,
+        long scannedTo,
+        List<RecordLog.Frame> frames,
+        List<TransactionSegmentCodec.BlockHeader> headers
+    ) {
+
+        long minId() {
+            return headers.stream().mapToLong(TransactionSegmentCodec.BlockHeader::minId).min().orElse(Long.MAX_VALUE);
+        }
+
+        /**
+         * Whether any block older than the cursor lists the player, so the segment is worth opening.
+         */
+        boolean mayContain(UUID playerUuid, long beforeId) {
+            for (TransactionSegmentCodec.BlockHeader header : headers) {
+                if (header.minId() < beforeId && header.containsPlayer(playerUuid)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package vn.casino.economy.archive;
+
+import vn.casino.economy.Transaction;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for transaction rows removed from the live table.
+ * Rows are deleted only after {@link #archive(List)} returns, so an
+ * implementation must have made them durable by then.
+ */
+public interface TransactionArchiver {
+
+    /**
+     * Durably store a chunk of rows, ordered by ID.
+     *
+     * @param transactions Rows about to be deleted
+     * @throws IOException if the rows could not be stored; nothing is deleted
+     */
+    void archive(List<Transaction> transactions) throws IOException;
+}
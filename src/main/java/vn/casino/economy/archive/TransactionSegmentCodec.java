@@ -0,0 +1,319 @@
+package vn.casino.economy.archive;
+
+import vn.casino.economy.MinorUnits;
+import vn.casino.economy.Transaction;
+import vn.casino.economy.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes a chunk of transactions as one archive block.
+ *
+ * Block layout:
+ * <pre>
+ * header (uncompressed):
+ *   byte    version
+ *   varint  rows
+ *   varlong minId, varlong maxId - minId
+ *   varint  players, then players x (long msb, long lsb), sorted
+ * body (deflated), column by column:
+ *   string dictionaries for type, game and description
+ *   id            delta from previous (first from minId)
+ *   player        index into the header player table
+ *   type          dictionary index
+ *   amount        zigzag minor units
+ *   balanceBefore zigzag minor units
+ *   balanceAfter  zigzag (after - before - amount), 0 for a consistent row
+ *   game          dictionary index + 1 (0 = null)
+ *   sessionId     0 = null, else zigzag delta from previous session + 1
+ *   description   dictionary index + 1 (0 = null)
+ *   createdAt     zigzag millis delta from previous
+ * </pre>
+ * The player table doubles as the block's index: readers binary-search it
+ * and only inflate blocks that contain the player.
+ */
+public final class TransactionSegmentCodec {
+
+    private static final byte VERSION = 1;
+
+    private TransactionSegmentCodec() {
+    }
+
+    /**
+     * Block header: ID range and the players with rows in the block.
+     */
+    public record BlockHeader(int rows, long minId, long maxId, UUID[] players, int bodyOffset) {
+
+        public boolean containsPlayer(UUID player) {
+            return Arrays.binarySearch(players, player) >= 0;
+        }
+    }
+
+    /**
+     * Encode transactions (ordered by ID) into a block.
+     */
+    public static byte[] encode(List<Transaction> transactions) throws IOException {
+        int rows = transactions.size();
+        long minId = transactions.get(0).id();
+        long maxId = transactions.get(rows - 1).id();
+
+        UUID[] players = transactions.stream().map(Transaction::uuid).distinct().sorted().toArray(UUID[]::new);
+        Map<String, Integer> types = new LinkedHashMap<>();
+        Map<String, Integer> games = new LinkedHashMap<>();
+        Map<String, Integer> descriptions = new LinkedHashMap<>();
+        for (Transaction tx : transactions) {
+            types.putIfAbsent(tx.type().name(), types.size());
+            if (tx.game() != null) {
+                games.putIfAbsent(tx.game(), games.size());
+            }
+            if (tx.description() != null) {
+                descriptions.putIfAbsent(tx.description(), descriptions.size());
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows * 8);
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeByte(VERSION);
+        writeVarLong(header, rows);
+        writeVarLong(header, minId);
+        writeVarLong(header, maxId - minId);
+        writeVarLong(header, players.length);
+        for (UUID player : players) {
+            header.writeLong(player.getMostSignificantBits());
+            header.writeLong(player.getLeastSignificantBits());
+        }
+        header.flush();
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream body = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            writeDictionary(body, types);
+            writeDictionary(body, games);
+            writeDictionary(body, descriptions);
+
+            long previous = minId;
+            for (Transaction tx : transactions) {
+                writeVarLong(body, tx.id() - previous);
+                previous = tx.id();
+            }
+            for (Transaction tx : transactions) {
+                writeVarLong(body, Arrays.binarySearch(players, tx.uuid()));
+            }
+            for (Transaction tx : transactions) {
+                writeVarLong(body, types.get(tx.type().name()));
+            }
+            for (Transaction tx : transactions) {
+                writeVarLong(body, zigzag(MinorUnits.toMinor(tx.amount())));
+            }
+            for (Transaction tx : transactions) {
+                writeVarLong(body, zigzag(MinorUnits.toMinor(tx.balanceBefore())));
+            }
+            for (Transaction tx : transactions) {
+                long expected = MinorUnits.toMinor(tx.balanceBefore()) + MinorUnits.toMinor(tx.amount());
+                writeVarLong(body, zigzag(MinorUnits.toMinor(tx.balanceAfter()) - expected));
+            }
+            for (Transaction tx : transactions) {
+                writeVarLong(body, tx.game() != null ? games.get(tx.game()) + 1 : 0);
+            }
+            long previousSession = 0;
+            for (Transaction tx : transactions) {
+                if (tx.sessionId() == null) {
+                    writeVarLong(body, 0);
+                } else {
+                    writeVarLong(body, zigzag(tx.sessionId() - previousSession) + 1);
+                    previousSession = tx.sessionId();
+                }
+            }
+            for (Transaction tx : transactions) {
+                writeVarLong(body, tx.description() != null ? descriptions.get(tx.description()) + 1 : 0);
+            }
+            long previousMillis = 0;
+            for (Transaction tx : transactions) {
+                long millis = tx.createdAt().toEpochMilli();
+                writeVarLong(body, zigzag(millis - previousMillis));
+                previousMillis = millis;
+            }
+        } finally {
+            deflater.end();
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode only the header of a block.
+     */
+    public static BlockHeader decodeHeader(byte[] block) throws IOException {
+        CountingInput counting = new CountingInput(new ByteArrayInputStream(block));
+        DataInputStream in = new DataInputStream(counting);
+
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported archive block version " + version);
+        }
+        int rows = (int) readVarLong(in);
+        long minId = readVarLong(in);
+        long maxId = minId + readVarLong(in);
+        UUID[] players = new UUID[(int) readVarLong(in)];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new UUID(in.readLong(), in.readLong());
+        }
+
+        return new BlockHeader(rows, minId, maxId, players, (int) counting.count);
+    }
+
+    /**
+     * Decode every row of a block.
+     */
+    public static List<Transaction> decode(byte[] block, BlockHeader header) throws IOException {
+        int rows = header.rows();
+        InputStream compressed = new ByteArrayInputStream(block, header.bodyOffset(), block.length - header.bodyOffset());
+
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(compressed))) {
+            String[] types = readDictionary(in);
+            String[] games = readDictionary(in);
+            String[] descriptions = readDictionary(in);
+
+            long[] ids = new long[rows];
+            long previous = header.minId();
+            for (int i = 0; i < rows; i++) {
+                previous += readVarLong(in);
+                ids[i] = previous;
+            }
+            int[] playerIndex = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                playerIndex[i] = (int) readVarLong(in);
+            }
+            int[] typeIndex = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                typeIndex[i] = (int) readVarLong(in);
+            }
+            long[] amounts = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                amounts[i] = unzigzag(readVarLong(in));
+            }
+            long[] before = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                before[i] = unzigzag(readVarLong(in));
+            }
+            long[] after = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                after[i] = before[i] + amounts[i] + unzigzag(readVarLong(in));
+            }
+            int[] gameIndex = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                gameIndex[i] = (int) readVarLong(in);
+            }
+            Long[] sessions = new Long[rows];
+            long previousSession = 0;
+            for (int i = 0; i < rows; i++) {
+                long value = readVarLong(in);
+                if (value != 0) {
+                    previousSession += unzigzag(value - 1);
+                    sessions[i] = previousSession;
+                }
+            }
+            int[] descriptionIndex = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                descriptionIndex[i] = (int) readVarLong(in);
+            }
+            long previousMillis = 0;
+            List<Transaction> transactions = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                previousMillis += unzigzag(readVarLong(in));
+                transactions.add(new Transaction(
+                    ids[i],
+                    header.players()[playerIndex[i]],
+                    TransactionType.valueOf(types[typeIndex[i]]),
+                    MinorUnits.toBigDecimal(amounts[i]),
+                    MinorUnits.toBigDecimal(before[i]),
+                    MinorUnits.toBigDecimal(after[i]),
+                    gameIndex[i] != 0 ? games[gameIndex[i] - 1] : null,
+                    sessions[i],
+                    descriptionIndex[i] != 0 ? descriptions[descriptionIndex[i] - 1] : null,
+                    Instant.ofEpochMilli(previousMillis)
+                ));
+            }
+            return transactions;
+        }
+    }
+
+    private static void writeDictionary(DataOutputStream out, Map<String, Integer> dictionary) throws IOException {
+        writeVarLong(out, dictionary.size());
+        for (String value : dictionary.keySet()) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String[] readDictionary(DataInputStream in) throws IOException {
+        String[] values = new String[(int) readVarLong(in)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readUTF();
+        }
+        return values;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Tracks how many header bytes were consumed, to locate the compressed body.
+     */
+    private static final class CountingInput extends InputStream {
+        private final InputStream in;
+        private long count;
+
+        CountingInput(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+    }
+}
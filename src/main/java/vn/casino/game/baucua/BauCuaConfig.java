@@ -1,5 +1,6 @@
 package vn.casino.game.baucua;
 
+import vn.casino.economy.Money;
 import vn.casino.game.jackpot.JackpotConfig;
 
 import java.math.BigDecimal;
@@ -19,8 +20,8 @@ public class BauCuaConfig {
 
     private Duration roundDuration;
     private Duration bettingDuration;
-    private BigDecimal minBet;
-    private BigDecimal maxBet;
+    private Money minBet;
+    private Money maxBet;
     private double payoutPerMatch;
     private JackpotConfig jackpot;
 
@@ -30,8 +31,8 @@ public class BauCuaConfig {
     public BauCuaConfig() {
         this.roundDuration = Duration.ofSeconds(50);
         this.bettingDuration = Duration.ofSeconds(40);
-        this.minBet = new BigDecimal("1000");
-        this.maxBet = new BigDecimal("5000000");
+        this.minBet = Money.ofMajor(1000);
+        this.maxBet = Money.ofMajor(5_000_000);
         this.payoutPerMatch = 1.0;
         this.jackpot = new JackpotConfig(
             0.002,                          // 0.2% contribution
@@ -83,7 +84,7 @@ public class BauCuaConfig {
      *
      * @return Min bet in VND
      */
-    public BigDecimal getMinBet() {
+    public Money getMinBet() {
         return minBet;
     }
 
@@ -93,7 +94,7 @@ public class BauCuaConfig {
      * @param minBet Amount
      */
     public void setMinBet(BigDecimal minBet) {
-        this.minBet = minBet;
+        this.minBet = Money.ofRounded(minBet);
     }
 
     /**
@@ -101,7 +102,7 @@ public class BauCuaConfig {
      *
      * @return Max bet in VND
      */
-    public BigDecimal getMaxBet() {
+    public Money getMaxBet() {
         return maxBet;
     }
 
@@ -111,7 +112,7 @@ public class BauCuaConfig {
      * @param maxBet Amount
      */
     public void setMaxBet(BigDecimal maxBet) {
-        this.maxBet = maxBet;
+        this.maxBet = Money.ofRounded(maxBet);
     }
 
     /**
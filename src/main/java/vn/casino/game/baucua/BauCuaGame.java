@@ -1,11 +1,12 @@
 package vn.casino.game.baucua;
 
 import org.bukkit.entity.Player;
+import vn.casino.core.metrics.MetricsRegistry;
 import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.Money;
 import vn.casino.game.engine.*;
 import vn.casino.game.jackpot.JackpotManager;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.*;
 import java.util.logging.Logger;
@@ -47,9 +48,10 @@ public class BauCuaGame extends AbstractGame {
         CurrencyManager currencyManager,
         JackpotManager jackpotManager,
         GameSessionManager sessionManager,
+        MetricsRegistry metrics,
         Logger logger
     ) {
-        super(currencyManager, jackpotManager, sessionManager, logger);
+        super(currencyManager, jackpotManager, sessionManager, metrics, logger);
         this.config = config;
     }
 
@@ -74,12 +76,12 @@ public class BauCuaGame extends AbstractGame {
     }
 
     @Override
-    public BigDecimal getMinBet() {
+    public Money getMinBet() {
         return config.getMinBet();
     }
 
     @Override
-    public BigDecimal getMaxBet() {
+    public Money getMaxBet() {
         return config.getMaxBet();
     }
 
@@ -108,9 +110,10 @@ public class BauCuaGame extends AbstractGame {
 
         // Generate 3 dice using provably fair RNG
         // Use session ID as nonce for deterministic results
-        int dice1 = ProvablyFairRNG.rollDice(serverSeed, "baucua", sessionId);
-        int dice2 = ProvablyFairRNG.rollDice(serverSeed, "baucua", sessionId + 1);
-        int dice3 = ProvablyFairRNG.rollDice(serverSeed, "baucua", sessionId + 2);
+        int[] dice = ProvablyFairRNG.rollMultipleDice(session.getRngAlgorithm(), serverSeed, "baucua", sessionId, 3);
+        int dice1 = dice[0];
+        int dice2 = dice[1];
+        int dice3 = dice[2];
 
         logger.info("Bau Cua session " + sessionId + " result: " +
             dice1 + "-" + dice2 + "-" + dice3);
@@ -120,8 +123,12 @@ public class BauCuaGame extends AbstractGame {
         return result.toGameResult();
     }
 
+    /**
+     * Each animal pays per matching die: the stake back plus
+     * stake * matches * payoutPerMatch (e.g. 1000 VND, 2 matches = 3000 VND).
+     */
     @Override
-    public Map<UUID, BigDecimal> calculatePayouts(GameSession session, GameResult result) {
+    public PayoutTable compilePayoutTable(GameResult result) {
         // Convert GameResult back to BauCuaResult for match counting
         BauCuaResult bauCuaResult = new BauCuaResult(
             result.serverSeed(),
@@ -130,28 +137,17 @@ public class BauCuaGame extends AbstractGame {
             result.rawValues()[1],
             result.rawValues()[2]
         );
+        long perMatch = PayoutTable.toBasisPoints(config.getPayoutPerMatch());
 
-        Map<UUID, BigDecimal> payouts = new HashMap<>();
-
-        // Calculate payouts for each player's bets
-        for (Bet bet : session.getAllBets()) {
-            BauCuaBetType animal = (BauCuaBetType) bet.betType();
-            int matches = bauCuaResult.getMatchCount(animal);
-
-            if (matches > 0) {
-                // Payout = bet amount + (bet * matches * payoutPerMatch)
-                // Example: 1000 VND bet, 2 matches = 1000 + (1000 * 2 * 1.0) = 3000 VND
-                BigDecimal winAmount = bet.amount()
-                    .multiply(BigDecimal.valueOf(matches))
-                    .multiply(BigDecimal.valueOf(config.getPayoutPerMatch()));
-
-                // Total payout = original bet + winnings
-                BigDecimal totalPayout = bet.amount().add(winAmount);
+        return PayoutTable.compile(getAvailableBets(), betType -> {
+            int matches = bauCuaResult.getMatchCount((BauCuaBetType) betType);
+            return matches > 0 ? PayoutTable.ONE + matches * perMatch : 0;
+        });
+    }
 
-                // Accumulate payouts per player
-                payouts.merge(bet.playerId(), totalPayout, BigDecimal::add);
-            }
-        }
+    @Override
+    protected Map<UUID, Money> calculatePayouts(GameSession session, PayoutTable table) {
+        Map<UUID, Money> payouts = super.calculatePayouts(session, table);
 
         logger.info("Bau Cua session " + session.getId() + " payouts: " +
             payouts.size() + " winners");
@@ -1,26 +1,32 @@
 package vn.casino.game.engine;
 
 import org.bukkit.entity.Player;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.core.metrics.Timer;
 import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.InsufficientBalanceException;
+import vn.casino.economy.Money;
 import vn.casino.economy.TransactionType;
 import vn.casino.game.jackpot.JackpotManager;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Abstract base class for all casino games.
  * Provides common functionality:
- * - Bet validation (min/max/balance)
+ * - Non-blocking bet pipeline (validate, reserve, add, notify)
  * - Bet cooldown (1 second between bets)
- * - Payout distribution
+ * - Batched payout settlement from a per-result payout table
  * - Jackpot contribution (0.2% per bet)
  * - Session persistence
  */
@@ -29,167 +35,280 @@ public abstract class AbstractGame implements Game {
     protected final CurrencyManager currencyManager;
     protected final JackpotManager jackpotManager;
     protected final GameSessionManager sessionManager;
+    protected final MetricsRegistry metrics;
     protected final Logger logger;
 
     // Bet cooldown tracking (1 second between bets)
     private final Map<UUID, Instant> lastBetTime = new ConcurrentHashMap<>();
     private static final long BET_COOLDOWN_MS = 1000; // 1 second
 
+    // End-to-end latency from click to outcome
+    private final Timer betLatency;
+
+    // Sessions with at least this many bets compute payouts on the fork-join pool
+    private volatile int parallelPayoutThreshold = 10_000;
+
     public AbstractGame(
         CurrencyManager currencyManager,
         JackpotManager jackpotManager,
         GameSessionManager sessionManager,
+        MetricsRegistry metrics,
         Logger logger
     ) {
         this.currencyManager = currencyManager;
         this.jackpotManager = jackpotManager;
         this.sessionManager = sessionManager;
+        this.metrics = metrics;
         this.logger = logger;
+        this.betLatency = metrics.timer("bet.latency");
     }
 
+    /**
+     * Place a bet through the asynchronous pipeline:
+     * validate, reserve funds, add to the session, then notify the player
+     * on their entity scheduler. Never blocks the calling thread.
+     */
     @Override
-    public boolean onBet(Player player, BetType betType, BigDecimal amount) {
+    public CompletableFuture<BetOutcome> onBet(Player player, BetType betType, Money amount) {
+        long startNanos = System.nanoTime();
         UUID playerId = player.getUniqueId();
-        GameSession session = getActiveSession(null);
+        GameSession session = getBetSession(playerId);
 
-        // Validate session state
-        if (session == null || session.getState() != GameSessionState.BETTING) {
-            player.sendMessage("§cBetting is not currently active!");
-            return false;
+        // Cheap in-memory validation on the caller thread
+        BetOutcome rejection = validateBet(playerId, session, amount);
+        Instant reserved = rejection == null ? reserveCooldown(playerId) : null;
+        if (rejection == null && reserved == null) {
+            rejection = BetOutcome.rejected(BetOutcome.Status.COOLDOWN, "§cPlease wait before placing another bet!");
         }
-
-        // Check bet cooldown
-        if (!checkBetCooldown(playerId)) {
-            player.sendMessage("§cPlease wait before placing another bet!");
-            return false;
+        if (rejection != null) {
+            return CompletableFuture.completedFuture(complete(player, rejection, startNanos, null));
         }
 
-        // Validate bet amount
-        if (amount.compareTo(getMinBet()) < 0) {
-            player.sendMessage("§cMinimum bet is " + formatCurrency(getMinBet()));
-            return false;
-        }
-
-        if (amount.compareTo(getMaxBet()) > 0) {
-            player.sendMessage("§cMaximum bet is " + formatCurrency(getMaxBet()));
-            return false;
-        }
-
-        // Check player balance
-        CompletableFuture<Boolean> hasBalance = currencyManager.hasBalance(playerId, amount);
-        try {
-            if (!hasBalance.join()) {
-                player.sendMessage("§cInsufficient balance!");
-                return false;
-            }
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Failed to check balance for " + playerId, e);
-            player.sendMessage("§cFailed to check balance. Please try again.");
-            return false;
-        }
+        Bet bet = Bet.create(session.getId(), playerId, betType, amount);
 
-        // Withdraw bet amount
-        CompletableFuture<BigDecimal> withdrawal = currencyManager.withdraw(
+        // Reserve funds with a single conditional debit, then add to session once committed
+        return currencyManager.tryDebit(
             playerId,
             amount,
             TransactionType.BET,
             getId(),
             session.getId(),
             "Bet on " + betType.getDisplayName()
-        );
+        ).handle((balance, ex) -> ex != null
+            ? onReserveFailed(playerId, ex)
+            : commitBet(session, bet, balance)
+        ).thenApply(outcome -> complete(player, outcome, startNanos, reserved));
+    }
 
-        try {
-            withdrawal.join();
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Failed to withdraw bet amount for " + playerId, e);
-            player.sendMessage("§cFailed to place bet. Please try again.");
-            return false;
+    /**
+     * Resolve the session a player's bet should go to.
+     * Room-based games override this to use the player's room.
+     *
+     * @param playerId Player UUID
+     * @return Session or null if none
+     */
+    protected GameSession getBetSession(UUID playerId) {
+        return getActiveSession(null);
+    }
+
+    /**
+     * Validate a bet before any funds are reserved.
+     *
+     * @param playerId Player UUID
+     * @param session Target session (nullable)
+     * @param amount Bet amount
+     * @return Rejection outcome, or null if the bet is valid
+     */
+    protected BetOutcome validateBet(UUID playerId, GameSession session, Money amount) {
+        if (session == null || session.getState() != GameSessionState.BETTING) {
+            return BetOutcome.rejected(BetOutcome.Status.BETTING_CLOSED, "§cBetting is not currently active!");
         }
 
-        // Create and add bet to session
-        Bet bet = Bet.create(session.getId(), playerId, betType, amount);
-        session.addBet(bet);
+        if (amount.isLessThan(getMinBet())) {
+            return BetOutcome.rejected(BetOutcome.Status.INVALID_AMOUNT,
+                "§cMinimum bet is " + formatCurrency(getMinBet()));
+        }
+
+        if (amount.isGreaterThan(getMaxBet())) {
+            return BetOutcome.rejected(BetOutcome.Status.INVALID_AMOUNT,
+                "§cMaximum bet is " + formatCurrency(getMaxBet()));
+        }
+
+        return null;
+    }
+
+    /**
+     * Add a reserved bet to its session, refunding if betting closed meanwhile.
+     */
+    private BetOutcome commitBet(GameSession session, Bet bet, Money balanceAfter) {
+        try {
+            session.addBet(bet);
+        } catch (IllegalStateException e) {
+            refund(bet);
+            return BetOutcome.rejected(BetOutcome.Status.BETTING_CLOSED, "§cBetting closed before your bet was placed. Refunded.");
+        }
 
         // Contribute to jackpot (0.2% of bet)
-        jackpotManager.contribute(getId(), amount);
+        jackpotManager.contribute(getId(), bet.amount());
 
-        // Update bet cooldown
-        lastBetTime.put(playerId, Instant.now());
+        logger.fine("Player " + bet.playerId() + " bet " + bet.amount() + " on " + bet.betType().getDisplayName());
 
-        // Notify player
-        player.sendMessage("§aBet placed: " + formatCurrency(amount) + " on " + betType.getDisplayName());
+        return BetOutcome.accepted(bet, balanceAfter,
+            "§aBet placed: " + formatCurrency(bet.amount()) + " on " + bet.betType().getDisplayName());
+    }
 
-        logger.fine("Player " + player.getName() + " bet " + amount + " on " + betType.getDisplayName());
+    private BetOutcome onReserveFailed(UUID playerId, Throwable ex) {
+        if (isInsufficientBalance(ex)) {
+            return BetOutcome.rejected(BetOutcome.Status.INSUFFICIENT_BALANCE, "§cInsufficient balance!");
+        }
 
-        return true;
+        logger.log(Level.SEVERE, "Failed to debit bet amount for " + playerId, ex);
+        return BetOutcome.rejected(BetOutcome.Status.FAILED, "§cFailed to place bet. Please try again.");
     }
 
-    @Override
-    public Map<UUID, BigDecimal> calculatePayouts(GameSession session, GameResult result) {
-        Map<UUID, BigDecimal> payouts = new HashMap<>();
-
-        for (Bet bet : session.getAllBets()) {
-            // Check if bet won
-            if (result.isWinningBet(bet.betType())) {
-                // Calculate payout
-                BigDecimal payout = bet.amount()
-                    .multiply(BigDecimal.valueOf(bet.betType().getPayoutMultiplier()));
-
-                // Add to player's total payout
-                payouts.merge(bet.playerId(), payout, BigDecimal::add);
+    private void refund(Bet bet) {
+        currencyManager.deposit(
+            bet.playerId(),
+            bet.amount(),
+            TransactionType.REFUND,
+            getId(),
+            bet.sessionId(),
+            "Refund: betting closed"
+        ).exceptionally(ex -> {
+            logger.log(Level.SEVERE, "Failed to refund bet for " + bet.playerId(), ex);
+            return null;
+        });
+    }
+
+    /**
+     * Record latency and deliver the outcome message on the player's entity scheduler.
+     *
+     * @param reserved Cooldown stamp this bet claimed, or null if it claimed none
+     */
+    private BetOutcome complete(Player player, BetOutcome outcome, long startNanos, Instant reserved) {
+        betLatency.recordSince(startNanos);
+        metrics.increment("bet." + outcome.status().name().toLowerCase());
+
+        if (outcome.status() == BetOutcome.Status.INSUFFICIENT_BALANCE
+            || outcome.status() == BetOutcome.Status.FAILED) {
+            // Funds were never taken; let the player retry immediately, unless a newer bet holds the cooldown
+            if (reserved != null) {
+                lastBetTime.remove(player.getUniqueId(), reserved);
+            }
+        }
+
+        sessionManager.getScheduler().runAtEntity(player, () -> player.sendMessage(outcome.message()));
+        return outcome;
+    }
+
+    private static boolean isInsufficientBalance(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InsufficientBalanceException) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * Default table: winning bet types return their payout multiplier, others nothing.
+     */
+    @Override
+    public PayoutTable compilePayoutTable(GameResult result) {
+        return PayoutTable.compile(getAvailableBets(), betType ->
+            result.isWinningBet(betType) ? PayoutTable.toBasisPoints(betType.getPayoutMultiplier()) : 0);
+    }
+
+    @Override
+    public Map<UUID, Money> calculatePayouts(GameSession session, GameResult result) {
+        return calculatePayouts(session, compilePayoutTable(result));
+    }
+
+    /**
+     * Sum payouts per player from a compiled table, in minor units.
+     * Large sessions are split across the common fork-join pool.
+     *
+     * @param session Game session
+     * @param table Payout table for the session's result
+     * @return Map of player UUID to total payout amount
+     */
+    protected Map<UUID, Money> calculatePayouts(GameSession session, PayoutTable table) {
+        List<Bet> bets = session.getAllBets();
+        Map<UUID, Money> payouts = new HashMap<>();
+
+        if (bets.size() >= parallelPayoutThreshold) {
+            Map<UUID, long[]> totals = bets.parallelStream()
+                .filter(bet -> table.isWinning(bet.betType()))
+                .collect(Collectors.groupingByConcurrent(Bet::playerId, Collector.of(
+                    () -> new long[1],
+                    (total, bet) -> total[0] = Math.addExact(total[0], table.payoutMinor(bet.amount().minor(), bet.betType())),
+                    (left, right) -> {
+                        left[0] = Math.addExact(left[0], right[0]);
+                        return left;
+                    })));
+            totals.forEach((playerId, minor) -> payouts.put(playerId, Money.ofMinor(minor[0])));
+            return payouts;
+        }
 
+        Map<UUID, long[]> totals = new HashMap<>();
+        for (Bet bet : bets) {
+            long payout = table.payoutMinor(bet.amount().minor(), bet.betType());
+            if (payout != 0) {
+                long[] total = totals.computeIfAbsent(bet.playerId(), k -> new long[1]);
+                total[0] = Math.addExact(total[0], payout);
+            }
+        }
+        totals.forEach((playerId, minor) -> payouts.put(playerId, Money.ofMinor(minor[0])));
         return payouts;
     }
 
+    /**
+     * Set the bet count from which payouts are computed in parallel.
+     *
+     * @param threshold Minimum bets per session for the parallel path
+     */
+    public void setParallelPayoutThreshold(int threshold) {
+        this.parallelPayoutThreshold = threshold;
+    }
+
     @Override
     public void onSessionEnd(GameSession session, GameResult result) {
-        // Calculate and distribute payouts
-        Map<UUID, BigDecimal> payouts = calculatePayouts(session, result);
-
-        for (Map.Entry<UUID, BigDecimal> entry : payouts.entrySet()) {
-            UUID playerId = entry.getKey();
-            BigDecimal payout = entry.getValue();
-
-            // Deposit winnings
-            currencyManager.deposit(
-                playerId,
-                payout,
-                TransactionType.WIN,
-                getId(),
-                session.getId(),
-                "Win from " + session.getGameId()
-            ).exceptionally(ex -> {
-                logger.log(Level.SEVERE, "Failed to deposit winnings for " + playerId, ex);
-                return null;
+        // Compile the result once, then persist and credit all winners in one batch
+        PayoutTable table = compilePayoutTable(result);
+        Map<UUID, Money> payouts = calculatePayouts(session, table);
+
+        sessionManager.settleSession(session, result, table, payouts)
+            .exceptionally(ex -> {
+                logger.log(Level.SEVERE, "Failed to settle session " + session.getId(), ex);
+                return false;
             });
-        }
 
         // Check jackpot trigger
         checkJackpotTrigger(session);
 
-        // Persist session to database
-        sessionManager.persistSession(session, result);
-
         logger.info("Session " + session.getId() + " ended. Total bets: " +
-            session.getAllBets().size() + ", Total payouts: " + payouts.size());
+            session.getBetCount() + ", Total payouts: " + payouts.size());
     }
 
     /**
-     * Check if bet cooldown has passed.
+     * Atomically check the bet cooldown and claim it for this bet.
+     * Claiming up front stops double clicks from racing through while funds are reserved.
      *
      * @param playerId Player UUID
-     * @return true if cooldown passed
+     * @return Claimed cooldown stamp, or null if the cooldown has not passed
      */
-    private boolean checkBetCooldown(UUID playerId) {
-        Instant lastBet = lastBetTime.get(playerId);
-        if (lastBet == null) {
-            return true;
+    private Instant reserveCooldown(UUID playerId) {
+        Instant now = Instant.now();
+        Instant previous = lastBetTime.get(playerId);
+
+        if (previous != null && now.toEpochMilli() - previous.toEpochMilli() < BET_COOLDOWN_MS) {
+            return null;
         }
 
-        long elapsed = Instant.now().toEpochMilli() - lastBet.toEpochMilli();
-        return elapsed >= BET_COOLDOWN_MS;
+        boolean claimed = previous == null
+            ? lastBetTime.putIfAbsent(playerId, now) == null
+            : lastBetTime.replace(playerId, previous, now);
+        return claimed ? now : null;
     }
 
     /**
@@ -221,8 +340,8 @@ public abstract class AbstractGame implements Game {
      * @param amount Amount to format
      * @return Formatted string
      */
-    protected String formatCurrency(BigDecimal amount) {
-        return String.format("%,.0f VND", amount);
+    protected String formatCurrency(Money amount) {
+        return String.format("%,.0f VND", amount.toBigDecimal());
     }
 
     /**
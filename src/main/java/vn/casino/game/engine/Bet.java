@@ -1,6 +1,7 @@
 package vn.casino.game.engine;
 
-import java.math.BigDecimal;
+import vn.casino.economy.Money;
+
 import java.time.Instant;
 import java.util.UUID;
 
@@ -12,7 +13,7 @@ import java.util.UUID;
  * @param sessionId Game session ID this bet belongs to
  * @param playerId Player UUID who placed the bet
  * @param betType Type of bet placed
- * @param amount Bet amount in VND
+ * @param amount Bet amount
  * @param payout Payout amount if won (0 if lost)
  * @param won Whether this bet won
  * @param createdAt Timestamp when bet was placed
@@ -22,8 +23,8 @@ public record Bet(
     Long sessionId,
     UUID playerId,
     BetType betType,
-    BigDecimal amount,
-    BigDecimal payout,
+    Money amount,
+    Money payout,
     boolean won,
     Instant createdAt
 ) {
@@ -35,7 +36,7 @@ public record Bet(
         Long sessionId,
         UUID playerId,
         BetType betType,
-        BigDecimal amount
+        Money amount
     ) {
         return new Bet(
             null,
@@ -43,7 +44,7 @@ public record Bet(
             playerId,
             betType,
             amount,
-            BigDecimal.ZERO,
+            Money.ZERO,
             false,
             Instant.now()
         );
@@ -52,7 +53,7 @@ public record Bet(
     /**
      * Create winning bet with payout calculated.
      */
-    public Bet withWin(BigDecimal payout) {
+    public Bet withWin(Money payout) {
         return new Bet(
             id,
             sessionId,
@@ -75,7 +76,7 @@ public record Bet(
             playerId,
             betType,
             amount,
-            BigDecimal.ZERO,
+            Money.ZERO,
             false,
             createdAt
         );
@@ -94,10 +95,10 @@ public record Bet(
         if (betType == null) {
             throw new IllegalArgumentException("Bet type cannot be null");
         }
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount == null || !amount.isPositive()) {
             throw new IllegalArgumentException("Bet amount must be positive");
         }
-        if (payout == null || payout.compareTo(BigDecimal.ZERO) < 0) {
+        if (payout == null || payout.isNegative()) {
             throw new IllegalArgumentException("Payout cannot be null or negative");
         }
     }
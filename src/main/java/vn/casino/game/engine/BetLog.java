@@ -0,0 +1,165 @@
+package vn.casino.game.engine;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Append-only, lock-free bet log for one session.
+ *
+ * Writers reserve a slot with a CAS on {@code tail}, create the slot's chunk
+ * if needed and publish the bet into it; no writer ever blocks another.
+ * {@link #seal()} sets the sealed bit in {@code tail} so no further slot can
+ * be reserved, waits for writers that already reserved one, and returns a
+ * list view over the chunks. The view is built once and never copied.
+ */
+final class BetLog {
+
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT; // 1024 bets per chunk
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_CHUNKS = 1024; // ~1M bets per session
+    private static final int SEALED = 1 << 30;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<Bet>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+
+    // Reserved slot count, with SEALED set once the log is closed
+    private final AtomicInteger tail = new AtomicInteger();
+
+    // Slots whose bet has been written
+    private final AtomicInteger published = new AtomicInteger();
+
+    private volatile List<Bet> snapshot;
+
+    /**
+     * Reserve the next slot. The caller must {@link #publish} it.
+     *
+     * @return Slot index, or -1 if the log is already sealed
+     * @throws IllegalStateException if the log is full
+     */
+    int reserve() {
+        while (true) {
+            int current = tail.get();
+            if ((current & SEALED) != 0) {
+                return -1;
+            }
+            if (current == MAX_CHUNKS * CHUNK_SIZE) {
+                throw new IllegalStateException("Session bet log is full");
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Write a bet into a reserved slot.
+     * Anything the caller did before publishing is visible once {@link #seal()} returns.
+     *
+     * @param slot Slot from {@link #reserve()}
+     * @param bet Bet to store
+     */
+    void publish(int slot, Bet bet) {
+        chunk(slot >>> CHUNK_SHIFT).set(slot & CHUNK_MASK, bet);
+        published.incrementAndGet();
+    }
+
+    /**
+     * Close the log and return every bet appended before it closed.
+     * Safe to call more than once; later calls return the same list.
+     *
+     * @return Unmodifiable list of bets in slot order
+     */
+    List<Bet> seal() {
+        List<Bet> sealed = snapshot;
+        if (sealed != null) {
+            return sealed;
+        }
+
+        int size = tail.getAndUpdate(current -> current | SEALED) & ~SEALED;
+
+        // Writers that reserved a slot before the seal are about to publish it
+        while (published.get() < size) {
+            Thread.onSpinWait();
+        }
+
+        sealed = new SealedView(size);
+        snapshot = sealed;
+        return sealed;
+    }
+
+    /**
+     * @return true once {@link #seal()} has been called
+     */
+    boolean isSealed() {
+        return (tail.get() & SEALED) != 0;
+    }
+
+    /**
+     * @return Number of bets written so far
+     */
+    int size() {
+        return published.get();
+    }
+
+    /**
+     * Get the bets. Once sealed this is the sealed view; before that it is
+     * a copy of the bets written so far (live views for GUIs and commands).
+     *
+     * @return Unmodifiable list of bets
+     */
+    List<Bet> bets() {
+        List<Bet> sealed = snapshot;
+        if (sealed != null) {
+            return sealed;
+        }
+
+        int reserved = tail.get() & ~SEALED;
+        List<Bet> copy = new ArrayList<>(reserved);
+        for (int slot = 0; slot < reserved; slot++) {
+            AtomicReferenceArray<Bet> chunk = chunks.get(slot >>> CHUNK_SHIFT);
+            Bet bet = chunk != null ? chunk.get(slot & CHUNK_MASK) : null;
+            if (bet != null) { // Null while reserved but not yet written
+                copy.add(bet);
+            }
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private AtomicReferenceArray<Bet> chunk(int index) {
+        AtomicReferenceArray<Bet> chunk = chunks.get(index);
+        if (chunk == null) {
+            chunks.compareAndSet(index, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+            chunk = chunks.get(index);
+        }
+        return chunk;
+    }
+
+    /**
+     * Read-only list over the chunks of a sealed log.
+     */
+    private final class SealedView extends AbstractList<Bet> implements RandomAccess {
+        private final int size;
+
+        private SealedView(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Bet get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return chunks.get(index >>> CHUNK_SHIFT).get(index & CHUNK_MASK);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package vn.casino.game.engine;
+
+import vn.casino.economy.Money;
+
+/**
+ * Result of a bet placement attempt.
+ *
+ * @param status Outcome status
+ * @param bet Accepted bet (null if rejected)
+ * @param balanceAfter Player balance after the bet was reserved (null if rejected)
+ * @param message Player-facing message
+ */
+public record BetOutcome(
+    Status status,
+    Bet bet,
+    Money balanceAfter,
+    String message
+) {
+
+    /**
+     * Bet placement status.
+     */
+    public enum Status {
+        ACCEPTED,
+        BETTING_CLOSED,
+        COOLDOWN,
+        INVALID_AMOUNT,
+        INSUFFICIENT_BALANCE,
+        NOT_IN_ROOM,
+        FAILED
+    }
+
+    /**
+     * Create an accepted outcome.
+     */
+    public static BetOutcome accepted(Bet bet, Money balanceAfter, String message) {
+        return new BetOutcome(Status.ACCEPTED, bet, balanceAfter, message);
+    }
+
+    /**
+     * Create a rejected outcome.
+     */
+    public static BetOutcome rejected(Status status, String message) {
+        return new BetOutcome(status, null, null, message);
+    }
+
+    /**
+     * Check if the bet was accepted.
+     */
+    public boolean isAccepted() {
+        return status == Status.ACCEPTED;
+    }
+}
@@ -31,4 +31,12 @@ public interface BetType {
      * @return Payout multiplier (e.g., 1.96 for even-money, 14.5 for rare bets)
      */
     double getPayoutMultiplier();
+
+    /**
+     * Get dense index of this bet type within its game, used by {@link PayoutTable}.
+     * Bet types are enums, so this is the enum's own ordinal.
+     *
+     * @return Index in [0, number of bet types)
+     */
+    int ordinal();
 }
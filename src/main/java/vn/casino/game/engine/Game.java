@@ -1,12 +1,13 @@
 package vn.casino.game.engine;
 
 import org.bukkit.entity.Player;
+import vn.casino.economy.Money;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Game interface for all casino games.
@@ -51,14 +52,14 @@ public interface Game {
      *
      * @return Minimum bet
      */
-    BigDecimal getMinBet();
+    Money getMinBet();
 
     /**
      * Get maximum bet amount.
      *
      * @return Maximum bet
      */
-    BigDecimal getMaxBet();
+    Money getMaxBet();
 
     /**
      * Get available bet types for this game.
@@ -77,14 +78,15 @@ public interface Game {
 
     /**
      * Called when a player places a bet.
-     * Validate and process bet placement.
+     * Validates and processes bet placement asynchronously; the player is
+     * notified on their entity scheduler when the outcome is known.
      *
      * @param player Player placing bet
      * @param betType Type of bet
      * @param amount Bet amount
-     * @return true if bet was accepted
+     * @return CompletableFuture with the bet outcome (never completes exceptionally)
      */
-    boolean onBet(Player player, BetType betType, BigDecimal amount);
+    CompletableFuture<BetOutcome> onBet(Player player, BetType betType, Money amount);
 
     /**
      * Calculate provably fair result for the session.
@@ -95,6 +97,14 @@ public interface Game {
      */
     GameResult calculateResult(GameSession session);
 
+    /**
+     * Compile a result into the payout of every bet type.
+     *
+     * @param result Game result
+     * @return Payout table for this result
+     */
+    PayoutTable compilePayoutTable(GameResult result);
+
     /**
      * Calculate payouts for all winning bets.
      *
@@ -102,7 +112,7 @@ public interface Game {
      * @param result Game result
      * @return Map of player UUID to total payout amount
      */
-    Map<UUID, BigDecimal> calculatePayouts(GameSession session, GameResult result);
+    Map<UUID, Money> calculatePayouts(GameSession session, GameResult result);
 
     /**
      * Called when session ends.
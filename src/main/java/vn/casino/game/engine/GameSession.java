@@ -1,26 +1,40 @@
 package vn.casino.game.engine;
 
-import java.math.BigDecimal;
+import vn.casino.economy.Money;
+
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Game session representing a single round of a casino game.
  * Each session has a unique server seed for provably fair RNG.
  * Thread-safe for concurrent bet placement.
+ *
+ * Bets go into a lock-free {@link BetLog}. The state is an atomic state
+ * machine; leaving BETTING seals the log, after which {@link #getAllBets()}
+ * returns the same sealed list without copying (used by settlement).
+ *
+ * Pot size, bet count and per-player / per-bet-type totals are kept as running
+ * totals in minor units, updated on {@link #addBet}, so reading them is O(1).
  */
 public class GameSession {
     private final long id;
     private final String gameId;
     private final String room; // Null for non-room games (Tai Xiu, Bau Cua)
-    private GameSessionState state;
+    private final AtomicReference<GameSessionState> state;
     private final String serverSeed;
     private final String serverSeedHash;
-    private final Map<UUID, List<Bet>> bets; // Player UUID -> List of bets
-    private GameResult result;
+    private final int rngAlgorithm; // ProvablyFairRNG algorithm version used for the result
+    private final BetLog bets;
+    private final AtomicLong totalMinor = new AtomicLong();
+    private final Map<UUID, AtomicLong> playerTotals = new ConcurrentHashMap<>(); // Player UUID -> minor units
+    private final Map<BetType, AtomicLong> betTypeTotals = new ConcurrentHashMap<>(); // Bet type -> minor units
+    private volatile GameResult result;
     private final Instant startedAt;
-    private Instant endedAt;
+    private volatile Instant endedAt;
 
     public GameSession(
         long id,
@@ -28,14 +42,26 @@ public class GameSession {
         String room,
         String serverSeed,
         String serverSeedHash
+    ) {
+        this(id, gameId, room, serverSeed, serverSeedHash, ProvablyFairRNG.CURRENT_ALGORITHM);
+    }
+
+    public GameSession(
+        long id,
+        String gameId,
+        String room,
+        String serverSeed,
+        String serverSeedHash,
+        int rngAlgorithm
     ) {
         this.id = id;
         this.gameId = gameId;
         this.room = room;
-        this.state = GameSessionState.WAITING;
+        this.state = new AtomicReference<>(GameSessionState.WAITING);
         this.serverSeed = serverSeed;
         this.serverSeedHash = serverSeedHash;
-        this.bets = new ConcurrentHashMap<>();
+        this.rngAlgorithm = rngAlgorithm;
+        this.bets = new BetLog();
         this.result = null;
         this.startedAt = Instant.now();
         this.endedAt = null;
@@ -43,36 +69,56 @@ public class GameSession {
 
     /**
      * Add a bet to this session.
-     * Thread-safe for concurrent bet placement.
+     * Thread-safe and lock-free for concurrent bet placement.
      *
      * @param bet Bet to add
+     * @throws IllegalStateException if betting has closed
      */
     public void addBet(Bet bet) {
-        if (state != GameSessionState.BETTING) {
+        int slot = state.get() == GameSessionState.BETTING ? bets.reserve() : -1;
+        if (slot < 0) {
             throw new IllegalStateException("Cannot add bet when session is not in BETTING state");
         }
-        bets.computeIfAbsent(bet.playerId(), k -> new ArrayList<>()).add(bet);
+
+        // Totals are updated before publishing, so they are complete once the log is sealed
+        long minor = bet.amount().minor();
+        totalMinor.addAndGet(minor);
+        playerTotals.computeIfAbsent(bet.playerId(), k -> new AtomicLong()).addAndGet(minor);
+        betTypeTotals.computeIfAbsent(bet.betType(), k -> new AtomicLong()).addAndGet(minor);
+
+        bets.publish(slot, bet);
     }
 
     /**
      * Get all bets for a specific player.
      *
+     * Scans the session's bets, so prefer the running totals for display.
+     *
      * @param playerId Player UUID
      * @return List of player's bets (unmodifiable)
      */
     public List<Bet> getPlayerBets(UUID playerId) {
-        return Collections.unmodifiableList(bets.getOrDefault(playerId, Collections.emptyList()));
+        if (!playerTotals.containsKey(playerId)) {
+            return Collections.emptyList();
+        }
+        List<Bet> playerBets = new ArrayList<>();
+        for (Bet bet : bets.bets()) {
+            if (bet.playerId().equals(playerId)) {
+                playerBets.add(bet);
+            }
+        }
+        return Collections.unmodifiableList(playerBets);
     }
 
     /**
      * Get all bets in this session.
+     * After betting has closed this is the sealed list and is not copied;
+     * during betting it is a copy of the bets placed so far.
      *
      * @return List of all bets (unmodifiable)
      */
     public List<Bet> getAllBets() {
-        List<Bet> allBets = new ArrayList<>();
-        bets.values().forEach(allBets::addAll);
-        return Collections.unmodifiableList(allBets);
+        return bets.bets();
     }
 
     /**
@@ -81,30 +127,66 @@ public class GameSession {
      * @return Set of player UUIDs
      */
     public Set<UUID> getPlayers() {
-        return Collections.unmodifiableSet(bets.keySet());
+        return Collections.unmodifiableSet(playerTotals.keySet());
     }
 
     /**
-     * Calculate total bet amount for a specific player.
+     * Get total bet amount for a specific player.
      *
      * @param playerId Player UUID
      * @return Total bet amount
      */
-    public BigDecimal getTotalBetAmount(UUID playerId) {
-        return getPlayerBets(playerId).stream()
-            .map(Bet::amount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Money getTotalBetAmount(UUID playerId) {
+        AtomicLong total = playerTotals.get(playerId);
+        return Money.ofMinor(total != null ? total.get() : 0L);
     }
 
     /**
-     * Calculate total bet amount across all players.
+     * Get total bet amount across all players (the pot).
      *
      * @return Total bet amount
      */
-    public BigDecimal getTotalBetAmount() {
-        return getAllBets().stream()
-            .map(Bet::amount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Money getTotalBetAmount() {
+        return Money.ofMinor(totalMinor.get());
+    }
+
+    /**
+     * Get total amount bet on one bet type (one side of the pot).
+     *
+     * @param betType Bet type
+     * @return Total bet amount on that type
+     */
+    public Money getBetTypeTotal(BetType betType) {
+        return Money.ofMinor(getBetTypeTotalMinor(betType));
+    }
+
+    /**
+     * Get total amount bet on one bet type in minor units.
+     *
+     * @param betType Bet type
+     * @return Total in minor units
+     */
+    public long getBetTypeTotalMinor(BetType betType) {
+        AtomicLong total = betTypeTotals.get(betType);
+        return total != null ? total.get() : 0L;
+    }
+
+    /**
+     * Get total bet amount across all players in minor units.
+     *
+     * @return Pot size in minor units
+     */
+    public long getTotalBetMinor() {
+        return totalMinor.get();
+    }
+
+    /**
+     * Get number of bets placed in this session.
+     *
+     * @return Bet count
+     */
+    public int getBetCount() {
+        return bets.size();
     }
 
     /**
@@ -114,7 +196,7 @@ public class GameSession {
      * @return true if player has bets
      */
     public boolean hasPlayerBet(UUID playerId) {
-        return bets.containsKey(playerId);
+        return playerTotals.containsKey(playerId);
     }
 
     /**
@@ -123,7 +205,30 @@ public class GameSession {
      * @param newState New state
      */
     public void setState(GameSessionState newState) {
-        this.state = newState;
+        onTransition(state.getAndSet(newState), newState);
+    }
+
+    /**
+     * Update session state only if it still holds the expected state.
+     * Lets concurrent callers (round timer, admin commands) race safely.
+     *
+     * @param expected State the caller observed
+     * @param newState New state
+     * @return true if this call made the transition
+     */
+    public boolean compareAndSetState(GameSessionState expected, GameSessionState newState) {
+        if (!state.compareAndSet(expected, newState)) {
+            return false;
+        }
+        onTransition(expected, newState);
+        return true;
+    }
+
+    private void onTransition(GameSessionState previous, GameSessionState newState) {
+        // Leaving BETTING closes the bet log; bets racing the close are rejected
+        if (previous == GameSessionState.BETTING && newState != GameSessionState.BETTING) {
+            bets.seal();
+        }
         if (newState == GameSessionState.ENDED && endedAt == null) {
             this.endedAt = Instant.now();
         }
@@ -135,7 +240,8 @@ public class GameSession {
      * @param result Game result
      */
     public void setResult(GameResult result) {
-        if (state != GameSessionState.CALCULATING && state != GameSessionState.RESULT) {
+        GameSessionState current = state.get();
+        if (current != GameSessionState.CALCULATING && current != GameSessionState.RESULT) {
             throw new IllegalStateException("Cannot set result when session is not in CALCULATING/RESULT state");
         }
         this.result = result;
@@ -155,7 +261,7 @@ public class GameSession {
     }
 
     public GameSessionState getState() {
-        return state;
+        return state.get();
     }
 
     public String getServerSeed() {
@@ -166,6 +272,10 @@ public class GameSession {
         return serverSeedHash;
     }
 
+    public int getRngAlgorithm() {
+        return rngAlgorithm;
+    }
+
     public GameResult getResult() {
         return result;
     }
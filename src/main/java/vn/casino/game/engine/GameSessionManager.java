@@ -1,15 +1,17 @@
 package vn.casino.game.engine;
 
-import vn.casino.core.database.DatabaseProvider;
 import vn.casino.core.scheduler.FoliaScheduler;
+import vn.casino.economy.Money;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,10 +20,13 @@ import java.util.logging.Logger;
  * Manages game session lifecycle and scheduling.
  * Handles session creation, state transitions, and round scheduling.
  * Thread-safe for concurrent game operations.
+ *
+ * Rounds of every game and room run on one {@link RoundClock}, advanced
+ * each server tick, so phase changes follow wall time rather than tick count.
  */
 public class GameSessionManager {
 
-    private final DatabaseProvider database;
+    private final SessionPersister persister;
     private final FoliaScheduler scheduler;
     private final Logger logger;
 
@@ -31,14 +36,33 @@ public class GameSessionManager {
     // Session ID generator
     private final AtomicLong sessionIdCounter = new AtomicLong(System.currentTimeMillis());
 
+    // Round loops: "gameId:room" -> loop, all driven by one round clock
+    private final Map<String, RoundLoop> rounds = new ConcurrentHashMap<>();
+    private final Set<String> pausedGames = ConcurrentHashMap.newKeySet();
+    private final RoundClock roundClock;
+    private final AtomicBoolean clockStarted = new AtomicBoolean();
+    private volatile boolean clockStopped;
+
+    private final List<ResultListener> resultListeners = new CopyOnWriteArrayList<>();
+
     public GameSessionManager(
-        DatabaseProvider database,
+        SessionPersister persister,
         FoliaScheduler scheduler,
         Logger logger
     ) {
-        this.database = database;
+        this(persister, scheduler, logger, new RoundClock());
+    }
+
+    public GameSessionManager(
+        SessionPersister persister,
+        FoliaScheduler scheduler,
+        Logger logger,
+        RoundClock roundClock
+    ) {
+        this.persister = persister;
         this.scheduler = scheduler;
         this.logger = logger;
+        this.roundClock = roundClock;
     }
 
     /**
@@ -69,7 +93,8 @@ public class GameSessionManager {
             game.getId(),
             room,
             serverSeed,
-            serverSeedHash
+            serverSeedHash,
+            ProvablyFairRNG.CURRENT_ALGORITHM
         );
 
         // Store in active sessions
@@ -102,13 +127,12 @@ public class GameSessionManager {
      * @param session Session to start betting
      */
     public void startBetting(GameSession session) {
-        if (session.getState() != GameSessionState.WAITING) {
+        if (!session.compareAndSetState(GameSessionState.WAITING, GameSessionState.BETTING)) {
             logger.warning("Cannot start betting for session " + session.getId() +
                 " - current state: " + session.getState());
             return;
         }
 
-        session.setState(GameSessionState.BETTING);
         logger.info("Session " + session.getId() + " - Betting started");
     }
 
@@ -118,15 +142,15 @@ public class GameSessionManager {
      * @param session Session to end betting
      */
     public void endBetting(GameSession session) {
-        if (session.getState() != GameSessionState.BETTING) {
+        // Seals the session's bets; settlement iterates the sealed list
+        if (!session.compareAndSetState(GameSessionState.BETTING, GameSessionState.CALCULATING)) {
             logger.warning("Cannot end betting for session " + session.getId() +
                 " - current state: " + session.getState());
             return;
         }
 
-        session.setState(GameSessionState.CALCULATING);
         logger.info("Session " + session.getId() + " - Betting ended (" +
-            session.getAllBets().size() + " bets placed)");
+            session.getBetCount() + " bets placed)");
     }
 
     /**
@@ -152,6 +176,28 @@ public class GameSessionManager {
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Failed to calculate result for session " + session.getId(), e);
             session.setState(GameSessionState.ENDED);
+            return;
+        }
+
+        notifyResult(game, session, session.getResult());
+    }
+
+    /**
+     * Register a listener for round results.
+     *
+     * @param listener Listener called once per round
+     */
+    public void addResultListener(ResultListener listener) {
+        resultListeners.add(listener);
+    }
+
+    private void notifyResult(Game game, GameSession session, GameResult result) {
+        for (ResultListener listener : resultListeners) {
+            try {
+                listener.onResult(game, session, result);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Result listener failed for session " + session.getId(), e);
+            }
         }
     }
 
@@ -162,12 +208,11 @@ public class GameSessionManager {
      * @param game Game instance
      */
     public void endSession(GameSession session, Game game) {
-        if (session.getState() == GameSessionState.ENDED) {
-            return; // Already ended
+        GameSessionState previous = session.getState();
+        if (previous == GameSessionState.ENDED || !session.compareAndSetState(previous, GameSessionState.ENDED)) {
+            return; // Already ended (possibly by a concurrent call)
         }
 
-        session.setState(GameSessionState.ENDED);
-
         // Trigger game-specific cleanup
         if (session.getResult() != null) {
             game.onSessionEnd(session, session.getResult());
@@ -181,137 +226,215 @@ public class GameSessionManager {
     }
 
     /**
-     * Schedule automatic round progression for a game.
+     * Schedule automatic round progression for a game, starting now.
      *
      * @param game Game to schedule rounds for
      * @param room Room identifier (null for non-room games)
      */
     public void scheduleRound(Game game, String room) {
-        Duration roundDuration = game.getRoundDuration();
-        Duration bettingDuration = game.getBettingDuration();
-        Duration resultDuration = roundDuration.minus(bettingDuration);
+        scheduleRound(game, room, Duration.ZERO);
+    }
 
-        // Create new session
-        GameSession session = createSession(game, room);
-
-        // Trigger session start
-        game.onSessionStart(session);
-
-        // Start betting immediately
-        startBetting(session);
-
-        // Schedule betting end
-        scheduler.runLater(() -> {
-            endBetting(session);
-            calculateResult(session, game);
-        }, bettingDuration.getSeconds() * 20); // Convert seconds to ticks
-
-        // Schedule session end
-        scheduler.runLater(() -> {
-            endSession(session, game);
-            // Schedule next round
-            scheduleRound(game, room);
-        }, roundDuration.getSeconds() * 20);
-
-        logger.fine("Scheduled round for " + game.getId() +
-            (room != null ? " (room: " + room + ")" : "") +
-            " - betting: " + bettingDuration.getSeconds() + "s, result: " +
-            resultDuration.getSeconds() + "s");
+    /**
+     * Schedule automatic round progression for a game on the round clock.
+     * Rounds repeat until the game is stopped; each round runs
+     * BETTING -> CALCULATING -> RESULT -> ENDED at wall-clock deadlines.
+     *
+     * @param game Game to schedule rounds for
+     * @param room Room identifier (null for non-room games)
+     * @param delay Delay before the first round starts
+     */
+    public void scheduleRound(Game game, String room, Duration delay) {
+        String roundKey = getSessionKey(game.getId(), room);
+        RoundLoop loop = rounds.computeIfAbsent(roundKey, k -> new RoundLoop(game, room));
+
+        startClock();
+        if (!pausedGames.contains(game.getId())) {
+            loop.start(roundClock.now() + delay.toNanos());
+        }
     }
 
     /**
-     * Persist session start to database.
+     * Stop starting new rounds for a game. The current round of each of its
+     * rooms still runs to the end so placed bets are settled.
      *
-     * @param session Session to persist
+     * @param gameId Game identifier
+     * @return true if the game was running
      */
-    private void persistSessionStart(GameSession session) {
-        String sql = """
-            INSERT INTO casino_game_sessions
-            (id, game_id, room, server_seed_hash, state, started_at)
-            VALUES (?, ?, ?, ?, ?, ?)
-        """;
-
-        database.executeAsync(sql,
-            session.getId(),
-            session.getGameId(),
-            session.getRoom(),
-            session.getServerSeedHash(),
-            session.getState().name(),
-            session.getStartedAt()
-        ).exceptionally(ex -> {
-            logger.log(Level.SEVERE, "Failed to persist session start " + session.getId(), ex);
-            return null;
-        });
+    public boolean pauseGame(String gameId) {
+        boolean paused = pausedGames.add(gameId);
+        if (paused) {
+            logger.info("Rounds paused for " + gameId);
+        }
+        return paused;
     }
 
     /**
-     * Persist session completion and result to database.
+     * Resume rounds for a paused game. Rooms whose round already finished
+     * start a new one right away.
      *
-     * @param session Completed session
-     * @param result Game result
+     * @param gameId Game identifier
+     * @return true if the game was paused
      */
-    public void persistSession(GameSession session, GameResult result) {
-        String updateSessionSql = """
-            UPDATE casino_game_sessions
-            SET server_seed = ?, state = ?, result_raw_values = ?,
-                result_display = ?, ended_at = ?
-            WHERE id = ?
-        """;
-
-        String insertBetSql = """
-            INSERT INTO casino_bets
-            (session_id, player_uuid, bet_type_id, amount, payout, won, created_at)
-            VALUES (?, ?, ?, ?, ?, ?, ?)
-        """;
-
-        try (Connection conn = database.getConnection()) {
-            conn.setAutoCommit(false);
+    public boolean resumeGame(String gameId) {
+        if (!pausedGames.remove(gameId)) {
+            return false;
+        }
 
-            try {
-                // Update session with result
-                try (PreparedStatement stmt = conn.prepareStatement(updateSessionSql)) {
-                    stmt.setString(1, result.serverSeed());
-                    stmt.setString(2, session.getState().name());
-                    stmt.setString(3, arrayToString(result.rawValues()));
-                    stmt.setString(4, result.displayResult());
-                    stmt.setObject(5, session.getEndedAt());
-                    stmt.setLong(6, session.getId());
-                    stmt.executeUpdate();
+        long now = roundClock.now();
+        for (RoundLoop loop : rounds.values()) {
+            if (loop.game.getId().equals(gameId)) {
+                loop.start(now);
+            }
+        }
+        logger.info("Rounds resumed for " + gameId);
+        return true;
+    }
+
+    /**
+     * @param gameId Game identifier
+     * @return true if rounds for the game are paused
+     */
+    public boolean isPaused(String gameId) {
+        return pausedGames.contains(gameId);
+    }
+
+    /**
+     * Start the timer that drives the round clock, once.
+     */
+    private void startClock() {
+        if (clockStarted.compareAndSet(false, true)) {
+            scheduler.runTimer(() -> {
+                if (!clockStopped) {
+                    advanceClock();
                 }
+            }, 1L, 1L);
+        }
+    }
+
+    private void advanceClock() {
+        try {
+            roundClock.advance();
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Round clock task failed", e);
+        }
+    }
+
+    /**
+     * Repeating rounds of one game room, driven by the round clock.
+     * Deadlines are derived from the round's scheduled start rather than from
+     * when a phase actually fired, so lag does not accumulate across rounds.
+     */
+    private final class RoundLoop {
+        private final Game game;
+        private final String room;
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private RoundLoop(Game game, String room) {
+            this.game = game;
+            this.room = room;
+        }
 
-                // Insert all bets
-                try (PreparedStatement stmt = conn.prepareStatement(insertBetSql)) {
-                    for (Bet bet : session.getAllBets()) {
-                        boolean won = result.isWinningBet(bet.betType());
-                        java.math.BigDecimal payout = won
-                            ? bet.amount().multiply(java.math.BigDecimal.valueOf(bet.betType().getPayoutMultiplier()))
-                            : java.math.BigDecimal.ZERO;
-
-                        stmt.setLong(1, session.getId());
-                        stmt.setString(2, bet.playerId().toString());
-                        stmt.setString(3, bet.betType().getId());
-                        stmt.setBigDecimal(4, bet.amount());
-                        stmt.setBigDecimal(5, payout);
-                        stmt.setBoolean(6, won);
-                        stmt.setObject(7, bet.createdAt());
-                        stmt.addBatch();
-                    }
-                    stmt.executeBatch();
+        /**
+         * Start the loop if it is not already running.
+         *
+         * @param startNanos Round clock time of the first round
+         */
+        private void start(long startNanos) {
+            if (running.compareAndSet(false, true)) {
+                roundClock.schedule(() -> beginRound(startNanos), startNanos);
+            }
+        }
+
+        private void beginRound(long startNanos) {
+            Duration roundDuration = game.getRoundDuration();
+            Duration bettingDuration = game.getBettingDuration();
+
+            // More than a whole round behind (e.g. a long stall): start fresh instead of replaying rounds
+            long now = roundClock.now();
+            if (now - startNanos > roundDuration.toNanos()) {
+                logger.warning("Round clock for " + describe() + " fell behind by " +
+                    Duration.ofNanos(now - startNanos).toMillis() + "ms - restarting from now");
+                startNanos = now;
+            }
+            long roundStart = startNanos;
+
+            GameSession session;
+            try {
+                session = createSession(game, room);
+                game.onSessionStart(session);
+                startBetting(session);
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Failed to start round for " + describe(), e);
+                endRound(roundStart + roundDuration.toNanos());
+                return;
+            }
+
+            roundClock.schedule(() -> {
+                endBetting(session);
+                calculateResult(session, game);
+            }, roundStart + bettingDuration.toNanos());
+
+            roundClock.schedule(() -> {
+                try {
+                    endSession(session, game);
+                } finally {
+                    endRound(roundStart + roundDuration.toNanos());
                 }
+            }, roundStart + roundDuration.toNanos());
+
+            logger.fine("Scheduled round for " + describe() +
+                " - betting: " + bettingDuration.getSeconds() + "s, result: " +
+                roundDuration.minus(bettingDuration).getSeconds() + "s");
+        }
 
-                conn.commit();
-                logger.fine("Persisted session " + session.getId() + " with " +
-                    session.getAllBets().size() + " bets");
+        private void endRound(long nextStartNanos) {
+            if (clockStopped) {
+                return;
+            }
+            if (!pausedGames.contains(game.getId())) {
+                roundClock.schedule(() -> beginRound(nextStartNanos), nextStartNanos);
+                return;
+            }
 
-            } catch (Exception e) {
-                conn.rollback();
-                throw e;
-            } finally {
-                conn.setAutoCommit(true);
+            running.set(false);
+            // Resumed between the check and clearing the flag
+            if (!pausedGames.contains(game.getId()) && running.compareAndSet(false, true)) {
+                roundClock.schedule(() -> beginRound(nextStartNanos), nextStartNanos);
             }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Failed to persist session " + session.getId(), e);
         }
+
+        private String describe() {
+            return game.getId() + (room != null ? " (room: " + room + ")" : "");
+        }
+    }
+
+    /**
+     * Persist session start on the game's persistence shard.
+     *
+     * @param session Session to persist
+     */
+    private void persistSessionStart(GameSession session) {
+        persister.persistStart(session);
+    }
+
+    /**
+     * Persist a completed session and settle its payouts.
+     * Returns immediately; see {@link SessionPersister}.
+     *
+     * @param session Completed session
+     * @param result Game result
+     * @param table Payout table compiled from the result
+     * @param payouts Total payout per winner
+     * @return CompletableFuture with true if winners were credited by this call
+     */
+    public CompletableFuture<Boolean> settleSession(
+        GameSession session,
+        GameResult result,
+        PayoutTable table,
+        Map<UUID, Money> payouts
+    ) {
+        return persister.persistRound(session, result, table, payouts);
     }
 
     /**
@@ -326,18 +449,12 @@ public class GameSessionManager {
     }
 
     /**
-     * Convert int array to comma-separated string.
+     * Get scheduler used for round timing and player callbacks.
      *
-     * @param values Array of integers
-     * @return Comma-separated string
+     * @return Scheduler
      */
-    private String arrayToString(int[] values) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < values.length; i++) {
-            if (i > 0) sb.append(",");
-            sb.append(values[i]);
-        }
-        return sb.toString();
+    public FoliaScheduler getScheduler() {
+        return scheduler;
     }
 
     /**
@@ -353,11 +470,17 @@ public class GameSessionManager {
      * Cancel all scheduled rounds (on shutdown).
      */
     public void shutdown() {
+        clockStopped = true;
+        roundClock.clear();
+
         // End all active sessions
         for (GameSession session : activeSessions.values()) {
             session.setState(GameSessionState.ENDED);
         }
         activeSessions.clear();
+
+        // Finish writing queued rounds; anything left over goes to the spool
+        persister.shutdown();
         logger.info("GameSessionManager shutdown - all sessions ended");
     }
 }
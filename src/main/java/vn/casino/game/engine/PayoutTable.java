@@ -0,0 +1,93 @@
+package vn.casino.game.engine;
+
+import vn.casino.economy.Money;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Payout of every bet type for one game result, compiled once per round.
+ *
+ * Entries are indexed by bet type ordinal and hold the total returned per
+ * unit staked in basis points (1.98x = 19,800; 0 = lost), so settling a bet
+ * is an array lookup and a long multiply on its minor-unit amount.
+ */
+public final class PayoutTable {
+
+    /** Basis points per 1x. */
+    public static final long ONE = 10_000;
+
+    private final long[] basisPoints;
+
+    private PayoutTable(long[] basisPoints) {
+        this.basisPoints = basisPoints;
+    }
+
+    /**
+     * Compile a table for a game's bet types.
+     *
+     * @param betTypes All bet types of the game (one enum)
+     * @param payout Basis points returned per unit staked on a bet type, 0 if it lost
+     * @return Payout table
+     */
+    public static PayoutTable compile(List<? extends BetType> betTypes, ToLongFunction<BetType> payout) {
+        int size = 0;
+        for (BetType betType : betTypes) {
+            size = Math.max(size, betType.ordinal() + 1);
+        }
+
+        long[] basisPoints = new long[size];
+        for (BetType betType : betTypes) {
+            basisPoints[betType.ordinal()] = payout.applyAsLong(betType);
+        }
+        return new PayoutTable(basisPoints);
+    }
+
+    /**
+     * Convert a payout multiplier to basis points.
+     *
+     * @param multiplier Multiplier (e.g. 1.98)
+     * @return Basis points (e.g. 19,800)
+     */
+    public static long toBasisPoints(double multiplier) {
+        return Math.round(multiplier * ONE);
+    }
+
+    /**
+     * @param betType Bet type
+     * @return Basis points returned per unit staked, 0 if the bet type lost
+     */
+    public long basisPoints(BetType betType) {
+        return basisPoints[betType.ordinal()];
+    }
+
+    /**
+     * @param betType Bet type
+     * @return true if bets on this type are paid
+     */
+    public boolean isWinning(BetType betType) {
+        return basisPoints[betType.ordinal()] != 0;
+    }
+
+    /**
+     * Payout of a bet in minor units, truncating sub-cent fractions.
+     *
+     * @param amountMinor Stake in minor units
+     * @param betType Bet type
+     * @return Payout in minor units (0 if lost)
+     */
+    public long payoutMinor(long amountMinor, BetType betType) {
+        long bp = basisPoints[betType.ordinal()];
+        return bp == 0 ? 0 : Math.multiplyExact(amountMinor, bp) / ONE;
+    }
+
+    /**
+     * Payout of a bet.
+     *
+     * @param bet Bet
+     * @return Payout (0 if lost)
+     */
+    public Money payout(Bet bet) {
+        return Money.ofMinor(payoutMinor(bet.amount().minor(), bet.betType()));
+    }
+}
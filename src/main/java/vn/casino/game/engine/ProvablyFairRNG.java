@@ -1,6 +1,7 @@
 package vn.casino.game.engine;
 
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.UUID;
@@ -13,11 +14,40 @@ import java.util.UUID;
  * 1. Server generates server seed before betting starts
  * 2. Server commits hash(server_seed) to players before betting
  * 3. After betting closes, server reveals server seed
- * 4. Result = SHA256(server_seed + ":" + client_seed + ":" + nonce) % max
+ * 4. Result = SHA256(server_seed + ":" + client_seed + ":" + nonce) mapped into [0, max)
  * 5. Players can verify: hash(server_seed) == committed_hash
+ *
+ * How step 4 maps the digest into a result is versioned and the version is
+ * stored per session, so sessions played under an older version still verify:
+ * <ul>
+ *   <li>{@link #ALGORITHM_LEGACY}: first 32 bits of the digest modulo max,
+ *       one digest per value</li>
+ *   <li>{@link #ALGORITHM_REJECTION}: the digest is read as eight 32-bit words
+ *       and words above the largest multiple of max are rejected, so every
+ *       value is unbiased; when all words are used the digest is extended with
+ *       SHA256(server_seed + ":" + client_seed + ":" + nonce + ":" + round)</li>
+ * </ul>
+ *
+ * Digests are computed on a per-thread {@link MessageDigest} and read as
+ * bytes; nothing is hex-encoded except the commitment shown to players.
  */
 public class ProvablyFairRNG {
 
+    /** Version 1: first 32 bits modulo max (original algorithm). */
+    public static final int ALGORITHM_LEGACY = 1;
+
+    /** Version 2: unbiased rejection sampling over all digest words. */
+    public static final int ALGORITHM_REJECTION = 2;
+
+    /** Version used for new sessions. */
+    public static final int CURRENT_ALGORITHM = ALGORITHM_REJECTION;
+
+    private static final int DIGEST_LENGTH = 32;
+    private static final long WORD_RANGE = 1L << 32;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Sha256> SHA256 = ThreadLocal.withInitial(Sha256::new);
+
     /**
      * Generate a cryptographically secure server seed.
      * Uses UUID + nanoTime for maximum entropy.
@@ -37,37 +67,111 @@ public class ProvablyFairRNG {
      * @return SHA-256 hash of server seed (64 hex characters)
      */
     public static String commitment(String serverSeed) {
-        return sha256(serverSeed);
+        Sha256 sha = SHA256.get();
+        sha.digest.update(serverSeed.getBytes(StandardCharsets.UTF_8));
+        return toHex(sha.finish());
+    }
+
+    /**
+     * Generate a random number in range [0, max) with the legacy algorithm.
+     *
+     * @param serverSeed Server-generated seed
+     * @param clientSeed Client-provided seed (player UUID for this implementation)
+     * @param nonce Incrementing counter for multiple values from same seeds
+     * @param max Upper bound (exclusive)
+     * @return Random number in range [0, max)
+     */
+    public static int generateResult(
+        String serverSeed,
+        String clientSeed,
+        long nonce,
+        int max
+    ) {
+        return generateResult(ALGORITHM_LEGACY, serverSeed, clientSeed, nonce, max);
     }
 
     /**
      * Generate a random number in range [0, max).
      * Uses provably fair algorithm with server seed, client seed, and nonce.
      *
+     * @param algorithm Algorithm version the session was created with
      * @param serverSeed Server-generated seed
-     * @param clientSeed Client-provided seed (player UUID for this implementation)
+     * @param clientSeed Client-provided seed
      * @param nonce Incrementing counter for multiple values from same seeds
      * @param max Upper bound (exclusive)
      * @return Random number in range [0, max)
      */
     public static int generateResult(
+        int algorithm,
         String serverSeed,
         String clientSeed,
         long nonce,
         int max
+    ) {
+        return generateResults(algorithm, serverSeed, clientSeed, nonce, max, 1)[0];
+    }
+
+    /**
+     * Generate several random numbers in range [0, max).
+     *
+     * With {@link #ALGORITHM_LEGACY} value i is
+     * {@code generateResult(serverSeed, clientSeed, nonce + i, max)}, one digest
+     * each. With {@link #ALGORITHM_REJECTION} all values are drawn from the
+     * digest of {@code nonce}, which usually holds enough words for a round.
+     *
+     * @param algorithm Algorithm version the session was created with
+     * @param serverSeed Server-generated seed
+     * @param clientSeed Client-provided seed
+     * @param nonce Nonce of the first value
+     * @param max Upper bound (exclusive)
+     * @param count Number of values
+     * @return Array of values in range [0, max)
+     */
+    public static int[] generateResults(
+        int algorithm,
+        String serverSeed,
+        String clientSeed,
+        long nonce,
+        int max,
+        int count
     ) {
         if (max <= 0) {
             throw new IllegalArgumentException("Max must be positive");
         }
 
-        String combined = serverSeed + ":" + clientSeed + ":" + nonce;
-        String hash = sha256(combined);
+        Sha256 sha = SHA256.get();
+        int[] results = new int[count];
 
-        // Take first 8 characters of hash as hex number
-        long value = Long.parseLong(hash.substring(0, 8), 16);
+        switch (algorithm) {
+            case ALGORITHM_LEGACY -> {
+                for (int i = 0; i < count; i++) {
+                    byte[] hash = sha.hash(serverSeed, clientSeed, nonce + i, -1);
+                    results[i] = (int) (word(hash, 0) % max);
+                }
+            }
+            case ALGORITHM_REJECTION -> {
+                // Largest multiple of max below 2^32; words at or above it would bias low values
+                long limit = WORD_RANGE - (WORD_RANGE % max);
+                byte[] hash = sha.hash(serverSeed, clientSeed, nonce, -1);
+                int offset = 0;
+                int round = 0;
+                int filled = 0;
+                while (filled < count) {
+                    if (offset == DIGEST_LENGTH) {
+                        hash = sha.hash(serverSeed, clientSeed, nonce, ++round);
+                        offset = 0;
+                    }
+                    long value = word(hash, offset);
+                    offset += 4;
+                    if (value < limit) {
+                        results[filled++] = (int) (value % max);
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown RNG algorithm: " + algorithm);
+        }
 
-        // Use modulo to get value in range
-        return (int) (value % max);
+        return results;
     }
 
     /**
@@ -91,9 +195,23 @@ public class ProvablyFairRNG {
      * @return Array of dice values
      */
     public static int[] rollMultipleDice(String serverSeed, String clientSeed, int count) {
-        int[] results = new int[count];
+        return rollMultipleDice(ALGORITHM_LEGACY, serverSeed, clientSeed, 0, count);
+    }
+
+    /**
+     * Generate multiple dice rolls.
+     *
+     * @param algorithm Algorithm version the session was created with
+     * @param serverSeed Server seed
+     * @param clientSeed Client seed
+     * @param nonce Nonce of the first dice
+     * @param count Number of dice to roll
+     * @return Array of dice values [1, 6]
+     */
+    public static int[] rollMultipleDice(int algorithm, String serverSeed, String clientSeed, long nonce, int count) {
+        int[] results = generateResults(algorithm, serverSeed, clientSeed, nonce, 6, count);
         for (int i = 0; i < count; i++) {
-            results[i] = rollDice(serverSeed, clientSeed, i);
+            results[i]++;
         }
         return results;
     }
@@ -110,23 +228,22 @@ public class ProvablyFairRNG {
         if (serverSeed == null || commitment == null) {
             return false;
         }
-        return sha256(serverSeed).equals(commitment);
+        return commitment(serverSeed).equals(commitment);
     }
 
     /**
-     * Calculate SHA-256 hash of input string.
+     * Read a big-endian unsigned 32-bit word.
+     * Equals parsing the matching 8 hex characters of the digest.
      *
-     * @param input Input string
-     * @return Hex string of hash (64 characters)
+     * @param hash Digest bytes
+     * @param offset Byte offset of the word
+     * @return Word in range [0, 2^32)
      */
-    private static String sha256(String input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 not available", e);
-        }
+    private static long word(byte[] hash, int offset) {
+        return ((hash[offset] & 0xFFL) << 24)
+            | ((hash[offset + 1] & 0xFFL) << 16)
+            | ((hash[offset + 2] & 0xFFL) << 8)
+            | (hash[offset + 3] & 0xFFL);
     }
 
     /**
@@ -135,11 +252,62 @@ public class ProvablyFairRNG {
      * @param bytes Byte array
      * @return Hex string
      */
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Per-thread SHA-256 digest and output buffer.
+     * The buffer is overwritten by the next hash on the same thread.
+     */
+    private static final class Sha256 {
+        private final MessageDigest digest;
+        private final byte[] output = new byte[DIGEST_LENGTH];
+
+        private Sha256() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("SHA-256 not available", e);
+            }
+        }
+
+        /**
+         * Hash server_seed:client_seed:nonce, plus ":round" when round is not negative.
+         * Feeding the parts one by one gives the same digest as hashing the joined string.
+         */
+        private byte[] hash(String serverSeed, String clientSeed, long nonce, int round) {
+            digest.update(serverSeed.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(clientSeed.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            updateAscii(Long.toString(nonce));
+            if (round >= 0) {
+                digest.update((byte) ':');
+                updateAscii(Integer.toString(round));
+            }
+            return finish();
+        }
+
+        private void updateAscii(String number) {
+            for (int i = 0; i < number.length(); i++) {
+                digest.update((byte) number.charAt(i));
+            }
+        }
+
+        private byte[] finish() {
+            try {
+                digest.digest(output, 0, DIGEST_LENGTH);
+            } catch (DigestException e) {
+                digest.reset();
+                throw new IllegalStateException("SHA-256 digest failed", e);
+            }
+            return output;
         }
-        return sb.toString();
     }
 }
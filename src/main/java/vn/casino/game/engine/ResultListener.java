@@ -0,0 +1,17 @@
+package vn.casino.game.engine;
+
+/**
+ * Notified when a round's result is known, before the session ends.
+ */
+@FunctionalInterface
+public interface ResultListener {
+
+    /**
+     * Called on the round thread once the session enters RESULT.
+     *
+     * @param game Game that produced the result
+     * @param session Session in RESULT state
+     * @param result Round result
+     */
+    void onResult(Game game, GameSession session, GameResult result);
+}
@@ -0,0 +1,203 @@
+package vn.casino.game.engine;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed-wheel timer driven by wall time, shared by every game and room.
+ *
+ * Deadlines are absolute {@link System#nanoTime()} values. Each call to
+ * {@link #advance()} works out how many wheel ticks of wall time have passed
+ * and expires every bucket up to now, so a late or skipped server tick
+ * delays tasks by at most the lag instead of shifting every later deadline.
+ * Tasks due in the same advance run in deadline-tick order.
+ *
+ * {@link #schedule} is safe from any thread; {@link #advance()} must only be
+ * called from one thread at a time (the round timer).
+ */
+public final class RoundClock {
+
+    /** Default wheel tick: one server tick. */
+    public static final long DEFAULT_TICK_NANOS = 50_000_000L;
+
+    /** Default bucket count: 512 x 50 ms = 25.6 s per rotation. */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final long tickNanos;
+    private final int mask;
+    private final LongSupplier nanoTime;
+    private final long startNanos;
+    private final Queue<Timeout>[] wheel;
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+
+    // Next wheel tick to expire; only touched by the advancing thread
+    private long nextTick;
+
+    public RoundClock() {
+        this(DEFAULT_TICK_NANOS, DEFAULT_WHEEL_SIZE, System::nanoTime);
+    }
+
+    /**
+     * @param tickNanos Wheel tick length in nanoseconds
+     * @param wheelSize Bucket count (power of two)
+     * @param nanoTime Time source
+     */
+    @SuppressWarnings("unchecked")
+    public RoundClock(long tickNanos, int wheelSize, LongSupplier nanoTime) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickNanos = tickNanos;
+        this.mask = wheelSize - 1;
+        this.nanoTime = nanoTime;
+        this.startNanos = nanoTime.getAsLong();
+        this.wheel = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * @return Current time of the clock's time source
+     */
+    public long now() {
+        return nanoTime.getAsLong();
+    }
+
+    /**
+     * Schedule a task at an absolute deadline.
+     * Deadlines already in the past run on the next advance.
+     *
+     * @param task Task to run on the advancing thread
+     * @param deadlineNanos Deadline from {@link #now()}
+     * @return Handle for cancelling the task
+     */
+    public Timeout schedule(Runnable task, long deadlineNanos) {
+        Timeout timeout = new Timeout(task, deadlineNanos);
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Expire every bucket whose tick has passed.
+     * Called periodically by the round timer. A task that throws does not
+     * stop the others; the first failure is rethrown once all have run.
+     */
+    public void advance() {
+        long currentTick = (now() - startNanos) / tickNanos;
+        RuntimeException failure = null;
+        while (nextTick <= currentTick) {
+            transferIncoming();
+            failure = expire(wheel[(int) (nextTick & mask)], failure);
+            nextTick++;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return Number of tasks scheduled and not yet run or cancelled
+     */
+    public int pending() {
+        int count = 0;
+        for (Timeout timeout : incoming) {
+            if (!timeout.cancelled) {
+                count++;
+            }
+        }
+        for (Queue<Timeout> bucket : wheel) {
+            for (Timeout timeout : bucket) {
+                if (!timeout.cancelled) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drop every scheduled task.
+     * Only call from the advancing thread or once it has stopped.
+     */
+    public void clear() {
+        incoming.clear();
+        for (Queue<Timeout> bucket : wheel) {
+            bucket.clear();
+        }
+    }
+
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long deadlineTick = Math.max((timeout.deadlineNanos - startNanos) / tickNanos, nextTick);
+            timeout.remainingRounds = (deadlineTick - nextTick) / (mask + 1);
+            wheel[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private RuntimeException expire(Queue<Timeout> bucket, RuntimeException failure) {
+        for (int i = bucket.size(); i > 0; i--) {
+            Timeout timeout = bucket.poll();
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                bucket.add(timeout);
+                continue;
+            }
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * @return Deadline in clock nanoseconds
+         */
+        public long deadline() {
+            return deadlineNanos;
+        }
+
+        /**
+         * Prevent the task from running if it has not run yet.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package vn.casino.game.engine;
+
+import vn.casino.economy.Money;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Everything needed to persist and settle one finished round, detached from
+ * the live session so it can be written later or spooled to disk.
+ *
+ * @param sessionId Session ID (settlement idempotency key)
+ * @param gameId Game identifier
+ * @param room Room identifier (nullable)
+ * @param serverSeed Revealed server seed
+ * @param serverSeedHash Server seed commitment
+ * @param rngAlgorithm RNG algorithm version
+ * @param state Final session state
+ * @param rawValues Raw RNG values
+ * @param displayResult Human-readable result
+ * @param startedAt Session start time
+ * @param endedAt Session end time (nullable)
+ * @param bets Every bet with its payout
+ * @param payouts Total payout per winner
+ */
+public record RoundRecord(
+    long sessionId,
+    String gameId,
+    String room,
+    String serverSeed,
+    String serverSeedHash,
+    int rngAlgorithm,
+    String state,
+    int[] rawValues,
+    String displayResult,
+    Instant startedAt,
+    Instant endedAt,
+    List<BetRow> bets,
+    Map<UUID, Money> payouts
+) {
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * One stored bet.
+     *
+     * @param playerId Player UUID
+     * @param betTypeId Bet type identifier
+     * @param amount Stake
+     * @param payout Payout (zero if lost)
+     * @param won Whether the bet won
+     * @param createdAt Bet time
+     */
+    public record BetRow(UUID playerId, String betTypeId, Money amount, Money payout, boolean won, Instant createdAt) {
+    }
+
+    /**
+     * Capture a finished session. Builds one row per bet, so call it off
+     * the round thread.
+     *
+     * @param session Completed session
+     * @param result Game result
+     * @param table Payout table compiled from the result
+     * @param payouts Total payout per winner
+     * @return Round record
+     */
+    public static RoundRecord of(GameSession session, GameResult result, PayoutTable table, Map<UUID, Money> payouts) {
+        List<Bet> sealed = session.getAllBets();
+        List<BetRow> bets = new ArrayList<>(sealed.size());
+        for (Bet bet : sealed) {
+            // Same table as the credited payouts, so stored rows match what was paid
+            boolean won = table.isWinning(bet.betType());
+            bets.add(new BetRow(
+                bet.playerId(),
+                bet.betType().getId(),
+                bet.amount(),
+                won ? table.payout(bet) : Money.ZERO,
+                won,
+                bet.createdAt()
+            ));
+        }
+
+        return new RoundRecord(
+            session.getId(),
+            session.getGameId(),
+            session.getRoom(),
+            result.serverSeed(),
+            session.getServerSeedHash(),
+            session.getRngAlgorithm(),
+            session.getState().name(),
+            result.rawValues(),
+            result.displayResult(),
+            session.getStartedAt(),
+            session.getEndedAt(),
+            bets,
+            payouts
+        );
+    }
+
+    /**
+     * Serialize the record for the session spool.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + bets.size() * 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(sessionId);
+            out.writeUTF(gameId);
+            writeNullableString(out, room);
+            out.writeUTF(serverSeed);
+            out.writeUTF(serverSeedHash);
+            out.writeInt(rngAlgorithm);
+            out.writeUTF(state);
+            out.writeInt(rawValues.length);
+            for (int value : rawValues) {
+                out.writeInt(value);
+            }
+            out.writeUTF(displayResult);
+            out.writeLong(startedAt.toEpochMilli());
+            out.writeBoolean(endedAt != null);
+            if (endedAt != null) {
+                out.writeLong(endedAt.toEpochMilli());
+            }
+
+            out.writeInt(bets.size());
+            for (BetRow bet : bets) {
+                writeUuid(out, bet.playerId());
+                out.writeUTF(bet.betTypeId());
+                out.writeLong(bet.amount().minor());
+                out.writeLong(bet.payout().minor());
+                out.writeBoolean(bet.won());
+                out.writeLong(bet.createdAt().toEpochMilli());
+            }
+
+            out.writeInt(payouts.size());
+            for (Map.Entry<UUID, Money> payout : payouts.entrySet()) {
+                writeUuid(out, payout.getKey());
+                out.writeLong(payout.getValue().minor());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserialize a record from spool bytes.
+     */
+    public static RoundRecord decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown round record version " + version);
+            }
+            long sessionId = in.readLong();
+            String gameId = in.readUTF();
+            String room = readNullableString(in);
+            String serverSeed = in.readUTF();
+            String serverSeedHash = in.readUTF();
+            int rngAlgorithm = in.readInt();
+            String state = in.readUTF();
+            int[] rawValues = new int[in.readInt()];
+            for (int i = 0; i < rawValues.length; i++) {
+                rawValues[i] = in.readInt();
+            }
+            String displayResult = in.readUTF();
+            Instant startedAt = Instant.ofEpochMilli(in.readLong());
+            Instant endedAt = in.readBoolean() ? Instant.ofEpochMilli(in.readLong()) : null;
+
+            int betCount = in.readInt();
+            List<BetRow> bets = new ArrayList<>(betCount);
+            for (int i = 0; i < betCount; i++) {
+                bets.add(new BetRow(
+                    readUuid(in),
+                    in.readUTF(),
+                    Money.ofMinor(in.readLong()),
+                    Money.ofMinor(in.readLong()),
+                    in.readBoolean(),
+                    Instant.ofEpochMilli(in.readLong())
+                ));
+            }
+
+            int payoutCount = in.readInt();
+            Map<UUID, Money> payouts = new LinkedHashMap<>();
+            for (int i = 0; i < payoutCount; i++) {
+                payouts.put(readUuid(in), Money.ofMinor(in.readLong()));
+            }
+
+            return new RoundRecord(sessionId, gameId, room, serverSeed, serverSeedHash, rngAlgorithm, state,
+                rawValues, displayResult, startedAt, endedAt, bets, payouts);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
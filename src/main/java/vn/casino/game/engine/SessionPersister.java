@@ -0,0 +1,477 @@
+package vn.casino.game.engine;
+
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.core.storage.RecordLog;
+import vn.casino.economy.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes session rows and settles finished rounds on background threads.
+ *
+ * Work is sharded by game onto single-threaded executors, so the start row,
+ * result and settlement of one game's rounds are written in the order the
+ * rounds ran, and a slow game never holds up another. A round that fails is
+ * retried with exponential backoff on its shard; once the attempts are used
+ * up it is appended to a local spool file, which is replayed periodically
+ * and on the next start. Settlement is idempotent per session, so replaying
+ * a round that did reach the database does nothing.
+ */
+public class SessionPersister {
+
+    private static final long MAX_BACKOFF_MS = 10_000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final DatabaseProvider database;
+    private final SettlementEngine settlementEngine;
+    private final RecordLog spool;
+    private final ExecutorService[] shards;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long spoolRetryMs;
+    private final MetricsRegistry metrics;
+    private final Logger logger;
+
+    private final Object spoolLock = new Object();
+    private ScheduledExecutorService spoolDrainer;
+    private volatile boolean stopped;
+
+    public SessionPersister(
+        DatabaseProvider database,
+        SettlementEngine settlementEngine,
+        Path spoolFile,
+        int shardCount,
+        int maxAttempts,
+        long baseBackoffMs,
+        long spoolRetryMs,
+        MetricsRegistry metrics,
+        Logger logger
+    ) throws IOException {
+        if (shardCount <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Shard count and attempts must be positive");
+        }
+        this.database = database;
+        this.settlementEngine = settlementEngine;
+        this.spool = new RecordLog(spoolFile);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.spoolRetryMs = spoolRetryMs;
+        this.metrics = metrics;
+        this.logger = logger;
+
+        this.shards = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String name = "CasinoPersist-" + i;
+            shards[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Start replaying the spool: once now, then every spool retry interval.
+     */
+    public void start() {
+        spoolDrainer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "CasinoPersist-Spool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        spoolDrainer.scheduleWithFixedDelay(this::drainSpool, 0, spoolRetryMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Insert the session row for a new round.
+     * Failure is only logged: the round write inserts the row if it is missing.
+     *
+     * @param session New session
+     * @return CompletableFuture that completes once the row is written
+     */
+    public CompletableFuture<Void> persistStart(GameSession session) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                insertSession(session);
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to persist session start " + session.getId(), e);
+            }
+        }, shardFor(session.getGameId())).exceptionally(ex -> {
+            logger.log(Level.WARNING, "Failed to persist session start " + session.getId(), ex);
+            return null;
+        });
+    }
+
+    /**
+     * Persist a finished round and credit its winners on the game's shard.
+     * Returns immediately; the record is built and written off the calling thread.
+     *
+     * @param session Completed session
+     * @param result Game result
+     * @param table Payout table compiled from the result
+     * @param payouts Total payout per winner
+     * @return CompletableFuture with true if winners were credited by this call;
+     *         false if there were none, the round was already settled, or it was spooled
+     */
+    public CompletableFuture<Boolean> persistRound(
+        GameSession session,
+        GameResult result,
+        PayoutTable table,
+        Map<UUID, Money> payouts
+    ) {
+        RoundTask task = new RoundTask(session, result, table, payouts);
+        try {
+            shardFor(session.getGameId()).execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down: keep the round for the next start
+            spoolRound(task.record());
+            task.future.complete(false);
+        }
+        return task.future;
+    }
+
+    /**
+     * Replay spooled rounds in order, stopping at the first one that still fails.
+     * The spool is truncated once every record in it has been written.
+     *
+     * @return Number of rounds written or found already settled
+     */
+    public int drainSpool() {
+        List<byte[]> records;
+        try {
+            synchronized (spoolLock) {
+                records = spool.readAll();
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to read session spool", e);
+            return 0;
+        }
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        int written = 0;
+        for (byte[] data : records) {
+            RoundRecord record;
+            try {
+                record = RoundRecord.decode(data);
+            } catch (UncheckedIOException e) {
+                logger.log(Level.SEVERE, "Skipping unreadable record in session spool", e);
+                written++;
+                continue;
+            }
+
+            try {
+                settle(record);
+                written++;
+            } catch (RuntimeException e) {
+                logger.warning("Session spool replay stopped at session " + record.sessionId() + ": " + e.getMessage());
+                break;
+            }
+        }
+
+        if (written > 0) {
+            logger.info("Replayed " + written + " of " + records.size() + " spooled rounds");
+        }
+        compactSpool(records.size(), written);
+        return written;
+    }
+
+    /**
+     * Number of bytes waiting in the spool (0 when the database has kept up).
+     *
+     * @return Spool size in bytes
+     */
+    public long getSpoolSize() {
+        try {
+            synchronized (spoolLock) {
+                return spool.size();
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Finish queued rounds, spooling any that cannot be written in time.
+     */
+    public void shutdown() {
+        stopped = true;
+        if (spoolDrainer != null) {
+            spoolDrainer.shutdownNow();
+        }
+
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        for (ExecutorService shard : shards) {
+            try {
+                if (!shard.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    for (Runnable queued : shard.shutdownNow()) {
+                        if (queued instanceof RoundTask task) {
+                            spoolRound(task.record());
+                            task.future.complete(false);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try {
+            spool.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close session spool", e);
+        }
+    }
+
+    private ExecutorService shardFor(String gameId) {
+        return shards[Math.floorMod(gameId.hashCode(), shards.length)];
+    }
+
+    /**
+     * Settle a round, retrying with exponential backoff, then spooling it.
+     */
+    private boolean persistWithRetry(RoundRecord record) {
+        long backoffMs = baseBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return settle(record);
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || stopped) {
+                    logger.log(Level.SEVERE, "Failed to persist session " + record.sessionId() + " after "
+                        + attempt + " attempts; spooling it for replay", e);
+                    spoolRound(record);
+                    return false;
+                }
+                metrics.increment("session.persist.retries");
+                logger.warning("Persisting session " + record.sessionId() + " failed (attempt " + attempt
+                    + "/" + maxAttempts + "), retrying in " + backoffMs + "ms: " + e.getMessage());
+            }
+
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                spoolRound(record);
+                return false;
+            }
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    /**
+     * Run the settlement on the calling thread.
+     *
+     * @throws RuntimeException if either settlement transaction fails
+     */
+    private boolean settle(RoundRecord record) {
+        return settlementEngine.settle(
+            record.sessionId(),
+            record.gameId(),
+            record.payouts(),
+            conn -> writeRound(conn, record),
+            Runnable::run
+        ).join();
+    }
+
+    private void spoolRound(RoundRecord record) {
+        try {
+            synchronized (spoolLock) {
+                spool.append(record.encode());
+                spool.force();
+            }
+            metrics.increment("session.persist.spooled");
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to spool session " + record.sessionId()
+                + " - its result and bets are lost", e);
+        }
+    }
+
+    /**
+     * Truncate the spool if everything read from it was written and nothing new was appended.
+     * Otherwise leave it; already settled rounds are skipped on the next replay.
+     */
+    private void compactSpool(int read, int written) {
+        if (written < read) {
+            return;
+        }
+        try {
+            synchronized (spoolLock) {
+                if (spool.readAll().size() == read) {
+                    spool.truncate();
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to truncate session spool", e);
+        }
+    }
+
+    private void insertSession(GameSession session) throws SQLException {
+        String sql = """
+            INSERT INTO casino_game_sessions
+            (id, game_id, room, server_seed_hash, rng_algorithm, state, started_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+        try (Connection conn = database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, session.getId());
+            stmt.setString(2, session.getGameId());
+            stmt.setString(3, session.getRoom());
+            stmt.setString(4, session.getServerSeedHash());
+            stmt.setInt(5, session.getRngAlgorithm());
+            stmt.setString(6, session.getState().name());
+            stmt.setTimestamp(7, Timestamp.from(session.getStartedAt()));
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Write the session result and all bets using the caller's transaction.
+     * Inserts the session row if its start was never persisted.
+     */
+    private void writeRound(Connection conn, RoundRecord record) throws SQLException {
+        String updateSessionSql = """
+            UPDATE casino_game_sessions
+            SET server_seed = ?, state = ?, result_raw_values = ?,
+                result_display = ?, ended_at = ?
+            WHERE id = ?
+        """;
+
+        String insertSessionSql = """
+            INSERT INTO casino_game_sessions
+            (id, game_id, room, server_seed_hash, rng_algorithm, state, started_at,
+             server_seed, result_raw_values, result_display, ended_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+        String insertBetSql = """
+            INSERT INTO casino_bets
+            (session_id, player_uuid, bet_type_id, amount, payout, won, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+        String rawValues = joinValues(record.rawValues());
+        Timestamp endedAt = record.endedAt() != null ? Timestamp.from(record.endedAt()) : null;
+
+        int updated;
+        try (PreparedStatement stmt = conn.prepareStatement(updateSessionSql)) {
+            stmt.setString(1, record.serverSeed());
+            stmt.setString(2, record.state());
+            stmt.setString(3, rawValues);
+            stmt.setString(4, record.displayResult());
+            setNullableTimestamp(stmt, 5, endedAt);
+            stmt.setLong(6, record.sessionId());
+            updated = stmt.executeUpdate();
+        }
+
+        if (updated == 0) {
+            try (PreparedStatement stmt = conn.prepareStatement(insertSessionSql)) {
+                stmt.setLong(1, record.sessionId());
+                stmt.setString(2, record.gameId());
+                stmt.setString(3, record.room());
+                stmt.setString(4, record.serverSeedHash());
+                stmt.setInt(5, record.rngAlgorithm());
+                stmt.setString(6, record.state());
+                stmt.setTimestamp(7, Timestamp.from(record.startedAt()));
+                stmt.setString(8, record.serverSeed());
+                stmt.setString(9, rawValues);
+                stmt.setString(10, record.displayResult());
+                setNullableTimestamp(stmt, 11, endedAt);
+                stmt.executeUpdate();
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(insertBetSql)) {
+            for (RoundRecord.BetRow bet : record.bets()) {
+                stmt.setLong(1, record.sessionId());
+                stmt.setString(2, bet.playerId().toString());
+                stmt.setString(3, bet.betTypeId());
+                stmt.setBigDecimal(4, bet.amount().toBigDecimal());
+                stmt.setBigDecimal(5, bet.payout().toBigDecimal());
+                stmt.setBoolean(6, bet.won());
+                stmt.setTimestamp(7, Timestamp.from(bet.createdAt()));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+
+        logger.fine("Persisted session " + record.sessionId() + " with " + record.bets().size() + " bets");
+    }
+
+    private static void setNullableTimestamp(PreparedStatement stmt, int index, Timestamp value) throws SQLException {
+        if (value != null) {
+            stmt.setTimestamp(index, value);
+        } else {
+            stmt.setNull(index, Types.TIMESTAMP);
+        }
+    }
+
+    /**
+     * Convert int array to comma-separated string.
+     */
+    private static String joinValues(int[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(",");
+            sb.append(values[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Queued round; kept as its own type so shutdown can spool rounds that never ran.
+     */
+    private final class RoundTask implements Runnable {
+        private final GameSession session;
+        private final GameResult result;
+        private final PayoutTable table;
+        private final Map<UUID, Money> payouts;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private RoundRecord record;
+
+        private RoundTask(GameSession session, GameResult result, PayoutTable table, Map<UUID, Money> payouts) {
+            this.session = session;
+            this.result = result;
+            this.table = table;
+            this.payouts = payouts;
+        }
+
+        private synchronized RoundRecord record() {
+            if (record == null) {
+                record = RoundRecord.of(session, result, table, payouts);
+            }
+            return record;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(persistWithRetry(record()));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
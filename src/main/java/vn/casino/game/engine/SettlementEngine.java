@@ -0,0 +1,287 @@
+package vn.casino.game.engine;
+
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.core.metrics.Timer;
+import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.Money;
+import vn.casino.economy.TransactionType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Settles game rounds in two database transactions instead of one per winner.
+ *
+ * 1. Prepare: the session result, its bets and a PENDING settlement with every
+ *    winner's payout are committed together.
+ * 2. Apply: all winners are credited in one batch, and the settlement is flipped
+ *    to SETTLED in that same transaction. With the write-behind ledger the flip
+ *    commits after the credits, which skip winners already paid for the session.
+ *
+ * The PENDING to SETTLED transition is the idempotency guard, so a round
+ * interrupted between the two steps is resumed on startup without paying twice.
+ * Settling a session that is still PENDING skips the prepare step and retries
+ * the apply, so a failed settle can simply be called again.
+ */
+public class SettlementEngine {
+
+    private final DatabaseProvider database;
+    private final CurrencyManager currencyManager;
+    private final MetricsRegistry metrics;
+    private final Logger logger;
+
+    private final Timer settlementTime;
+
+    public SettlementEngine(
+        DatabaseProvider database,
+        CurrencyManager currencyManager,
+        MetricsRegistry metrics,
+        Logger logger
+    ) {
+        this.database = database;
+        this.currencyManager = currencyManager;
+        this.metrics = metrics;
+        this.logger = logger;
+        this.settlementTime = metrics.timer("settlement.time");
+    }
+
+    /**
+     * Writes round data inside the prepare transaction.
+     */
+    @FunctionalInterface
+    public interface RoundWriter {
+        void write(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Settle a round.
+     *
+     * @param sessionId Session ID (idempotency key)
+     * @param gameId Game identifier
+     * @param payouts Total payout per winner
+     * @param roundWriter Persists the session result in the prepare transaction
+     * @return CompletableFuture with true if this call credited the winners
+     */
+    public CompletableFuture<Boolean> settle(
+        long sessionId,
+        String gameId,
+        Map<UUID, Money> payouts,
+        RoundWriter roundWriter
+    ) {
+        return settle(sessionId, gameId, payouts, roundWriter, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Settle a round, running the prepare transaction on the given executor.
+     * A failure in either step fails the future; calling again resumes it.
+     *
+     * @param sessionId Session ID (idempotency key)
+     * @param gameId Game identifier
+     * @param payouts Total payout per winner
+     * @param roundWriter Persists the session result in the prepare transaction
+     * @param executor Executor for the prepare transaction
+     * @return CompletableFuture with true if this call credited the winners
+     */
+    public CompletableFuture<Boolean> settle(
+        long sessionId,
+        String gameId,
+        Map<UUID, Money> payouts,
+        RoundWriter roundWriter,
+        Executor executor
+    ) {
+        long startNanos = System.nanoTime();
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return prepare(sessionId, gameId, payouts, roundWriter);
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to prepare settlement for session " + sessionId, e);
+            }
+        }, executor).thenCompose(prepared -> prepared && !payouts.isEmpty()
+            ? apply(sessionId, gameId, payouts)
+            : CompletableFuture.completedFuture(false)
+        ).thenApply(applied -> {
+            settlementTime.recordSince(startNanos);
+            if (applied) {
+                metrics.add("settlement.winners", payouts.size());
+            }
+            logger.info("Settled session " + sessionId + ": " + payouts.size() + " winners in "
+                + (System.nanoTime() - startNanos) / 1_000_000 + "ms");
+            return applied;
+        });
+    }
+
+    /**
+     * Resume settlements that were prepared but never applied (e.g. after a crash).
+     *
+     * @return CompletableFuture with number of resumed settlements
+     */
+    public CompletableFuture<Integer> resumePending() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadPending();
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to load pending settlements", e);
+            }
+        }).thenCompose(pending -> {
+            List<CompletableFuture<Boolean>> resumed = new ArrayList<>();
+            for (PendingSettlement settlement : pending) {
+                resumed.add(apply(settlement.sessionId(), settlement.gameId(), settlement.payouts())
+                    .exceptionally(ex -> {
+                        logger.log(Level.SEVERE, "Failed to resume settlement " + settlement.sessionId()
+                            + "; it stays PENDING", ex);
+                        return false;
+                    }));
+            }
+            return CompletableFuture.allOf(resumed.toArray(new CompletableFuture[0]))
+                .thenApply(v -> {
+                    if (!pending.isEmpty()) {
+                        logger.info("Resumed " + pending.size() + " pending settlements");
+                    }
+                    return pending.size();
+                });
+        });
+    }
+
+    /**
+     * Commit round data and the PENDING settlement.
+     *
+     * @return true if the settlement is PENDING (new or left by an earlier
+     *         attempt), false if the session is already settled
+     */
+    private boolean prepare(
+        long sessionId,
+        String gameId,
+        Map<UUID, Money> payouts,
+        RoundWriter roundWriter
+    ) throws SQLException {
+        try (Connection conn = database.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                String existing = settlementState(conn, sessionId);
+                if (existing != null) {
+                    conn.rollback();
+                    if ("PENDING".equals(existing)) {
+                        logger.info("Session " + sessionId + " is already prepared, retrying payout");
+                        return true;
+                    }
+                    logger.warning("Session " + sessionId + " already has a settlement, skipping");
+                    return false;
+                }
+
+                roundWriter.write(conn);
+
+                Money total = Money.ofMinor(payouts.values().stream().mapToLong(Money::minor).reduce(0L, Math::addExact));
+                String settlementSql = """
+                    INSERT INTO casino_settlements (session_id, game_id, state, winners, total_payout)
+                    VALUES (?, ?, ?, ?, ?)
+                """;
+                try (PreparedStatement stmt = conn.prepareStatement(settlementSql)) {
+                    stmt.setLong(1, sessionId);
+                    stmt.setString(2, gameId);
+                    stmt.setString(3, payouts.isEmpty() ? "SETTLED" : "PENDING");
+                    stmt.setInt(4, payouts.size());
+                    stmt.setBigDecimal(5, total.toBigDecimal());
+                    stmt.executeUpdate();
+                }
+
+                String payoutSql = "INSERT INTO casino_settlement_payouts (session_id, player_uuid, amount) VALUES (?, ?, ?)";
+                try (PreparedStatement stmt = conn.prepareStatement(payoutSql)) {
+                    for (Map.Entry<UUID, Money> payout : payouts.entrySet()) {
+                        stmt.setLong(1, sessionId);
+                        stmt.setString(2, payout.getKey().toString());
+                        stmt.setBigDecimal(3, payout.getValue().toBigDecimal());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+
+                conn.commit();
+                return true;
+
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Credit all winners in one batch and claim the PENDING settlement.
+     * On failure the settlement stays PENDING and is resumed by the next settle or start.
+     */
+    private CompletableFuture<Boolean> apply(long sessionId, String gameId, Map<UUID, Money> payouts) {
+        return currencyManager.depositBatch(
+            payouts,
+            TransactionType.WIN,
+            gameId,
+            sessionId,
+            "Win from " + gameId,
+            conn -> claimSettlement(conn, sessionId)
+        );
+    }
+
+    private boolean claimSettlement(Connection conn, long sessionId) throws SQLException {
+        String sql = """
+            UPDATE casino_settlements SET state = 'SETTLED', settled_at = CURRENT_TIMESTAMP
+            WHERE session_id = ? AND state = 'PENDING'
+        """;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, sessionId);
+            return stmt.executeUpdate() == 1;
+        }
+    }
+
+    private String settlementState(Connection conn, long sessionId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT state FROM casino_settlements WHERE session_id = ?")) {
+            stmt.setLong(1, sessionId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private List<PendingSettlement> loadPending() throws SQLException {
+        String sql = """
+            SELECT s.session_id, s.game_id, p.player_uuid, p.amount
+            FROM casino_settlements s
+            JOIN casino_settlement_payouts p ON p.session_id = s.session_id
+            WHERE s.state = 'PENDING'
+            ORDER BY s.session_id
+        """;
+
+        Map<Long, PendingSettlement> pending = new HashMap<>();
+        try (Connection conn = database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                long sessionId = rs.getLong("session_id");
+                String gameId = rs.getString("game_id");
+                pending.computeIfAbsent(sessionId, id -> new PendingSettlement(id, gameId, new HashMap<>()))
+                    .payouts()
+                    .put(UUID.fromString(rs.getString("player_uuid")), Money.ofRounded(rs.getBigDecimal("amount")));
+            }
+        }
+        return new ArrayList<>(pending.values());
+    }
+
+    private record PendingSettlement(long sessionId, String gameId, Map<UUID, Money> payouts) {
+    }
+}
@@ -0,0 +1,61 @@
+package vn.casino.game.jackpot;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free per-game sum of jackpot contributions not yet flushed.
+ * Amounts are minor units. Each game has a striped {@link LongAdder}, so
+ * concurrent bets never contend on a single counter.
+ */
+public class JackpotAccumulator {
+
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Add a contribution.
+     *
+     * @param gameId Game identifier
+     * @param minor Amount in minor units
+     */
+    public void add(String gameId, long minor) {
+        pending.computeIfAbsent(gameId, id -> new LongAdder()).add(minor);
+    }
+
+    /**
+     * Get the unflushed total for a game.
+     *
+     * @param gameId Game identifier
+     * @return Amount in minor units
+     */
+    public long pending(String gameId) {
+        LongAdder adder = pending.get(gameId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Take the unflushed total for a game.
+     * The taken amount is subtracted rather than reset, so contributions added
+     * concurrently stay pending for the next drain instead of being lost.
+     *
+     * @param gameId Game identifier
+     * @return Amount in minor units
+     */
+    public long drain(String gameId) {
+        LongAdder adder = pending.get(gameId);
+        if (adder == null) {
+            return 0;
+        }
+        long amount = adder.sum();
+        adder.add(-amount);
+        return amount;
+    }
+
+    /**
+     * Games that have received contributions.
+     */
+    public Set<String> games() {
+        return pending.keySet();
+    }
+}
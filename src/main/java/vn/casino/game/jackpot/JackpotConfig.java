@@ -1,5 +1,7 @@
 package vn.casino.game.jackpot;
 
+import vn.casino.economy.Money;
+
 import java.math.BigDecimal;
 
 /**
@@ -16,9 +18,30 @@ public record JackpotConfig(
     double contributionRate,
     double baseTriggerChance,
     double triggerScalingRate,
-    BigDecimal minJackpot,
-    BigDecimal seedAmount
+    Money minJackpot,
+    Money seedAmount
 ) {
+    // Contribution rates are applied in parts per million
+    private static final long PPM = 1_000_000;
+
+    // Minor units per million VND, for the trigger scaling
+    private static final double MINOR_PER_MILLION = 100_000_000.0;
+
+    /**
+     * Create a configuration from config-file amounts.
+     */
+    public JackpotConfig(
+        double contributionRate,
+        double baseTriggerChance,
+        double triggerScalingRate,
+        BigDecimal minJackpot,
+        BigDecimal seedAmount
+    ) {
+        this(contributionRate, baseTriggerChance, triggerScalingRate,
+            minJackpot != null ? Money.of(minJackpot) : null,
+            seedAmount != null ? Money.of(seedAmount) : null);
+    }
+
     /**
      * Default jackpot configuration.
      * - 0.2% contribution from each bet
@@ -32,8 +55,8 @@ public record JackpotConfig(
             0.002,                                  // 0.2% contribution
             0.00001,                                // 0.001% base chance
             0.000001,                               // 0.0001% per 1M VND
-            new BigDecimal("100000"),               // 100k VND minimum
-            new BigDecimal("10000")                 // 10k VND seed
+            Money.ofMajor(100_000),                 // 100k VND minimum
+            Money.ofMajor(10_000)                   // 10k VND seed
         );
     }
 
@@ -50,10 +73,10 @@ public record JackpotConfig(
         if (triggerScalingRate < 0 || triggerScalingRate >= 1) {
             throw new IllegalArgumentException("Trigger scaling rate must be between 0 and 1");
         }
-        if (minJackpot == null || minJackpot.compareTo(BigDecimal.ZERO) <= 0) {
+        if (minJackpot == null || !minJackpot.isPositive()) {
             throw new IllegalArgumentException("Min jackpot must be positive");
         }
-        if (seedAmount == null || seedAmount.compareTo(BigDecimal.ZERO) < 0) {
+        if (seedAmount == null || seedAmount.isNegative()) {
             throw new IllegalArgumentException("Seed amount cannot be negative");
         }
     }
@@ -64,22 +87,21 @@ public record JackpotConfig(
      * @param currentPool Current jackpot pool amount
      * @return Trigger probability [0, 1)
      */
-    public double calculateTriggerChance(BigDecimal currentPool) {
+    public double calculateTriggerChance(Money currentPool) {
         // Base chance + (pool / 1,000,000) * scaling rate
-        double poolInMillions = currentPool.divide(new BigDecimal("1000000"), 10, java.math.RoundingMode.HALF_UP)
-            .doubleValue();
+        double poolInMillions = currentPool.minor() / MINOR_PER_MILLION;
 
         return baseTriggerChance + (poolInMillions * triggerScalingRate);
     }
 
     /**
-     * Calculate contribution amount from bet.
+     * Calculate contribution amount from bet, truncated to the minor unit.
+     * The rate is applied in parts per million (0.002 = 2,000 ppm).
      *
      * @param betAmount Bet amount
      * @return Contribution amount
      */
-    public BigDecimal calculateContribution(BigDecimal betAmount) {
-        return betAmount.multiply(BigDecimal.valueOf(contributionRate))
-            .setScale(2, java.math.RoundingMode.DOWN);
+    public Money calculateContribution(Money betAmount) {
+        return betAmount.times(Math.round(contributionRate * PPM), PPM);
     }
 }
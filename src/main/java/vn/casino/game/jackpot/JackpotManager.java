@@ -3,6 +3,8 @@ package vn.casino.game.jackpot;
 import vn.casino.core.cache.CacheProvider;
 import vn.casino.core.database.DatabaseProvider;
 import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.MinorUnits;
+import vn.casino.economy.Money;
 import vn.casino.economy.TransactionType;
 
 import java.math.BigDecimal;
@@ -13,43 +15,106 @@ import java.sql.SQLException;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manages jackpot pools for all casino games.
  * Handles contributions, trigger checks, and winner payouts.
- * Uses Redis for real-time pool tracking with DB persistence.
+ *
+ * Contributions only touch an in-memory {@link JackpotAccumulator}; a
+ * background flusher applies the accumulated amount as a relative update
+ * ({@code pool_amount = pool_amount + ?}) to the database and as an atomic
+ * INCRBY to the cached pool. Relative updates commute, so servers sharing a
+ * pool never overwrite each other's contributions. The cached pool (minor
+ * units) expires after a short TTL and is reloaded from the database, which
+ * bounds any drift between the two.
+ *
+ * Each payout advances the pool's generation in the database and records a
+ * pending win in the same transaction, so a generation has exactly one win
+ * even across servers. The winner is then credited from that row, and rows
+ * left unpaid by a crash are paid on the next start.
  */
 public class JackpotManager {
 
-    private static final String JACKPOT_CACHE_KEY = "casino:jackpot:%s"; // %s = gameId
-    private static final Duration CACHE_TTL = Duration.ofHours(24);
+    private static final String JACKPOT_CACHE_KEY = "casino:jackpot:%s:pool"; // %s = gameId, value in minor units
+    private static final String JACKPOT_GENERATION_KEY = "casino:jackpot:%s:generation";
+    private static final Duration CACHE_TTL = Duration.ofMinutes(1);
+    private static final Money DEFAULT_SEED = Money.ofMajor(10_000);
 
     private final DatabaseProvider database;
     private final CacheProvider cache;
     private final CurrencyManager currencyManager;
+    private final long flushIntervalMs;
     private final Logger logger;
 
     // Per-game jackpot configs
     private final Map<String, JackpotConfig> configs = new HashMap<>();
 
+    // Contributions not yet applied to the database and cache
+    private final JackpotAccumulator accumulator = new JackpotAccumulator();
+
+    private ScheduledExecutorService flusher;
+
+    /**
+     * @param flushIntervalMs How often pending contributions are written out
+     */
     public JackpotManager(
         DatabaseProvider database,
         CacheProvider cache,
         CurrencyManager currencyManager,
+        long flushIntervalMs,
         Logger logger
     ) {
         this.database = database;
         this.cache = cache;
         this.currencyManager = currencyManager;
+        this.flushIntervalMs = flushIntervalMs;
         this.logger = logger;
 
         // Initialize default configs
         initializeDefaultConfigs();
     }
 
+    /**
+     * Start the background flusher.
+     */
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "CasinoJackpot-Flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> flush().join(), flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        logger.info("Jackpot flusher started (every " + flushIntervalMs + "ms)");
+    }
+
+    /**
+     * Stop the flusher and write out every pending contribution.
+     */
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        flush().join();
+        for (String gameId : accumulator.games()) {
+            if (accumulator.pending(gameId) != 0) {
+                logger.warning("Jackpot " + gameId + " shut down with unflushed contributions");
+            }
+        }
+    }
+
     /**
      * Initialize default jackpot configurations for all games.
      */
@@ -79,14 +144,29 @@ public class JackpotManager {
      * @param gameId Game identifier
      * @return CompletableFuture with current pool amount
      */
-    public CompletableFuture<BigDecimal> getPool(String gameId) {
+    public CompletableFuture<Money> getPool(String gameId) {
+        return getSharedPool(gameId)
+            .thenApply(shared -> Money.ofMinor(Math.addExact(shared, accumulator.pending(gameId))))
+            .exceptionally(ex -> {
+                logger.log(Level.SEVERE, "Failed to get jackpot pool for " + gameId, ex);
+                return Money.ZERO;
+            });
+    }
+
+    /**
+     * Get the flushed pool shared by all servers, from cache or database.
+     *
+     * @param gameId Game identifier
+     * @return CompletableFuture with pool in minor units
+     */
+    private CompletableFuture<Long> getSharedPool(String gameId) {
         String cacheKey = String.format(JACKPOT_CACHE_KEY, gameId);
 
         return cache.get(cacheKey)
             .thenCompose(cached -> {
                 if (cached.isPresent()) {
                     try {
-                        return CompletableFuture.completedFuture(new BigDecimal(cached.get()));
+                        return CompletableFuture.completedFuture(Long.parseLong(cached.get()));
                     } catch (NumberFormatException e) {
                         logger.warning("Invalid cached jackpot for " + gameId);
                     }
@@ -95,43 +175,54 @@ public class JackpotManager {
                 // Cache miss - load from database
                 return loadPoolFromDatabase(gameId)
                     .thenApply(pool -> {
-                        cachePool(gameId, pool);
-                        return pool;
+                        cachePool(gameId, pool.minor());
+                        return pool.minor();
                     });
-            })
-            .exceptionally(ex -> {
-                logger.log(Level.SEVERE, "Failed to get jackpot pool for " + gameId, ex);
-                return BigDecimal.ZERO;
             });
     }
 
     /**
      * Contribute to jackpot pool from a bet.
+     * Only adds to the in-memory accumulator; the next flush persists it.
      *
      * @param gameId Game identifier
      * @param betAmount Bet amount
      */
-    public void contribute(String gameId, BigDecimal betAmount) {
+    public void contribute(String gameId, Money betAmount) {
         JackpotConfig config = configs.get(gameId);
         if (config == null) {
             logger.warning("No jackpot config for " + gameId);
             return;
         }
 
-        BigDecimal contribution = config.calculateContribution(betAmount);
-        if (contribution.compareTo(BigDecimal.ZERO) <= 0) {
+        Money contribution = config.calculateContribution(betAmount);
+        if (!contribution.isPositive()) {
             return; // No contribution
         }
 
-        getPool(gameId)
-            .thenCompose(currentPool -> {
-                BigDecimal newPool = currentPool.add(contribution);
-                return updatePool(gameId, newPool);
-            })
-            .exceptionally(ex -> {
-                logger.log(Level.WARNING, "Failed to contribute to jackpot " + gameId, ex);
+        accumulator.add(gameId, contribution.minor());
+    }
+
+    /**
+     * Write pending contributions of every game to the database and cache.
+     * A game whose write fails keeps its amount pending for the next flush.
+     *
+     * @return CompletableFuture when every game has been attempted
+     */
+    public CompletableFuture<Void> flush() {
+        List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        for (String gameId : accumulator.games()) {
+            long delta = accumulator.drain(gameId);
+            if (delta == 0) {
+                continue;
+            }
+            flushes.add(adjustPool(gameId, delta).exceptionally(ex -> {
+                accumulator.add(gameId, delta);
+                logger.log(Level.WARNING, "Failed to flush jackpot " + gameId + ", will retry", ex);
                 return null;
-            });
+            }));
+        }
+        return CompletableFuture.allOf(flushes.toArray(CompletableFuture[]::new));
     }
 
     /**
@@ -154,7 +245,7 @@ public class JackpotManager {
         return getPool(gameId)
             .thenCompose(currentPool -> {
                 // Check if pool meets minimum
-                if (currentPool.compareTo(config.minJackpot()) < 0) {
+                if (currentPool.isLessThan(config.minJackpot())) {
                     return CompletableFuture.completedFuture(Optional.empty());
                 }
 
@@ -165,7 +256,7 @@ public class JackpotManager {
                 if (roll < triggerChance) {
                     // Jackpot triggered! Select random winner
                     UUID winner = selectRandomWinner(participants);
-                    return triggerJackpot(gameId, winner, currentPool)
+                    return triggerJackpot(gameId, winner)
                         .thenApply(success -> success ? Optional.of(winner) : Optional.empty());
                 }
 
@@ -175,35 +266,35 @@ public class JackpotManager {
 
     /**
      * Trigger jackpot payout to winner.
+     * The paid amount is read from the database together with the pool generation
+     * it belongs to. Claiming the generation records the win, which is then paid,
+     * so concurrent triggers on several servers pay a generation exactly once.
      *
      * @param gameId Game identifier
      * @param winnerId Winner UUID
-     * @param amount Jackpot amount
      * @return CompletableFuture with success status
      */
-    private CompletableFuture<Boolean> triggerJackpot(String gameId, UUID winnerId, BigDecimal amount) {
+    private CompletableFuture<Boolean> triggerJackpot(String gameId, UUID winnerId) {
         JackpotConfig config = configs.get(gameId);
+        Money seedAmount = config != null ? config.seedAmount() : DEFAULT_SEED;
+
+        return loadSnapshot(gameId).thenCompose(snapshot -> {
+            // Pay everything flushed so far plus this server's pending contributions;
+            // other servers' pending contributions stay in the next generation
+            Money amount = Money.ofMinor(Math.addExact(snapshot.poolMinor(), accumulator.pending(gameId)));
+            long resetDelta = seedAmount.minus(amount).minor();
+
+            return claimPool(gameId, snapshot.generation(), resetDelta, winnerId, amount).thenCompose(win -> {
+                if (win.isEmpty()) {
+                    logger.info("Jackpot " + gameId + " was already claimed by another round");
+                    return CompletableFuture.completedFuture(false);
+                }
 
-        logger.info("JACKPOT TRIGGERED! Game: " + gameId + ", Winner: " + winnerId +
-            ", Amount: " + amount);
+                logger.info("JACKPOT TRIGGERED! Game: " + gameId + ", Winner: " + winnerId +
+                    ", Amount: " + amount + ", Generation: " + (snapshot.generation() + 1));
 
-        // Pay winner
-        return currencyManager.deposit(
-            winnerId,
-            amount,
-            TransactionType.JACKPOT,
-            gameId,
-            null,
-            "Jackpot win (" + gameId + ")"
-        ).thenCompose(newBalance -> {
-            // Reset pool to seed amount
-            BigDecimal seedAmount = config != null ? config.seedAmount() : new BigDecimal("10000");
-            return updatePool(gameId, seedAmount)
-                .thenApply(v -> {
-                    // Log jackpot win to database
-                    logJackpotWin(gameId, winnerId, amount);
-                    return true;
-                });
+                return payWin(win.get());
+            });
         }).exceptionally(ex -> {
             logger.log(Level.SEVERE, "Failed to trigger jackpot for " + gameId, ex);
             return false;
@@ -211,26 +302,262 @@ public class JackpotManager {
     }
 
     /**
-     * Update jackpot pool (cache + database).
+     * Pay every win that was claimed but not credited, e.g. after a crash.
+     *
+     * @return CompletableFuture with number of wins attempted
+     */
+    public CompletableFuture<Integer> resumeUnpaid() {
+        String sql = "SELECT id, game_id, winner_uuid, amount FROM casino_jackpot_wins WHERE paid = ?";
+
+        return database.queryAsync(
+            sql,
+            rs -> {
+                try {
+                    List<PendingWin> wins = new ArrayList<>();
+                    while (rs.next()) {
+                        wins.add(new PendingWin(
+                            rs.getLong("id"),
+                            rs.getString("game_id"),
+                            UUID.fromString(rs.getString("winner_uuid")),
+                            Money.ofRounded(rs.getBigDecimal("amount"))
+                        ));
+                    }
+                    return wins;
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to load unpaid jackpot wins", e);
+                }
+            },
+            false
+        ).thenCompose(wins -> {
+            List<CompletableFuture<Boolean>> payouts = new ArrayList<>();
+            for (PendingWin win : wins) {
+                payouts.add(payWin(win));
+            }
+            return CompletableFuture.allOf(payouts.toArray(CompletableFuture[]::new))
+                .thenApply(v -> {
+                    if (!wins.isEmpty()) {
+                        logger.info("Resumed " + wins.size() + " unpaid jackpot wins");
+                    }
+                    return wins.size();
+                });
+        });
+    }
+
+    /**
+     * Credit the winner of a recorded win and flag it paid.
+     * The deposit is keyed by the win ID and the flag is its claim, so paying
+     * the same win again (resume, or a concurrent retry) credits nothing.
+     * On failure the win stays unpaid and is retried on the next start.
+     *
+     * @param win Recorded win
+     * @return CompletableFuture with true if this call paid the win
+     */
+    private CompletableFuture<Boolean> payWin(PendingWin win) {
+        return currencyManager.depositBatch(
+            Map.of(win.winnerId(), win.amount()),
+            TransactionType.JACKPOT,
+            win.gameId(),
+            win.id(),
+            "Jackpot win (" + win.gameId() + ")",
+            conn -> markPaid(conn, win.id())
+        ).exceptionally(ex -> {
+            logger.log(Level.SEVERE, "Jackpot win " + win.id() + " of " + win.amount() + " to "
+                + win.winnerId() + " was claimed but not paid; it will be retried on restart", ex);
+            return false;
+        });
+    }
+
+    private boolean markPaid(Connection conn, long winId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE casino_jackpot_wins SET paid = ? WHERE id = ? AND paid = ?")) {
+            stmt.setBoolean(1, true);
+            stmt.setLong(2, winId);
+            stmt.setBoolean(3, false);
+            return stmt.executeUpdate() == 1;
+        }
+    }
+
+    /**
+     * Claim the current pool generation for a winner.
+     *
+     * The database update is conditional on the generation the amount was read
+     * from and inserts the unpaid win in the same transaction, so the claim and
+     * the debt to the winner commit together. Only then is the claim published
+     * to the cache, which atomically advances the cached generation and adjusts
+     * the cached pool; if that fails, both keys are dropped and reloaded.
      *
      * @param gameId Game identifier
-     * @param newPool New pool amount
-     * @return CompletableFuture when complete
+     * @param generation Generation the paid amount was read from
+     * @param resetDelta Amount to add to the pool in minor units
+     * @param winnerId Winner UUID
+     * @param amount Jackpot amount
+     * @return CompletableFuture with the recorded win, empty if the generation was already claimed
      */
-    private CompletableFuture<Void> updatePool(String gameId, BigDecimal newPool) {
-        // Update cache
-        cachePool(gameId, newPool);
-
-        // Update database
-        String sql = """
-            INSERT INTO casino_jackpots (game_id, pool_amount, updated_at)
-            VALUES (?, ?, CURRENT_TIMESTAMP)
-            ON DUPLICATE KEY UPDATE pool_amount = ?, updated_at = CURRENT_TIMESTAMP
+    private CompletableFuture<Optional<PendingWin>> claimPool(
+        String gameId,
+        long generation,
+        long resetDelta,
+        UUID winnerId,
+        Money amount
+    ) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return advanceGeneration(gameId, generation, resetDelta, winnerId, amount);
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to claim jackpot " + gameId, e);
+            }
+        }).thenApply(win -> {
+            win.ifPresent(w -> publishClaim(gameId, generation, resetDelta));
+            return win;
+        });
+    }
+
+    private Optional<PendingWin> advanceGeneration(
+        String gameId,
+        long generation,
+        long resetDelta,
+        UUID winnerId,
+        Money amount
+    ) throws SQLException {
+        String advanceSql = """
+            UPDATE casino_jackpots
+            SET generation = ?, pool_amount = pool_amount + ?
+            WHERE game_id = ? AND generation = ?
+        """;
+        String winSql = """
+            INSERT INTO casino_jackpot_wins (game_id, generation, winner_uuid, amount, paid)
+            VALUES (?, ?, ?, ?, ?)
         """;
+        String winIdSql = "SELECT id FROM casino_jackpot_wins WHERE game_id = ? AND generation = ?";
+
+        try (Connection conn = database.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(advanceSql)) {
+                    stmt.setLong(1, generation + 1);
+                    stmt.setBigDecimal(2, MinorUnits.toBigDecimal(resetDelta));
+                    stmt.setString(3, gameId);
+                    stmt.setLong(4, generation);
+                    if (stmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        return Optional.empty();
+                    }
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(winSql)) {
+                    stmt.setString(1, gameId);
+                    stmt.setLong(2, generation);
+                    stmt.setString(3, winnerId.toString());
+                    stmt.setBigDecimal(4, amount.toBigDecimal());
+                    stmt.setBoolean(5, false);
+                    stmt.executeUpdate();
+                }
+
+                // Read the ID back by its unique key; sqlite-jdbc has no reliable generated keys
+                long winId;
+                try (PreparedStatement stmt = conn.prepareStatement(winIdSql)) {
+                    stmt.setString(1, gameId);
+                    stmt.setLong(2, generation);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new SQLException("No ID generated for jackpot win");
+                        }
+                        winId = rs.getLong(1);
+                    }
+                }
+
+                conn.commit();
+                return Optional.of(new PendingWin(winId, gameId, winnerId, amount));
+
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
 
-        return database.executeAsync(sql, gameId, newPool, newPool)
+    /**
+     * Publish a committed claim to the cache. A cache that cannot follow
+     * (lost or diverged generation, or an error) has both keys dropped so the
+     * next read reloads the pool from the database.
+     */
+    private void publishClaim(String gameId, long generation, long resetDelta) {
+        String generationKey = String.format(JACKPOT_GENERATION_KEY, gameId);
+        String poolKey = String.format(JACKPOT_CACHE_KEY, gameId);
+
+        cache.compareAndAdvance(generationKey, generation, CACHE_TTL, poolKey, resetDelta)
+            .exceptionally(ex -> {
+                logger.log(Level.WARNING, "Failed to publish jackpot claim for " + gameId, ex);
+                return false;
+            })
+            .thenAccept(advanced -> {
+                if (!advanced) {
+                    cache.delete(poolKey);
+                    cache.delete(generationKey);
+                }
+            });
+    }
+
+    /**
+     * Load the flushed pool and its generation in one read.
+     *
+     * @param gameId Game identifier
+     * @return CompletableFuture with the snapshot
+     */
+    private CompletableFuture<PoolSnapshot> loadSnapshot(String gameId) {
+        String sql = "SELECT pool_amount, generation FROM casino_jackpots WHERE game_id = ?";
+
+        return database.queryAsync(
+            sql,
+            rs -> {
+                try {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("No jackpot pool row for " + gameId);
+                    }
+                    return new PoolSnapshot(MinorUnits.roundToMinor(rs.getBigDecimal("pool_amount")), rs.getLong("generation"));
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to load jackpot pool", e);
+                }
+            },
+            gameId
+        );
+    }
+
+    /**
+     * Add to the shared pool (database, then cache).
+     *
+     * @param gameId Game identifier
+     * @param deltaMinor Amount to add in minor units (may be negative)
+     * @return CompletableFuture that fails if the database was not updated
+     */
+    private CompletableFuture<Void> adjustPool(String gameId, long deltaMinor) {
+        BigDecimal delta = MinorUnits.toBigDecimal(deltaMinor);
+        String sql = "UPDATE casino_jackpots SET pool_amount = pool_amount + ? WHERE game_id = ?";
+
+        return database.updateAsync(sql, delta, gameId)
+            .thenCompose(rows -> {
+                if (rows > 0) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                // No row yet - start from the seed amount
+                JackpotConfig config = configs.get(gameId);
+                Money seedAmount = config != null ? config.seedAmount() : DEFAULT_SEED;
+                return database.executeAsync(
+                    "INSERT INTO casino_jackpots (game_id, pool_amount) VALUES (?, ?)",
+                    gameId, seedAmount.plus(Money.ofMinor(deltaMinor)).toBigDecimal()
+                );
+            })
             .thenRun(() -> {
-                logger.fine("Updated jackpot pool for " + gameId + " to " + newPool);
+                // Only adjusts a cached pool; a missing one is reloaded from the database
+                cache.incrementByIfPresent(String.format(JACKPOT_CACHE_KEY, gameId), deltaMinor)
+                    .exceptionally(ex -> {
+                        logger.log(Level.WARNING, "Failed to update cached jackpot pool", ex);
+                        return Optional.empty();
+                    });
+                logger.fine("Adjusted jackpot pool for " + gameId + " by " + delta);
             });
     }
 
@@ -240,7 +567,7 @@ public class JackpotManager {
      * @param gameId Game identifier
      * @return CompletableFuture with pool amount
      */
-    private CompletableFuture<BigDecimal> loadPoolFromDatabase(String gameId) {
+    private CompletableFuture<Money> loadPoolFromDatabase(String gameId) {
         String sql = "SELECT pool_amount FROM casino_jackpots WHERE game_id = ?";
 
         return database.queryAsync(
@@ -248,16 +575,16 @@ public class JackpotManager {
             rs -> {
                 try {
                     if (rs.next()) {
-                        return rs.getBigDecimal("pool_amount");
+                        return Money.ofRounded(rs.getBigDecimal("pool_amount"));
                     }
                     // No record - initialize with seed amount
                     JackpotConfig config = configs.get(gameId);
-                    BigDecimal seedAmount = config != null ? config.seedAmount() : new BigDecimal("10000");
+                    Money seedAmount = config != null ? config.seedAmount() : DEFAULT_SEED;
                     initializePool(gameId, seedAmount);
                     return seedAmount;
                 } catch (SQLException e) {
                     logger.log(Level.WARNING, "Failed to load jackpot pool from DB", e);
-                    return BigDecimal.ZERO;
+                    return Money.ZERO;
                 }
             },
             gameId
@@ -270,9 +597,9 @@ public class JackpotManager {
      * @param gameId Game identifier
      * @param seedAmount Initial amount
      */
-    private void initializePool(String gameId, BigDecimal seedAmount) {
+    private void initializePool(String gameId, Money seedAmount) {
         String sql = "INSERT INTO casino_jackpots (game_id, pool_amount) VALUES (?, ?)";
-        database.executeAsync(sql, gameId, seedAmount)
+        database.executeAsync(sql, gameId, seedAmount.toBigDecimal())
             .exceptionally(ex -> {
                 logger.log(Level.WARNING, "Failed to initialize jackpot pool", ex);
                 return null;
@@ -283,37 +610,17 @@ public class JackpotManager {
      * Cache jackpot pool value.
      *
      * @param gameId Game identifier
-     * @param amount Pool amount
+     * @param minor Pool amount in minor units
      */
-    private void cachePool(String gameId, BigDecimal amount) {
+    private void cachePool(String gameId, long minor) {
         String cacheKey = String.format(JACKPOT_CACHE_KEY, gameId);
-        cache.set(cacheKey, amount.toPlainString(), CACHE_TTL)
+        cache.set(cacheKey, String.valueOf(minor), CACHE_TTL)
             .exceptionally(ex -> {
                 logger.log(Level.WARNING, "Failed to cache jackpot pool", ex);
                 return null;
             });
     }
 
-    /**
-     * Log jackpot win to database.
-     *
-     * @param gameId Game identifier
-     * @param winnerId Winner UUID
-     * @param amount Jackpot amount
-     */
-    private void logJackpotWin(String gameId, UUID winnerId, BigDecimal amount) {
-        String sql = """
-            INSERT INTO casino_jackpot_wins (game_id, winner_uuid, amount, won_at)
-            VALUES (?, ?, ?, CURRENT_TIMESTAMP)
-        """;
-
-        database.executeAsync(sql, gameId, winnerId.toString(), amount)
-            .exceptionally(ex -> {
-                logger.log(Level.WARNING, "Failed to log jackpot win", ex);
-                return null;
-            });
-    }
-
     /**
      * Select random winner from participants.
      *
@@ -338,8 +645,20 @@ public class JackpotManager {
             Map<String, Object> stats = new HashMap<>();
             stats.put("pool", pool);
             stats.put("triggerChance", config != null ? config.calculateTriggerChance(pool) : 0.0);
-            stats.put("minJackpot", config != null ? config.minJackpot() : BigDecimal.ZERO);
+            stats.put("minJackpot", config != null ? config.minJackpot() : Money.ZERO);
             return stats;
         });
     }
+
+    /**
+     * Flushed pool amount (minor units) and the generation it belongs to.
+     */
+    private record PoolSnapshot(long poolMinor, long generation) {
+    }
+
+    /**
+     * Recorded jackpot win awaiting (or retrying) payment.
+     */
+    private record PendingWin(long id, String gameId, UUID winnerId, Money amount) {
+    }
 }
@@ -1,5 +1,7 @@
 package vn.casino.game.taixiu;
 
+import vn.casino.economy.Money;
+
 import java.math.BigDecimal;
 import java.time.Duration;
 
@@ -11,8 +13,8 @@ public class TaiXiuConfig {
 
     private Duration roundDuration;
     private Duration bettingDuration;
-    private BigDecimal minBet;
-    private BigDecimal maxBet;
+    private Money minBet;
+    private Money maxBet;
     private double payoutMultiplier;
     private JackpotConfig jackpot;
     private int historyDisplayCount;
@@ -23,8 +25,8 @@ public class TaiXiuConfig {
     public TaiXiuConfig() {
         this.roundDuration = Duration.ofSeconds(60);
         this.bettingDuration = Duration.ofSeconds(50);
-        this.minBet = new BigDecimal("1000");
-        this.maxBet = new BigDecimal("10000000");
+        this.minBet = Money.ofMajor(1000);
+        this.maxBet = Money.ofMajor(10_000_000);
         this.payoutMultiplier = 1.98;
         this.jackpot = new JackpotConfig();
         this.historyDisplayCount = 20;
@@ -48,20 +50,20 @@ public class TaiXiuConfig {
         this.bettingDuration = bettingDuration;
     }
 
-    public BigDecimal getMinBet() {
+    public Money getMinBet() {
         return minBet;
     }
 
     public void setMinBet(BigDecimal minBet) {
-        this.minBet = minBet;
+        this.minBet = Money.ofRounded(minBet);
     }
 
-    public BigDecimal getMaxBet() {
+    public Money getMaxBet() {
         return maxBet;
     }
 
     public void setMaxBet(BigDecimal maxBet) {
-        this.maxBet = maxBet;
+        this.maxBet = Money.ofRounded(maxBet);
     }
 
     public double getPayoutMultiplier() {
@@ -1,16 +1,16 @@
 package vn.casino.game.taixiu;
 
 import org.bukkit.entity.Player;
+import vn.casino.core.metrics.MetricsRegistry;
 import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.Money;
 import vn.casino.game.engine.*;
 import vn.casino.game.jackpot.JackpotManager;
 
-import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 import java.util.logging.Logger;
 
 /**
@@ -31,7 +31,7 @@ import java.util.logging.Logger;
 public class TaiXiuGame extends AbstractGame {
 
     private final TaiXiuConfig config;
-    private final TaiXiuSoiCau soiCau;
+    private final TaiXiuHistory history;
     private GameSession currentSession;
 
     public TaiXiuGame(
@@ -39,11 +39,13 @@ public class TaiXiuGame extends AbstractGame {
         CurrencyManager currencyManager,
         JackpotManager jackpotManager,
         GameSessionManager sessionManager,
+        MetricsRegistry metrics,
         Logger logger
     ) {
-        super(currencyManager, jackpotManager, sessionManager, logger);
+        super(currencyManager, jackpotManager, sessionManager, metrics, logger);
         this.config = config;
-        this.soiCau = new TaiXiuSoiCau(config.getHistoryDisplayCount());
+        this.history = new TaiXiuHistory(
+            config.getHistoryDisplayCount(), config.getRoundDuration(), Clock.systemDefaultZone());
     }
 
     @Override
@@ -67,12 +69,12 @@ public class TaiXiuGame extends AbstractGame {
     }
 
     @Override
-    public BigDecimal getMinBet() {
+    public Money getMinBet() {
         return config.getMinBet();
     }
 
     @Override
-    public BigDecimal getMaxBet() {
+    public Money getMaxBet() {
         return config.getMaxBet();
     }
 
@@ -99,35 +101,36 @@ public class TaiXiuGame extends AbstractGame {
         long nonce = session.getId();
 
         // Generate 3 dice rolls using provably fair RNG
-        int dice1 = ProvablyFairRNG.rollDice(serverSeed, "dice1", nonce);
-        int dice2 = ProvablyFairRNG.rollDice(serverSeed, "dice2", nonce + 1);
-        int dice3 = ProvablyFairRNG.rollDice(serverSeed, "dice3", nonce + 2);
+        int[] dice;
+        if (session.getRngAlgorithm() == ProvablyFairRNG.ALGORITHM_LEGACY) {
+            // Legacy sessions rolled each die with its own client seed
+            dice = new int[] {
+                ProvablyFairRNG.rollDice(serverSeed, "dice1", nonce),
+                ProvablyFairRNG.rollDice(serverSeed, "dice2", nonce + 1),
+                ProvablyFairRNG.rollDice(serverSeed, "dice3", nonce + 2)
+            };
+        } else {
+            dice = ProvablyFairRNG.rollMultipleDice(session.getRngAlgorithm(), serverSeed, "dice", nonce, 3);
+        }
 
         // Create result
         TaiXiuResult result = new TaiXiuResult(
             serverSeed,
             session.getServerSeedHash(),
-            dice1,
-            dice2,
-            dice3
+            dice[0],
+            dice[1],
+            dice[2]
         );
 
         // Add to history
-        soiCau.addResult(result);
+        history.record(session.getId(), result);
 
         logger.info("Tai Xiu result: " + result.toGameResult().displayResult() +
-            " | Stats: " + soiCau.getStatsSummary());
+            " | Stats: " + getSoiCau().getStatsSummary());
 
         return result.toGameResult();
     }
 
-    @Override
-    public Map<UUID, BigDecimal> calculatePayouts(GameSession session, GameResult result) {
-        // Use default payout calculation from AbstractGame
-        // It checks result.isWinningBet() for each bet and applies multiplier
-        return super.calculatePayouts(session, result);
-    }
-
     @Override
     public void onSessionEnd(GameSession session, GameResult result) {
         // Call parent to handle payout distribution and jackpot
@@ -147,7 +150,7 @@ public class TaiXiuGame extends AbstractGame {
             "Tai Xiu session %d ended | Result: %s | Bets: %d | Total wagered: %s VND",
             session.getId(),
             result.displayResult(),
-            session.getAllBets().size(),
+            session.getBetCount(),
             formatCurrency(session.getTotalBetAmount())
         ));
 
@@ -167,7 +170,16 @@ public class TaiXiuGame extends AbstractGame {
      * @return Soi Cau instance
      */
     public TaiXiuSoiCau getSoiCau() {
-        return soiCau;
+        return history.getWindow(TaiXiuHistory.Window.RECENT);
+    }
+
+    /**
+     * Get result history across all Soi Cau windows.
+     *
+     * @return History instance
+     */
+    public TaiXiuHistory getHistory() {
+        return history;
     }
 
     /**
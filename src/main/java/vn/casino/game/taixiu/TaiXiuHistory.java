@@ -0,0 +1,251 @@
+package vn.casino.game.taixiu;
+
+import vn.casino.core.database.DatabaseProvider;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tai Xiu results over several rolling windows.
+ *
+ * Every window is a {@link TaiXiuSoiCau}, so each one keeps its statistics
+ * incrementally and publishes lock-free snapshots. The recent window feeds
+ * the Soi Cau board; the longer windows and today's results are there so
+ * long-range statistics never need a database scan.
+ *
+ * On startup {@link #warmUp} reloads the newest results from
+ * casino_game_sessions. Rounds recorded while the query runs are kept and
+ * replayed after the stored ones, skipping any the query already returned.
+ */
+public class TaiXiuHistory {
+
+    /**
+     * Tracked windows.
+     */
+    public enum Window {
+        /** Last {@code history.display-count} results, shown on the board */
+        RECENT,
+        /** Last 100 results */
+        LAST_100,
+        /** Last 1,000 results */
+        LAST_1000,
+        /** Results since midnight (server time zone) */
+        TODAY
+    }
+
+    private static final String LOAD_SQL = """
+        SELECT id, server_seed, server_seed_hash, result_raw_values, started_at, ended_at
+        FROM casino_game_sessions
+        WHERE game_id = ? AND result_raw_values IS NOT NULL
+        ORDER BY started_at DESC, id DESC
+        LIMIT ?
+    """;
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private static final TaiXiuSoiCau.Snapshot EMPTY = new TaiXiuSoiCau(1).getSnapshot();
+
+    private final Map<Window, TaiXiuSoiCau> windows = new EnumMap<>(Window.class);
+    private final Clock clock;
+
+    // Day of the today window and the epoch millis at which it goes stale
+    private LocalDate today;
+    private volatile long todayEndMillis;
+
+    // Rounds recorded while a warm-up query is in flight
+    private boolean warming;
+    private final List<StoredRound> recordedDuringWarmUp = new ArrayList<>();
+
+    /**
+     * Create history windows.
+     *
+     * @param recentSize Size of the recent (board) window
+     * @param roundDuration Round length, used to size the today window
+     * @param clock Clock for day boundaries
+     */
+    public TaiXiuHistory(int recentSize, Duration roundDuration, Clock clock) {
+        this.clock = clock;
+        long roundSeconds = Math.max(1, roundDuration.getSeconds());
+        windows.put(Window.RECENT, new TaiXiuSoiCau(recentSize));
+        windows.put(Window.LAST_100, new TaiXiuSoiCau(100));
+        windows.put(Window.LAST_1000, new TaiXiuSoiCau(1000));
+        windows.put(Window.TODAY, new TaiXiuSoiCau((int) (SECONDS_PER_DAY / roundSeconds) + 1));
+    }
+
+    /**
+     * Record a finished round in every window.
+     *
+     * @param sessionId Session the result belongs to
+     * @param result Round result
+     */
+    public synchronized void record(long sessionId, TaiXiuResult result) {
+        Instant at = clock.instant();
+        if (warming) {
+            recordedDuringWarmUp.add(new StoredRound(sessionId, result, at));
+        }
+        append(result, at);
+    }
+
+    /**
+     * Get the tracker behind a window.
+     * For {@link Window#TODAY} prefer {@link #getSnapshot}, which also
+     * handles midnight passing without a new round.
+     *
+     * @param window Window
+     * @return Window tracker
+     */
+    public TaiXiuSoiCau getWindow(Window window) {
+        return windows.get(window);
+    }
+
+    /**
+     * Get the latest snapshot of a window. Lock-free.
+     *
+     * @param window Window
+     * @return Latest snapshot
+     */
+    public TaiXiuSoiCau.Snapshot getSnapshot(Window window) {
+        if (window == Window.TODAY && clock.millis() >= todayEndMillis) {
+            return EMPTY;
+        }
+        return windows.get(window).getSnapshot();
+    }
+
+    /**
+     * Reload stored results so the windows are populated after a restart.
+     * Loads just enough rows to fill the largest window.
+     *
+     * @param database Database provider
+     * @param gameId Game whose sessions to load
+     * @return CompletableFuture with the number of stored results loaded
+     */
+    public CompletableFuture<Integer> warmUp(DatabaseProvider database, String gameId) {
+        int limit = 0;
+        for (TaiXiuSoiCau window : windows.values()) {
+            limit = Math.max(limit, window.getCapacity());
+        }
+
+        synchronized (this) {
+            warming = true;
+        }
+
+        return database.queryAsync(LOAD_SQL, this::readRounds, gameId, limit)
+            .thenApply(this::replay)
+            .whenComplete((loaded, ex) -> {
+                if (ex != null) {
+                    // Keep whatever was recorded live
+                    synchronized (this) {
+                        warming = false;
+                        recordedDuringWarmUp.clear();
+                    }
+                }
+            });
+    }
+
+    private synchronized int replay(List<StoredRound> newestFirst) {
+        Set<Long> live = new HashSet<>();
+        for (StoredRound round : recordedDuringWarmUp) {
+            live.add(round.sessionId());
+        }
+
+        for (TaiXiuSoiCau window : windows.values()) {
+            window.clear();
+        }
+        today = null;
+        todayEndMillis = 0;
+
+        int loaded = 0;
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            StoredRound round = newestFirst.get(i);
+            if (!live.contains(round.sessionId())) {
+                append(round.result(), round.at());
+                loaded++;
+            }
+        }
+        for (StoredRound round : recordedDuringWarmUp) {
+            append(round.result(), round.at());
+        }
+
+        recordedDuringWarmUp.clear();
+        warming = false;
+        return loaded;
+    }
+
+    private void append(TaiXiuResult result, Instant at) {
+        windows.get(Window.RECENT).addResult(result);
+        windows.get(Window.LAST_100).addResult(result);
+        windows.get(Window.LAST_1000).addResult(result);
+
+        LocalDate day = LocalDate.ofInstant(at, clock.getZone());
+        if (today == null || day.isAfter(today)) {
+            windows.get(Window.TODAY).clear();
+            today = day;
+            todayEndMillis = day.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        }
+        if (day.equals(today)) {
+            windows.get(Window.TODAY).addResult(result);
+        }
+    }
+
+    private List<StoredRound> readRounds(ResultSet rs) {
+        List<StoredRound> rounds = new ArrayList<>();
+        try {
+            while (rs.next()) {
+                int[] dice = parseDice(rs.getString("result_raw_values"));
+                if (dice == null) {
+                    continue;
+                }
+                Timestamp endedAt = rs.getTimestamp("ended_at");
+                Timestamp at = endedAt != null ? endedAt : rs.getTimestamp("started_at");
+                rounds.add(new StoredRound(
+                    rs.getLong("id"),
+                    new TaiXiuResult(rs.getString("server_seed"), rs.getString("server_seed_hash"),
+                        dice[0], dice[1], dice[2]),
+                    at != null ? at.toInstant() : Instant.EPOCH
+                ));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read Tai Xiu history", e);
+        }
+        return rounds;
+    }
+
+    /**
+     * Parse stored raw values ("d1,d2,d3").
+     *
+     * @return Dice values, or null if the row is not a valid roll
+     */
+    private static int[] parseDice(String rawValues) {
+        String[] parts = rawValues.split(",");
+        if (parts.length != 3) {
+            return null;
+        }
+        int[] dice = new int[3];
+        try {
+            for (int i = 0; i < 3; i++) {
+                dice[i] = Integer.parseInt(parts[i].trim());
+                if (dice[i] < 1 || dice[i] > 6) {
+                    return null;
+                }
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return dice;
+    }
+
+    private record StoredRound(long sessionId, TaiXiuResult result, Instant at) {
+    }
+}
@@ -1,8 +1,6 @@
 package vn.casino.game.taixiu;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Tai Xiu Soi Cau (Pattern Analysis) tracker.
@@ -13,20 +11,60 @@ import java.util.List;
  * - Streak detection (consecutive TAI/XIU wins)
  * - Win percentage calculation
  * - Triple occurrence tracking
+ * - Dice total histogram
+ *
+ * Results are kept as packed dice bytes in a fixed-capacity ring. Counts,
+ * streaks and the total histogram are updated incrementally as results enter
+ * and leave the window, and every update publishes an immutable
+ * {@link Snapshot}. Readers never lock, so the GUI and placeholders can poll
+ * it every tick.
  */
 public class TaiXiuSoiCau {
 
-    private final List<TaiXiuResult> history;
+    private static final int TAI = 0;
+    private static final int XIU = 1;
+    private static final int TRIPLE = 2;
+
+    private static final int MIN_TOTAL = 3;
+    private static final int MAX_TOTAL = 18;
+
     private final int maxSize;
 
+    // Packed dice, oldest at head
+    private final byte[] ring;
+    private int head;
+    private int size;
+
+    private final int[] kindCounts = new int[3];
+    private final int[] totalCounts = new int[MAX_TOTAL + 1];
+
+    // Run-length view of the window: one entry per run of equal outcomes
+    private final byte[] runKinds;
+    private final int[] runLengths;
+    private long firstRun;
+    private long lastRun = -1;
+
+    // Per outcome, runs in the window that can still be the longest
+    private final RunMax[] longest;
+
+    private volatile Snapshot snapshot;
+    private volatile TaiXiuResult lastResult;
+
     /**
      * Create new Soi Cau tracker.
      *
      * @param maxSize Maximum number of results to track
      */
     public TaiXiuSoiCau(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive");
+        }
         this.maxSize = maxSize;
-        this.history = new ArrayList<>(maxSize);
+        this.ring = new byte[maxSize];
+        this.runKinds = new byte[maxSize];
+        this.runLengths = new int[maxSize];
+        this.longest = new RunMax[] { new RunMax(), new RunMax(), new RunMax() };
+        this.snapshot = publish();
     }
 
     /**
@@ -39,38 +77,41 @@ public class TaiXiuSoiCau {
         if (result == null) {
             throw new IllegalArgumentException("Result cannot be null");
         }
+        byte packed = pack(result.getDice1(), result.getDice2(), result.getDice3());
 
-        // Add to beginning of list (most recent first)
-        history.add(0, result);
-
-        // Remove oldest if exceeded max size
-        if (history.size() > maxSize) {
-            history.remove(history.size() - 1);
+        if (size == maxSize) {
+            evictOldest();
         }
-    }
 
-    /**
-     * Get last N results.
-     *
-     * @param n Number of results to retrieve
-     * @return List of results (most recent first)
-     */
-    public synchronized List<TaiXiuResult> getLastN(int n) {
-        if (n <= 0) {
-            return Collections.emptyList();
+        ring[(head + size) % maxSize] = packed;
+        size++;
+
+        int kind = kindOf(packed);
+        kindCounts[kind]++;
+        totalCounts[totalOf(packed)]++;
+
+        if (lastRun >= firstRun && runKinds[runSlot(lastRun)] == kind) {
+            runLengths[runSlot(lastRun)]++;
+            longest[kind].grew(lastRun);
+        } else {
+            lastRun++;
+            runKinds[runSlot(lastRun)] = (byte) kind;
+            runLengths[runSlot(lastRun)] = 1;
+            longest[kind].added(lastRun);
         }
 
-        int count = Math.min(n, history.size());
-        return Collections.unmodifiableList(history.subList(0, count));
+        lastResult = result;
+        snapshot = publish();
     }
 
     /**
-     * Get all tracked results.
+     * Get the current statistics snapshot.
+     * Lock-free; the snapshot never changes once published.
      *
-     * @return List of all results (most recent first)
+     * @return Latest snapshot
      */
-    public synchronized List<TaiXiuResult> getAllResults() {
-        return Collections.unmodifiableList(new ArrayList<>(history));
+    public Snapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
@@ -79,16 +120,8 @@ public class TaiXiuSoiCau {
      *
      * @return Current TAI streak count
      */
-    public synchronized int getTaiStreak() {
-        int streak = 0;
-        for (TaiXiuResult result : history) {
-            if (result.isTai()) {
-                streak++;
-            } else {
-                break;
-            }
-        }
-        return streak;
+    public int getTaiStreak() {
+        return snapshot.statistics().getTaiStreak();
     }
 
     /**
@@ -97,16 +130,8 @@ public class TaiXiuSoiCau {
      *
      * @return Current XIU streak count
      */
-    public synchronized int getXiuStreak() {
-        int streak = 0;
-        for (TaiXiuResult result : history) {
-            if (result.isXiu()) {
-                streak++;
-            } else {
-                break;
-            }
-        }
-        return streak;
+    public int getXiuStreak() {
+        return snapshot.statistics().getXiuStreak();
     }
 
     /**
@@ -115,25 +140,8 @@ public class TaiXiuSoiCau {
      *
      * @return TAI win percentage (0.0 to 100.0)
      */
-    public synchronized double getTaiPercentage() {
-        if (history.isEmpty()) {
-            return 0.0;
-        }
-
-        long taiCount = history.stream()
-            .filter(r -> !r.isTriple())
-            .filter(TaiXiuResult::isTai)
-            .count();
-
-        long nonTripleCount = history.stream()
-            .filter(r -> !r.isTriple())
-            .count();
-
-        if (nonTripleCount == 0) {
-            return 0.0;
-        }
-
-        return (taiCount * 100.0) / nonTripleCount;
+    public double getTaiPercentage() {
+        return snapshot.statistics().getTaiPercentage();
     }
 
     /**
@@ -142,25 +150,8 @@ public class TaiXiuSoiCau {
      *
      * @return XIU win percentage (0.0 to 100.0)
      */
-    public synchronized double getXiuPercentage() {
-        if (history.isEmpty()) {
-            return 0.0;
-        }
-
-        long xiuCount = history.stream()
-            .filter(r -> !r.isTriple())
-            .filter(TaiXiuResult::isXiu)
-            .count();
-
-        long nonTripleCount = history.stream()
-            .filter(r -> !r.isTriple())
-            .count();
-
-        if (nonTripleCount == 0) {
-            return 0.0;
-        }
-
-        return (xiuCount * 100.0) / nonTripleCount;
+    public double getXiuPercentage() {
+        return snapshot.statistics().getXiuPercentage();
     }
 
     /**
@@ -168,16 +159,8 @@ public class TaiXiuSoiCau {
      *
      * @return Triple percentage (0.0 to 100.0)
      */
-    public synchronized double getTriplePercentage() {
-        if (history.isEmpty()) {
-            return 0.0;
-        }
-
-        long tripleCount = history.stream()
-            .filter(TaiXiuResult::isTriple)
-            .count();
-
-        return (tripleCount * 100.0) / history.size();
+    public double getTriplePercentage() {
+        return snapshot.statistics().getTriplePercentage();
     }
 
     /**
@@ -185,15 +168,34 @@ public class TaiXiuSoiCau {
      *
      * @return Total result count
      */
-    public synchronized int getResultCount() {
-        return history.size();
+    public int getResultCount() {
+        return snapshot.size();
+    }
+
+    /**
+     * Get the maximum number of results kept.
+     *
+     * @return Window capacity
+     */
+    public int getCapacity() {
+        return maxSize;
     }
 
     /**
      * Clear all history.
      */
     public synchronized void clear() {
-        history.clear();
+        head = 0;
+        size = 0;
+        Arrays.fill(kindCounts, 0);
+        Arrays.fill(totalCounts, 0);
+        firstRun = 0;
+        lastRun = -1;
+        for (RunMax runMax : longest) {
+            runMax.clear();
+        }
+        lastResult = null;
+        snapshot = publish();
     }
 
     /**
@@ -201,8 +203,8 @@ public class TaiXiuSoiCau {
      *
      * @return true if no results tracked
      */
-    public synchronized boolean isEmpty() {
-        return history.isEmpty();
+    public boolean isEmpty() {
+        return snapshot.size() == 0;
     }
 
     /**
@@ -210,8 +212,8 @@ public class TaiXiuSoiCau {
      *
      * @return Most recent result or null if empty
      */
-    public synchronized TaiXiuResult getLastResult() {
-        return history.isEmpty() ? null : history.get(0);
+    public TaiXiuResult getLastResult() {
+        return lastResult;
     }
 
     /**
@@ -219,18 +221,20 @@ public class TaiXiuSoiCau {
      *
      * @return Statistics summary string
      */
-    public synchronized String getStatsSummary() {
-        if (history.isEmpty()) {
+    public String getStatsSummary() {
+        Snapshot current = snapshot;
+        if (current.size() == 0) {
             return "No data";
         }
 
+        Statistics stats = current.statistics();
         return String.format(
             "Results: %d | Tài: %.1f%% | Xỉu: %.1f%% | Ba: %.1f%% | Streak: %s",
-            getResultCount(),
-            getTaiPercentage(),
-            getXiuPercentage(),
-            getTriplePercentage(),
-            getCurrentStreak()
+            stats.getTotalCount(),
+            stats.getTaiPercentage(),
+            stats.getXiuPercentage(),
+            stats.getTriplePercentage(),
+            describeStreak(stats)
         );
     }
 
@@ -239,78 +243,219 @@ public class TaiXiuSoiCau {
      *
      * @return Streak description (e.g., "Tài x5", "Xỉu x3", "None")
      */
-    private String getCurrentStreak() {
-        int taiStreak = getTaiStreak();
-        int xiuStreak = getXiuStreak();
-
-        if (taiStreak > 0) {
-            return "Tài x" + taiStreak;
-        } else if (xiuStreak > 0) {
-            return "Xỉu x" + xiuStreak;
+    private static String describeStreak(Statistics stats) {
+        if (stats.getTaiStreak() > 0) {
+            return "Tài x" + stats.getTaiStreak();
+        } else if (stats.getXiuStreak() > 0) {
+            return "Xỉu x" + stats.getXiuStreak();
         } else {
             return "None";
         }
     }
 
-    /**
-     * Get full history.
-     *
-     * @return List of all results (most recent first)
-     */
-    public synchronized List<TaiXiuResult> getHistory() {
-        return getAllResults();
-    }
-
     /**
      * Get statistics data.
      *
      * @return Statistics object
      */
-    public synchronized Statistics getStatistics() {
-        // Calculate counts
-        long taiCount = history.stream().filter(r -> !r.isTriple()).filter(TaiXiuResult::isTai).count();
-        long xiuCount = history.stream().filter(r -> !r.isTriple()).filter(TaiXiuResult::isXiu).count();
-        long tripleCount = history.stream().filter(TaiXiuResult::isTriple).count();
-
-        // Calculate longest streaks
-        int longestTaiStreak = calculateLongestStreak(true);
-        int longestXiuStreak = calculateLongestStreak(false);
-
-        return new Statistics(
-            getTaiPercentage(),
-            getXiuPercentage(),
-            getTriplePercentage(),
-            getTaiStreak(),
-            getXiuStreak(),
-            getResultCount(),
-            (int) taiCount,
-            (int) xiuCount,
-            (int) tripleCount,
-            longestTaiStreak,
-            longestXiuStreak
+    public Statistics getStatistics() {
+        return snapshot.statistics();
+    }
+
+    private void evictOldest() {
+        byte packed = ring[head];
+        head = (head + 1) % maxSize;
+        size--;
+
+        int kind = kindOf(packed);
+        kindCounts[kind]--;
+        totalCounts[totalOf(packed)]--;
+
+        int slot = runSlot(firstRun);
+        runLengths[slot]--;
+        longest[kind].shrunk(firstRun);
+        if (runLengths[slot] == 0) {
+            firstRun++;
+        }
+    }
+
+    private Snapshot publish() {
+        byte[] recentFirst = new byte[size];
+        for (int i = 0; i < size; i++) {
+            recentFirst[i] = ring[(head + size - 1 - i) % maxSize];
+        }
+
+        int tai = kindCounts[TAI];
+        int xiu = kindCounts[XIU];
+        int triple = kindCounts[TRIPLE];
+        int nonTriple = tai + xiu;
+
+        int currentKind = size > 0 ? runKinds[runSlot(lastRun)] : -1;
+        int currentLength = size > 0 ? runLengths[runSlot(lastRun)] : 0;
+
+        Statistics statistics = new Statistics(
+            nonTriple == 0 ? 0.0 : (tai * 100.0) / nonTriple,
+            nonTriple == 0 ? 0.0 : (xiu * 100.0) / nonTriple,
+            size == 0 ? 0.0 : (triple * 100.0) / size,
+            currentKind == TAI ? currentLength : 0,
+            currentKind == XIU ? currentLength : 0,
+            size,
+            tai,
+            xiu,
+            triple,
+            longest[TAI].max(),
+            longest[XIU].max()
         );
+        return new Snapshot(recentFirst, totalCounts.clone(), statistics);
+    }
+
+    private int runSlot(long run) {
+        return (int) (run % maxSize);
+    }
+
+    private static byte pack(int dice1, int dice2, int dice3) {
+        if (dice1 < 1 || dice1 > 6 || dice2 < 1 || dice2 > 6 || dice3 < 1 || dice3 > 6) {
+            throw new IllegalArgumentException("Dice values must be 1-6");
+        }
+        // Base 6: 216 combinations fit in one unsigned byte
+        return (byte) ((dice1 - 1) * 36 + (dice2 - 1) * 6 + (dice3 - 1));
+    }
+
+    private static int dice1Of(byte packed) {
+        return (packed & 0xFF) / 36 + 1;
+    }
+
+    private static int dice2Of(byte packed) {
+        return (packed & 0xFF) / 6 % 6 + 1;
+    }
+
+    private static int dice3Of(byte packed) {
+        return (packed & 0xFF) % 6 + 1;
+    }
+
+    private static int totalOf(byte packed) {
+        return dice1Of(packed) + dice2Of(packed) + dice3Of(packed);
+    }
+
+    private static int kindOf(byte packed) {
+        int d1 = dice1Of(packed);
+        if (d1 == dice2Of(packed) && d1 == dice3Of(packed)) {
+            return TRIPLE;
+        }
+        return totalOf(packed) >= 11 ? TAI : XIU;
     }
 
     /**
-     * Calculate longest streak for TAI or XIU.
-     *
-     * @param isTai true for TAI, false for XIU
-     * @return Longest streak count
+     * Sliding-window maximum over the runs of one outcome.
+     * Holds run ids whose lengths strictly decrease from front to back; a
+     * run shadowed by a later, at least as long run of the same outcome is
+     * dropped because it leaves the window first and can only shrink.
+     * Every operation is amortized O(1).
      */
-    private int calculateLongestStreak(boolean isTai) {
-        int maxStreak = 0;
-        int currentStreak = 0;
-
-        for (TaiXiuResult result : history) {
-            if (isTai ? result.isTai() : result.isXiu()) {
-                currentStreak++;
-                maxStreak = Math.max(maxStreak, currentStreak);
-            } else {
-                currentStreak = 0;
+    private final class RunMax {
+        private final long[] runs = new long[maxSize];
+        private int front;
+        private int count;
+
+        void added(long run) {
+            dropShorterThan(runLengths[runSlot(run)]);
+            runs[(front + count) % maxSize] = run;
+            count++;
+        }
+
+        void grew(long run) {
+            // The growing run is always the newest, so it sits at the back
+            count--;
+            added(run);
+        }
+
+        void shrunk(long run) {
+            if (count == 0 || runs[front] != run) {
+                return;
+            }
+            int length = runLengths[runSlot(run)];
+            if (length == 0 || (count > 1 && runLengths[runSlot(runs[(front + 1) % maxSize])] >= length)) {
+                front = (front + 1) % maxSize;
+                count--;
+            }
+        }
+
+        int max() {
+            return count == 0 ? 0 : runLengths[runSlot(runs[front])];
+        }
+
+        void clear() {
+            front = 0;
+            count = 0;
+        }
+
+        private void dropShorterThan(int length) {
+            while (count > 0 && runLengths[runSlot(runs[(front + count - 1) % maxSize])] <= length) {
+                count--;
             }
         }
+    }
+
+    /**
+     * Immutable view of the history window at one point in time.
+     * Index 0 is the most recent result.
+     */
+    public static final class Snapshot {
+        private final byte[] dice;
+        private final int[] totalCounts;
+        private final Statistics statistics;
+
+        private Snapshot(byte[] dice, int[] totalCounts, Statistics statistics) {
+            this.dice = dice;
+            this.totalCounts = totalCounts;
+            this.statistics = statistics;
+        }
+
+        public int size() {
+            return dice.length;
+        }
+
+        public int getDice1(int index) {
+            return dice1Of(dice[index]);
+        }
+
+        public int getDice2(int index) {
+            return dice2Of(dice[index]);
+        }
 
-        return maxStreak;
+        public int getDice3(int index) {
+            return dice3Of(dice[index]);
+        }
+
+        public int getTotal(int index) {
+            return totalOf(dice[index]);
+        }
+
+        public boolean isTai(int index) {
+            return kindOf(dice[index]) == TAI;
+        }
+
+        public boolean isXiu(int index) {
+            return kindOf(dice[index]) == XIU;
+        }
+
+        public boolean isTriple(int index) {
+            return kindOf(dice[index]) == TRIPLE;
+        }
+
+        /**
+         * Get how often a dice total appears in the window.
+         *
+         * @param total Dice total (3-18)
+         * @return Occurrences, or 0 for totals outside 3-18
+         */
+        public int getTotalCount(int total) {
+            return total < MIN_TOTAL || total > MAX_TOTAL ? 0 : totalCounts[total];
+        }
+
+        public Statistics statistics() {
+            return statistics;
+        }
     }
 
     /**
@@ -1,11 +1,12 @@
 package vn.casino.game.xocdia;
 
 import org.bukkit.entity.Player;
+import vn.casino.core.metrics.MetricsRegistry;
 import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.Money;
 import vn.casino.game.engine.*;
 import vn.casino.game.jackpot.JackpotManager;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.*;
 import java.util.logging.Logger;
@@ -27,11 +28,12 @@ public class XocDiaGame extends AbstractGame {
         CurrencyManager currencyManager,
         JackpotManager jackpotManager,
         GameSessionManager sessionManager,
+        MetricsRegistry metrics,
         Logger logger,
         XocDiaConfig config,
         XocDiaRoomManager roomManager
     ) {
-        super(currencyManager, jackpotManager, sessionManager, logger);
+        super(currencyManager, jackpotManager, sessionManager, metrics, logger);
         this.config = config;
         this.roomManager = roomManager;
     }
@@ -57,21 +59,21 @@ public class XocDiaGame extends AbstractGame {
     }
 
     @Override
-    public BigDecimal getMinBet() {
+    public Money getMinBet() {
         // Min bet varies by room, return lowest
         return roomManager.getAllRooms().stream()
             .map(XocDiaRoom::getMinBet)
-            .min(BigDecimal::compareTo)
-            .orElse(new BigDecimal("1000"));
+            .min(Money::compareTo)
+            .orElse(Money.ofMajor(1000));
     }
 
     @Override
-    public BigDecimal getMaxBet() {
+    public Money getMaxBet() {
         // Max bet varies by room, return highest
         return roomManager.getAllRooms().stream()
             .map(XocDiaRoom::getMaxBet)
-            .max(BigDecimal::compareTo)
-            .orElse(new BigDecimal("100000000"));
+            .max(Money::compareTo)
+            .orElse(Money.ofMajor(100_000_000));
     }
 
     @Override
@@ -81,47 +83,49 @@ public class XocDiaGame extends AbstractGame {
 
     @Override
     public void onSessionStart(GameSession session) {
+        roomManager.setRoomSession(session.getRoom(), session);
         logger.info("Xoc Dia session " + session.getId() + " started for room: " + session.getRoom());
     }
 
     @Override
-    public boolean onBet(Player player, BetType betType, BigDecimal amount) {
-        UUID playerId = player.getUniqueId();
+    protected GameSession getBetSession(UUID playerId) {
+        String roomId = roomManager.getPlayerRoom(playerId);
+        return roomId != null ? roomManager.getRoomSession(roomId) : null;
+    }
 
+    @Override
+    protected BetOutcome validateBet(UUID playerId, GameSession session, Money amount) {
         // Check if player is in a room
         String roomId = roomManager.getPlayerRoom(playerId);
         if (roomId == null) {
-            player.sendMessage("§cYou must join a room first! Use /casino xocdia join <room>");
-            return false;
+            return BetOutcome.rejected(BetOutcome.Status.NOT_IN_ROOM,
+                "§cYou must join a room first! Use /casino xocdia join <room>");
         }
 
         // Get room and validate bet limits
         XocDiaRoom room = roomManager.getRoom(roomId);
         if (room == null) {
-            player.sendMessage("§cRoom not found!");
-            return false;
+            return BetOutcome.rejected(BetOutcome.Status.NOT_IN_ROOM, "§cRoom not found!");
         }
 
         // Validate bet amount against room limits
-        if (amount.compareTo(room.getMinBet()) < 0) {
-            player.sendMessage("§cMinimum bet for this room is " + formatCurrency(room.getMinBet()));
-            return false;
+        if (amount.isLessThan(room.getMinBet())) {
+            return BetOutcome.rejected(BetOutcome.Status.INVALID_AMOUNT,
+                "§cMinimum bet for this room is " + formatCurrency(room.getMinBet()));
         }
 
-        if (amount.compareTo(room.getMaxBet()) > 0) {
-            player.sendMessage("§cMaximum bet for this room is " + formatCurrency(room.getMaxBet()));
-            return false;
+        if (amount.isGreaterThan(room.getMaxBet())) {
+            return BetOutcome.rejected(BetOutcome.Status.INVALID_AMOUNT,
+                "§cMaximum bet for this room is " + formatCurrency(room.getMaxBet()));
         }
 
-        // Get session for this room
-        GameSession session = room.getCurrentSession();
         if (session == null || session.getState() != GameSessionState.BETTING) {
-            player.sendMessage("§cBetting is not currently active in this room!");
-            return false;
+            return BetOutcome.rejected(BetOutcome.Status.BETTING_CLOSED,
+                "§cBetting is not currently active in this room!");
         }
 
-        // Use parent class bet validation and processing
-        return super.onBet(player, betType, amount);
+        // Use parent class bet validation
+        return super.validateBet(playerId, session, amount);
     }
 
     @Override
@@ -130,10 +134,10 @@ public class XocDiaGame extends AbstractGame {
         long nonce = session.getId();
 
         // Generate 4 disc results (0 = white, 1 = red)
+        int[] values = ProvablyFairRNG.generateResults(session.getRngAlgorithm(), serverSeed, "disc", nonce, 2, 4);
         boolean[] discs = new boolean[4];
         for (int i = 0; i < 4; i++) {
-            int value = ProvablyFairRNG.generateResult(serverSeed, "disc", nonce + i, 2);
-            discs[i] = (value == 1); // true = red
+            discs[i] = (values[i] == 1); // true = red
         }
 
         XocDiaResult xocDiaResult = new XocDiaResult(serverSeed, session.getServerSeedHash(), discs);
@@ -173,7 +177,7 @@ public class XocDiaGame extends AbstractGame {
      * @param roomId Room ID
      * @return Min bet for room
      */
-    public BigDecimal getMinBetForRoom(String roomId) {
+    public Money getMinBetForRoom(String roomId) {
         XocDiaRoom room = roomManager.getRoom(roomId);
         return room != null ? room.getMinBet() : getMinBet();
     }
@@ -184,7 +188,7 @@ public class XocDiaGame extends AbstractGame {
      * @param roomId Room ID
      * @return Max bet for room
      */
-    public BigDecimal getMaxBetForRoom(String roomId) {
+    public Money getMaxBetForRoom(String roomId) {
         XocDiaRoom room = roomManager.getRoom(roomId);
         return room != null ? room.getMaxBet() : getMaxBet();
     }
@@ -209,7 +213,7 @@ public class XocDiaGame extends AbstractGame {
         try {
             boolean hasBalance = room.hasMinBalance(playerId, currencyManager).join();
             if (!hasBalance) {
-                BigDecimal required = room.getMinBet().multiply(BigDecimal.TEN);
+                Money required = room.getMinBet().times(10);
                 player.sendMessage("§cYou need at least " + formatCurrency(required) + " to join this room!");
                 return false;
             }
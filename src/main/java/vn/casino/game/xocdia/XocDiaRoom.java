@@ -1,6 +1,7 @@
 package vn.casino.game.xocdia;
 
 import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.Money;
 import vn.casino.game.engine.GameSession;
 
 import java.math.BigDecimal;
@@ -17,8 +18,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class XocDiaRoom {
     private final String id;
     private final String displayName;
-    private final BigDecimal minBet;
-    private final BigDecimal maxBet;
+    private final Money minBet;
+    private final Money maxBet;
     private final Set<UUID> players;
     private GameSession currentSession;
 
@@ -46,8 +47,8 @@ public class XocDiaRoom {
 
         this.id = id;
         this.displayName = displayName;
-        this.minBet = minBet;
-        this.maxBet = maxBet;
+        this.minBet = Money.of(minBet);
+        this.maxBet = Money.of(maxBet);
         this.players = ConcurrentHashMap.newKeySet();
         this.currentSession = null;
     }
@@ -107,8 +108,8 @@ public class XocDiaRoom {
      * @return CompletableFuture with true if player can afford
      */
     public CompletableFuture<Boolean> hasMinBalance(UUID playerId, CurrencyManager currencyManager) {
-        BigDecimal requiredBalance = minBet.multiply(BigDecimal.TEN);
-        return currencyManager.hasBalance(playerId, requiredBalance);
+        Money requiredBalance = minBet.times(10);
+        return currencyManager.hasBalance(playerId, requiredBalance.toBigDecimal());
     }
 
     /**
@@ -138,11 +139,11 @@ public class XocDiaRoom {
         return displayName;
     }
 
-    public BigDecimal getMinBet() {
+    public Money getMinBet() {
         return minBet;
     }
 
-    public BigDecimal getMaxBet() {
+    public Money getMaxBet() {
         return maxBet;
     }
 }
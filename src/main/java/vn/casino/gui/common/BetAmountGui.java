@@ -5,12 +5,12 @@ import com.github.stefvanschie.inventoryframework.pane.StaticPane;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import vn.casino.core.scheduler.FoliaScheduler;
+import vn.casino.economy.Money;
 import vn.casino.gui.framework.BaseGameGui;
 import vn.casino.gui.framework.GuiButton;
 import vn.casino.gui.framework.GuiManager;
 import vn.casino.i18n.MessageManager;
 
-import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.util.List;
 import java.util.Locale;
@@ -21,14 +21,14 @@ import java.util.Locale;
  */
 public class BetAmountGui extends ChestGui {
 
-    private static final BigDecimal[] PRESETS = {
-        new BigDecimal("1000"),
-        new BigDecimal("5000"),
-        new BigDecimal("10000"),
-        new BigDecimal("50000"),
-        new BigDecimal("100000"),
-        new BigDecimal("500000"),
-        new BigDecimal("1000000")
+    private static final Money[] PRESETS = {
+        Money.ofMajor(1_000),
+        Money.ofMajor(5_000),
+        Money.ofMajor(10_000),
+        Money.ofMajor(50_000),
+        Money.ofMajor(100_000),
+        Money.ofMajor(500_000),
+        Money.ofMajor(1_000_000)
     };
 
     private static final NumberFormat CURRENCY_FORMAT = NumberFormat.getInstance(new Locale("vi", "VN"));
@@ -57,18 +57,18 @@ public class BetAmountGui extends ChestGui {
     private void setupLayout() {
         StaticPane pane = new StaticPane(0, 0, 9, 3);
 
-        BigDecimal minBet = parentGui.getGame().getMinBet();
-        BigDecimal maxBet = parentGui.getGame().getMaxBet();
+        Money minBet = parentGui.getGame().getMinBet();
+        Money maxBet = parentGui.getGame().getMaxBet();
 
         // Add preset amount buttons
         int slot = 0;
-        for (BigDecimal amount : PRESETS) {
+        for (Money amount : PRESETS) {
             // Skip amounts outside min/max range
-            if (amount.compareTo(minBet) < 0 || amount.compareTo(maxBet) > 0) {
+            if (amount.isLessThan(minBet) || amount.isGreaterThan(maxBet)) {
                 continue;
             }
 
-            String formatted = CURRENCY_FORMAT.format(amount);
+            String formatted = CURRENCY_FORMAT.format(amount.toBigDecimal());
             Material material = getMaterialForAmount(amount);
 
             pane.addItem(GuiButton.create(
@@ -97,7 +97,7 @@ public class BetAmountGui extends ChestGui {
         ).toGuiItem(), 8, 2);
 
         // Current selection display
-        String currentFormatted = CURRENCY_FORMAT.format(parentGui.getSelectedBetAmount());
+        String currentFormatted = CURRENCY_FORMAT.format(parentGui.getSelectedBetAmount().toBigDecimal());
         pane.addItem(GuiButton.createDisplay(
             Material.GOLD_BLOCK,
             "<gold>Hiện tại: " + currentFormatted + "</gold>",
@@ -112,10 +112,10 @@ public class BetAmountGui extends ChestGui {
     /**
      * Get appropriate material based on amount.
      */
-    private Material getMaterialForAmount(BigDecimal amount) {
-        if (amount.compareTo(new BigDecimal("100000")) >= 0) {
+    private Material getMaterialForAmount(Money amount) {
+        if (amount.compareTo(Money.ofMajor(100_000)) >= 0) {
             return Material.GOLD_INGOT;
-        } else if (amount.compareTo(new BigDecimal("10000")) >= 0) {
+        } else if (amount.compareTo(Money.ofMajor(10_000)) >= 0) {
             return Material.GOLD_NUGGET;
         } else {
             return Material.COPPER_INGOT;
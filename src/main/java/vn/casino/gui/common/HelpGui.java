@@ -60,8 +60,8 @@ public class HelpGui extends ChestGui {
             Material.GOLD_INGOT,
             "<yellow>Giới hạn cược</yellow>",
             List.of(
-                "<gray>Tối thiểu: " + game.getMinBet() + " VND</gray>",
-                "<gray>Tối đa: " + game.getMaxBet() + " VND</gray>"
+                "<gray>Tối thiểu: " + game.getMinBet().toBigDecimal().toBigInteger() + " VND</gray>",
+                "<gray>Tối đa: " + game.getMaxBet().toBigDecimal().toBigInteger() + " VND</gray>"
             )
         ).toGuiItem(), 2, 3);
 
@@ -1,7 +1,7 @@
 package vn.casino.gui.common;
 
+import com.github.stefvanschie.inventoryframework.gui.GuiItem;
 import com.github.stefvanschie.inventoryframework.gui.type.ChestGui;
-import com.github.stefvanschie.inventoryframework.pane.PaginatedPane;
 import com.github.stefvanschie.inventoryframework.pane.StaticPane;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -17,16 +17,23 @@ import java.text.NumberFormat;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Paginated transaction history GUI.
- * Shows last 45 transactions with navigation.
+ * Pages are fetched lazily with keyset pagination, so opening history costs
+ * one page query regardless of account age. The next page is prefetched
+ * and a few recent pages are kept for back navigation.
  */
 public class HistoryGui extends ChestGui {
 
     private static final int PAGE_SIZE = 45; // 9x5 items per page
+    private static final int PAGE_CACHE_SIZE = 3;
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
     private static final NumberFormat CURRENCY_FORMAT = NumberFormat.getInstance(new Locale("vi", "VN"));
 
@@ -35,6 +42,23 @@ public class HistoryGui extends ChestGui {
     private final GuiManager guiManager;
     private final FoliaScheduler scheduler;
 
+    private final StaticPane content = new StaticPane(0, 0, 9, 5);
+    private final StaticPane navBar = new StaticPane(0, 5, 9, 1);
+
+    // Keyset cursor per page: smallest ID of the previous page (null for the first page).
+    // Only touched on the player's entity thread.
+    private final List<Long> cursors = new ArrayList<>();
+    private final Map<Integer, CompletableFuture<List<Transaction>>> pageCache =
+        new LinkedHashMap<>(PAGE_CACHE_SIZE * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<List<Transaction>>> eldest) {
+                return size() > PAGE_CACHE_SIZE;
+            }
+        };
+
+    private int currentPage;
+    private boolean loading;
+
     public HistoryGui(
         Player player,
         TransactionRepository transactionRepository,
@@ -52,78 +76,143 @@ public class HistoryGui extends ChestGui {
     }
 
     private void setupLayout() {
-        // Load transactions asynchronously
-        transactionRepository.findByPlayer(player.getUniqueId(), PAGE_SIZE)
-            .thenAccept(transactions -> {
-                scheduler.runAtEntity(player, () -> {
-                    PaginatedPane pages = new PaginatedPane(0, 0, 9, 5);
-
-                    // Convert transactions to GUI items
-                    transactions.forEach(tx -> {
-                        pages.addPane(0, createTransactionItem(tx));
-                    });
-
-                    // Navigation bar
-                    StaticPane navBar = new StaticPane(0, 5, 9, 1);
-
-                    // Previous page button
-                    navBar.addItem(GuiButton.create(
-                        Material.ARROW,
-                        "<yellow>← Trang trước</yellow>",
-                        List.of("<gray>Click để xem trang trước</gray>"),
-                        e -> {
-                            if (pages.getPage() > 0) {
-                                pages.setPage(pages.getPage() - 1);
-                                update();
-                            }
-                        }
-                    ).toGuiItem(), 0, 0);
-
-                    // Page indicator
-                    navBar.addItem(GuiButton.createDisplay(
-                        Material.BOOK,
-                        "<white>Trang " + (pages.getPage() + 1) + "/" + Math.max(1, pages.getPages()) + "</white>",
-                        List.of("<gray>" + transactions.size() + " giao dịch</gray>")
-                    ).toGuiItem(), 4, 0);
-
-                    // Next page button
-                    navBar.addItem(GuiButton.create(
-                        Material.ARROW,
-                        "<yellow>Trang sau →</yellow>",
-                        List.of("<gray>Click để xem trang sau</gray>"),
-                        e -> {
-                            if (pages.getPage() < pages.getPages() - 1) {
-                                pages.setPage(pages.getPage() + 1);
-                                update();
-                            }
-                        }
-                    ).toGuiItem(), 8, 0);
-
-                    // Close button
-                    navBar.addItem(GuiButton.create(
-                        Material.BARRIER,
-                        "<red>Đóng</red>",
-                        List.of("<gray>Đóng lịch sử</gray>"),
-                        e -> player.closeInventory()
-                    ).toGuiItem(), 4, 0);
-
-                    addPane(pages);
-                    addPane(navBar);
-                    update();
-                });
-            })
+        addPane(content);
+        addPane(navBar);
+        renderNavBar(0, false);
+
+        cursors.add(null);
+        loadPage(0);
+    }
+
+    /**
+     * Fetch (or reuse) a page and render it on the player's entity thread.
+     */
+    private void loadPage(int page) {
+        loading = true;
+        fetchPage(page)
+            .thenAccept(transactions -> scheduler.runAtEntity(player, () -> showPage(page, transactions)))
             .exceptionally(ex -> {
-                player.sendMessage("§cKhông thể tải lịch sử giao dịch!");
-                player.closeInventory();
+                scheduler.runAtEntity(player, () -> showError(page));
                 return null;
             });
     }
 
+    private CompletableFuture<List<Transaction>> fetchPage(int page) {
+        return pageCache.computeIfAbsent(page,
+            p -> transactionRepository.findByPlayerBefore(player.getUniqueId(), cursors.get(p), PAGE_SIZE));
+    }
+
+    private void showPage(int page, List<Transaction> transactions) {
+        loading = false;
+
+        // Previous page was exactly full and nothing older exists
+        if (transactions.isEmpty() && page > 0) {
+            truncateCursors(page);
+            renderNavBar(currentPage, false);
+            update();
+            return;
+        }
+
+        currentPage = page;
+        content.clear();
+        for (int i = 0; i < transactions.size(); i++) {
+            content.addItem(createTransactionItem(transactions.get(i)), i % 9, i / 9);
+        }
+
+        boolean hasNext = transactions.size() == PAGE_SIZE;
+        if (hasNext) {
+            if (cursors.size() == page + 1) {
+                cursors.add(transactions.get(transactions.size() - 1).id());
+            }
+            fetchPage(page + 1); // prefetch
+        }
+
+        renderNavBar(page, hasNext);
+        update();
+    }
+
+    /**
+     * Show a retry button in place of a page that failed to load.
+     * A failed page must not look empty, or it would read as the end of history.
+     */
+    private void showError(int page) {
+        loading = false;
+        pageCache.remove(page);
+        player.sendMessage("§cKhông thể tải lịch sử giao dịch!");
+
+        currentPage = page;
+        content.clear();
+        content.addItem(GuiButton.create(
+            Material.BARRIER,
+            "<red>Không thể tải lịch sử giao dịch</red>",
+            List.of("<gray>Click để thử lại</gray>"),
+            e -> {
+                if (!loading) {
+                    loadPage(page);
+                }
+            }
+        ).toGuiItem(), 4, 2);
+
+        renderNavBar(page, false);
+        update();
+    }
+
+    private void renderNavBar(int page, boolean hasNext) {
+        navBar.clear();
+
+        // Previous page button
+        navBar.addItem(GuiButton.create(
+            Material.ARROW,
+            "<yellow>← Trang trước</yellow>",
+            List.of("<gray>Click để xem trang trước</gray>"),
+            e -> {
+                if (!loading && currentPage > 0) {
+                    loadPage(currentPage - 1);
+                }
+            }
+        ).toGuiItem(), 0, 0);
+
+        // Page indicator
+        navBar.addItem(GuiButton.createDisplay(
+            Material.BOOK,
+            "<white>Trang " + (page + 1) + "</white>",
+            List.of("<gray>" + PAGE_SIZE + " giao dịch mỗi trang</gray>")
+        ).toGuiItem(), 3, 0);
+
+        // Close button
+        navBar.addItem(GuiButton.create(
+            Material.BARRIER,
+            "<red>Đóng</red>",
+            List.of("<gray>Đóng lịch sử</gray>"),
+            e -> player.closeInventory()
+        ).toGuiItem(), 5, 0);
+
+        // Next page button
+        if (hasNext) {
+            navBar.addItem(GuiButton.create(
+                Material.ARROW,
+                "<yellow>Trang sau →</yellow>",
+                List.of("<gray>Click để xem trang sau</gray>"),
+                e -> {
+                    if (!loading && cursors.size() > currentPage + 1) {
+                        loadPage(currentPage + 1);
+                    }
+                }
+            ).toGuiItem(), 8, 0);
+        }
+    }
+
+    private void truncateCursors(int size) {
+        while (cursors.size() > size) {
+            pageCache.remove(cursors.size() - 1);
+            cursors.remove(cursors.size() - 1);
+        }
+    }
+
     /**
      * Create GUI item for a transaction.
      */
-    private StaticPane createTransactionItem(Transaction tx) {
-        StaticPane pane = new StaticPane(0, 0, 1, 1);
+    private GuiItem createTransactionItem(Transaction tx) {
 
         Material material = switch (tx.type()) {
             case WIN, JACKPOT -> Material.EMERALD;
@@ -145,7 +234,7 @@ public class HistoryGui extends ChestGui {
             tx.createdAt().atZone(ZoneId.systemDefault()).toLocalDateTime()
         );
 
-        pane.addItem(GuiButton.createDisplay(
+        return GuiButton.createDisplay(
             material,
             color + sign + formattedAmount + " VND</color>",
             List.of(
@@ -155,9 +244,7 @@ public class HistoryGui extends ChestGui {
                 "",
                 "<dark_gray>" + tx.description() + "</dark_gray>"
             )
-        ).toGuiItem(), 0, 0);
-
-        return pane;
+        ).toGuiItem();
     }
 
     /**
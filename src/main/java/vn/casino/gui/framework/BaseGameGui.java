@@ -4,12 +4,11 @@ import com.github.stefvanschie.inventoryframework.gui.type.ChestGui;
 import com.github.stefvanschie.inventoryframework.pane.StaticPane;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import vn.casino.economy.Money;
 import vn.casino.game.engine.Game;
-import vn.casino.game.engine.GameResult;
 import vn.casino.game.engine.GameSession;
 import vn.casino.i18n.MessageManager;
 
-import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.util.List;
 import java.util.Locale;
@@ -28,7 +27,11 @@ public abstract class BaseGameGui extends ChestGui {
     protected final Game game;
     protected final GuiManager guiManager;
     protected final MessageManager messageManager;
-    protected BigDecimal selectedBetAmount;
+    protected final String baseTitle;
+    protected Money selectedBetAmount;
+
+    // Pane holding the result area; set by subclasses in setupLayout()
+    protected StaticPane resultPane;
 
     protected static final NumberFormat CURRENCY_FORMAT = NumberFormat.getInstance(new Locale("vi", "VN"));
 
@@ -54,6 +57,7 @@ public abstract class BaseGameGui extends ChestGui {
         this.game = game;
         this.guiManager = guiManager;
         this.messageManager = messageManager;
+        this.baseTitle = title;
         this.selectedBetAmount = game.getMinBet();
 
         // Set close handler for cleanup
@@ -73,11 +77,18 @@ public abstract class BaseGameGui extends ChestGui {
     protected abstract void setupBetButtons(StaticPane pane);
 
     /**
-     * Update result display when new result is broadcast.
+     * Show a broadcast result: send its lines and swap in its items.
+     * Runs on the viewer's entity scheduler.
      *
-     * @param result Game result
+     * @param view Result rendered once for all viewers
      */
-    public abstract void updateResultDisplay(GameResult result);
+    public void showResult(ResultView view) {
+        view.sendTo(player);
+        if (resultPane != null) {
+            view.placeOn(resultPane);
+            update();
+        }
+    }
 
     /**
      * Setup common buttons (help, history, leaderboard).
@@ -137,7 +148,7 @@ public abstract class BaseGameGui extends ChestGui {
      *
      * @param amount New bet amount
      */
-    public void setSelectedBetAmount(BigDecimal amount) {
+    public void setSelectedBetAmount(Money amount) {
         this.selectedBetAmount = amount;
         refresh();
     }
@@ -147,7 +158,7 @@ public abstract class BaseGameGui extends ChestGui {
      *
      * @return Current bet amount
      */
-    public BigDecimal getSelectedBetAmount() {
+    public Money getSelectedBetAmount() {
         return selectedBetAmount;
     }
 
@@ -160,6 +171,24 @@ public abstract class BaseGameGui extends ChestGui {
         return game;
     }
 
+    /**
+     * Get the title this GUI was created with, before any countdown suffix.
+     *
+     * @return Base title
+     */
+    public String getBaseTitle() {
+        return baseTitle;
+    }
+
+    /**
+     * Get the room this GUI shows.
+     *
+     * @return Room identifier (null for non-room games)
+     */
+    public String getRoom() {
+        return null;
+    }
+
     /**
      * Get the player viewing this GUI.
      *
@@ -182,7 +211,7 @@ public abstract class BaseGameGui extends ChestGui {
      * Cleanup resources when GUI is closed.
      */
     protected void cleanup() {
-        guiManager.unregister(player);
+        guiManager.unregister(player, this);
     }
 
     /**
@@ -191,8 +220,8 @@ public abstract class BaseGameGui extends ChestGui {
      * @param amount Amount to format
      * @return Formatted string
      */
-    protected String formatCurrency(BigDecimal amount) {
-        return CURRENCY_FORMAT.format(amount);
+    protected String formatCurrency(Money amount) {
+        return CURRENCY_FORMAT.format(amount.toBigDecimal());
     }
 
     /**
@@ -7,6 +7,7 @@ import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import vn.casino.i18n.ComponentCache;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -17,9 +18,14 @@ import java.util.function.Consumer;
  * - Material icon
  * - MiniMessage-formatted name and lore
  * - Click handler
+ *
+ * Names and lore are parsed through the shared label cache once GuiManager
+ * has installed it, so repeated labels are parsed only once.
  */
 public class GuiButton {
 
+    private static volatile ComponentCache labels;
+
     private final ItemStack item;
     private final Consumer<org.bukkit.event.inventory.InventoryClickEvent> onClick;
 
@@ -28,6 +34,20 @@ public class GuiButton {
         this.onClick = onClick;
     }
 
+    /**
+     * Install the cache used to parse names and lore.
+     *
+     * @param cache Label cache
+     */
+    static void setLabelCache(ComponentCache cache) {
+        labels = cache;
+    }
+
+    private static Component parse(String miniMessageString) {
+        ComponentCache cache = labels;
+        return cache != null ? cache.parse(miniMessageString) : MiniMessage.miniMessage().deserialize(miniMessageString);
+    }
+
     /**
      * Create a new button with MiniMessage formatting.
      *
@@ -48,13 +68,13 @@ public class GuiButton {
 
         if (meta != null) {
             // Parse MiniMessage for name
-            Component nameComponent = MiniMessage.miniMessage().deserialize(name);
+            Component nameComponent = parse(name);
             meta.displayName(nameComponent);
 
             // Parse MiniMessage for lore
             if (lore != null && !lore.isEmpty()) {
                 List<Component> loreComponents = lore.stream()
-                    .map(line -> MiniMessage.miniMessage().deserialize(line))
+                    .map(GuiButton::parse)
                     .toList();
                 meta.lore(loreComponents);
             }
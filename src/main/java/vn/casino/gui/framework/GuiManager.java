@@ -2,6 +2,8 @@ package vn.casino.gui.framework;
 
 import org.bukkit.entity.Player;
 import vn.casino.CasinoPlugin;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.core.metrics.Timer;
 import vn.casino.core.scheduler.FoliaScheduler;
 import vn.casino.economy.TransactionRepository;
 import vn.casino.game.baucua.BauCuaGame;
@@ -17,8 +19,10 @@ import vn.casino.gui.games.*;
 import vn.casino.i18n.MessageManager;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 /**
@@ -26,7 +30,7 @@ import java.util.logging.Logger;
  * Responsibilities:
  * - Create and open all GUI types
  * - Track open GUIs per player
- * - Broadcast results to active GUIs
+ * - Broadcast results to active GUIs (rendered once, fanned out per viewer)
  * - Manage GUI lifecycle and cleanup
  * - Coordinate with GuiUpdater for countdowns
  */
@@ -40,6 +44,16 @@ public class GuiManager {
     private final GuiUpdater updater;
     private final Logger logger;
 
+    // Result viewers: "gameId:room" -> open game GUIs (room is null for non-room games)
+    private final Map<String, Set<BaseGameGui>> viewers = new ConcurrentHashMap<>();
+    private final Map<String, Function<GameResult, ResultView>> renderers = new ConcurrentHashMap<>();
+    private final Map<String, ResultView> lastResults = new ConcurrentHashMap<>();
+
+    private final MetricsRegistry metrics;
+    private final Timer renderTime;
+    private final Timer fanOutTime;
+    private final Timer applyTime;
+
     // Game instances (injected from plugin)
     private TaiXiuGame taiXiuGame;
     private XocDiaGame xocDiaGame;
@@ -49,7 +63,8 @@ public class GuiManager {
         CasinoPlugin plugin,
         FoliaScheduler scheduler,
         MessageManager messageManager,
-        TransactionRepository transactionRepository
+        TransactionRepository transactionRepository,
+        MetricsRegistry metrics
     ) {
         this.plugin = plugin;
         this.scheduler = scheduler;
@@ -58,6 +73,12 @@ public class GuiManager {
         this.openGuis = new ConcurrentHashMap<>();
         this.updater = new GuiUpdater(scheduler);
         this.logger = plugin.getLogger();
+        this.metrics = metrics;
+        this.renderTime = metrics.timer("gui.result.render");
+        this.fanOutTime = metrics.timer("gui.result.fanout");
+        this.applyTime = metrics.timer("gui.result.apply");
+
+        GuiButton.setLabelCache(messageManager.getLabels());
     }
 
     /**
@@ -71,6 +92,10 @@ public class GuiManager {
         this.taiXiuGame = taiXiuGame;
         this.xocDiaGame = xocDiaGame;
         this.bauCuaGame = bauCuaGame;
+
+        renderers.put(taiXiuGame.getId(), TaiXiuMainGui::renderResult);
+        renderers.put(xocDiaGame.getId(), XocDiaGameGui::renderResult);
+        renderers.put(bauCuaGame.getId(), BauCuaMainGui::renderResult);
     }
 
     // ========== Game GUI Openers ==========
@@ -81,7 +106,7 @@ public class GuiManager {
     public void openTaiXiu(Player player) {
         closeIfOpen(player);
         TaiXiuMainGui gui = new TaiXiuMainGui(player, taiXiuGame, this, messageManager);
-        openGuis.put(player.getUniqueId(), gui);
+        register(player, gui);
         scheduler.runAtEntity(player, () -> gui.show(player));
     }
 
@@ -111,7 +136,7 @@ public class GuiManager {
     public void openXocDia(Player player, String roomId) {
         closeIfOpen(player);
         XocDiaGameGui gui = new XocDiaGameGui(player, xocDiaGame, roomId, this, messageManager);
-        openGuis.put(player.getUniqueId(), gui);
+        register(player, gui);
         scheduler.runAtEntity(player, () -> gui.show(player));
     }
 
@@ -121,7 +146,7 @@ public class GuiManager {
     public void openBauCua(Player player) {
         closeIfOpen(player);
         BauCuaMainGui gui = new BauCuaMainGui(player, bauCuaGame, this, messageManager);
-        openGuis.put(player.getUniqueId(), gui);
+        register(player, gui);
         scheduler.runAtEntity(player, () -> gui.show(player));
     }
 
@@ -170,14 +195,58 @@ public class GuiManager {
      * @param result Game result
      */
     public void broadcastResult(Game game, GameResult result) {
-        for (Map.Entry<UUID, BaseGameGui> entry : openGuis.entrySet()) {
-            BaseGameGui gui = entry.getValue();
-            if (gui.getGame().getId().equals(game.getId())) {
-                scheduler.runAtEntity(gui.getPlayer(), () -> {
-                    gui.updateResultDisplay(result);
-                });
-            }
+        broadcastResult(game, null, result);
+    }
+
+    /**
+     * Broadcast a room's result to the GUIs viewing that room.
+     * The result is rendered once; each viewer applies the shared view on
+     * its own entity scheduler.
+     *
+     * @param game Game that produced result
+     * @param room Room identifier (null for non-room games)
+     * @param result Game result
+     */
+    public void broadcastResult(Game game, String room, GameResult result) {
+        Function<GameResult, ResultView> renderer = renderers.get(game.getId());
+        if (renderer == null) {
+            return;
+        }
+
+        String key = viewerKey(game.getId(), room);
+        long renderStart = System.nanoTime();
+        ResultView view = renderer.apply(result);
+        renderTime.recordSince(renderStart);
+        lastResults.put(key, view);
+
+        Set<BaseGameGui> guis = viewers.get(key);
+        if (guis == null || guis.isEmpty()) {
+            return;
         }
+
+        long fanOutStart = System.nanoTime();
+        int count = 0;
+        for (BaseGameGui gui : guis) {
+            scheduler.runAtEntity(gui.getPlayer(), () -> {
+                long applyStart = System.nanoTime();
+                gui.showResult(view);
+                applyTime.recordSince(applyStart);
+            });
+            count++;
+        }
+        fanOutTime.recordSince(fanOutStart);
+        metrics.add("gui.result.viewers", count);
+    }
+
+    /**
+     * Get the most recently broadcast result for a game or room.
+     *
+     * @param gameId Game identifier
+     * @param room Room identifier (null for non-room games)
+     * @return Rendered result, or null if none broadcast since startup
+     */
+    public ResultView getLastResult(String gameId, String room) {
+        return lastResults.get(viewerKey(gameId, room));
     }
 
     /**
@@ -186,16 +255,39 @@ public class GuiManager {
     public void closeIfOpen(Player player) {
         BaseGameGui gui = openGuis.remove(player.getUniqueId());
         if (gui != null) {
-            updater.stopCountdown(player.getUniqueId());
+            unsubscribe(gui);
         }
     }
 
     /**
      * Unregister player's GUI (called from BaseGameGui.cleanup()).
+     * A newer GUI the player has since opened stays registered.
      */
-    public void unregister(Player player) {
-        openGuis.remove(player.getUniqueId());
-        updater.stopCountdown(player.getUniqueId());
+    public void unregister(Player player, BaseGameGui gui) {
+        unsubscribe(gui);
+        openGuis.remove(player.getUniqueId(), gui);
+    }
+
+    private void register(Player player, BaseGameGui gui) {
+        BaseGameGui previous = openGuis.put(player.getUniqueId(), gui);
+        if (previous != null) {
+            unsubscribe(previous);
+        }
+        viewers.computeIfAbsent(viewerKey(gui.getGame().getId(), gui.getRoom()), k -> ConcurrentHashMap.newKeySet())
+            .add(gui);
+        updater.watch(gui);
+    }
+
+    private void unsubscribe(BaseGameGui gui) {
+        updater.unwatch(gui);
+        Set<BaseGameGui> guis = viewers.get(viewerKey(gui.getGame().getId(), gui.getRoom()));
+        if (guis != null) {
+            guis.remove(gui);
+        }
+    }
+
+    private static String viewerKey(String gameId, String room) {
+        return room != null ? gameId + ":" + room : gameId;
     }
 
     /**
@@ -223,6 +315,7 @@ public class GuiManager {
             }
         });
         openGuis.clear();
+        viewers.clear();
         updater.stopAll();
         logger.info("GuiManager shutdown complete");
     }
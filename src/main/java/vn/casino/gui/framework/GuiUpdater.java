@@ -1,156 +1,120 @@
 package vn.casino.gui.framework;
 
-import com.github.stefvanschie.inventoryframework.gui.type.ChestGui;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import org.bukkit.entity.Player;
 import vn.casino.core.scheduler.FoliaScheduler;
+import vn.casino.game.engine.Game;
+import vn.casino.game.engine.GameSession;
+import vn.casino.game.engine.GameSessionState;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Manages scheduled GUI updates for real-time countdown timers.
- * Handles Folia-compatible entity-bound scheduling.
+ * Shared countdown ticker for game GUI titles.
+ *
+ * One global timer ticks every second while anyone is watching. Each game
+ * (or room) has one countdown that reads the phase deadline from its active
+ * session and picks a title precomputed for every remaining second. A new
+ * title is pushed to all of that game's viewers in one sweep, each on its
+ * own entity scheduler. Timer cost is O(games), not O(viewers). A countdown
+ * is dropped once its last viewer leaves, and the timer cancels itself once
+ * no countdown is left.
  */
 public class GuiUpdater {
 
+    private static final long TICKS_PER_SECOND = 20L;
+
     private final FoliaScheduler scheduler;
-    private final Map<UUID, AtomicBoolean> activeTasks;
+
+    // "gameId:room" -> countdown (room is null for non-room games)
+    private final Map<String, Countdown> countdowns = new ConcurrentHashMap<>();
+    private final AtomicBoolean ticking = new AtomicBoolean();
 
     public GuiUpdater(FoliaScheduler scheduler) {
         this.scheduler = scheduler;
-        this.activeTasks = new ConcurrentHashMap<>();
     }
 
     /**
-     * Start a countdown timer that updates GUI title every second.
+     * Show the game's countdown in a GUI's title until it is unwatched.
      *
-     * @param player Player viewing the GUI
-     * @param gui GUI to update
-     * @param seconds Initial countdown seconds
-     * @param titleFormat Title format with {time} placeholder
-     * @param onComplete Callback when countdown reaches 0
+     * @param gui Game GUI
      */
-    public void startCountdown(
-        Player player,
-        ChestGui gui,
-        int seconds,
-        String titleFormat,
-        Runnable onComplete
-    ) {
-        // Stop any existing countdown for this player
-        stopCountdown(player.getUniqueId());
-
-        AtomicInteger remaining = new AtomicInteger(seconds);
-        AtomicBoolean cancelled = new AtomicBoolean(false);
-
-        scheduler.runAtEntityTimer(player, () -> {
-            if (cancelled.get()) {
-                return;
-            }
-
-            int secs = remaining.get();
-
-            if (secs <= 0) {
-                stopCountdown(player.getUniqueId());
-                if (onComplete != null) {
-                    scheduler.runAtEntity(player, onComplete);
-                }
-                return;
-            }
-
-            // Update title with remaining time
-            String formattedTime = formatTime(secs);
-            String title = titleFormat.replace("{time}", formattedTime);
-            Component titleComponent = MiniMessage.miniMessage().deserialize(title);
-
-            gui.setTitle(title);
-            gui.update();
-
-            remaining.decrementAndGet();
-        }, 0L, 20L); // Run every second (20 ticks)
-
-        activeTasks.put(player.getUniqueId(), cancelled);
+    public void watch(BaseGameGui gui) {
+        // Added under the map's bin lock, so the ticker cannot drop the countdown in between
+        countdowns.compute(countdownKey(gui), (key, countdown) -> {
+            Countdown target = countdown != null
+                ? countdown
+                : new Countdown(gui.getGame(), gui.getRoom(), gui.getBaseTitle());
+            target.viewers.add(gui);
+            return target;
+        });
+        if (ticking.compareAndSet(false, true)) {
+            scheduler.runTimerWhile(this::tick, TICKS_PER_SECOND, TICKS_PER_SECOND);
+        }
     }
 
     /**
-     * Start a countdown with simple numeric display.
+     * Stop updating a GUI's title.
      *
-     * @param player Player viewing the GUI
-     * @param gui GUI to update
-     * @param seconds Initial countdown seconds
-     * @param onComplete Callback when countdown reaches 0
+     * @param gui Game GUI
      */
-    public void startSimpleCountdown(
-        Player player,
-        ChestGui gui,
-        int seconds,
-        Runnable onComplete
-    ) {
-        startCountdown(player, gui, seconds, "<yellow>Time: {time}s</yellow>", onComplete);
+    public void unwatch(BaseGameGui gui) {
+        Countdown countdown = countdowns.get(countdownKey(gui));
+        if (countdown != null) {
+            countdown.viewers.remove(gui);
+        }
     }
 
     /**
-     * Update GUI periodically without countdown.
-     *
-     * @param player Player viewing the GUI
-     * @param gui GUI to update
-     * @param updateTask Update task to run
-     * @param intervalTicks Update interval in ticks
+     * Stop all countdowns. The ticker cancels itself on its next run.
      */
-    public void startPeriodicUpdate(
-        Player player,
-        ChestGui gui,
-        Runnable updateTask,
-        long intervalTicks
-    ) {
-        stopCountdown(player.getUniqueId());
-
-        AtomicBoolean cancelled = new AtomicBoolean(false);
-
-        scheduler.runAtEntityTimer(player, () -> {
-            if (cancelled.get()) {
-                return;
-            }
-            updateTask.run();
-            gui.update();
-        }, 0L, intervalTicks);
-
-        activeTasks.put(player.getUniqueId(), cancelled);
+    public void stopAll() {
+        countdowns.clear();
     }
 
     /**
-     * Stop countdown for specific player.
-     *
-     * @param playerId Player UUID
+     * @return Number of GUIs currently watching a countdown
      */
-    public void stopCountdown(UUID playerId) {
-        AtomicBoolean cancelled = activeTasks.remove(playerId);
-        if (cancelled != null) {
-            cancelled.set(true);
+    public int getViewerCount() {
+        int count = 0;
+        for (Countdown countdown : countdowns.values()) {
+            count += countdown.viewers.size();
         }
+        return count;
     }
 
     /**
-     * Stop all active countdowns.
+     * One sweep over every countdown. Countdowns without viewers are dropped.
+     *
+     * @return false once nobody is watching, which cancels the timer
      */
-    public void stopAll() {
-        activeTasks.values().forEach(cancelled -> cancelled.set(true));
-        activeTasks.clear();
+    private boolean tick() {
+        Instant now = Instant.now();
+        boolean watched = false;
+        for (Map.Entry<String, Countdown> entry : countdowns.entrySet()) {
+            if (entry.getValue().viewers.isEmpty()) {
+                countdowns.computeIfPresent(entry.getKey(),
+                    (key, countdown) -> countdown.viewers.isEmpty() ? null : countdown);
+                continue;
+            }
+            watched = true;
+            entry.getValue().tick(now);
+        }
+        if (watched) {
+            return true;
+        }
+
+        ticking.set(false);
+        // A viewer may have arrived after the sweep but before the flag was cleared
+        return getViewerCount() > 0 && ticking.compareAndSet(false, true);
     }
 
-    /**
-     * Check if player has active countdown.
-     *
-     * @param playerId Player UUID
-     * @return true if countdown active
-     */
-    public boolean hasActiveCountdown(UUID playerId) {
-        return activeTasks.containsKey(playerId);
+    private static String countdownKey(BaseGameGui gui) {
+        String room = gui.getRoom();
+        return room != null ? gui.getGame().getId() + ":" + room : gui.getGame().getId();
     }
 
     /**
@@ -159,9 +123,81 @@ public class GuiUpdater {
      * @param totalSeconds Total seconds
      * @return Formatted time string
      */
-    private String formatTime(int totalSeconds) {
+    private static String formatTime(int totalSeconds) {
         int minutes = totalSeconds / 60;
         int seconds = totalSeconds % 60;
         return String.format("%02d:%02d", minutes, seconds);
     }
+
+    /**
+     * Countdown for one game or room, with its titles built up front.
+     */
+    private final class Countdown {
+        private final Game game;
+        private final String room;
+        private final String idleTitle;
+        private final String[] bettingTitles;
+        private final String[] resultTitles;
+        private final Set<BaseGameGui> viewers = ConcurrentHashMap.newKeySet();
+
+        // Last title pushed; only touched by the ticker
+        private String shown;
+
+        Countdown(Game game, String room, String baseTitle) {
+            this.game = game;
+            this.room = room;
+            this.idleTitle = baseTitle;
+
+            int bettingSeconds = (int) game.getBettingDuration().getSeconds();
+            int resultSeconds = (int) game.getRoundDuration().minus(game.getBettingDuration()).getSeconds();
+            this.bettingTitles = buildTitles(baseTitle + " | Cược: ", Math.max(0, bettingSeconds));
+            this.resultTitles = buildTitles(baseTitle + " | Kết quả: ", Math.max(0, resultSeconds));
+        }
+
+        private String[] buildTitles(String prefix, int seconds) {
+            String[] titles = new String[seconds + 1];
+            for (int i = 0; i <= seconds; i++) {
+                titles[i] = prefix + formatTime(i);
+            }
+            return titles;
+        }
+
+        void tick(Instant now) {
+            String title = currentTitle(now);
+            if (title.equals(shown)) {
+                return;
+            }
+            shown = title;
+
+            for (BaseGameGui gui : viewers) {
+                scheduler.runAtEntity(gui.getPlayer(), () -> {
+                    gui.setTitle(title);
+                    gui.update();
+                });
+            }
+        }
+
+        private String currentTitle(Instant now) {
+            GameSession session = game.getActiveSession(room);
+            if (session == null || session.getStartedAt() == null) {
+                return idleTitle;
+            }
+
+            GameSessionState state = session.getState();
+            if (state == GameSessionState.BETTING) {
+                return pick(bettingTitles, session.getStartedAt().plus(game.getBettingDuration()), now);
+            }
+            if (state == GameSessionState.RESULT) {
+                return pick(resultTitles, session.getStartedAt().plus(game.getRoundDuration()), now);
+            }
+            return idleTitle;
+        }
+
+        private String pick(String[] titles, Instant deadline, Instant now) {
+            long millis = Duration.between(now, deadline).toMillis();
+            // Round up so the title reads 00:00 only once the phase is over
+            long seconds = Math.max(0, (millis + 999) / 1000);
+            return titles[(int) Math.min(seconds, titles.length - 1)];
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package vn.casino.gui.framework;
+
+import com.github.stefvanschie.inventoryframework.gui.GuiItem;
+import com.github.stefvanschie.inventoryframework.pane.StaticPane;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+
+/**
+ * A game result rendered once per round and shared by every viewer.
+ *
+ * Chat lines are immutable components and can be sent as-is. Items are
+ * templates: each viewer places its own copy, because InventoryFramework
+ * tags the stacks handed to it.
+ */
+public final class ResultView {
+
+    private final List<Component> chatLines;
+    private final List<Slot> slots;
+
+    /**
+     * @param chatLines Lines sent to each viewer
+     * @param slots Result items and where they go in the main pane
+     */
+    public ResultView(List<Component> chatLines, List<Slot> slots) {
+        this.chatLines = List.copyOf(chatLines);
+        this.slots = List.copyOf(slots);
+    }
+
+    /**
+     * Send the result lines to a viewer.
+     *
+     * @param player Viewer
+     */
+    public void sendTo(Player player) {
+        for (Component line : chatLines) {
+            player.sendMessage(line);
+        }
+    }
+
+    /**
+     * Place a copy of the result items on a pane.
+     *
+     * @param pane Pane holding the result area
+     */
+    public void placeOn(StaticPane pane) {
+        for (Slot slot : slots) {
+            pane.addItem(new GuiItem(slot.item().clone(), event -> {}), slot.x(), slot.y());
+        }
+    }
+
+    /**
+     * One result item template.
+     *
+     * @param x Pane column
+     * @param y Pane row
+     * @param item Item template (never handed out directly)
+     */
+    public record Slot(int x, int y, ItemStack item) {
+    }
+}
@@ -1,8 +1,11 @@
 package vn.casino.gui.games;
 
 import com.github.stefvanschie.inventoryframework.pane.StaticPane;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import vn.casino.economy.Money;
 import vn.casino.game.baucua.BauCuaBetType;
 import vn.casino.game.baucua.BauCuaGame;
 import vn.casino.game.baucua.BauCuaResult;
@@ -12,8 +15,10 @@ import vn.casino.game.engine.GameSessionState;
 import vn.casino.gui.framework.BaseGameGui;
 import vn.casino.gui.framework.GuiButton;
 import vn.casino.gui.framework.GuiManager;
+import vn.casino.gui.framework.ResultView;
 import vn.casino.i18n.MessageManager;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -125,6 +130,14 @@ public class BauCuaMainGui extends BaseGameGui {
      * Setup result display (3 dice).
      */
     private void setupResultDisplay(StaticPane pane) {
+        resultPane = pane;
+
+        ResultView lastView = guiManager.getLastResult(game.getId(), null);
+        if (lastView != null) {
+            lastView.placeOn(pane);
+            return;
+        }
+
         BauCuaResult lastResult = bauCuaGame.getLastResult();
 
         if (lastResult != null) {
@@ -162,7 +175,7 @@ public class BauCuaMainGui extends BaseGameGui {
     /**
      * Create dice display item.
      */
-    private GuiButton createDiceItem(int value) {
+    private static GuiButton createDiceItem(int value) {
         BauCuaBetType animal = BauCuaBetType.fromDiceValue(value);
         String color = getAnimalColor(animal);
 
@@ -177,37 +190,46 @@ public class BauCuaMainGui extends BaseGameGui {
      * Place a bet.
      */
     private void placeBet(BauCuaBetType animal) {
-        boolean success = game.onBet(player, animal, selectedBetAmount);
-        if (success) {
-            player.sendMessage("§aCược thành công: §f" + formatCurrency(selectedBetAmount) +
-                " VND §avào §f" + animal.getDisplayName());
-        }
+        Money amount = selectedBetAmount;
+        game.onBet(player, animal, amount).thenAccept(outcome -> {
+            if (outcome.isAccepted()) {
+                guiManager.getScheduler().runAtEntity(player, () ->
+                    player.sendMessage("§aCược thành công: §f" + formatCurrency(amount) +
+                        " VND §avào §f" + animal.getDisplayName()));
+            }
+        });
     }
 
-    @Override
-    public void updateResultDisplay(GameResult result) {
-        // Reconstruct BauCuaResult from GameResult
-        BauCuaResult bcResult = new BauCuaResult(
-            result.serverSeed(),
-            result.serverSeedHash(),
-            result.rawValues()[0],
-            result.rawValues()[1],
-            result.rawValues()[2]
-        );
-
-        player.sendMessage("§e========== KẾT QUẢ BẦU CUA ==========");
-        player.sendMessage("§fXúc xắc 1: §a" + bcResult.getDice1().getDisplayName());
-        player.sendMessage("§fXúc xắc 2: §a" + bcResult.getDice2().getDisplayName());
-        player.sendMessage("§fXúc xắc 3: §a" + bcResult.getDice3().getDisplayName());
-        player.sendMessage("§e=====================================");
+    /**
+     * Render a result once for every viewer: chat lines and the 3 dice.
+     *
+     * @param result Game result
+     * @return Shared result view
+     */
+    public static ResultView renderResult(GameResult result) {
+        int[] dice = result.rawValues();
+        List<Component> lines = new ArrayList<>(5);
+        lines.add(MiniMessage.miniMessage().deserialize("<yellow>========== KẾT QUẢ BẦU CUA =========="));
+        for (int i = 0; i < 3; i++) {
+            lines.add(MiniMessage.miniMessage().deserialize("<white>Xúc xắc " + (i + 1) + ": <green>"
+                + BauCuaBetType.fromDiceValue(dice[i]).getDisplayName()));
+        }
+        lines.add(MiniMessage.miniMessage().deserialize("<yellow>====================================="));
 
-        guiManager.getScheduler().runAtEntity(player, this::refresh);
+        return new ResultView(
+            lines,
+            List.of(
+                new ResultView.Slot(3, 3, createDiceItem(dice[0]).getItem()),
+                new ResultView.Slot(4, 3, createDiceItem(dice[1]).getItem()),
+                new ResultView.Slot(5, 3, createDiceItem(dice[2]).getItem())
+            )
+        );
     }
 
     /**
      * Get color for animal.
      */
-    private String getAnimalColor(BauCuaBetType animal) {
+    private static String getAnimalColor(BauCuaBetType animal) {
         return switch (animal) {
             case BAU -> "<green>";
             case CUA -> "<red>";
@@ -1,8 +1,11 @@
 package vn.casino.gui.games;
 
 import com.github.stefvanschie.inventoryframework.pane.StaticPane;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import vn.casino.economy.Money;
 import vn.casino.game.engine.GameResult;
 import vn.casino.game.engine.GameSession;
 import vn.casino.game.engine.GameSessionState;
@@ -12,6 +15,7 @@ import vn.casino.game.taixiu.TaiXiuResult;
 import vn.casino.gui.framework.BaseGameGui;
 import vn.casino.gui.framework.GuiButton;
 import vn.casino.gui.framework.GuiManager;
+import vn.casino.gui.framework.ResultView;
 import vn.casino.i18n.MessageManager;
 
 import java.util.List;
@@ -96,12 +100,14 @@ public class TaiXiuMainGui extends BaseGameGui {
             ? List.of(
                 "<gray>Tổng >= 11</gray>",
                 "<yellow>Thắng x1.98</yellow>",
+                "<gray>Tổng cược: " + formatCurrency(sidePot(session, TaiXiuBetType.TAI)) + " VND</gray>",
                 "",
                 "<green>Click để cược " + formatCurrency(selectedBetAmount) + " VND</green>"
             )
             : List.of(
                 "<gray>Tổng >= 11</gray>",
                 "<yellow>Thắng x1.98</yellow>",
+                "<gray>Tổng cược: " + formatCurrency(sidePot(session, TaiXiuBetType.TAI)) + " VND</gray>",
                 "",
                 "<red>Chưa mở cược</red>"
             );
@@ -135,12 +141,14 @@ public class TaiXiuMainGui extends BaseGameGui {
             ? List.of(
                 "<gray>Tổng <= 10</gray>",
                 "<yellow>Thắng x1.98</yellow>",
+                "<gray>Tổng cược: " + formatCurrency(sidePot(session, TaiXiuBetType.XIU)) + " VND</gray>",
                 "",
                 "<green>Click để cược " + formatCurrency(selectedBetAmount) + " VND</green>"
             )
             : List.of(
                 "<gray>Tổng <= 10</gray>",
                 "<yellow>Thắng x1.98</yellow>",
+                "<gray>Tổng cược: " + formatCurrency(sidePot(session, TaiXiuBetType.XIU)) + " VND</gray>",
                 "",
                 "<red>Chưa mở cược</red>"
             );
@@ -162,11 +170,26 @@ public class TaiXiuMainGui extends BaseGameGui {
         ).toGuiItem(), x, y);
     }
 
+    /**
+     * Amount already bet on one side this round (O(1) running total).
+     */
+    private Money sidePot(GameSession session, TaiXiuBetType side) {
+        return session != null ? session.getBetTypeTotal(side) : Money.ZERO;
+    }
+
     /**
      * Setup result display (3 dice in center).
      */
     private void setupResultDisplay(StaticPane pane) {
-        // Get last result from Soi Cau
+        resultPane = pane;
+
+        ResultView lastView = guiManager.getLastResult(game.getId(), null);
+        if (lastView != null) {
+            lastView.placeOn(pane);
+            return;
+        }
+
+        // Nothing broadcast yet; fall back to the last result from Soi Cau
         TaiXiuResult lastResult = taiXiuGame.getSoiCau().getLastResult();
 
         if (lastResult != null) {
@@ -187,7 +210,7 @@ public class TaiXiuMainGui extends BaseGameGui {
     /**
      * Create dice display item.
      */
-    private GuiButton createDiceItem(int value) {
+    private static GuiButton createDiceItem(int value) {
         Material material = Material.PAPER;
         String color = "<white>";
 
@@ -202,21 +225,35 @@ public class TaiXiuMainGui extends BaseGameGui {
      * Place a bet.
      */
     private void placeBet(TaiXiuBetType betType) {
-        boolean success = game.onBet(player, betType, selectedBetAmount);
-        if (success) {
-            player.sendMessage("§aCược thành công: §f" + formatCurrency(selectedBetAmount) +
-                " VND §avào §f" + betType.getDisplayName());
-        }
+        Money amount = selectedBetAmount;
+        game.onBet(player, betType, amount).thenAccept(outcome -> {
+            if (outcome.isAccepted()) {
+                guiManager.getScheduler().runAtEntity(player, () ->
+                    player.sendMessage("§aCược thành công: §f" + formatCurrency(amount) +
+                        " VND §avào §f" + betType.getDisplayName()));
+            }
+        });
     }
 
-    @Override
-    public void updateResultDisplay(GameResult result) {
-        // Broadcast result to player
-        player.sendMessage("§e========== KẾT QUẢ TÀI XỈU ==========");
-        player.sendMessage("§fKết quả: " + result.displayResult());
-        player.sendMessage("§e====================================");
-
-        // Refresh GUI to show new result
-        guiManager.getScheduler().runAtEntity(player, this::refresh);
+    /**
+     * Render a result once for every viewer: chat lines and the 3 dice.
+     *
+     * @param result Game result
+     * @return Shared result view
+     */
+    public static ResultView renderResult(GameResult result) {
+        int[] dice = result.rawValues();
+        return new ResultView(
+            List.of(
+                MiniMessage.miniMessage().deserialize("<yellow>========== KẾT QUẢ TÀI XỈU =========="),
+                MiniMessage.miniMessage().deserialize("<white>Kết quả: ").append(Component.text(result.displayResult())),
+                MiniMessage.miniMessage().deserialize("<yellow>====================================")
+            ),
+            List.of(
+                new ResultView.Slot(3, 3, createDiceItem(dice[0]).getItem()),
+                new ResultView.Slot(4, 3, createDiceItem(dice[1]).getItem()),
+                new ResultView.Slot(5, 3, createDiceItem(dice[2]).getItem())
+            )
+        );
     }
 }
@@ -5,7 +5,7 @@ import com.github.stefvanschie.inventoryframework.pane.StaticPane;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import vn.casino.game.taixiu.TaiXiuGame;
-import vn.casino.game.taixiu.TaiXiuResult;
+import vn.casino.game.taixiu.TaiXiuHistory;
 import vn.casino.game.taixiu.TaiXiuSoiCau;
 import vn.casino.gui.framework.GuiButton;
 import vn.casino.gui.framework.GuiManager;
@@ -19,13 +19,14 @@ import java.util.List;
  * Displays:
  * - Last 20 results history
  * - Statistics (TAI/XIU percentages, streaks)
+ * - Last 100, last 1000 and today summaries
  * - Pattern predictions
  */
 public class TaiXiuSoiCauGui extends ChestGui {
 
     private final Player player;
     private final TaiXiuGame game;
-    private final TaiXiuSoiCau soiCau;
+    private final TaiXiuHistory history;
     private final GuiManager guiManager;
 
     public TaiXiuSoiCauGui(
@@ -37,7 +38,7 @@ public class TaiXiuSoiCauGui extends ChestGui {
         super(6, "Soi Cầu Tài Xỉu");
         this.player = player;
         this.game = game;
-        this.soiCau = game.getSoiCau();
+        this.history = game.getHistory();
         this.guiManager = guiManager;
 
         setupLayout();
@@ -46,11 +47,17 @@ public class TaiXiuSoiCauGui extends ChestGui {
     private void setupLayout() {
         StaticPane pane = new StaticPane(0, 0, 9, 6);
 
+        // One snapshot so statistics and history agree
+        TaiXiuSoiCau.Snapshot snapshot = history.getSnapshot(TaiXiuHistory.Window.RECENT);
+
         // Statistics display (top row)
-        setupStatistics(pane);
+        setupStatistics(pane, snapshot);
 
         // History display (rows 1-4)
-        setupHistory(pane);
+        setupHistory(pane, snapshot);
+
+        // Long-range statistics (bottom row)
+        setupWindowStatistics(pane);
 
         // Back button
         pane.addItem(GuiButton.create(
@@ -66,8 +73,8 @@ public class TaiXiuSoiCauGui extends ChestGui {
     /**
      * Setup statistics display.
      */
-    private void setupStatistics(StaticPane pane) {
-        TaiXiuSoiCau.Statistics stats = soiCau.getStatistics();
+    private void setupStatistics(StaticPane pane, TaiXiuSoiCau.Snapshot snapshot) {
+        TaiXiuSoiCau.Statistics stats = snapshot.statistics();
 
         // TAI percentage
         pane.addItem(GuiButton.createDisplay(
@@ -109,18 +116,45 @@ public class TaiXiuSoiCauGui extends ChestGui {
     }
 
     /**
-     * Setup history display.
+     * Setup long-window statistics, kept incrementally so opening the GUI
+     * never scans stored rounds.
+     */
+    private void setupWindowStatistics(StaticPane pane) {
+        pane.addItem(createWindowItem(Material.CLOCK, "100 ván gần nhất",
+            history.getSnapshot(TaiXiuHistory.Window.LAST_100)).toGuiItem(), 1, 5);
+        pane.addItem(createWindowItem(Material.COMPASS, "1000 ván gần nhất",
+            history.getSnapshot(TaiXiuHistory.Window.LAST_1000)).toGuiItem(), 2, 5);
+        pane.addItem(createWindowItem(Material.SUNFLOWER, "Hôm nay",
+            history.getSnapshot(TaiXiuHistory.Window.TODAY)).toGuiItem(), 6, 5);
+    }
+
+    /**
+     * Create a summary item for one statistics window.
      */
-    private void setupHistory(StaticPane pane) {
-        List<TaiXiuResult> history = soiCau.getHistory();
+    private GuiButton createWindowItem(Material material, String title, TaiXiuSoiCau.Snapshot snapshot) {
+        TaiXiuSoiCau.Statistics stats = snapshot.statistics();
+        return GuiButton.createDisplay(
+            material,
+            "<white>" + title + "</white>",
+            List.of(
+                "<gray>Số vòng: " + stats.getTotalRounds() + "</gray>",
+                "<red>TÀI: " + String.format("%.1f%%", stats.getTaiPercentage()) + " (Max: " + stats.getLongestTaiStreak() + ")</red>",
+                "<blue>XỈU: " + String.format("%.1f%%", stats.getXiuPercentage()) + " (Max: " + stats.getLongestXiuStreak() + ")</blue>",
+                "<gold>TAM HOA: " + String.format("%.1f%%", stats.getTriplePercentage()) + "</gold>"
+            )
+        );
+    }
 
+    /**
+     * Setup history display.
+     */
+    private void setupHistory(StaticPane pane, TaiXiuSoiCau.Snapshot snapshot) {
         int slot = 0;
-        for (int i = history.size() - 1; i >= 0 && slot < 36; i--) {
-            TaiXiuResult result = history.get(i);
+        for (int i = snapshot.size() - 1; i >= 0 && slot < 36; i--) {
             int x = slot % 9;
             int y = 1 + (slot / 9);
 
-            pane.addItem(createHistoryItem(result).toGuiItem(), x, y);
+            pane.addItem(createHistoryItem(snapshot, i).toGuiItem(), x, y);
             slot++;
         }
 
@@ -140,16 +174,16 @@ public class TaiXiuSoiCauGui extends ChestGui {
     /**
      * Create history item for a result.
      */
-    private GuiButton createHistoryItem(TaiXiuResult result) {
+    private GuiButton createHistoryItem(TaiXiuSoiCau.Snapshot snapshot, int index) {
         Material material;
         String color;
         String resultText;
 
-        if (result.isTriple()) {
+        if (snapshot.isTriple(index)) {
             material = Material.YELLOW_STAINED_GLASS;
             color = "<gold>";
             resultText = "TAM HOA";
-        } else if (result.isTai()) {
+        } else if (snapshot.isTai(index)) {
             material = Material.RED_STAINED_GLASS;
             color = "<red>";
             resultText = "TÀI";
@@ -163,8 +197,8 @@ public class TaiXiuSoiCauGui extends ChestGui {
             material,
             color + resultText + "</color>",
             List.of(
-                "<gray>Xúc xắc: " + result.getDice1() + "-" + result.getDice2() + "-" + result.getDice3() + "</gray>",
-                "<gray>Tổng: " + result.getTotal() + "</gray>"
+                "<gray>Xúc xắc: " + snapshot.getDice1(index) + "-" + snapshot.getDice2(index) + "-" + snapshot.getDice3(index) + "</gray>",
+                "<gray>Tổng: " + snapshot.getTotal(index) + "</gray>"
             )
         );
     }
@@ -1,8 +1,11 @@
 package vn.casino.gui.games;
 
 import com.github.stefvanschie.inventoryframework.pane.StaticPane;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import vn.casino.economy.Money;
 import vn.casino.game.engine.GameResult;
 import vn.casino.game.engine.GameSession;
 import vn.casino.game.engine.GameSessionState;
@@ -12,6 +15,7 @@ import vn.casino.game.xocdia.XocDiaResult;
 import vn.casino.gui.framework.BaseGameGui;
 import vn.casino.gui.framework.GuiButton;
 import vn.casino.gui.framework.GuiManager;
+import vn.casino.gui.framework.ResultView;
 import vn.casino.i18n.MessageManager;
 
 import java.util.List;
@@ -141,7 +145,14 @@ public class XocDiaGameGui extends BaseGameGui {
      * Setup result display.
      */
     private void setupResultDisplay(StaticPane pane) {
-        // TODO: Get last result from game history
+        resultPane = pane;
+
+        ResultView lastView = guiManager.getLastResult(game.getId(), roomId);
+        if (lastView != null) {
+            lastView.placeOn(pane);
+            return;
+        }
+
         pane.addItem(GuiButton.createDisplay(
             Material.RED_DYE,
             "<gray>Kết quả</gray>",
@@ -153,20 +164,40 @@ public class XocDiaGameGui extends BaseGameGui {
      * Place a bet.
      */
     private void placeBet(XocDiaBetType betType) {
-        boolean success = game.onBet(player, betType, selectedBetAmount);
-        if (success) {
-            player.sendMessage("§aCược thành công: §f" + formatCurrency(selectedBetAmount) +
-                " VND §avào §f" + betType.getDisplayName());
-        }
+        Money amount = selectedBetAmount;
+        game.onBet(player, betType, amount).thenAccept(outcome -> {
+            if (outcome.isAccepted()) {
+                guiManager.getScheduler().runAtEntity(player, () ->
+                    player.sendMessage("§aCược thành công: §f" + formatCurrency(amount) +
+                        " VND §avào §f" + betType.getDisplayName()));
+            }
+        });
     }
 
     @Override
-    public void updateResultDisplay(GameResult result) {
-        player.sendMessage("§e========== KẾT QUẢ XÓC ĐĨA ==========");
-        player.sendMessage("§fKết quả: " + result.displayResult());
-        player.sendMessage("§e=====================================");
+    public String getRoom() {
+        return roomId;
+    }
 
-        guiManager.getScheduler().runAtEntity(player, this::refresh);
+    /**
+     * Render a result once for every viewer of a room.
+     *
+     * @param result Game result
+     * @return Shared result view
+     */
+    public static ResultView renderResult(GameResult result) {
+        return new ResultView(
+            List.of(
+                MiniMessage.miniMessage().deserialize("<yellow>========== KẾT QUẢ XÓC ĐĨA =========="),
+                MiniMessage.miniMessage().deserialize("<white>Kết quả: ").append(Component.text(result.displayResult())),
+                MiniMessage.miniMessage().deserialize("<yellow>=====================================")
+            ),
+            List.of(new ResultView.Slot(4, 3, GuiButton.createDisplay(
+                Material.RED_DYE,
+                "<white>Kết quả</white>",
+                List.of("<gray>" + result.displayResult() + "</gray>")
+            ).getItem()))
+        );
     }
 
     /**
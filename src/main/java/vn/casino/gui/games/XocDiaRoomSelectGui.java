@@ -58,8 +58,8 @@ public class XocDiaRoomSelectGui extends ChestGui {
                 "<yellow>" + room.getDisplayName() + "</yellow>",
                 List.of(
                     "<gray>Người chơi: " + room.getPlayerCount() + "</gray>",
-                    "<gray>Min: " + CURRENCY_FORMAT.format(room.getMinBet()) + " VND</gray>",
-                    "<gray>Max: " + CURRENCY_FORMAT.format(room.getMaxBet()) + " VND</gray>",
+                    "<gray>Min: " + CURRENCY_FORMAT.format(room.getMinBet().toBigDecimal()) + " VND</gray>",
+                    "<gray>Max: " + CURRENCY_FORMAT.format(room.getMaxBet().toBigDecimal()) + " VND</gray>",
                     "",
                     "<green>Click để vào phòng</green>"
                 ),
@@ -87,7 +87,7 @@ public class XocDiaRoomSelectGui extends ChestGui {
      * Get material based on room bet limits.
      */
     private Material getRoomMaterial(XocDiaRoom room) {
-        long minBet = room.getMinBet().longValue();
+        long minBet = room.getMinBet().toBigDecimal().longValue();
 
         if (minBet >= 100000) {
             return Material.DIAMOND_BLOCK; // VIP room
@@ -0,0 +1,68 @@
+package vn.casino.i18n;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import vn.casino.core.metrics.MetricsRegistry;
+
+/**
+ * Bounded cache of parsed MiniMessage strings, keyed by the string itself.
+ *
+ * GUI names and lore are mostly the same few hundred literals, rebuilt every
+ * time a GUI opens or refreshes. Components are immutable, so one parsed
+ * instance can be shared by every item that uses the label. Labels that embed
+ * live values (balances, timers) churn through the bound and are evicted.
+ */
+public class ComponentCache {
+
+    private final MiniMessage miniMessage;
+    private final MetricsRegistry metrics;
+    private final Cache<String, Component> components;
+
+    /**
+     * @param miniMessage Parser
+     * @param maxSize Maximum cached labels
+     * @param metrics Metrics registry for hit/miss counters
+     */
+    public ComponentCache(MiniMessage miniMessage, long maxSize, MetricsRegistry metrics) {
+        this.miniMessage = miniMessage;
+        this.metrics = metrics;
+        this.components = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    /**
+     * Parse a MiniMessage string, reusing an earlier result when there is one.
+     *
+     * @param miniMessageString MiniMessage string
+     * @return Parsed component (shared, immutable)
+     */
+    public Component parse(String miniMessageString) {
+        Component cached = components.getIfPresent(miniMessageString);
+        if (cached != null) {
+            metrics.increment("i18n.labels.hits");
+            return cached;
+        }
+
+        metrics.increment("i18n.labels.misses");
+        Component parsed = miniMessage.deserialize(miniMessageString);
+        components.put(miniMessageString, parsed);
+        return parsed;
+    }
+
+    /**
+     * Drop all cached labels.
+     */
+    public void invalidateAll() {
+        components.invalidateAll();
+    }
+
+    /**
+     * @return Approximate number of cached labels
+     */
+    public long size() {
+        return components.estimatedSize();
+    }
+}
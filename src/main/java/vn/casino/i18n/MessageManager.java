@@ -9,27 +9,48 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import vn.casino.CasinoPlugin;
+import vn.casino.core.metrics.MetricsRegistry;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.logging.Level;
 
+/**
+ * Localized messages.
+ *
+ * Every message of every language file is compiled into a
+ * {@link MessageTemplate} at load and on reload, so sending a message never
+ * touches the YAML configuration or re-parses MiniMessage unless the caller
+ * passes tag resolvers. Free-form MiniMessage strings (GUI labels) go through
+ * a shared {@link ComponentCache}.
+ */
 public class MessageManager {
 
+    private static final long LABEL_CACHE_SIZE = 4096;
+
     private final CasinoPlugin plugin;
     private final MiniMessage miniMessage;
+    private final MetricsRegistry metrics;
+
+    @Getter
+    private final ComponentCache labels;
 
     @Getter
-    private Locale currentLocale;
-    private final Map<Locale, FileConfiguration> messages = new HashMap<>();
+    private volatile Locale currentLocale;
 
-    public MessageManager(CasinoPlugin plugin, String languageCode) {
+    // Replaced wholesale on reload; each inner map is never modified after load
+    private volatile Map<Locale, Map<MessageKey, MessageTemplate>> templates = Map.of();
+
+    public MessageManager(CasinoPlugin plugin, String languageCode, MetricsRegistry metrics) {
         this.plugin = plugin;
         this.miniMessage = MiniMessage.miniMessage();
+        this.metrics = metrics;
+        this.labels = new ComponentCache(miniMessage, LABEL_CACHE_SIZE, metrics);
         this.currentLocale = Locale.fromCode(languageCode);
 
         loadLanguageFiles();
@@ -41,6 +62,7 @@ public class MessageManager {
             langDir.mkdirs();
         }
 
+        Map<Locale, Map<MessageKey, MessageTemplate>> loaded = new EnumMap<>(Locale.class);
         for (Locale locale : Locale.values()) {
             File langFile = new File(langDir, locale.getCode() + ".yml");
 
@@ -56,51 +78,79 @@ public class MessageManager {
 
             if (langFile.exists()) {
                 FileConfiguration config = YamlConfiguration.loadConfiguration(langFile);
-                messages.put(locale, config);
+                loaded.put(locale, compile(locale, config));
                 plugin.getLogger().info("Loaded language file: " + locale.getCode());
             }
         }
+
+        templates = loaded;
+    }
+
+    private Map<MessageKey, MessageTemplate> compile(Locale locale, FileConfiguration config) {
+        Map<MessageKey, MessageTemplate> compiled = new EnumMap<>(MessageKey.class);
+        for (MessageKey key : MessageKey.values()) {
+            String message = config.getString(key.getKey());
+            if (message == null) {
+                if (locale == currentLocale) {
+                    plugin.getLogger().warning("Missing translation for key: " + key.getKey() + " in locale: " + locale.getCode());
+                }
+                message = key.getKey();
+            }
+            compiled.put(key, MessageTemplate.compile(miniMessage, message));
+        }
+        return compiled;
     }
 
     public void reload(String languageCode) {
         this.currentLocale = Locale.fromCode(languageCode);
-        messages.clear();
+        labels.invalidateAll();
         loadLanguageFiles();
     }
 
+    private MessageTemplate template(Locale locale, MessageKey key) {
+        Map<Locale, Map<MessageKey, MessageTemplate>> current = templates;
+        Map<MessageKey, MessageTemplate> messages = current.get(locale);
+        if (messages == null) {
+            messages = current.getOrDefault(Locale.VI, Collections.emptyMap());
+        }
+
+        MessageTemplate template = messages.get(key);
+        return template != null ? template : MessageTemplate.compile(miniMessage, key.getKey());
+    }
+
+    private MessageTemplate template(MessageKey key) {
+        return template(currentLocale, key);
+    }
+
+    private Component render(MessageKey key, Map<String, String> placeholders) {
+        MessageTemplate template = template(key);
+        metrics.increment(template.isCompiled() ? "i18n.templates.hits" : "i18n.templates.misses");
+        return template.render(placeholders, labels);
+    }
+
     public String getRawMessage(MessageKey key) {
         return getRawMessage(currentLocale, key);
     }
 
     public String getRawMessage(Locale locale, MessageKey key) {
-        FileConfiguration config = messages.get(locale);
-        if (config == null) {
-            config = messages.get(Locale.VI);
-        }
-
-        String message = config.getString(key.getKey());
-        if (message == null) {
-            plugin.getLogger().warning("Missing translation for key: " + key.getKey() + " in locale: " + locale.getCode());
-            return key.getKey();
-        }
-
-        return message;
+        return template(locale, key).raw();
     }
 
     public Component getMessage(MessageKey key) {
-        return miniMessage.deserialize(getRawMessage(key));
+        return render(key, Map.of());
     }
 
     public Component getMessage(MessageKey key, TagResolver... resolvers) {
-        return miniMessage.deserialize(getRawMessage(key), resolvers);
+        if (resolvers.length == 0) {
+            return getMessage(key);
+        }
+        // Resolvers are only known at call time, so these still need a parse
+        metrics.increment("i18n.templates.misses");
+        return miniMessage.deserialize(template(key).raw(), resolvers);
     }
 
     public Component getMessage(MessageKey key, Map<String, String> placeholders) {
-        String message = getRawMessage(key);
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            message = message.replace("{" + entry.getKey() + "}", entry.getValue());
-        }
-        return miniMessage.deserialize(message);
+        return render(key, placeholders);
     }
 
     public Component getMessageWithPrefix(MessageKey key) {
@@ -150,7 +200,7 @@ public class MessageManager {
     }
 
     public Component parse(String miniMessageString) {
-        return miniMessage.deserialize(miniMessageString);
+        return labels.parse(miniMessageString);
     }
 
     public Component parse(String miniMessageString, TagResolver... resolvers) {
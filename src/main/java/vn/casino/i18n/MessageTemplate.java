@@ -0,0 +1,109 @@
+package vn.casino.i18n;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message parsed once into a component, with {@code {name}} placeholder slots.
+ *
+ * Rendering substitutes placeholder values into the parsed component in a
+ * single pass instead of re-parsing the MiniMessage string. Messages without
+ * placeholders render to the same shared (immutable) component every time.
+ *
+ * A placeholder used inside a tag (e.g. a click action) cannot be filled in
+ * after parsing, so such templates fall back to string replacement and a
+ * fresh parse.
+ */
+final class MessageTemplate {
+
+    private static final Pattern SLOT = Pattern.compile("\\{([A-Za-z0-9_-]+)}");
+
+    private final MiniMessage miniMessage;
+    private final String raw;
+    private final Component component;
+    private final boolean hasSlots;
+    private final boolean slotInTag;
+
+    private MessageTemplate(MiniMessage miniMessage, String raw, Component component, boolean hasSlots, boolean slotInTag) {
+        this.miniMessage = miniMessage;
+        this.raw = raw;
+        this.component = component;
+        this.hasSlots = hasSlots;
+        this.slotInTag = slotInTag;
+    }
+
+    /**
+     * Compile a raw MiniMessage string.
+     *
+     * @param miniMessage Parser
+     * @param raw Raw message
+     * @return Compiled template
+     */
+    static MessageTemplate compile(MiniMessage miniMessage, String raw) {
+        boolean hasSlots = false;
+        boolean slotInTag = false;
+        Matcher matcher = SLOT.matcher(raw);
+        while (matcher.find()) {
+            hasSlots = true;
+            int start = matcher.start();
+            if (raw.lastIndexOf('<', start) > raw.lastIndexOf('>', start)) {
+                slotInTag = true;
+                break;
+            }
+        }
+        Component component = slotInTag ? null : miniMessage.deserialize(raw);
+        return new MessageTemplate(miniMessage, raw, component, hasSlots, slotInTag);
+    }
+
+    /**
+     * @return Raw message as written in the language file
+     */
+    String raw() {
+        return raw;
+    }
+
+    /**
+     * @return Whether rendering reuses the parsed component
+     */
+    boolean isCompiled() {
+        return !slotInTag;
+    }
+
+    /**
+     * Render with placeholder values. Unknown placeholders are left as written.
+     * Values may contain MiniMessage tags, as before.
+     *
+     * @param placeholders Placeholder name to value
+     * @param labels Cache used to parse values that contain tags
+     * @return Rendered component
+     */
+    Component render(Map<String, String> placeholders, ComponentCache labels) {
+        if (slotInTag) {
+            String message = raw;
+            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+                message = message.replace("{" + entry.getKey() + "}", entry.getValue());
+            }
+            return miniMessage.deserialize(message);
+        }
+        if (!hasSlots || placeholders.isEmpty()) {
+            return component;
+        }
+
+        return component.replaceText(TextReplacementConfig.builder()
+            .match(SLOT)
+            .replacement((match, builder) -> {
+                String value = placeholders.get(match.group(1));
+                if (value == null) {
+                    return builder;
+                }
+                // Plain values keep the slot's style without a parse
+                return value.indexOf('<') < 0 ? builder.content(value) : labels.parse(value);
+            })
+            .build());
+    }
+}
@@ -4,6 +4,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
+import vn.casino.economy.CurrencyManager;
 import vn.casino.game.baucua.BauCuaGame;
 import vn.casino.game.engine.AbstractGame;
 import vn.casino.game.taixiu.TaiXiuGame;
@@ -14,22 +15,25 @@ import java.util.UUID;
 
 /**
  * Handles player cleanup on disconnect.
- * Cleans up GUI state and game-specific player data.
+ * Cleans up GUI state, game-specific player data and economy state.
  */
 public class PlayerCleanupListener implements Listener {
 
     private final GuiManager guiManager;
+    private final CurrencyManager currencyManager;
     private final TaiXiuGame taiXiuGame;
     private final XocDiaGame xocDiaGame;
     private final BauCuaGame bauCuaGame;
 
     public PlayerCleanupListener(
         GuiManager guiManager,
+        CurrencyManager currencyManager,
         TaiXiuGame taiXiuGame,
         XocDiaGame xocDiaGame,
         BauCuaGame bauCuaGame
     ) {
         this.guiManager = guiManager;
+        this.currencyManager = currencyManager;
         this.taiXiuGame = taiXiuGame;
         this.xocDiaGame = xocDiaGame;
         this.bauCuaGame = bauCuaGame;
@@ -47,5 +51,8 @@ public class PlayerCleanupListener implements Listener {
         taiXiuGame.cleanupPlayer(playerId);
         xocDiaGame.cleanupPlayer(playerId);
         bauCuaGame.cleanupPlayer(playerId);
+
+        // Release balance lock and ledger account
+        currencyManager.cleanupPlayerLock(playerId);
     }
 }
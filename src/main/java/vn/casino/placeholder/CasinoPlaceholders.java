@@ -5,6 +5,7 @@ import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 import vn.casino.CasinoPlugin;
 import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.Money;
 import vn.casino.game.engine.GameSession;
 import vn.casino.game.engine.GameSessionManager;
 import vn.casino.game.jackpot.JackpotManager;
@@ -189,9 +190,9 @@ public class CasinoPlaceholders extends PlaceholderExpansion {
      */
     private String getJackpot(String gameId) {
         try {
-            BigDecimal jackpot = jackpotManager.getPool(gameId)
+            Money jackpot = jackpotManager.getPool(gameId)
                 .get(100, java.util.concurrent.TimeUnit.MILLISECONDS);
-            return numberFormat.format(jackpot);
+            return numberFormat.format(jackpot.toBigDecimal());
         } catch (Exception e) {
             plugin.getLogger().log(Level.FINE, "Failed to get jackpot for " + gameId + ": " + e.getMessage());
             return "0";
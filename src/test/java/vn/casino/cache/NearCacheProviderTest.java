@@ -0,0 +1,131 @@
+package vn.casino.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.cache.NearCacheProvider;
+import vn.casino.core.cache.RedisCacheProvider;
+import vn.casino.core.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NearCacheProvider.
+ * Tests local hits, prefix filtering and cross-server invalidation.
+ */
+@DisplayName("NearCacheProvider Tests")
+class NearCacheProviderTest {
+
+    private static final String BALANCE_KEY = "casino:player:abc:balance";
+
+    @Mock
+    private RedisCacheProvider remote;
+
+    private final Logger logger = Logger.getLogger("NearCacheProviderTest");
+    private MetricsRegistry metrics;
+    private NearCacheProvider cache;
+    private Consumer<String> invalidations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        metrics = new MetricsRegistry(true);
+
+        when(remote.initialize()).thenReturn(CompletableFuture.completedFuture(null));
+        when(remote.publish(anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(remote.set(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(remote.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        cache = new NearCacheProvider(remote, 100, Map.of("casino:player:", Duration.ofMinutes(1)), metrics, logger);
+        cache.initialize().join();
+
+        ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(remote).subscribe(anyString(), listener.capture(), any());
+        invalidations = listener.getValue();
+    }
+
+    @Test
+    @DisplayName("Repeated get should be served locally")
+    void testLocalHit() {
+        when(remote.get(BALANCE_KEY)).thenReturn(CompletableFuture.completedFuture(Optional.of("500")));
+
+        assertEquals(Optional.of("500"), cache.get(BALANCE_KEY).join());
+        assertEquals(Optional.of("500"), cache.get(BALANCE_KEY).join());
+
+        verify(remote, times(1)).get(BALANCE_KEY);
+        assertEquals(1, metrics.count("cache.near.hits"));
+        assertEquals(1, metrics.count("cache.near.misses"));
+    }
+
+    @Test
+    @DisplayName("Keys without a configured prefix should always go to Redis")
+    void testUnconfiguredPrefixBypassesNearCache() {
+        when(remote.get("casino:jackpot:taixiu")).thenReturn(CompletableFuture.completedFuture(Optional.of("1")));
+
+        cache.get("casino:jackpot:taixiu").join();
+        cache.get("casino:jackpot:taixiu").join();
+
+        verify(remote, times(2)).get("casino:jackpot:taixiu");
+    }
+
+    @Test
+    @DisplayName("Invalidation from another server should drop the local copy")
+    void testRemoteInvalidation() {
+        when(remote.get(BALANCE_KEY))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of("500")))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of("900")));
+
+        cache.get(BALANCE_KEY).join();
+        invalidations.accept("other-server|" + BALANCE_KEY);
+
+        assertEquals(Optional.of("900"), cache.get(BALANCE_KEY).join());
+        assertEquals(1, metrics.count("cache.near.invalidations"));
+    }
+
+    @Test
+    @DisplayName("Local writes should update the near cache and notify other servers")
+    void testWritePublishesInvalidation() {
+        cache.set(BALANCE_KEY, "700", Duration.ofMinutes(5)).join();
+
+        assertEquals(Optional.of("700"), cache.get(BALANCE_KEY).join());
+        verify(remote, never()).get(anyString());
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(remote).publish(anyString(), message.capture());
+        assertTrue(message.getValue().endsWith("|" + BALANCE_KEY));
+
+        // Our own message echoed back must not count as a remote invalidation
+        invalidations.accept(message.getValue());
+        assertEquals(0, metrics.count("cache.near.invalidations"));
+        assertEquals(Optional.of("700"), cache.get(BALANCE_KEY).join());
+    }
+
+    @Test
+    @DisplayName("Value fetched before an invalidation should not be cached")
+    void testInFlightMissDoesNotCacheStaleValue() {
+        CompletableFuture<Optional<String>> inFlight = new CompletableFuture<>();
+        when(remote.get(BALANCE_KEY))
+            .thenReturn(inFlight)
+            .thenReturn(CompletableFuture.completedFuture(Optional.of("900")));
+
+        CompletableFuture<Optional<String>> first = cache.get(BALANCE_KEY);
+        cache.delete(BALANCE_KEY).join();
+        inFlight.complete(Optional.of("500"));
+
+        assertEquals(Optional.of("500"), first.join());
+        assertEquals(Optional.of("900"), cache.get(BALANCE_KEY).join());
+    }
+}
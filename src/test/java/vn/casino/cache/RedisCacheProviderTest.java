@@ -7,13 +7,20 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.resps.Tuple;
 import vn.casino.core.cache.RedisCacheProvider;
 import vn.casino.core.config.MainConfig;
+import vn.casino.core.metrics.MetricsRegistry;
 
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -355,6 +362,105 @@ class RedisCacheProviderTest {
         assertEquals("redis", cacheProvider.getCacheType());
     }
 
+    @Test
+    @DisplayName("Batch should send its commands as one pipeline")
+    void testBatchPipelinesCommands() throws Exception {
+        Response<String> first = response("1");
+        Response<String> second = response("2");
+        Response<Long> deleted = response(1L);
+        Pipeline pipeline = mockPipeline();
+        when(pipeline.get("a")).thenReturn(first);
+        when(pipeline.get("b")).thenReturn(second);
+        when(pipeline.del("c")).thenReturn(deleted);
+
+        MetricsRegistry metrics = new MetricsRegistry(true);
+        cacheProvider = new RedisCacheProvider(config, metrics, logger);
+        injectMockJedisPool();
+        injectField("executor", Executors.newSingleThreadExecutor());
+
+        CompletableFuture<String> result = cacheProvider.batch(c -> {
+            CompletableFuture<Optional<String>> a = c.get("a");
+            CompletableFuture<Optional<String>> b = c.get("b");
+            c.delete("c");
+            return a.thenCombine(b, (x, y) -> x.orElse("") + y.orElse(""));
+        });
+
+        assertEquals("12", result.get(5, TimeUnit.SECONDS));
+        verify(jedis, times(1)).pipelined();
+        verify(pipeline, times(1)).sync();
+        verify(jedis, never()).get(anyString());
+        assertEquals(3, metrics.histogramSnapshots().get("cache.pipeline.size").max());
+    }
+
+    @Test
+    @DisplayName("Failed pipelined command should only fail its own caller")
+    void testPipelineCommandFailureIsIsolated() throws Exception {
+        Response<Long> failing = response(null);
+        when(failing.get()).thenThrow(new JedisDataException("WRONGTYPE"));
+        Response<Long> counter = response(5L);
+        Pipeline pipeline = mockPipeline();
+        when(pipeline.incr("bad")).thenReturn(failing);
+        when(pipeline.incr("good")).thenReturn(counter);
+
+        injectMockJedisPool();
+        injectField("executor", Executors.newSingleThreadExecutor());
+
+        List<CompletableFuture<Long>> results = cacheProvider.batch(c ->
+            CompletableFuture.completedFuture(List.of(c.increment("bad"), c.increment("good")))
+        ).get();
+
+        assertThrows(ExecutionException.class, () -> results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals(5L, results.get(1).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Commands within the pipeline window should share a round trip")
+    void testPipelineWindowCoalescesCommands() throws Exception {
+        Response<String> ok = response("OK");
+        Pipeline pipeline = mockPipeline();
+        when(pipeline.setex(anyString(), anyLong(), anyString())).thenReturn(ok);
+        when(config.getRedisPipelineWindowMs()).thenReturn(50L);
+        when(config.getRedisPipelineMaxBatchSize()).thenReturn(100);
+
+        injectMockJedisPool();
+        injectField("executor", Executors.newSingleThreadExecutor());
+        injectField("pipelineFlusher", Executors.newSingleThreadScheduledExecutor());
+
+        CompletableFuture<?>[] writes = new CompletableFuture<?>[10];
+        for (int i = 0; i < writes.length; i++) {
+            writes[i] = cacheProvider.set("key:" + i, "v", Duration.ofMinutes(1));
+        }
+        CompletableFuture.allOf(writes).get(5, TimeUnit.SECONDS);
+
+        verify(jedis, times(1)).pipelined();
+        verify(pipeline, times(10)).setex(anyString(), eq(60L), eq("v"));
+        verify(jedis, never()).setex(anyString(), anyLong(), anyString());
+    }
+
+    private Pipeline mockPipeline() {
+        Pipeline pipeline = mock(Pipeline.class);
+        when(jedisPool.getResource()).thenReturn(jedis);
+        when(jedis.pipelined()).thenReturn(pipeline);
+        return pipeline;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Response<T> response(T value) {
+        Response<T> response = mock(Response.class);
+        when(response.get()).thenReturn(value);
+        return response;
+    }
+
+    private void injectField(String name, Object value) {
+        try {
+            var field = RedisCacheProvider.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(cacheProvider, value);
+        } catch (Exception e) {
+            fail("Failed to inject " + name + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Helper method to inject mock JedisPool using reflection.
      * This is needed because JedisPool is created in initialize() method.
@@ -0,0 +1,123 @@
+package vn.casino.database;
+
+import vn.casino.core.config.MainConfig;
+import vn.casino.core.database.SQLiteProvider;
+import vn.casino.economy.MinorUnits;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * SQLite database file for tests, with the schema built by the real
+ * SQLiteProvider migrations.
+ *
+ * The provider is shut down once the migrations have run. Tests stub their
+ * mocked DatabaseProvider with {@link #connect()} instead, so they can still
+ * count or fail connections, and use the query helpers to check the result.
+ */
+public final class TestDatabase {
+
+    private final String jdbcUrl;
+
+    private TestDatabase(String jdbcUrl) {
+        this.jdbcUrl = jdbcUrl;
+    }
+
+    /**
+     * Create a database in the given directory and apply every migration.
+     *
+     * @param directory Temporary directory of the test
+     * @return Migrated database
+     */
+    public static TestDatabase create(Path directory) {
+        MainConfig config = new MainConfig();
+        config.setDatabaseType("sqlite");
+        config.setSqliteFile(directory.resolve("casino.db").toString());
+
+        Logger logger = Logger.getLogger("TestDatabase");
+        logger.setLevel(Level.WARNING);
+
+        SQLiteProvider provider = new SQLiteProvider(config, logger);
+        provider.initialize().join();
+        provider.shutdown().join();
+        return new TestDatabase(config.getJdbcUrl());
+    }
+
+    /**
+     * Open a new connection to the database file.
+     *
+     * @return Connection in auto-commit mode
+     * @throws SQLException if the file cannot be opened
+     */
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl);
+    }
+
+    /**
+     * Run statements in auto-commit mode, e.g. to insert fixture rows.
+     *
+     * @param sql Statements to run in order
+     * @throws SQLException if a statement fails
+     */
+    public void execute(String... sql) throws SQLException {
+        try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
+            for (String statement : sql) {
+                stmt.execute(statement);
+            }
+        }
+    }
+
+    /**
+     * Read a number from the first column of the first row.
+     *
+     * @param sql Query
+     * @return Value, 0 if it is NULL
+     * @throws SQLException if the query fails or returns no rows
+     */
+    public long queryLong(String sql) throws SQLException {
+        try (Connection conn = connect(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                throw new SQLException("No rows for " + sql);
+            }
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Read a string from the first column of the first row.
+     *
+     * @param sql Query
+     * @return Value, or null if there is no row
+     * @throws SQLException if the query fails
+     */
+    public String queryString(String sql) throws SQLException {
+        try (Connection conn = connect(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    /**
+     * Read an amount from the first column of the first row.
+     * Amounts are stored as REAL, so they are rounded back to whole cents.
+     *
+     * @param sql Query
+     * @return Amount with scale {@link MinorUnits#SCALE}, or null if there is no row
+     * @throws SQLException if the query fails
+     */
+    public BigDecimal queryAmount(String sql) throws SQLException {
+        try (Connection conn = connect(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                return null;
+            }
+            BigDecimal amount = rs.getBigDecimal(1);
+            return amount != null ? MinorUnits.toBigDecimal(MinorUnits.roundToMinor(amount)) : null;
+        }
+    }
+}
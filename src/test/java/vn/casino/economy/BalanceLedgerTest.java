@@ -0,0 +1,177 @@
+package vn.casino.economy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.database.TestDatabase;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BalanceLedger.
+ * Tests in-memory balance mutations, batched flushing, crash replay and REAL balance round trips
+ * against the migrated SQLite schema.
+ */
+@DisplayName("BalanceLedger Tests")
+class BalanceLedgerTest {
+
+    private static final long NEVER = 60_000;
+
+    @Mock
+    private DatabaseProvider database;
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = Logger.getLogger("BalanceLedgerTest");
+    private TestDatabase db;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        db = TestDatabase.create(tempDir);
+        when(database.getConnection()).thenAnswer(inv -> db.connect());
+    }
+
+    @Test
+    @DisplayName("Credit and debit should update resident balance without flushing")
+    void testInMemoryMutations() throws Exception {
+        BalanceLedger ledger = newLedger(NEVER, 1000);
+        UUID playerId = UUID.randomUUID();
+
+        assertEquals(10_000L, ledger.credit(playerId, 10_000L, TransactionType.DEPOSIT, null, null, null));
+        assertEquals(7_500L, ledger.debit(playerId, 2_500L, TransactionType.BET, "taixiu", 1L, null));
+
+        assertTrue(ledger.isLoaded(playerId));
+        assertEquals(7_500L, ledger.peek(playerId).getAsLong());
+        assertEquals(2, ledger.getPendingCount());
+        assertEquals(new BigDecimal("0.00"), dbBalance(playerId));
+
+        ledger.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debit should fail on insufficient balance and leave balance untouched")
+    void testInsufficientBalance() throws Exception {
+        BalanceLedger ledger = newLedger(NEVER, 1000);
+        UUID playerId = UUID.randomUUID();
+
+        ledger.credit(playerId, 1_000L, TransactionType.DEPOSIT, null, null, null);
+
+        assertThrows(InsufficientBalanceException.class,
+            () -> ledger.debit(playerId, 1_001L, TransactionType.BET, "taixiu", 1L, null));
+        assertEquals(1_000L, ledger.peek(playerId).getAsLong());
+        assertEquals(1, ledger.getPendingCount());
+
+        ledger.shutdown();
+    }
+
+    @Test
+    @DisplayName("Shutdown should flush balances and transactions in batches")
+    void testShutdownFlush() throws Exception {
+        BalanceLedger ledger = newLedger(NEVER, 2);
+        UUID playerId = UUID.randomUUID();
+
+        ledger.credit(playerId, 50_000L, TransactionType.DEPOSIT, null, null, null);
+        ledger.debit(playerId, 10_000L, TransactionType.BET, "taixiu", 1L, null);
+        ledger.credit(playerId, 19_800L, TransactionType.WIN, "taixiu", 1L, null);
+        ledger.shutdown();
+
+        assertEquals(new BigDecimal("598.00"), dbBalance(playerId));
+        assertEquals(3, transactionCount());
+        assertEquals(3, checkpoint());
+    }
+
+    @Test
+    @DisplayName("Journal should be replayed exactly once after a crash")
+    void testCrashReplay() throws Exception {
+        UUID playerId = UUID.randomUUID();
+
+        // Crash: mutations journaled but never flushed
+        BalanceLedger crashed = newLedger(NEVER, 1000);
+        crashed.credit(playerId, 30_000L, TransactionType.DEPOSIT, null, null, null);
+        crashed.debit(playerId, 5_000L, TransactionType.BET, "baucua", 2L, null);
+        assertEquals(new BigDecimal("0.00"), dbBalance(playerId));
+
+        BalanceLedger recovered = newLedger(NEVER, 1000);
+        assertEquals(new BigDecimal("250.00"), dbBalance(playerId));
+        assertEquals(2, transactionCount());
+
+        // Restarting again must not apply the same entries twice
+        recovered.shutdown();
+        BalanceLedger restarted = newLedger(NEVER, 1000);
+        assertEquals(2, transactionCount());
+        assertEquals(new BigDecimal("250.00"), dbBalance(playerId));
+
+        restarted.shutdown();
+    }
+
+    @Test
+    @DisplayName("Released accounts should be evicted after their entries are flushed")
+    void testReleaseEviction() throws Exception {
+        BalanceLedger ledger = newLedger(50, 1000);
+        UUID playerId = UUID.randomUUID();
+
+        ledger.credit(playerId, 1_000L, TransactionType.DEPOSIT, null, null, null);
+        ledger.release(playerId);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (ledger.isLoaded(playerId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertFalse(ledger.isLoaded(playerId));
+        assertEquals(new BigDecimal("10.00"), dbBalance(playerId));
+
+        ledger.shutdown();
+    }
+
+    @Test
+    @DisplayName("Balance stored as REAL should load back to the exact cent")
+    void testRealBalanceRoundTrip() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        // 0.3 - 0.1 is stored as 0.19999999999999998
+        db.execute("INSERT INTO casino_players (uuid, balance) VALUES ('" + playerId + "', 0.3 - 0.1)");
+
+        BalanceLedger ledger = newLedger(NEVER, 1000);
+        assertEquals(135L, ledger.credit(playerId, 115L, TransactionType.DEPOSIT, null, null, null));
+        ledger.shutdown();
+
+        // Reloads 1.35 from the REAL column; a lost cent would make this debit fail
+        BalanceLedger reloaded = newLedger(NEVER, 1000);
+        assertEquals(0L, reloaded.debit(playerId, 135L, TransactionType.BET, "taixiu", 1L, null));
+        reloaded.shutdown();
+
+        assertEquals(new BigDecimal("0.00"), dbBalance(playerId));
+    }
+
+    private BalanceLedger newLedger(long flushIntervalMs, int batchSize) throws Exception {
+        BalanceLedger ledger = new BalanceLedger(
+            database, tempDir.resolve("ledger.journal"), flushIntervalMs, batchSize, logger
+        );
+        ledger.start();
+        return ledger;
+    }
+
+    private BigDecimal dbBalance(UUID playerId) throws Exception {
+        return db.queryAmount("SELECT balance FROM casino_players WHERE uuid = '" + playerId + "'");
+    }
+
+    private long transactionCount() throws Exception {
+        return db.queryLong("SELECT COUNT(*) FROM casino_transactions");
+    }
+
+    private long checkpoint() throws Exception {
+        return db.queryLong("SELECT last_seq FROM casino_ledger_checkpoint WHERE id = 1");
+    }
+}
@@ -199,7 +199,7 @@ class CurrencyManagerTest {
             null
         ).get();
 
-        assertEquals(new BigDecimal("6000"), newBalance);
+        assertEquals(new BigDecimal("6000.00"), newBalance);
         verify(connection).commit();
         verify(cache).delete(anyString());
     }
@@ -227,7 +227,7 @@ class CurrencyManagerTest {
             123L
         ).get();
 
-        assertEquals(new BigDecimal("4000"), newBalance);
+        assertEquals(new BigDecimal("4000.00"), newBalance);
         verify(connection).commit();
         verify(cache).delete(anyString());
     }
@@ -257,6 +257,87 @@ class CurrencyManagerTest {
         verify(connection).rollback();
     }
 
+    @Test
+    @DisplayName("Try debit should use a single conditional update")
+    void testTryDebitConditionalUpdate() throws Exception {
+        UUID playerId = UUID.randomUUID();
+
+        when(database.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBigDecimal("balance")).thenReturn(new BigDecimal("4000"));
+        when(cache.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        BigDecimal newBalance = currencyManager.tryDebit(
+            playerId,
+            new BigDecimal("1000"),
+            TransactionType.BET,
+            "taixiu",
+            123L,
+            null
+        ).get();
+
+        assertEquals(new BigDecimal("4000.00"), newBalance);
+        verify(connection).prepareStatement(contains("balance >= ?"));
+        verify(connection).commit();
+    }
+
+    @Test
+    @DisplayName("Try debit should fail without logging when no row matches")
+    void testTryDebitInsufficientBalance() throws Exception {
+        UUID playerId = UUID.randomUUID();
+
+        when(database.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenReturn(0);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> {
+            currencyManager.tryDebit(
+                playerId,
+                new BigDecimal("6000"),
+                TransactionType.BET,
+                "taixiu",
+                123L,
+                null
+            ).get();
+        });
+
+        assertInstanceOf(InsufficientBalanceException.class, ex.getCause());
+        verify(preparedStatement, times(1)).executeUpdate();
+        verify(connection, never()).commit();
+        verify(connection, atLeastOnce()).rollback();
+    }
+
+    @Test
+    @DisplayName("Try debit should read new balance via RETURNING when supported")
+    void testTryDebitReturning() throws Exception {
+        UUID playerId = UUID.randomUUID();
+
+        when(database.supportsReturning()).thenReturn(true);
+        when(database.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBigDecimal(1)).thenReturn(new BigDecimal("2500"));
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+        when(cache.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        BigDecimal newBalance = currencyManager.tryDebit(
+            playerId,
+            new BigDecimal("500"),
+            TransactionType.BET,
+            "baucua",
+            7L,
+            null
+        ).get();
+
+        assertEquals(new BigDecimal("2500.00"), newBalance);
+        verify(connection).prepareStatement(contains("RETURNING balance"));
+        verify(connection).commit();
+    }
+
     @Test
     @DisplayName("Deposit should create player if not exists")
     void testDepositCreatesNewPlayer() throws Exception {
@@ -281,7 +362,7 @@ class CurrencyManagerTest {
         ).get();
 
         // New player starts at 0, deposit adds 1000
-        assertEquals(new BigDecimal("1000"), newBalance);
+        assertEquals(new BigDecimal("1000.00"), newBalance);
         verify(connection).commit();
     }
 
@@ -404,7 +485,7 @@ class CurrencyManagerTest {
             description
         ).get();
 
-        assertEquals(new BigDecimal("6000"), newBalance);
+        assertEquals(new BigDecimal("6000.00"), newBalance);
     }
 
     @Test
@@ -430,6 +511,6 @@ class CurrencyManagerTest {
             description
         ).get();
 
-        assertEquals(new BigDecimal("4000"), newBalance);
+        assertEquals(new BigDecimal("4000.00"), newBalance);
     }
 }
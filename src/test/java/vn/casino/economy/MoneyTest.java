@@ -0,0 +1,76 @@
+package vn.casino.economy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Money.
+ * Tests BigDecimal conversion, rounding of stored amounts, fractional scaling and overflow checks.
+ */
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should round-trip BigDecimal amounts at scale 2")
+    void testBigDecimalRoundTrip() {
+        Money money = Money.of(new BigDecimal("1234.56"));
+
+        assertEquals(123_456, money.minor());
+        assertEquals(new BigDecimal("1234.56"), money.toBigDecimal());
+        assertEquals(Money.ofMajor(1000), Money.of(new BigDecimal("1000")));
+        assertEquals("1000.00", Money.ofMajor(1000).toString());
+    }
+
+    @Test
+    @DisplayName("Should round stored amounts to the nearest cent and truncate entered ones")
+    void testRounding() {
+        // 1.15 read back from a SQLite REAL column
+        BigDecimal stored = new BigDecimal("1.1499999999999999");
+
+        assertEquals(Money.ofMinor(115), Money.ofRounded(stored));
+        assertEquals(Money.ofMinor(114), Money.of(stored));
+        assertEquals(Money.ofMinor(-115), Money.ofRounded(stored.negate()));
+        assertEquals(Money.ofMinor(20), Money.ofRounded(BigDecimal.valueOf(0.3 - 0.1)));
+        assertEquals(Money.ofMinor(1), Money.of(new BigDecimal("0.019")));
+    }
+
+    @Test
+    @DisplayName("Should truncate when scaling by a fraction")
+    void testTimesFraction() {
+        // 1.98x payout in basis points
+        assertEquals(Money.ofMinor(198), Money.ofMinor(100).times(19_800, 10_000));
+        // 0.2% jackpot contribution in ppm: 3.33 -> 0.00666 truncates to 0.00
+        assertEquals(Money.ZERO, Money.ofMinor(333).times(2_000, 1_000_000));
+        assertEquals(Money.ofMajor(2), Money.ofMajor(1000).times(2_000, 1_000_000));
+    }
+
+    @Test
+    @DisplayName("Should compare and classify amounts")
+    void testComparisons() {
+        Money small = Money.ofMajor(1);
+        Money large = Money.ofMajor(10);
+
+        assertTrue(small.isLessThan(large));
+        assertTrue(large.isGreaterThan(small));
+        assertTrue(small.minus(large).isNegative());
+        assertTrue(large.minus(large).isZero());
+        assertSame(Money.ZERO, large.minus(large));
+        assertTrue(small.compareTo(large) < 0);
+    }
+
+    @Test
+    @DisplayName("Should throw on overflow instead of wrapping")
+    void testOverflow() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE).negate());
+        assertThrows(ArithmeticException.class, () -> Money.ofMajor(Long.MAX_VALUE / 10));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e30")));
+    }
+}
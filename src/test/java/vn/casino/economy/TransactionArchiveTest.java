@@ -0,0 +1,195 @@
+package vn.casino.economy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.economy.archive.SegmentTransactionArchiver;
+import vn.casino.economy.archive.TransactionArchiveReader;
+import vn.casino.economy.archive.TransactionSegmentCodec;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the transaction archive.
+ * Tests segment encoding round trips, archived history paging and repository fallback.
+ */
+@DisplayName("Transaction Archive Tests")
+class TransactionArchiveTest {
+
+    @Mock
+    private DatabaseProvider database;
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = Logger.getLogger("TransactionArchiveTest");
+    private final Instant day = Instant.parse("2026-01-15T10:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Block should decode to the exact rows it was encoded from")
+    void testCodecRoundTrip() throws Exception {
+        UUID player = UUID.randomUUID();
+        List<Transaction> rows = List.of(
+            new Transaction(100L, player, TransactionType.BET, new BigDecimal("-1000.00"),
+                new BigDecimal("5000.00"), new BigDecimal("4000.00"), "taixiu", 77L, "Bet on tai", day),
+            new Transaction(103L, UUID.randomUUID(), TransactionType.ADMIN_GIVE, new BigDecimal("250.50"),
+                new BigDecimal("0.00"), new BigDecimal("300.00"), null, null, null, day.plusMillis(1500)),
+            new Transaction(104L, player, TransactionType.WIN, new BigDecimal("1980.00"),
+                new BigDecimal("4000.00"), new BigDecimal("5980.00"), "taixiu", 76L, "Bet on tai", day.minusSeconds(3))
+        );
+
+        byte[] block = TransactionSegmentCodec.encode(rows);
+        TransactionSegmentCodec.BlockHeader header = TransactionSegmentCodec.decodeHeader(block);
+
+        assertEquals(3, header.rows());
+        assertEquals(100L, header.minId());
+        assertEquals(104L, header.maxId());
+        assertTrue(header.containsPlayer(player));
+        assertFalse(header.containsPlayer(UUID.randomUUID()));
+        assertEquals(rows, TransactionSegmentCodec.decode(block, header));
+    }
+
+    @Test
+    @DisplayName("Reader should page a player's history across day segments, newest first")
+    void testReaderPaging() throws Exception {
+        UUID player = UUID.randomUUID();
+        SegmentTransactionArchiver archiver = new SegmentTransactionArchiver(tempDir);
+        TransactionArchiveReader reader = new TransactionArchiveReader(tempDir);
+
+        long id = 1;
+        for (int d = 0; d < 3; d++) {
+            List<Transaction> chunk = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                UUID owner = i % 2 == 0 ? player : UUID.randomUUID();
+                chunk.add(bet(id++, owner, day.plus(Duration.ofDays(d)).plusSeconds(i)));
+            }
+            archiver.archive(chunk);
+        }
+
+        List<Transaction> first = reader.findByPlayerBefore(player, Long.MAX_VALUE, 12);
+        assertEquals(12, first.size());
+        assertEquals(59L, first.get(0).id());
+        assertTrue(first.stream().allMatch(tx -> tx.uuid().equals(player)));
+
+        List<Transaction> rest = reader.findByPlayerBefore(player, first.get(11).id(), 100);
+        assertEquals(18, rest.size());
+        assertEquals(1L, rest.get(17).id());
+        assertTrue(rest.get(0).id() < first.get(11).id());
+    }
+
+    @Test
+    @DisplayName("Rows archived twice should be returned once")
+    void testReaderDeduplicates() throws Exception {
+        UUID player = UUID.randomUUID();
+        SegmentTransactionArchiver archiver = new SegmentTransactionArchiver(tempDir);
+        List<Transaction> chunk = List.of(bet(1L, player, day), bet(2L, player, day));
+
+        archiver.archive(chunk);
+        archiver.archive(chunk);
+
+        assertEquals(2, new TransactionArchiveReader(tempDir).findByPlayerBefore(player, Long.MAX_VALUE, 10).size());
+    }
+
+    @Test
+    @DisplayName("Reader should read only matching blocks and pick up appended ones")
+    void testReaderSeeksMatchingBlocks() throws Exception {
+        UUID player = UUID.randomUUID();
+        SegmentTransactionArchiver archiver = new SegmentTransactionArchiver(tempDir);
+        TransactionArchiveReader reader = new TransactionArchiveReader(tempDir);
+
+        // 100 other players: a header too large for the first prefix read
+        List<Transaction> others = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            others.add(bet(id, UUID.randomUUID(), day));
+        }
+        archiver.archive(others);
+        archiver.archive(List.of(bet(101L, player, day), bet(102L, player, day)));
+
+        // Damage the body of the first block; a whole-file read would stop there
+        Path segment;
+        try (var files = Files.list(tempDir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long lastBodyByte = 8L + file.readInt() - 1;
+            file.seek(lastBodyByte);
+            int b = file.read();
+            file.seek(lastBodyByte);
+            file.write(b ^ 0xFF);
+        }
+
+        assertEquals(List.of(102L, 101L),
+            reader.findByPlayerBefore(player, Long.MAX_VALUE, 10).stream().map(Transaction::id).toList());
+
+        archiver.archive(List.of(bet(103L, player, day)));
+
+        assertEquals(List.of(103L, 102L, 101L),
+            reader.findByPlayerBefore(player, Long.MAX_VALUE, 10).stream().map(Transaction::id).toList());
+    }
+
+    @Test
+    @DisplayName("Reader should stop at a full page and skip segments newer than the cursor")
+    void testReaderSkipsSegmentsOutsidePage() throws Exception {
+        UUID player = UUID.randomUUID();
+        SegmentTransactionArchiver archiver = new SegmentTransactionArchiver(tempDir);
+        TransactionArchiveReader reader = new TransactionArchiveReader(tempDir);
+        archiver.archive(List.of(bet(1L, player, day.minus(Duration.ofDays(2))), bet(2L, player, day.minus(Duration.ofDays(2)))));
+        archiver.archive(List.of(bet(10L, player, day), bet(11L, player, day)));
+
+        // An unreadable segment between them fails any query that opens it
+        Files.createDirectory(tempDir.resolve("transactions-2026-01-14.seg"));
+
+        assertEquals(List.of(11L, 10L),
+            reader.findByPlayerBefore(player, Long.MAX_VALUE, 2).stream().map(Transaction::id).toList());
+        assertThrows(IOException.class, () -> reader.findByPlayerBefore(player, Long.MAX_VALUE, 3));
+
+        Files.delete(tempDir.resolve("transactions-2026-01-14.seg"));
+        assertEquals(List.of(2L, 1L),
+            reader.findByPlayerBefore(player, 10L, 10).stream().map(Transaction::id).toList());
+    }
+
+    @Test
+    @DisplayName("Short live page should be completed from the archive")
+    void testRepositoryFallsBackToArchive() throws Exception {
+        UUID player = UUID.randomUUID();
+        new SegmentTransactionArchiver(tempDir).archive(List.of(bet(5L, player, day), bet(6L, player, day)));
+
+        TransactionRepository repository = new TransactionRepository(
+            database, new TransactionArchiveReader(tempDir), logger);
+        when(database.queryAsync(anyString(), any(), anyString(), anyLong(), anyInt()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(bet(40L, player, Instant.now()))));
+
+        List<Transaction> page = repository.findByPlayerBefore(player, null, 10).get();
+
+        assertEquals(List.of(40L, 6L, 5L), page.stream().map(Transaction::id).toList());
+    }
+
+    private Transaction bet(long id, UUID player, Instant createdAt) {
+        return new Transaction(id, player, TransactionType.BET, new BigDecimal("-1000.00"),
+            new BigDecimal("5000.00"), new BigDecimal("4000.00"), "taixiu", id, "Bet on tai", createdAt);
+    }
+}
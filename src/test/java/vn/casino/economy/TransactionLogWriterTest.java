@@ -0,0 +1,113 @@
+package vn.casino.economy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.database.TestDatabase;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionLogWriter.
+ * Tests group commit, latency-bound flushing, back-pressure and shutdown drain against the migrated SQLite schema.
+ */
+@DisplayName("TransactionLogWriter Tests")
+class TransactionLogWriterTest {
+
+    @Mock
+    private DatabaseProvider database;
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = Logger.getLogger("TransactionLogWriterTest");
+    private TestDatabase db;
+    private MetricsRegistry metrics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        db = TestDatabase.create(tempDir);
+        when(database.getConnection()).thenAnswer(inv -> db.connect());
+        metrics = new MetricsRegistry(true);
+    }
+
+    @Test
+    @DisplayName("Rows should be coalesced into batches and drained on shutdown")
+    void testGroupCommitAndDrain() throws Exception {
+        TransactionLogWriter writer = new TransactionLogWriter(database, 10_000, 20, 100, metrics, logger);
+        writer.start();
+
+        for (int i = 0; i < 1000; i++) {
+            writer.submit(bet(i));
+        }
+        writer.shutdown();
+
+        assertEquals(1000, count());
+        assertEquals(0, writer.getQueuedCount());
+        assertEquals(1000, metrics.count("txlog.rows"));
+        assertTrue(metrics.count("txlog.batches") >= 10);
+        assertTrue(metrics.count("txlog.batches") < 1000);
+    }
+
+    @Test
+    @DisplayName("A lone row should be committed within the latency budget")
+    void testMaxLatencyFlush() throws Exception {
+        TransactionLogWriter writer = new TransactionLogWriter(database, 100, 20, 500, metrics, logger);
+        writer.start();
+
+        writer.submit(bet(1));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, count());
+
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Full queue without a running writer should fall back to a direct write")
+    void testBackPressureFallback() throws Exception {
+        TransactionLogWriter writer = new TransactionLogWriter(database, 1, 20, 500, metrics, logger);
+
+        writer.submit(bet(1));
+        writer.submit(bet(2));
+
+        assertEquals(1, count());
+        assertEquals(1, writer.getQueuedCount());
+        assertEquals(1, metrics.count("txlog.backpressure"));
+
+        writer.shutdown();
+        assertEquals(2, count());
+    }
+
+    private Transaction bet(int i) {
+        return Transaction.create(
+            UUID.randomUUID(),
+            TransactionType.BET,
+            new BigDecimal("-1000"),
+            new BigDecimal("5000"),
+            new BigDecimal("4000"),
+            "taixiu",
+            (long) i,
+            null
+        );
+    }
+
+    private long count() throws Exception {
+        return db.queryLong("SELECT COUNT(*) FROM casino_transactions");
+    }
+}
@@ -13,6 +13,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -94,6 +95,44 @@ class TransactionRepositoryTest {
         verify(database).queryAsync(anyString(), any(), anyString(), anyInt());
     }
 
+    @Test
+    @DisplayName("Find by player before should seek from the newest row on the first page")
+    void testFindByPlayerBeforeFirstPage() throws Exception {
+        UUID playerId = UUID.randomUUID();
+
+        when(database.queryAsync(anyString(), any(), anyString(), anyLong(), anyInt()))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        repository.findByPlayerBefore(playerId, null, 45).get();
+
+        verify(database).queryAsync(anyString(), any(), eq(playerId.toString()), eq(Long.MAX_VALUE), eq(45));
+    }
+
+    @Test
+    @DisplayName("Find by player before should seek below the given cursor")
+    void testFindByPlayerBeforeCursor() throws Exception {
+        UUID playerId = UUID.randomUUID();
+
+        when(database.queryAsync(anyString(), any(), anyString(), anyLong(), anyInt()))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        repository.findByPlayerBefore(playerId, 1234L, 45).get();
+
+        verify(database).queryAsync(anyString(), any(), eq(playerId.toString()), eq(1234L), eq(45));
+    }
+
+    @Test
+    @DisplayName("Find by player before should fail rather than return an empty page on error")
+    void testFindByPlayerBeforeError() {
+        UUID playerId = UUID.randomUUID();
+
+        when(database.queryAsync(anyString(), any(), anyString(), anyLong(), anyInt()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Database error")));
+
+        assertThrows(ExecutionException.class,
+            () -> repository.findByPlayerBefore(playerId, 1234L, 45).get());
+    }
+
     @Test
     @DisplayName("Find by game should return transactions")
     void testFindByGame() throws Exception {
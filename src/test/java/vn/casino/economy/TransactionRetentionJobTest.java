@@ -0,0 +1,154 @@
+package vn.casino.economy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.database.TestDatabase;
+import vn.casino.economy.archive.GzipTransactionArchiver;
+import vn.casino.economy.archive.TransactionArchiver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionRetentionJob.
+ * Tests chunked deletion, archive-before-delete and archive failure handling against the migrated SQLite schema.
+ */
+@DisplayName("TransactionRetentionJob Tests")
+class TransactionRetentionJobTest {
+
+    @Mock
+    private DatabaseProvider database;
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = Logger.getLogger("TransactionRetentionJobTest");
+    private TestDatabase db;
+    private MetricsRegistry metrics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        db = TestDatabase.create(tempDir);
+        when(database.getConnection()).thenAnswer(inv -> db.connect());
+        metrics = new MetricsRegistry(true);
+    }
+
+    @Test
+    @DisplayName("Old rows should be deleted in chunks and recent rows kept")
+    void testChunkedDelete() throws Exception {
+        insertRows(95, Instant.now().minus(Duration.ofDays(40)));
+        insertRows(5, Instant.now());
+
+        TransactionRetentionJob job = newJob(null);
+
+        assertEquals(95, job.run());
+        assertEquals(5, count());
+        assertEquals(10, metrics.count("retention.batches"));
+        assertEquals(95, metrics.count("retention.rows"));
+        assertFalse(job.isRunning());
+    }
+
+    @Test
+    @DisplayName("Every deleted row should be archived first")
+    void testArchiveBeforeDelete() throws Exception {
+        insertRows(25, Instant.now().minus(Duration.ofDays(40)));
+
+        List<Transaction> archived = new ArrayList<>();
+        TransactionRetentionJob job = newJob(rows -> {
+            assertEquals(25 - archived.size(), count());
+            archived.addAll(rows);
+        });
+
+        assertEquals(25, job.run());
+        assertEquals(25, archived.size());
+        assertEquals(0, count());
+    }
+
+    @Test
+    @DisplayName("Archive failure should stop the purge without deleting the chunk")
+    void testArchiveFailureKeepsRows() throws Exception {
+        insertRows(25, Instant.now().minus(Duration.ofDays(40)));
+
+        TransactionRetentionJob job = newJob(rows -> {
+            throw new IOException("Disk full");
+        });
+
+        assertEquals(0, job.run());
+        assertEquals(25, count());
+    }
+
+    @Test
+    @DisplayName("Gzip archiver should write one readable file per day")
+    void testGzipArchiver() throws Exception {
+        Instant day = Instant.parse("2026-01-15T10:00:00Z");
+        insertRows(3, day);
+        insertRows(2, day.plus(Duration.ofDays(1)));
+
+        TransactionRetentionJob job = newJob(new GzipTransactionArchiver(tempDir));
+        assertEquals(5, job.run());
+
+        assertEquals(3, readLines(tempDir.resolve("transactions-2026-01-15.tsv.gz")).size());
+        List<String> lines = readLines(tempDir.resolve("transactions-2026-01-16.tsv.gz"));
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\tBET\t-1000.00\t"));
+    }
+
+    private TransactionRetentionJob newJob(TransactionArchiver archiver) {
+        return new TransactionRetentionJob(database, Duration.ofDays(30), 10, 0, archiver, metrics, logger);
+    }
+
+    private void insertRows(int rows, Instant createdAt) throws Exception {
+        String sql = """
+            INSERT INTO casino_transactions
+            (uuid, type, amount, balance_before, balance_after, game, description, created_at)
+            VALUES (?, 'BET', -1000, 5000, 4000, 'taixiu', 'Bet\tplaced', ?)
+        """;
+        try (Connection conn = db.connect(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                stmt.setString(1, UUID.randomUUID().toString());
+                stmt.setTimestamp(2, Timestamp.from(createdAt));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private long count() {
+        try {
+            return db.queryLong("SELECT COUNT(*) FROM casino_transactions");
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private List<String> readLines(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
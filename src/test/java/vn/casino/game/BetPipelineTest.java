@@ -0,0 +1,187 @@
+package vn.casino.game;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.core.scheduler.FoliaScheduler;
+import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.InsufficientBalanceException;
+import vn.casino.economy.Money;
+import vn.casino.economy.TransactionType;
+import vn.casino.game.engine.BetOutcome;
+import vn.casino.game.engine.GameSession;
+import vn.casino.game.engine.GameSessionManager;
+import vn.casino.game.engine.GameSessionState;
+import vn.casino.game.jackpot.JackpotManager;
+import vn.casino.game.taixiu.TaiXiuBetType;
+import vn.casino.game.taixiu.TaiXiuConfig;
+import vn.casino.game.taixiu.TaiXiuGame;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the asynchronous bet placement pipeline in AbstractGame.
+ * Tests validation, fund reservation, session insertion and player notification.
+ */
+@DisplayName("Bet Pipeline Tests")
+class BetPipelineTest {
+
+    @Mock
+    private CurrencyManager currencyManager;
+
+    @Mock
+    private JackpotManager jackpotManager;
+
+    @Mock
+    private GameSessionManager sessionManager;
+
+    @Mock
+    private FoliaScheduler scheduler;
+
+    @Mock
+    private Player player;
+
+    private final UUID playerId = UUID.randomUUID();
+    private MetricsRegistry metrics;
+    private TaiXiuGame game;
+    private GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        metrics = new MetricsRegistry(true);
+
+        when(player.getUniqueId()).thenReturn(playerId);
+        when(sessionManager.getScheduler()).thenReturn(scheduler);
+
+        game = new TaiXiuGame(new TaiXiuConfig(), currencyManager, jackpotManager,
+            sessionManager, metrics, Logger.getLogger("BetPipelineTest"));
+
+        session = new GameSession(1L, "taixiu", null, "a".repeat(64), "b".repeat(64));
+        game.onSessionStart(session);
+        session.setState(GameSessionState.BETTING);
+    }
+
+    @Test
+    @DisplayName("Accepted bet should be added to session and notified on entity scheduler")
+    void testAcceptedBet() {
+        Money amount = Money.ofMajor(5000);
+        when(currencyManager.tryDebit(eq(playerId), eq(amount), eq(TransactionType.BET), eq("taixiu"), eq(1L), anyString()))
+            .thenReturn(CompletableFuture.completedFuture(Money.ofMajor(95000)));
+
+        BetOutcome outcome = game.onBet(player, TaiXiuBetType.TAI, amount).join();
+
+        assertTrue(outcome.isAccepted());
+        assertEquals(Money.ofMajor(95000), outcome.balanceAfter());
+        assertEquals(1, session.getPlayerBets(playerId).size());
+        verify(jackpotManager).contribute("taixiu", amount);
+        verify(scheduler).runAtEntity(eq(player), any(Runnable.class));
+        verify(player, never()).sendMessage(anyString());
+        assertEquals(1, metrics.timerSnapshots().get("bet.latency").count());
+    }
+
+    @Test
+    @DisplayName("onBet should return before funds are reserved")
+    void testNonBlocking() {
+        CompletableFuture<Money> pendingWithdraw = new CompletableFuture<>();
+        when(currencyManager.tryDebit(any(), any(Money.class), any(), any(), any(), any())).thenReturn(pendingWithdraw);
+
+        CompletableFuture<BetOutcome> future = game.onBet(player, TaiXiuBetType.XIU, Money.ofMajor(5000));
+
+        assertFalse(future.isDone());
+        assertTrue(session.getPlayerBets(playerId).isEmpty());
+
+        pendingWithdraw.complete(Money.ofMajor(1000));
+        assertTrue(future.join().isAccepted());
+        assertEquals(1, session.getPlayerBets(playerId).size());
+    }
+
+    @Test
+    @DisplayName("Insufficient balance should reject without adding bet")
+    void testInsufficientBalance() {
+        when(currencyManager.tryDebit(any(), any(Money.class), any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("Balance operation failed", new InsufficientBalanceException())));
+
+        BetOutcome outcome = game.onBet(player, TaiXiuBetType.TAI, Money.ofMajor(5000)).join();
+
+        assertEquals(BetOutcome.Status.INSUFFICIENT_BALANCE, outcome.status());
+        assertTrue(session.getPlayerBets(playerId).isEmpty());
+        verifyNoInteractions(jackpotManager);
+    }
+
+    @Test
+    @DisplayName("Other debit failures should not be reported as insufficient balance")
+    void testDebitFailureIsNotInsufficientBalance() {
+        when(currencyManager.tryDebit(any(), any(Money.class), any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("Ledger operation failed", new IllegalStateException("Journal closed"))));
+
+        BetOutcome outcome = game.onBet(player, TaiXiuBetType.TAI, Money.ofMajor(5000)).join();
+
+        assertEquals(BetOutcome.Status.FAILED, outcome.status());
+        assertTrue(session.getPlayerBets(playerId).isEmpty());
+        verifyNoInteractions(jackpotManager);
+    }
+
+    @Test
+    @DisplayName("Late debit failure should not clear a newer bet's cooldown")
+    void testLateFailureKeepsNewerCooldown() {
+        CompletableFuture<Money> firstDebit = new CompletableFuture<>();
+        when(currencyManager.tryDebit(any(), any(Money.class), any(), any(), any(), any()))
+            .thenReturn(firstDebit)
+            .thenReturn(CompletableFuture.completedFuture(Money.ofMajor(1000)));
+
+        CompletableFuture<BetOutcome> first = game.onBet(player, TaiXiuBetType.TAI, Money.ofMajor(5000));
+        game.cleanupPlayer(playerId);
+        assertTrue(game.onBet(player, TaiXiuBetType.XIU, Money.ofMajor(5000)).join().isAccepted());
+
+        firstDebit.completeExceptionally(new RuntimeException("Balance operation failed"));
+        assertEquals(BetOutcome.Status.FAILED, first.join().status());
+
+        BetOutcome cooldown = game.onBet(player, TaiXiuBetType.TAI, Money.ofMajor(5000)).join();
+        assertEquals(BetOutcome.Status.COOLDOWN, cooldown.status());
+    }
+
+    @Test
+    @DisplayName("Bet reserved after betting closed should be refunded")
+    void testRefundWhenBettingClosed() {
+        CompletableFuture<Money> pendingWithdraw = new CompletableFuture<>();
+        when(currencyManager.tryDebit(any(), any(Money.class), any(), any(), any(), any())).thenReturn(pendingWithdraw);
+        when(currencyManager.deposit(any(), any(Money.class), any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(Money.ZERO));
+
+        CompletableFuture<BetOutcome> future = game.onBet(player, TaiXiuBetType.TAI, Money.ofMajor(5000));
+        session.setState(GameSessionState.CALCULATING);
+        pendingWithdraw.complete(Money.ofMajor(1000));
+
+        assertEquals(BetOutcome.Status.BETTING_CLOSED, future.join().status());
+        verify(currencyManager).deposit(eq(playerId), eq(Money.ofMajor(5000)), eq(TransactionType.REFUND),
+            eq("taixiu"), eq(1L), anyString());
+    }
+
+    @Test
+    @DisplayName("Invalid amount and cooldown should be rejected synchronously")
+    void testSynchronousRejections() {
+        BetOutcome tooSmall = game.onBet(player, TaiXiuBetType.TAI, Money.ofMajor(1)).join();
+        assertEquals(BetOutcome.Status.INVALID_AMOUNT, tooSmall.status());
+
+        when(currencyManager.tryDebit(any(), any(Money.class), any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(Money.ofMajor(1000)));
+        assertTrue(game.onBet(player, TaiXiuBetType.TAI, Money.ofMajor(5000)).join().isAccepted());
+
+        BetOutcome cooldown = game.onBet(player, TaiXiuBetType.TAI, Money.ofMajor(5000)).join();
+        assertEquals(BetOutcome.Status.COOLDOWN, cooldown.status());
+        verify(currencyManager, times(1)).tryDebit(any(), any(Money.class), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,152 @@
+package vn.casino.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vn.casino.economy.Money;
+import vn.casino.game.engine.Bet;
+import vn.casino.game.engine.GameSession;
+import vn.casino.game.engine.GameSessionState;
+import vn.casino.game.taixiu.TaiXiuBetType;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GameSession bet storage.
+ * Tests running pot, per-player and per-bet-type totals,
+ * concurrent bet placement and the sealed bet list.
+ */
+@DisplayName("GameSession Tests")
+class GameSessionTest {
+
+    private GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = new GameSession(1L, "taixiu", null, "a".repeat(64), "b".repeat(64));
+        session.setState(GameSessionState.BETTING);
+    }
+
+    @Test
+    @DisplayName("Empty session should report zero totals")
+    void testEmptyTotals() {
+        assertEquals(0, session.getBetCount());
+        assertTrue(session.getTotalBetAmount().isZero());
+        assertTrue(session.getTotalBetAmount(UUID.randomUUID()).isZero());
+        assertEquals(0L, session.getBetTypeTotalMinor(TaiXiuBetType.TAI));
+    }
+
+    @Test
+    @DisplayName("Running totals should match the bets placed")
+    void testRunningTotals() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+
+        session.addBet(Bet.create(1L, alice, TaiXiuBetType.TAI, Money.ofMinor(100_050)));
+        session.addBet(Bet.create(1L, alice, TaiXiuBetType.XIU, Money.ofMajor(200)));
+        session.addBet(Bet.create(1L, bob, TaiXiuBetType.TAI, Money.ofMajor(3000)));
+
+        assertEquals(3, session.getBetCount());
+        assertEquals(Money.ofMinor(420_050), session.getTotalBetAmount());
+        assertEquals(420_050L, session.getTotalBetMinor());
+        assertEquals(Money.ofMinor(120_050), session.getTotalBetAmount(alice));
+        assertEquals(Money.ofMajor(3000), session.getTotalBetAmount(bob));
+        assertEquals(400_050L, session.getBetTypeTotalMinor(TaiXiuBetType.TAI));
+        assertEquals(Money.ofMajor(200), session.getBetTypeTotal(TaiXiuBetType.XIU));
+    }
+
+    @Test
+    @DisplayName("Bets outside the betting phase should be rejected without changing totals")
+    void testRejectedBetLeavesTotals() {
+        session.setState(GameSessionState.CALCULATING);
+
+        assertThrows(IllegalStateException.class,
+            () -> session.addBet(Bet.create(1L, UUID.randomUUID(), TaiXiuBetType.TAI, Money.ofMajor(1000))));
+        assertEquals(0, session.getBetCount());
+        assertEquals(0L, session.getTotalBetMinor());
+    }
+
+    @Test
+    @DisplayName("Concurrent bets should all be stored and counted")
+    void testConcurrentBets() throws Exception {
+        int threads = 8;
+        int betsPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            UUID playerId = UUID.randomUUID();
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < betsPerThread; i++) {
+                    session.addBet(Bet.create(1L, playerId, TaiXiuBetType.TAI, Money.ofMajor(1)));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        session.setState(GameSessionState.CALCULATING);
+
+        assertEquals(threads * betsPerThread, session.getAllBets().size());
+        assertEquals(threads * betsPerThread, session.getBetCount());
+        assertEquals(threads, session.getPlayers().size());
+        assertEquals(threads * betsPerThread * 100L, session.getTotalBetMinor());
+        assertEquals(betsPerThread, session.getPlayerBets(session.getPlayers().iterator().next()).size());
+    }
+
+    @Test
+    @DisplayName("Closing betting while bets race in should keep list and totals consistent")
+    void testCloseDuringBetting() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                running.countDown();
+                while (true) {
+                    try {
+                        session.addBet(Bet.create(1L, UUID.randomUUID(), TaiXiuBetType.XIU, Money.ofMajor(10)));
+                        accepted.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        return; // Betting closed
+                    }
+                }
+            });
+        }
+        running.await();
+        Thread.sleep(20);
+        assertTrue(session.compareAndSetState(GameSessionState.BETTING, GameSessionState.CALCULATING));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<Bet> sealed = session.getAllBets();
+        assertEquals(accepted.get(), sealed.size());
+        assertEquals(sealed.size(), session.getPlayers().size());
+        assertEquals(sealed.size() * 1000L, session.getBetTypeTotalMinor(TaiXiuBetType.XIU));
+    }
+
+    @Test
+    @DisplayName("Bets should be returned without copying once betting has closed")
+    void testSealedBetsNotCopied() {
+        session.addBet(Bet.create(1L, UUID.randomUUID(), TaiXiuBetType.TAI, Money.ofMajor(1000)));
+        session.setState(GameSessionState.CALCULATING);
+
+        List<Bet> first = session.getAllBets();
+        assertSame(first, session.getAllBets());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(first.get(0)));
+        assertFalse(session.compareAndSetState(GameSessionState.BETTING, GameSessionState.RESULT));
+    }
+}
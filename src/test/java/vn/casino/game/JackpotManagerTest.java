@@ -0,0 +1,299 @@
+package vn.casino.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.cache.CacheProvider;
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.database.TestDatabase;
+import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.Money;
+import vn.casino.economy.TransactionType;
+import vn.casino.game.jackpot.JackpotAccumulator;
+import vn.casino.game.jackpot.JackpotConfig;
+import vn.casino.game.jackpot.JackpotManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for jackpot contribution accumulation.
+ * Tests lock-free accumulation, relative flushes, retry on failure,
+ * the exactly-once trigger claim and resumed payouts against the migrated SQLite schema.
+ */
+@DisplayName("Jackpot Manager Tests")
+class JackpotManagerTest {
+
+    private static final String POOL_KEY = "casino:jackpot:taixiu:pool";
+    private static final String GENERATION_KEY = "casino:jackpot:taixiu:generation";
+
+    @Mock
+    private DatabaseProvider database;
+
+    @Mock
+    private CacheProvider cache;
+
+    @Mock
+    private CurrencyManager currencyManager;
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = Logger.getLogger("JackpotManagerTest");
+    private JackpotManager jackpotManager;
+    private TestDatabase db;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(cache.incrementByIfPresent(anyString(), anyLong()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(database.updateAsync(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(1));
+
+        jackpotManager = new JackpotManager(database, cache, currencyManager, 1000, logger);
+    }
+
+    @Test
+    @DisplayName("Concurrent contributions should be flushed as one relative update")
+    void testConcurrentContributionsFlushOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            tasks.add(pool.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    jackpotManager.contribute("taixiu", Money.ofMajor(10000)); // 0.2% = 20.00
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        pool.shutdown();
+
+        verifyNoInteractions(database);
+        jackpotManager.flush().join();
+
+        ArgumentCaptor<Object> delta = ArgumentCaptor.forClass(Object.class);
+        verify(database, times(1)).updateAsync(contains("pool_amount + ?"), delta.capture(), eq("taixiu"));
+        assertEquals(0, new BigDecimal("160000.00").compareTo((BigDecimal) delta.getValue()));
+        verify(cache).incrementByIfPresent(POOL_KEY, 16_000_000L);
+
+        // Nothing left to flush
+        jackpotManager.flush().join();
+        verify(database, times(1)).updateAsync(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Pool should include contributions that are not flushed yet")
+    void testPoolIncludesPendingContributions() {
+        when(cache.get(POOL_KEY)).thenReturn(CompletableFuture.completedFuture(Optional.of("1000000")));
+
+        jackpotManager.contribute("taixiu", Money.ofMajor(50000));
+
+        assertEquals(Money.ofMajor(10100), jackpotManager.getPool("taixiu").join());
+    }
+
+    @Test
+    @DisplayName("Failed flush should keep the amount pending for the next flush")
+    void testFailedFlushIsRetried() {
+        when(database.updateAsync(anyString(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("db down")))
+            .thenReturn(CompletableFuture.completedFuture(1));
+
+        jackpotManager.contribute("taixiu", Money.ofMajor(10000));
+        jackpotManager.flush().join();
+        jackpotManager.contribute("taixiu", Money.ofMajor(10000));
+        jackpotManager.flush().join();
+
+        verify(cache, never()).incrementByIfPresent(anyString(), eq(2000L));
+        verify(cache).incrementByIfPresent(POOL_KEY, 4000L);
+    }
+
+    @Test
+    @DisplayName("Draining while contributions arrive should not lose any")
+    void testDrainDoesNotLoseConcurrentAdds() throws Exception {
+        JackpotAccumulator accumulator = new JackpotAccumulator();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    accumulator.add("taixiu", 3);
+                }
+            });
+        }
+
+        long drained = 0;
+        pool.shutdown();
+        while (!pool.isTerminated()) {
+            drained += accumulator.drain("taixiu");
+        }
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        drained += accumulator.drain("taixiu");
+
+        assertEquals(4 * 100_000 * 3L, drained);
+        assertEquals(0, accumulator.pending("taixiu"));
+    }
+
+    @Test
+    @DisplayName("Trigger should advance the generation and record the win before paying it")
+    void testTriggerClaimsGenerationThenPays() throws Exception {
+        UUID winner = UUID.randomUUID();
+        useDatabase(7);
+        stubAlwaysTrigger();
+        stubCacheClaim(true);
+        stubPayout();
+
+        assertEquals(Optional.of(winner), jackpotManager.checkTrigger("taixiu", Set.of(winner)).join());
+
+        // Seed 10,000.00 minus the 1,000,000.00 snapshot
+        assertEquals(8L, queryLong("SELECT generation FROM casino_jackpots WHERE game_id = 'taixiu'"));
+        assertEquals(new BigDecimal("10000.00"), poolAmount());
+        long winId = queryLong("SELECT id FROM casino_jackpot_wins WHERE game_id = 'taixiu' AND generation = 7 AND paid = TRUE");
+
+        verify(cache).compareAndAdvance(eq(GENERATION_KEY), eq(7L), any(Duration.class), eq(POOL_KEY), eq(-99_000_000L));
+        verify(currencyManager).depositBatch(eq(Map.of(winner, Money.ofMajor(1_000_000))), eq(TransactionType.JACKPOT),
+            eq("taixiu"), eq(winId), anyString(), any());
+        verify(cache, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("Trigger should not touch the cache or pay when the generation was already claimed")
+    void testLostClaimDoesNotPay() throws Exception {
+        useDatabase(8);
+        stubAlwaysTrigger();
+
+        assertEquals(Optional.empty(), jackpotManager.checkTrigger("taixiu", Set.of(UUID.randomUUID())).join());
+
+        assertEquals(new BigDecimal("1000000.00"), poolAmount());
+        assertEquals(0L, queryLong("SELECT COUNT(*) FROM casino_jackpot_wins"));
+        verify(cache, never()).compareAndAdvance(anyString(), anyLong(), any(Duration.class), anyString(), anyLong());
+        verifyNoInteractions(currencyManager);
+    }
+
+    @Test
+    @DisplayName("Cache that cannot follow a committed claim should have both keys dropped")
+    void testDivergedCacheIsDropped() throws Exception {
+        UUID winner = UUID.randomUUID();
+        useDatabase(7);
+        stubAlwaysTrigger();
+        stubCacheClaim(false);
+        stubPayout();
+
+        assertEquals(Optional.of(winner), jackpotManager.checkTrigger("taixiu", Set.of(winner)).join());
+
+        assertEquals(8L, queryLong("SELECT generation FROM casino_jackpots WHERE game_id = 'taixiu'"));
+        verify(cache).delete(POOL_KEY);
+        verify(cache).delete(GENERATION_KEY);
+    }
+
+    @Test
+    @DisplayName("Win left unpaid should be paid once on resume")
+    void testUnpaidWinIsResumed() throws Exception {
+        UUID winner = UUID.randomUUID();
+        useDatabase(7);
+        stubAlwaysTrigger();
+        stubCacheClaim(true);
+        when(currencyManager.depositBatch(anyMap(), any(), any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("db down")));
+
+        assertEquals(Optional.empty(), jackpotManager.checkTrigger("taixiu", Set.of(winner)).join());
+        assertEquals(1L, queryLong("SELECT COUNT(*) FROM casino_jackpot_wins WHERE paid = FALSE"));
+
+        stubPayout();
+        when(database.queryAsync(contains("paid = ?"), any(), any())).thenAnswer(inv -> {
+            try (Connection conn = db.connect();
+                 PreparedStatement stmt = conn.prepareStatement(inv.getArgument(0))) {
+                stmt.setObject(1, inv.getArgument(2));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return CompletableFuture.completedFuture(inv.<Function<ResultSet, ?>>getArgument(1).apply(rs));
+                }
+            }
+        });
+
+        assertEquals(1, jackpotManager.resumeUnpaid().join());
+        assertEquals(0, jackpotManager.resumeUnpaid().join());
+
+        assertEquals(0L, queryLong("SELECT COUNT(*) FROM casino_jackpot_wins WHERE paid = FALSE"));
+        verify(currencyManager, times(2)).depositBatch(eq(Map.of(winner, Money.ofMajor(1_000_000))),
+            eq(TransactionType.JACKPOT), eq("taixiu"), anyLong(), anyString(), any());
+    }
+
+    /**
+     * Migrated database with a pool of 1,000,000.00 at the given generation.
+     */
+    private void useDatabase(long generation) throws Exception {
+        db = TestDatabase.create(tempDir);
+        when(database.getConnection()).thenAnswer(inv -> db.connect());
+        // V1 seeds the row with 10,000.00
+        db.execute("UPDATE casino_jackpots SET pool_amount = 1000000.00, generation = " + generation
+            + " WHERE game_id = 'taixiu'");
+    }
+
+    private void stubCacheClaim(boolean advanced) {
+        when(cache.compareAndAdvance(anyString(), anyLong(), any(Duration.class), anyString(), anyLong()))
+            .thenReturn(CompletableFuture.completedFuture(advanced));
+        when(cache.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Deposits that run their claim against the database, as the real batch does.
+     */
+    private void stubPayout() {
+        when(currencyManager.depositBatch(anyMap(), any(), any(), any(), any(), any())).thenAnswer(inv -> {
+            try (Connection conn = db.connect()) {
+                return CompletableFuture.completedFuture(inv.<CurrencyManager.BatchClaim>getArgument(5).claim(conn));
+            }
+        });
+    }
+
+    private BigDecimal poolAmount() throws Exception {
+        return db.queryAmount("SELECT pool_amount FROM casino_jackpots WHERE game_id = 'taixiu'");
+    }
+
+    private long queryLong(String sql) throws Exception {
+        return db.queryLong(sql);
+    }
+
+    /**
+     * Pool of 1,000,000.00 at generation 7 with a trigger chance above 1.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubAlwaysTrigger() {
+        jackpotManager.setConfig("taixiu",
+            new JackpotConfig(0.002, 0.9, 0.5, new BigDecimal("100"), new BigDecimal("10000")));
+        when(cache.get(POOL_KEY)).thenReturn(CompletableFuture.completedFuture(Optional.of("100000000")));
+
+        when(database.queryAsync(contains("generation"), any(), eq("taixiu"))).thenAnswer(inv -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.next()).thenReturn(true);
+            when(rs.getBigDecimal("pool_amount")).thenReturn(new BigDecimal("1000000.00"));
+            when(rs.getLong("generation")).thenReturn(7L);
+            return CompletableFuture.completedFuture(inv.<Function<ResultSet, ?>>getArgument(1).apply(rs));
+        });
+    }
+}
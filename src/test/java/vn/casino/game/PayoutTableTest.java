@@ -0,0 +1,102 @@
+package vn.casino.game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.economy.Money;
+import vn.casino.game.baucua.BauCuaBetType;
+import vn.casino.game.baucua.BauCuaConfig;
+import vn.casino.game.baucua.BauCuaGame;
+import vn.casino.game.baucua.BauCuaResult;
+import vn.casino.game.engine.Bet;
+import vn.casino.game.engine.GameResult;
+import vn.casino.game.engine.GameSession;
+import vn.casino.game.engine.GameSessionState;
+import vn.casino.game.engine.PayoutTable;
+import vn.casino.game.engine.ProvablyFairRNG;
+import vn.casino.game.taixiu.TaiXiuBetType;
+import vn.casino.game.taixiu.TaiXiuConfig;
+import vn.casino.game.taixiu.TaiXiuGame;
+import vn.casino.game.taixiu.TaiXiuResult;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for per-result payout tables.
+ * Tests compiled basis points, Bau Cua match payouts and the parallel path.
+ */
+@DisplayName("Payout Table Tests")
+class PayoutTableTest {
+
+    private static final String SEED = "test-server-seed";
+    private static final String HASH = ProvablyFairRNG.commitment(SEED);
+
+    private final MetricsRegistry metrics = new MetricsRegistry(false);
+    private final Logger logger = Logger.getLogger("PayoutTableTest");
+
+    @Test
+    @DisplayName("Tai Xiu table should pay the multiplier on the winning side only")
+    void testTaiXiuTable() {
+        TaiXiuGame game = new TaiXiuGame(new TaiXiuConfig(), null, null, null, metrics, logger);
+        PayoutTable table = game.compilePayoutTable(new TaiXiuResult(SEED, HASH, 4, 4, 5).toGameResult());
+
+        assertEquals(19_800, table.basisPoints(TaiXiuBetType.TAI));
+        assertEquals(0, table.basisPoints(TaiXiuBetType.XIU));
+        assertEquals(198_000, table.payoutMinor(100_000, TaiXiuBetType.TAI));
+    }
+
+    @Test
+    @DisplayName("Tai Xiu triple should pay nothing")
+    void testTaiXiuTriple() {
+        TaiXiuGame game = new TaiXiuGame(new TaiXiuConfig(), null, null, null, metrics, logger);
+        PayoutTable table = game.compilePayoutTable(new TaiXiuResult(SEED, HASH, 3, 3, 3).toGameResult());
+
+        assertFalse(table.isWinning(TaiXiuBetType.TAI));
+        assertFalse(table.isWinning(TaiXiuBetType.XIU));
+    }
+
+    @Test
+    @DisplayName("Bau Cua table should return stake plus one unit per matching die")
+    void testBauCuaTable() {
+        BauCuaGame game = new BauCuaGame(new BauCuaConfig(), null, null, null, metrics, logger);
+        PayoutTable table = game.compilePayoutTable(new BauCuaResult(SEED, HASH, 1, 1, 3).toGameResult());
+
+        assertEquals(30_000, table.basisPoints(BauCuaBetType.BAU)); // 2 matches
+        assertEquals(20_000, table.basisPoints(BauCuaBetType.TOM)); // 1 match
+        assertEquals(0, table.basisPoints(BauCuaBetType.CUA));
+
+        Bet bet = Bet.create(1L, UUID.randomUUID(), BauCuaBetType.BAU, Money.ofMajor(1000));
+        assertEquals(Money.ofMajor(3000), table.payout(bet));
+    }
+
+    @Test
+    @DisplayName("Parallel payouts should equal sequential payouts")
+    void testParallelMatchesSequential() {
+        TaiXiuGame game = new TaiXiuGame(new TaiXiuConfig(), null, null, null, metrics, logger);
+        GameSession session = new GameSession(1L, "taixiu", null, SEED, HASH);
+        session.setState(GameSessionState.BETTING);
+
+        UUID[] players = new UUID[50];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+        }
+        for (int i = 0; i < 20_000; i++) {
+            TaiXiuBetType side = i % 3 == 0 ? TaiXiuBetType.XIU : TaiXiuBetType.TAI;
+            session.addBet(Bet.create(1L, players[i % players.length], side, Money.ofMajor(100 + i % 997)));
+        }
+        session.setState(GameSessionState.CALCULATING);
+        GameResult result = new TaiXiuResult(SEED, HASH, 6, 5, 1).toGameResult();
+
+        game.setParallelPayoutThreshold(Integer.MAX_VALUE);
+        Map<UUID, Money> sequential = game.calculatePayouts(session, result);
+        game.setParallelPayoutThreshold(1);
+        Map<UUID, Money> parallel = game.calculatePayouts(session, result);
+
+        assertEquals(sequential, parallel);
+        assertEquals(players.length, sequential.size());
+    }
+}
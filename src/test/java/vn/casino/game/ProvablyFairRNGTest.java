@@ -4,14 +4,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import vn.casino.game.engine.ProvablyFairRNG;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for ProvablyFairRNG.
- * Tests seed commitment, result distribution, and determinism.
+ * Tests seed commitment, result distribution, determinism
+ * and compatibility of each algorithm version.
  */
 @DisplayName("ProvablyFairRNG Tests")
 class ProvablyFairRNGTest {
@@ -186,4 +190,89 @@ class ProvablyFairRNGTest {
 
         assertEquals(hash1, hash2, "Same seed should produce same commitment hash");
     }
+
+    @Test
+    @DisplayName("Legacy algorithm should match the original hex-based derivation")
+    void testLegacyBitCompatible() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+        for (long nonce = 0; nonce < 200; nonce++) {
+            String hex = HexFormat.of().formatHex(
+                digest.digest(("legacy-seed:player-uuid:" + nonce).getBytes(StandardCharsets.UTF_8)));
+            int expected = (int) (Long.parseLong(hex.substring(0, 8), 16) % 37);
+
+            assertEquals(expected, ProvablyFairRNG.generateResult("legacy-seed", "player-uuid", nonce, 37));
+            assertEquals(expected, ProvablyFairRNG.generateResult(
+                ProvablyFairRNG.ALGORITHM_LEGACY, "legacy-seed", "player-uuid", nonce, 37));
+        }
+    }
+
+    @Test
+    @DisplayName("Legacy batch should equal one call per consecutive nonce")
+    void testLegacyBatchMatchesSingleCalls() {
+        int[] batch = ProvablyFairRNG.generateResults(ProvablyFairRNG.ALGORITHM_LEGACY, "seed", "disc", 100, 2, 4);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(ProvablyFairRNG.generateResult("seed", "disc", 100 + i, 2), batch[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Commitment should match the JDK SHA-256 hex digest")
+    void testCommitmentMatchesJdk() throws Exception {
+        String expected = HexFormat.of().formatHex(
+            MessageDigest.getInstance("SHA-256").digest("seed-ü".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(expected, ProvablyFairRNG.commitment("seed-ü"));
+    }
+
+    @Test
+    @DisplayName("Rejection algorithm should read values from the digest words")
+    void testRejectionUsesDigestWords() throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256")
+            .digest("seed:dice:7".getBytes(StandardCharsets.UTF_8));
+        int[] values = ProvablyFairRNG.generateResults(ProvablyFairRNG.ALGORITHM_REJECTION, "seed", "dice", 7, 1 << 16, 8);
+
+        // 2^16 divides 2^32, so no word is rejected
+        for (int i = 0; i < 8; i++) {
+            long word = Integer.toUnsignedLong(
+                (hash[i * 4] & 0xFF) << 24 | (hash[i * 4 + 1] & 0xFF) << 16 | (hash[i * 4 + 2] & 0xFF) << 8 | (hash[i * 4 + 3] & 0xFF));
+            assertEquals(word % (1 << 16), values[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Rejection algorithm should extend the digest for long batches")
+    void testRejectionLongBatch() {
+        int[] values = ProvablyFairRNG.generateResults(ProvablyFairRNG.ALGORITHM_REJECTION, "seed", "test", 1, 6, 100);
+        int[] again = ProvablyFairRNG.generateResults(ProvablyFairRNG.ALGORITHM_REJECTION, "seed", "test", 1, 6, 100);
+
+        assertArrayEquals(values, again, "Batches should be deterministic");
+        for (int value : values) {
+            assertTrue(value >= 0 && value < 6, "Value should be in range [0, 6)");
+        }
+    }
+
+    @Test
+    @DisplayName("Rejection algorithm distribution should be uniform")
+    void testRejectionDistribution() {
+        int[] counts = new int[6];
+        String seed = ProvablyFairRNG.generateServerSeed();
+        for (int i = 0; i < 2000; i++) {
+            for (int value : ProvablyFairRNG.generateResults(ProvablyFairRNG.ALGORITHM_REJECTION, seed, "test", i, 6, 5)) {
+                counts[value]++;
+            }
+        }
+
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 10000 / 6.0) < 300, "Distribution too skewed: " + count);
+        }
+    }
+
+    @Test
+    @DisplayName("Unknown algorithm version should be rejected")
+    void testUnknownAlgorithm() {
+        assertThrows(IllegalArgumentException.class,
+            () -> ProvablyFairRNG.generateResult(99, "seed", "client", 0, 6));
+    }
 }
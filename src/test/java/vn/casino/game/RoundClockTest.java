@@ -0,0 +1,127 @@
+package vn.casino.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vn.casino.game.engine.RoundClock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RoundClock.
+ * Tests deadline ordering, multi-rotation deadlines, lag catch-up and cancellation.
+ */
+@DisplayName("RoundClock Tests")
+class RoundClockTest {
+
+    private static final long TICK = 50_000_000L; // 50 ms
+
+    private final AtomicLong time = new AtomicLong(1_000_000_000L);
+    private RoundClock clock;
+    private List<String> fired;
+
+    @BeforeEach
+    void setUp() {
+        clock = new RoundClock(TICK, 8, time::get);
+        fired = new ArrayList<>();
+    }
+
+    private void advanceBy(long nanos) {
+        time.addAndGet(nanos);
+        clock.advance();
+    }
+
+    @Test
+    @DisplayName("Should not run tasks before their deadline")
+    void testRunsAtDeadline() {
+        clock.schedule(() -> fired.add("a"), clock.now() + 10 * TICK);
+
+        advanceBy(9 * TICK);
+        assertTrue(fired.isEmpty());
+
+        advanceBy(TICK);
+        assertEquals(List.of("a"), fired);
+        assertEquals(0, clock.pending());
+    }
+
+    @Test
+    @DisplayName("Should hold deadlines several wheel rotations away")
+    void testMultipleRotations() {
+        // Wheel of 8 ticks; 30 ticks is almost four rotations
+        clock.schedule(() -> fired.add("far"), clock.now() + 30 * TICK);
+
+        for (int i = 0; i < 29; i++) {
+            advanceBy(TICK);
+        }
+        assertTrue(fired.isEmpty());
+
+        advanceBy(TICK);
+        assertEquals(List.of("far"), fired);
+    }
+
+    @Test
+    @DisplayName("Should catch up after lag and run tasks in deadline order")
+    void testLagCatchUp() {
+        long start = clock.now();
+        clock.schedule(() -> fired.add("round-end"), start + 40 * TICK);
+        clock.schedule(() -> fired.add("betting-end"), start + 20 * TICK);
+
+        // One stalled advance covering both deadlines
+        advanceBy(45 * TICK);
+
+        assertEquals(List.of("betting-end", "round-end"), fired);
+    }
+
+    @Test
+    @DisplayName("Should keep absolute deadlines when rescheduled from a late task")
+    void testNoDriftWhenRescheduling() {
+        long start = clock.now();
+        List<Long> firedAt = new ArrayList<>();
+        clock.schedule(() -> {
+            firedAt.add(clock.now());
+            clock.schedule(() -> firedAt.add(clock.now()), start + 20 * TICK);
+        }, start + 10 * TICK);
+
+        // First task fires 3 ticks late; the follow-up still lands on its own deadline
+        advanceBy(13 * TICK);
+        advanceBy(7 * TICK);
+
+        assertEquals(List.of(start + 13 * TICK, start + 20 * TICK), firedAt);
+    }
+
+    @Test
+    @DisplayName("Should skip cancelled tasks")
+    void testCancel() {
+        RoundClock.Timeout timeout = clock.schedule(() -> fired.add("cancelled"), clock.now() + 2 * TICK);
+        clock.schedule(() -> fired.add("kept"), clock.now() + 2 * TICK);
+
+        timeout.cancel();
+        advanceBy(2 * TICK);
+
+        assertTrue(timeout.isCancelled());
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    @DisplayName("Should run remaining tasks when one throws")
+    void testFailingTask() {
+        clock.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, clock.now() + TICK);
+        clock.schedule(() -> fired.add("after"), clock.now() + TICK);
+
+        time.addAndGet(TICK);
+        assertThrows(IllegalStateException.class, clock::advance);
+        assertEquals(List.of("after"), fired);
+    }
+
+    @Test
+    @DisplayName("Should reject wheel sizes that are not a power of two")
+    void testInvalidWheelSize() {
+        assertThrows(IllegalArgumentException.class, () -> new RoundClock(TICK, 100, time::get));
+    }
+}
@@ -0,0 +1,223 @@
+package vn.casino.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.cache.CacheProvider;
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.database.TestDatabase;
+import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.Money;
+import vn.casino.economy.TransactionRepository;
+import vn.casino.game.engine.Bet;
+import vn.casino.game.engine.GameResult;
+import vn.casino.game.engine.GameSession;
+import vn.casino.game.engine.GameSessionState;
+import vn.casino.game.engine.PayoutTable;
+import vn.casino.game.engine.ProvablyFairRNG;
+import vn.casino.game.engine.RoundRecord;
+import vn.casino.game.engine.SessionPersister;
+import vn.casino.game.engine.SettlementEngine;
+import vn.casino.game.taixiu.TaiXiuBetType;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SessionPersister.
+ * Tests round persistence, retry with backoff, spooling while the database is down and spool replay against the migrated SQLite schema.
+ */
+@DisplayName("SessionPersister Tests")
+class SessionPersisterTest {
+
+    @Mock
+    private DatabaseProvider database;
+
+    @Mock
+    private CacheProvider cache;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = Logger.getLogger("SessionPersisterTest");
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private TestDatabase db;
+    private MetricsRegistry metrics;
+    private SessionPersister persister;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        db = TestDatabase.create(tempDir);
+        when(database.getConnection()).thenAnswer(inv -> {
+            if (failuresLeft.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new SQLException("Database unavailable");
+            }
+            return db.connect();
+        });
+        when(cache.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(cache.batch(any())).thenAnswer(inv -> inv.<Function<CacheProvider, ?>>getArgument(0).apply(cache));
+
+        metrics = new MetricsRegistry(true);
+        CurrencyManager currencyManager = new CurrencyManager(database, cache, transactionRepository, logger);
+        SettlementEngine engine = new SettlementEngine(database, currencyManager, metrics, logger);
+        persister = new SessionPersister(database, engine, tempDir.resolve("sessions.spool"),
+            2, 3, 1, 60_000, metrics, logger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        persister.shutdown();
+    }
+
+    @Test
+    @DisplayName("Round should be written with its bets and winners credited")
+    void testPersistRound() throws Exception {
+        UUID winner = UUID.randomUUID();
+        UUID loser = UUID.randomUUID();
+        Round round = round(11L, winner, loser);
+
+        persister.persistStart(round.session()).join();
+        assertTrue(persister.persistRound(round.session(), round.result(), round.table(), round.payouts()).join());
+
+        assertEquals("ENDED", sessionState(11L));
+        assertEquals(2, count("SELECT COUNT(*) FROM casino_bets WHERE session_id = 11"));
+        assertEquals(1, count("SELECT COUNT(*) FROM casino_bets WHERE session_id = 11 AND won = TRUE"));
+        assertEquals(new BigDecimal("1980.00"), balance(winner));
+        assertEquals(0, persister.getSpoolSize());
+    }
+
+    @Test
+    @DisplayName("Round should be written even if its start row is missing")
+    void testPersistRoundWithoutStartRow() throws Exception {
+        UUID winner = UUID.randomUUID();
+        Round round = round(12L, winner, UUID.randomUUID());
+
+        assertTrue(persister.persistRound(round.session(), round.result(), round.table(), round.payouts()).join());
+
+        assertEquals("ENDED", sessionState(12L));
+        assertEquals(new BigDecimal("1980.00"), balance(winner));
+    }
+
+    @Test
+    @DisplayName("Transient failure should be retried without spooling")
+    void testRetry() throws Exception {
+        UUID winner = UUID.randomUUID();
+        Round round = round(13L, winner, UUID.randomUUID());
+
+        failuresLeft.set(1);
+        assertTrue(persister.persistRound(round.session(), round.result(), round.table(), round.payouts()).join());
+
+        assertEquals(1, metrics.count("session.persist.retries"));
+        assertEquals(0, persister.getSpoolSize());
+        assertEquals(new BigDecimal("1980.00"), balance(winner));
+    }
+
+    @Test
+    @DisplayName("Round should be spooled while the database is down and replayed once it is back")
+    void testSpoolAndReplay() throws Exception {
+        UUID winner = UUID.randomUUID();
+        Round round = round(14L, winner, UUID.randomUUID());
+
+        failuresLeft.set(Integer.MAX_VALUE);
+        assertFalse(persister.persistRound(round.session(), round.result(), round.table(), round.payouts()).join());
+        assertTrue(persister.getSpoolSize() > 0);
+        assertEquals(1, metrics.count("session.persist.spooled"));
+
+        // Still down: nothing replayed, spool kept
+        assertEquals(0, persister.drainSpool());
+        assertTrue(persister.getSpoolSize() > 0);
+
+        failuresLeft.set(0);
+        assertEquals(1, persister.drainSpool());
+        assertEquals(0, persister.getSpoolSize());
+
+        assertEquals("ENDED", sessionState(14L));
+        assertEquals(2, count("SELECT COUNT(*) FROM casino_bets WHERE session_id = 14"));
+        assertEquals(new BigDecimal("1980.00"), balance(winner));
+
+        // Replaying again pays nothing
+        assertEquals(0, persister.drainSpool());
+        assertEquals(1, count("SELECT COUNT(*) FROM casino_transactions"));
+    }
+
+    @Test
+    @DisplayName("Round record should survive encoding")
+    void testRoundRecordRoundTrip() {
+        Round round = round(15L, UUID.randomUUID(), UUID.randomUUID());
+        RoundRecord record = RoundRecord.of(round.session(), round.result(), round.table(), round.payouts());
+
+        RoundRecord decoded = RoundRecord.decode(record.encode());
+
+        assertEquals(record.sessionId(), decoded.sessionId());
+        assertEquals(record.serverSeed(), decoded.serverSeed());
+        assertArrayEquals(record.rawValues(), decoded.rawValues());
+        assertEquals(record.bets().size(), decoded.bets().size());
+        for (int i = 0; i < record.bets().size(); i++) {
+            RoundRecord.BetRow expected = record.bets().get(i);
+            RoundRecord.BetRow actual = decoded.bets().get(i);
+            assertEquals(expected.playerId(), actual.playerId());
+            assertEquals(expected.payout(), actual.payout());
+            assertEquals(expected.won(), actual.won());
+            assertEquals(expected.createdAt().toEpochMilli(), actual.createdAt().toEpochMilli());
+        }
+        assertEquals(record.payouts(), decoded.payouts());
+    }
+
+    private record Round(GameSession session, GameResult result, PayoutTable table, Map<UUID, Money> payouts) {
+    }
+
+    /**
+     * Ended Tai Xiu round where {@code winner} bet Tai and {@code loser} bet Xiu, 1,000 each.
+     */
+    private Round round(long sessionId, UUID winner, UUID loser) {
+        String serverSeed = ProvablyFairRNG.generateServerSeed();
+        GameSession session = new GameSession(sessionId, "taixiu", null, serverSeed, ProvablyFairRNG.commitment(serverSeed));
+        session.setState(GameSessionState.BETTING);
+        session.addBet(Bet.create(sessionId, winner, TaiXiuBetType.TAI, Money.ofMajor(1000)));
+        session.addBet(Bet.create(sessionId, loser, TaiXiuBetType.XIU, Money.ofMajor(1000)));
+        session.setState(GameSessionState.CALCULATING);
+
+        GameResult result = new GameResult(serverSeed, session.getServerSeedHash(), new int[]{4, 4, 5},
+            "Tài (13)", Set.of(TaiXiuBetType.TAI));
+        session.setResult(result);
+        session.setState(GameSessionState.ENDED);
+
+        PayoutTable table = PayoutTable.compile(List.of(TaiXiuBetType.values()),
+            betType -> result.isWinningBet(betType) ? PayoutTable.toBasisPoints(1.98) : 0);
+        return new Round(session, result, table, Map.of(winner, Money.ofMajor(1980)));
+    }
+
+    private String sessionState(long sessionId) throws Exception {
+        return db.queryString("SELECT state FROM casino_game_sessions WHERE id = " + sessionId);
+    }
+
+    private BigDecimal balance(UUID playerId) throws Exception {
+        return db.queryAmount("SELECT balance FROM casino_players WHERE uuid = '" + playerId + "'");
+    }
+
+    private long count(String sql) throws Exception {
+        return db.queryLong(sql);
+    }
+}
@@ -0,0 +1,194 @@
+package vn.casino.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.cache.CacheProvider;
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.core.metrics.MetricsRegistry;
+import vn.casino.database.TestDatabase;
+import vn.casino.economy.BalanceLedger;
+import vn.casino.economy.CurrencyManager;
+import vn.casino.economy.Money;
+import vn.casino.economy.TransactionRepository;
+import vn.casino.game.engine.SettlementEngine;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SettlementEngine.
+ * Tests batched winner crediting, per-session idempotency and crash resume against the migrated SQLite schema.
+ */
+@DisplayName("SettlementEngine Tests")
+class SettlementEngineTest {
+
+    @Mock
+    private DatabaseProvider database;
+
+    @Mock
+    private CacheProvider cache;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = Logger.getLogger("SettlementEngineTest");
+    private TestDatabase db;
+    private MetricsRegistry metrics;
+    private SettlementEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        db = TestDatabase.create(tempDir);
+        when(database.getConnection()).thenAnswer(inv -> db.connect());
+        when(cache.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(cache.batch(any())).thenAnswer(inv -> inv.<Function<CacheProvider, ?>>getArgument(0).apply(cache));
+
+        metrics = new MetricsRegistry(true);
+        CurrencyManager currencyManager = new CurrencyManager(database, cache, transactionRepository, logger);
+        engine = new SettlementEngine(database, currencyManager, metrics, logger);
+    }
+
+    @Test
+    @DisplayName("Settle should credit every winner and mark the session settled")
+    void testSettleCreditsWinners() throws Exception {
+        Map<UUID, Money> payouts = new HashMap<>();
+        UUID existingPlayer = null;
+        for (int i = 0; i < 300; i++) {
+            existingPlayer = UUID.randomUUID();
+            insertPlayer(existingPlayer, new BigDecimal("100.00"));
+            payouts.put(existingPlayer, Money.ofMajor(19800));
+        }
+        UUID newPlayer = UUID.randomUUID();
+        payouts.put(newPlayer, Money.ofMajor(500));
+
+        assertTrue(engine.settle(42L, "taixiu", payouts, conn -> { }).join());
+
+        assertEquals(new BigDecimal("19900.00"), balance(existingPlayer));
+        assertEquals(new BigDecimal("500.00"), balance(newPlayer));
+        assertEquals(301, count("SELECT COUNT(*) FROM casino_transactions WHERE type = 'WIN' AND session_id = 42"));
+        assertEquals("SETTLED", settlementState(42L));
+        assertEquals(1, metrics.timerSnapshots().get("settlement.time").count());
+    }
+
+    @Test
+    @DisplayName("Settling the same session twice should not pay twice")
+    void testSettleIsIdempotent() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        insertPlayer(playerId, BigDecimal.ZERO);
+        Map<UUID, Money> payouts = Map.of(playerId, Money.ofMajor(1000));
+
+        assertTrue(engine.settle(7L, "baucua", payouts, conn -> { }).join());
+        assertFalse(engine.settle(7L, "baucua", payouts, conn -> { }).join());
+
+        assertEquals(new BigDecimal("1000.00"), balance(playerId));
+        assertEquals(1, count("SELECT COUNT(*) FROM casino_transactions"));
+    }
+
+    @Test
+    @DisplayName("Round without winners should be recorded as settled")
+    void testSettleWithoutWinners() throws Exception {
+        assertFalse(engine.settle(9L, "xocdia", Map.of(), conn -> { }).join());
+
+        assertEquals("SETTLED", settlementState(9L));
+        assertEquals(0, count("SELECT COUNT(*) FROM casino_transactions"));
+    }
+
+    @Test
+    @DisplayName("Pending settlement should be resumed exactly once")
+    void testResumePending() throws Exception {
+        UUID playerId = UUID.randomUUID();
+        insertPlayer(playerId, new BigDecimal("10.00"));
+
+        // Crash after prepare: settlement and payouts committed, winners not yet credited
+        db.execute(
+            "INSERT INTO casino_settlements (session_id, game_id, state, winners, total_payout) "
+                + "VALUES (5, 'taixiu', 'PENDING', 1, 250.00)",
+            "INSERT INTO casino_settlement_payouts (session_id, player_uuid, amount) "
+                + "VALUES (5, '" + playerId + "', 250.00)");
+
+        assertEquals(1, engine.resumePending().join());
+        assertEquals(0, engine.resumePending().join());
+
+        assertEquals(new BigDecimal("260.00"), balance(playerId));
+        assertEquals("SETTLED", settlementState(5L));
+        assertEquals(1, count("SELECT COUNT(*) FROM casino_transactions"));
+    }
+
+    @Test
+    @DisplayName("Ledger settlement that failed partway should resume without paying anyone twice")
+    void testLedgerPartialFailureResumes() throws Exception {
+        BalanceLedger ledger = new BalanceLedger(database, tempDir.resolve("ledger.journal"), 60_000, 1000, logger);
+        ledger.start();
+        SettlementEngine ledgerEngine = new SettlementEngine(database,
+            new CurrencyManager(database, cache, transactionRepository, ledger, null, logger), metrics, logger);
+
+        UUID[] winners = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+        db.execute("INSERT INTO casino_settlements (session_id, game_id, state, winners, total_payout) "
+            + "VALUES (11, 'taixiu', 'PENDING', 3, 300.00)");
+        for (UUID winner : winners) {
+            db.execute("INSERT INTO casino_settlement_payouts (session_id, player_uuid, amount) "
+                + "VALUES (11, '" + winner + "', 100.00)");
+        }
+
+        // Load pending, check applied credits and load the first winner, then fail the second
+        AtomicInteger connections = new AtomicInteger(3);
+        doAnswer(inv -> {
+            if (connections.getAndDecrement() <= 0) {
+                throw new SQLException("Connection refused");
+            }
+            return db.connect();
+        }).when(database).getConnection();
+
+        ledgerEngine.resumePending().join();
+
+        assertEquals("PENDING", settlementState(11L));
+        assertEquals(1, ledger.getPendingCount());
+
+        connections.set(Integer.MAX_VALUE);
+        assertEquals(1, ledgerEngine.resumePending().join());
+        assertEquals(0, ledgerEngine.resumePending().join());
+        ledger.shutdown();
+
+        assertEquals("SETTLED", settlementState(11L));
+        for (UUID winner : winners) {
+            assertEquals(new BigDecimal("100.00"), balance(winner));
+            assertEquals(1, count("SELECT COUNT(*) FROM casino_transactions WHERE uuid = '" + winner + "'"));
+        }
+    }
+
+    private void insertPlayer(UUID playerId, BigDecimal balance) throws Exception {
+        db.execute("INSERT INTO casino_players (uuid, balance) VALUES ('" + playerId + "', " + balance + ")");
+    }
+
+    private BigDecimal balance(UUID playerId) throws Exception {
+        return db.queryAmount("SELECT balance FROM casino_players WHERE uuid = '" + playerId + "'");
+    }
+
+    private String settlementState(long sessionId) throws Exception {
+        return db.queryString("SELECT state FROM casino_settlements WHERE session_id = " + sessionId);
+    }
+
+    private long count(String sql) throws Exception {
+        return db.queryLong(sql);
+    }
+}
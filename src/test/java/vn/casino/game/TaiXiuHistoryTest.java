@@ -0,0 +1,205 @@
+package vn.casino.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import vn.casino.core.database.DatabaseProvider;
+import vn.casino.database.TestDatabase;
+import vn.casino.game.taixiu.TaiXiuHistory;
+import vn.casino.game.taixiu.TaiXiuResult;
+import vn.casino.game.taixiu.TaiXiuSoiCau;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaiXiuHistory.
+ * Tests window sizes, today's rollover and warm-up from stored sessions against the migrated SQLite schema.
+ */
+@DisplayName("TaiXiuHistory Tests")
+class TaiXiuHistoryTest {
+
+    private static final Instant NOON = Instant.parse("2026-03-10T12:00:00Z");
+
+    @Mock
+    private DatabaseProvider database;
+
+    @TempDir
+    Path tempDir;
+
+    private Connection connection;
+    private MutableClock clock;
+    private TaiXiuHistory history;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        connection = TestDatabase.create(tempDir).connect();
+
+        when(database.queryAsync(anyString(), any(), any(), any())).thenAnswer(inv -> {
+            try (PreparedStatement stmt = connection.prepareStatement(inv.getArgument(0))) {
+                stmt.setObject(1, inv.getArgument(2));
+                stmt.setObject(2, inv.getArgument(3));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return CompletableFuture.completedFuture(inv.<Function<ResultSet, ?>>getArgument(1).apply(rs));
+                }
+            }
+        });
+
+        clock = new MutableClock(NOON);
+        history = new TaiXiuHistory(5, Duration.ofSeconds(60), clock);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    private static TaiXiuResult roll(int d1, int d2, int d3) {
+        return new TaiXiuResult("seed", "hash", d1, d2, d3);
+    }
+
+    private void storeRound(long id, String gameId, String rawValues, Instant endedAt) throws Exception {
+        try (PreparedStatement stmt = connection.prepareStatement(
+            "INSERT INTO casino_game_sessions (id, game_id, server_seed, server_seed_hash, result_raw_values, started_at, ended_at) "
+                + "VALUES (?, ?, 'seed', 'hash', ?, ?, ?)")) {
+            stmt.setLong(1, id);
+            stmt.setString(2, gameId);
+            stmt.setString(3, rawValues);
+            stmt.setTimestamp(4, Timestamp.from(endedAt.minusSeconds(60)));
+            stmt.setTimestamp(5, Timestamp.from(endedAt));
+            stmt.executeUpdate();
+        }
+    }
+
+    @Test
+    @DisplayName("Should feed every window and cap each at its own size")
+    void testWindowSizes() {
+        for (int i = 0; i < 150; i++) {
+            history.record(i, roll(6, 5, 4));
+        }
+
+        assertEquals(5, history.getSnapshot(TaiXiuHistory.Window.RECENT).size());
+        assertEquals(100, history.getSnapshot(TaiXiuHistory.Window.LAST_100).size());
+        assertEquals(150, history.getSnapshot(TaiXiuHistory.Window.LAST_1000).size());
+        assertEquals(150, history.getSnapshot(TaiXiuHistory.Window.TODAY).size());
+        assertEquals(100, history.getSnapshot(TaiXiuHistory.Window.LAST_100).statistics().getLongestTaiStreak());
+    }
+
+    @Test
+    @DisplayName("Should start a new today window after midnight")
+    void testTodayRollover() {
+        history.record(1, roll(1, 2, 3));
+        history.record(2, roll(1, 2, 3));
+
+        clock.set(NOON.plus(Duration.ofHours(12)));
+        // Midnight passed with no new round yet
+        assertEquals(0, history.getSnapshot(TaiXiuHistory.Window.TODAY).size());
+
+        history.record(3, roll(6, 5, 4));
+        TaiXiuSoiCau.Snapshot today = history.getSnapshot(TaiXiuHistory.Window.TODAY);
+        assertEquals(1, today.size());
+        assertEquals(1, today.statistics().getTaiCount());
+        assertEquals(3, history.getSnapshot(TaiXiuHistory.Window.LAST_100).size());
+    }
+
+    @Test
+    @DisplayName("Should warm up from stored sessions, oldest first, skipping other games and bad rows")
+    void testWarmUp() throws Exception {
+        storeRound(1, "taixiu", "1,2,3", NOON.minus(Duration.ofDays(1)));
+        storeRound(2, "taixiu", "6,5,4", NOON.minusSeconds(120));
+        storeRound(3, "taixiu", "6,6,5", NOON.minusSeconds(60));
+        storeRound(4, "baucua", "1,1,1", NOON.minusSeconds(30));
+        storeRound(5, "taixiu", "garbage", NOON.minusSeconds(10));
+
+        assertEquals(3, history.warmUp(database, "taixiu").join());
+
+        TaiXiuSoiCau.Snapshot recent = history.getSnapshot(TaiXiuHistory.Window.RECENT);
+        assertEquals(3, recent.size());
+        assertEquals(17, recent.getTotal(0));
+        assertEquals(6, recent.getTotal(2));
+        assertEquals(2, history.getSnapshot(TaiXiuHistory.Window.TODAY).size());
+        assertEquals(17, history.getWindow(TaiXiuHistory.Window.RECENT).getLastResult().getTotal());
+        verify(database).queryAsync(anyString(), any(), eq("taixiu"), eq(1441));
+    }
+
+    @Test
+    @DisplayName("Should keep rounds recorded while the warm-up query runs without duplicating them")
+    void testRoundsDuringWarmUp() throws Exception {
+        storeRound(1, "taixiu", "1,2,3", NOON.minusSeconds(120));
+        storeRound(2, "taixiu", "6,5,4", NOON.minusSeconds(60));
+
+        CompletableFuture<Object> query = new CompletableFuture<>();
+        ResultSet[] rows = new ResultSet[1];
+        Function<ResultSet, ?>[] mapper = new Function[1];
+        when(database.queryAsync(anyString(), any(), any(), any())).thenAnswer(inv -> {
+            PreparedStatement stmt = connection.prepareStatement(inv.getArgument(0));
+            stmt.setObject(1, inv.getArgument(2));
+            stmt.setObject(2, inv.getArgument(3));
+            rows[0] = stmt.executeQuery();
+            mapper[0] = inv.getArgument(1);
+            return query;
+        });
+
+        CompletableFuture<Integer> warmUp = history.warmUp(database, "taixiu");
+        // Session 2 finishes live and is also returned by the query
+        history.record(2, roll(6, 5, 4));
+        history.record(3, roll(2, 2, 3));
+        query.complete(mapper[0].apply(rows[0]));
+
+        assertEquals(1, warmUp.join());
+        TaiXiuSoiCau.Snapshot recent = history.getSnapshot(TaiXiuHistory.Window.RECENT);
+        assertEquals(3, recent.size());
+        assertEquals(7, recent.getTotal(0));
+        assertEquals(15, recent.getTotal(1));
+        assertEquals(6, recent.getTotal(2));
+    }
+
+    /**
+     * Clock whose instant can be moved by tests.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant instant) {
+            this.now = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package vn.casino.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vn.casino.game.taixiu.TaiXiuResult;
+import vn.casino.game.taixiu.TaiXiuSoiCau;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TaiXiuSoiCau.
+ * Tests rolling counts, streaks across eviction, total histogram and snapshot immutability.
+ */
+@DisplayName("TaiXiuSoiCau Tests")
+class TaiXiuSoiCauTest {
+
+    private TaiXiuSoiCau soiCau;
+
+    @BeforeEach
+    void setUp() {
+        soiCau = new TaiXiuSoiCau(5);
+    }
+
+    private static TaiXiuResult roll(int d1, int d2, int d3) {
+        return new TaiXiuResult("seed", "hash", d1, d2, d3);
+    }
+
+    private static TaiXiuResult tai() {
+        return roll(6, 5, 4);
+    }
+
+    private static TaiXiuResult xiu() {
+        return roll(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Should count outcomes and exclude triples from Tai/Xiu percentages")
+    void testCounts() {
+        soiCau.addResult(tai());
+        soiCau.addResult(tai());
+        soiCau.addResult(xiu());
+        soiCau.addResult(roll(2, 2, 2));
+
+        TaiXiuSoiCau.Statistics stats = soiCau.getStatistics();
+        assertEquals(4, stats.getTotalCount());
+        assertEquals(2, stats.getTaiCount());
+        assertEquals(1, stats.getXiuCount());
+        assertEquals(1, stats.getTripleCount());
+        assertEquals(200.0 / 3, stats.getTaiPercentage(), 1e-9);
+        assertEquals(25.0, stats.getTriplePercentage(), 1e-9);
+        assertEquals(0, stats.getTaiStreak());
+        assertEquals(0, stats.getXiuStreak());
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest result from counts and streaks when full")
+    void testEviction() {
+        // T T T X X, then X X pushes two Tai out: T X X X X
+        for (int i = 0; i < 3; i++) {
+            soiCau.addResult(tai());
+        }
+        soiCau.addResult(xiu());
+        soiCau.addResult(xiu());
+        assertEquals(3, soiCau.getStatistics().getLongestTaiStreak());
+
+        soiCau.addResult(xiu());
+        soiCau.addResult(xiu());
+
+        TaiXiuSoiCau.Statistics stats = soiCau.getStatistics();
+        assertEquals(5, stats.getTotalCount());
+        assertEquals(1, stats.getTaiCount());
+        assertEquals(4, stats.getXiuCount());
+        assertEquals(1, stats.getLongestTaiStreak());
+        assertEquals(4, stats.getLongestXiuStreak());
+        assertEquals(4, stats.getXiuStreak());
+    }
+
+    @Test
+    @DisplayName("Should keep dice and totals most recent first in the snapshot")
+    void testSnapshotHistory() {
+        soiCau.addResult(roll(1, 2, 3));
+        soiCau.addResult(roll(6, 6, 5));
+
+        TaiXiuSoiCau.Snapshot snapshot = soiCau.getSnapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals(6, snapshot.getDice1(0));
+        assertEquals(5, snapshot.getDice3(0));
+        assertEquals(17, snapshot.getTotal(0));
+        assertTrue(snapshot.isTai(0));
+        assertEquals(6, snapshot.getTotal(1));
+        assertTrue(snapshot.isXiu(1));
+        assertEquals(1, snapshot.getTotalCount(17));
+        assertEquals(1, snapshot.getTotalCount(6));
+        assertEquals(0, snapshot.getTotalCount(10));
+    }
+
+    @Test
+    @DisplayName("Should leave published snapshots unchanged by later results")
+    void testSnapshotImmutable() {
+        soiCau.addResult(tai());
+        TaiXiuSoiCau.Snapshot before = soiCau.getSnapshot();
+
+        soiCau.addResult(xiu());
+
+        assertEquals(1, before.size());
+        assertEquals(1, before.statistics().getTaiCount());
+        assertEquals(2, soiCau.getSnapshot().size());
+    }
+
+    @Test
+    @DisplayName("Should match a full recount over a long random sequence")
+    void testMatchesRecount() {
+        int capacity = 20;
+        TaiXiuSoiCau rolling = new TaiXiuSoiCau(capacity);
+        List<TaiXiuResult> window = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2_000; i++) {
+            // Narrow dice range so long streaks and triples actually occur
+            TaiXiuResult result = random.nextInt(10) == 0
+                ? roll(3, 3, 3)
+                : roll(1 + random.nextInt(6), 3 + random.nextInt(2), 3 + random.nextInt(2));
+            rolling.addResult(result);
+            window.add(0, result);
+            if (window.size() > capacity) {
+                window.remove(window.size() - 1);
+            }
+
+            TaiXiuSoiCau.Statistics stats = rolling.getStatistics();
+            assertEquals(window.stream().filter(TaiXiuResult::isTai).count(), stats.getTaiCount());
+            assertEquals(window.stream().filter(TaiXiuResult::isXiu).count(), stats.getXiuCount());
+            assertEquals(window.stream().filter(TaiXiuResult::isTriple).count(), stats.getTripleCount());
+            assertEquals(longestRun(window, true), stats.getLongestTaiStreak(), "round " + i);
+            assertEquals(longestRun(window, false), stats.getLongestXiuStreak(), "round " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reset everything on clear")
+    void testClear() {
+        soiCau.addResult(tai());
+        soiCau.clear();
+
+        assertTrue(soiCau.isEmpty());
+        assertNull(soiCau.getLastResult());
+        assertEquals(0, soiCau.getStatistics().getLongestTaiStreak());
+        assertEquals("No data", soiCau.getStatsSummary());
+    }
+
+    private static int longestRun(List<TaiXiuResult> window, boolean tai) {
+        int longest = 0;
+        int current = 0;
+        for (TaiXiuResult result : window) {
+            current = (tai ? result.isTai() : result.isXiu()) ? current + 1 : 0;
+            longest = Math.max(longest, current);
+        }
+        return longest;
+    }
+}
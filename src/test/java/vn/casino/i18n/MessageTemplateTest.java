@@ -0,0 +1,96 @@
+package vn.casino.i18n;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vn.casino.core.metrics.MetricsRegistry;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageTemplate and ComponentCache.
+ * Tests placeholder substitution without re-parsing, the in-tag fallback and label interning.
+ */
+@DisplayName("MessageTemplate Tests")
+class MessageTemplateTest {
+
+    private final MiniMessage miniMessage = MiniMessage.miniMessage();
+    private MetricsRegistry metrics;
+    private ComponentCache labels;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricsRegistry(true);
+        labels = new ComponentCache(miniMessage, 100, metrics);
+    }
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+    @Test
+    @DisplayName("Should return the same component for a message without placeholders")
+    void testStaticMessage() {
+        MessageTemplate template = MessageTemplate.compile(miniMessage, "<red>No permission</red>");
+
+        assertTrue(template.isCompiled());
+        assertSame(template.render(Map.of(), labels), template.render(Map.of(), labels));
+        assertEquals("No permission", plain(template.render(Map.of(), labels)));
+    }
+
+    @Test
+    @DisplayName("Should fill placeholders like the old replace-then-parse path")
+    void testPlaceholders() {
+        String raw = "<red>Minimum bet: <yellow>{min}</yellow> {currency}</red>";
+        MessageTemplate template = MessageTemplate.compile(miniMessage, raw);
+        Map<String, String> values = Map.of("min", "1,000", "currency", "VND");
+
+        Component rendered = template.render(values, labels);
+
+        String replaced = raw.replace("{min}", "1,000").replace("{currency}", "VND");
+        assertEquals(plain(miniMessage.deserialize(replaced)), plain(rendered));
+        assertEquals("Minimum bet: 1,000 VND", plain(rendered));
+    }
+
+    @Test
+    @DisplayName("Should parse tagged values and leave unknown placeholders as written")
+    void testTaggedAndUnknownValues() {
+        MessageTemplate template = MessageTemplate.compile(miniMessage, "<gray>Result:</gray> {symbols} {other}");
+
+        Component rendered = template.render(Map.of("symbols", "<gold>7 7 7</gold>"), labels);
+
+        assertEquals("Result: 7 7 7 {other}", plain(rendered));
+    }
+
+    @Test
+    @DisplayName("Should fall back to a fresh parse when a placeholder sits inside a tag")
+    void testPlaceholderInTag() {
+        MessageTemplate template = MessageTemplate.compile(miniMessage, "<click:run_command:'/casino {cmd}'>Open</click>");
+
+        assertFalse(template.isCompiled());
+        assertEquals(
+            miniMessage.deserialize("<click:run_command:'/casino help'>Open</click>"),
+            template.render(Map.of("cmd", "help"), labels)
+        );
+    }
+
+    @Test
+    @DisplayName("Should intern labels and count hits and misses")
+    void testLabelCache() {
+        Component first = labels.parse("<gold>Tài</gold>");
+        Component second = labels.parse("<gold>Tài</gold>");
+
+        assertSame(first, second);
+        assertEquals(1, metrics.count("i18n.labels.hits"));
+        assertEquals(1, metrics.count("i18n.labels.misses"));
+
+        labels.invalidateAll();
+        assertNotSame(first, labels.parse("<gold>Tài</gold>"));
+        assertEquals(2, metrics.count("i18n.labels.misses"));
+    }
+}